@@ -1,17 +1,26 @@
 package com.aimobs;
 
+import com.aimobs.command.LinkStatusCommand;
 import com.aimobs.command.SpawnAiWolfCommand;
+import com.aimobs.command.WolfGroupCommand;
 import com.aimobs.core.exceptions.ConfigurationException;
 import com.aimobs.core.exceptions.NetworkException;
 import com.aimobs.entity.ModEntities;
 import com.aimobs.entity.ai.CommandProcessorService;
 import com.aimobs.entity.ai.ServiceFactory;
 import com.aimobs.entity.ai.EntityLifecycleService;
+import com.aimobs.entity.ai.PlayerDirectory;
 import com.aimobs.entity.ai.AiPersistenceService;
+import com.aimobs.entity.ai.WolfGroupService;
+import com.aimobs.entity.ai.application.AiScheduler;
+import com.aimobs.entity.ai.infrastructure.MinecraftPlayerTracker;
+import com.aimobs.entity.ai.infrastructure.MinecraftWolfSpawner;
 import com.aimobs.entity.ai.infrastructure.MinecraftWorldEventHandler;
+import com.aimobs.entity.ai.infrastructure.ServerTickAiScheduler;
 import com.aimobs.entity.ai.core.AICommand;
 import com.aimobs.network.MessageService;
 import com.aimobs.network.WebSocketService;
+import com.aimobs.network.infrastructure.ServerTickMessagePump;
 import net.fabricmc.api.ModInitializer;
 import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
 import org.slf4j.Logger;
@@ -27,19 +36,37 @@ public class AiMobsMod implements ModInitializer {
     private static MessageService messageService;
     private static CommandProcessorService commandProcessor;
     private static MinecraftWorldEventHandler worldEventHandler;
+    private static WolfGroupService wolfGroupService;
+    private static MinecraftPlayerTracker playerTracker;
+    private static MinecraftWolfSpawner wolfSpawner;
+    private static AiScheduler aiScheduler;
     
     @Override
     public void onInitialize() {
         ModEntities.registerEntities();
         
+        // Named wolf groups outlive world reloads, so they are created once
+        wolfGroupService = ServiceFactory.createWolfGroupService();
+        
+        // Players are indexed by name and UUID as they join and leave
+        playerTracker = ServiceFactory.createPlayerTracker();
+        playerTracker.register();
+        
         // Initialize WebSocket networking services
         initializeNetworkServices();
         
+        // Wolves start their commands within a shared per-tick budget; registered after
+        // the message pump so commands received in a tick can start in the same tick
+        aiScheduler = ServiceFactory.createAiScheduler();
+        new ServerTickAiScheduler(aiScheduler).register();
+        
         // Initialize persistence services
         initializePersistenceServices();
         
         CommandRegistrationCallback.EVENT.register((dispatcher, registryAccess, environment) -> {
             SpawnAiWolfCommand.register(dispatcher, registryAccess);
+            LinkStatusCommand.register(dispatcher, registryAccess);
+            WolfGroupCommand.register(dispatcher, registryAccess);
         });
         
         LOGGER.info("AI Mobs Controller initialized successfully!");
@@ -56,9 +83,18 @@ public class AiMobsMod implements ModInitializer {
             // Create WebSocket service
             webSocketService = ServiceFactory.createWebSocketService(messageService);
             
-            // Connect to WebSocket server (configurable URL)
+            // Handle received messages on the server thread, once per tick
+            new ServerTickMessagePump(webSocketService).register();
+            
+            // Connect to WebSocket server (configurable URL) without holding up mod initialization
             String serverUrl = System.getProperty("aimobs.websocket.url", "ws://localhost:8080");
-            webSocketService.connect(serverUrl);
+            webSocketService.connectAsync(serverUrl).whenComplete((state, error) -> {
+                if (error != null) {
+                    LOGGER.error("WebSocket connection to " + serverUrl + " failed", error);
+                } else {
+                    LOGGER.info("WebSocket connection attempt to {} finished: {}", serverUrl, state);
+                }
+            });
             
             LOGGER.info("WebSocket services initialized. Connecting to: " + serverUrl);
             
@@ -75,9 +111,13 @@ public class AiMobsMod implements ModInitializer {
         try {
             // Register world event handler that will create proper persistence services
             // when worlds are loaded (since we need ServerWorld for persistence)
-            worldEventHandler = ServiceFactory.createWorldEventHandler();
+            worldEventHandler = ServiceFactory.createWorldEventHandler(wolfGroupService);
             worldEventHandler.register();
             
+            // Bulk spawns register through the lifecycle service created on world load
+            wolfSpawner = ServiceFactory.createWolfSpawner();
+            wolfSpawner.register();
+            
             LOGGER.info("World event handler registered for persistence services");
             
         } catch (Exception e) {
@@ -93,6 +133,32 @@ public class AiMobsMod implements ModInitializer {
         return messageService;
     }
     
+    public static WolfGroupService getWolfGroupService() {
+        return wolfGroupService;
+    }
+    
+    public static MinecraftWolfSpawner getWolfSpawner() {
+        return wolfSpawner;
+    }
+    
+    /**
+     * @return The scheduler of wolf command updates, or null before mod initialization
+     */
+    public static AiScheduler getAiScheduler() {
+        return aiScheduler;
+    }
+    
+    /**
+     * @return The lifecycle service of the loaded save, or null before the overworld loads
+     */
+    public static EntityLifecycleService getEntityLifecycleService() {
+        return worldEventHandler != null ? worldEventHandler.getLifecycleService() : null;
+    }
+    
+    public static PlayerDirectory getPlayerDirectory() {
+        return playerTracker;
+    }
+    
     public static CommandProcessorService getCommandProcessor() {
         return commandProcessor;
     }
@@ -0,0 +1,60 @@
+package com.aimobs.command;
+
+import com.aimobs.AiMobsMod;
+import com.aimobs.entity.ai.ServiceFactory;
+import com.aimobs.network.MessageService;
+import com.aimobs.network.WebSocketService;
+import com.aimobs.network.core.DeferredStats;
+import com.aimobs.network.core.LinkStats;
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.context.CommandContext;
+import net.minecraft.command.CommandRegistryAccess;
+import net.minecraft.server.command.CommandManager;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.text.Text;
+
+/**
+ * Reports health of the backend WebSocket link: connection state and heartbeat round-trip times,
+ * commands that expired before they could start, and the commands held for wolves in unloaded chunks.
+ */
+public class LinkStatusCommand {
+    
+    public static void register(CommandDispatcher<ServerCommandSource> dispatcher, CommandRegistryAccess registryAccess) {
+        dispatcher.register(CommandManager.literal("aimobs_link")
+            .requires(source -> source.hasPermissionLevel(0)) // Allow all players in single-player
+            .executes(LinkStatusCommand::execute));
+    }
+    
+    private static int execute(CommandContext<ServerCommandSource> context) {
+        ServerCommandSource source = context.getSource();
+        WebSocketService webSocketService = AiMobsMod.getWebSocketService();
+        if (webSocketService == null) {
+            source.sendFeedback(() -> Text.literal("AI backend link is not initialized"), false);
+            return 0;
+        }
+        
+        LinkStats stats = webSocketService.getLinkStats();
+        source.sendFeedback(() -> Text.literal("AI backend link: " + stats.state()), false);
+        if (stats.samples() == 0) {
+            source.sendFeedback(() -> Text.literal("No heartbeat round trips measured yet"), false);
+        } else {
+            source.sendFeedback(() -> Text.literal(String.format(
+                "RTT last %.1f ms, p50 %.1f ms, p99 %.1f ms, max %.1f ms (%d samples)",
+                stats.lastRttMillis(), stats.p50RttMillis(), stats.p99RttMillis(),
+                stats.maxRttMillis(), stats.samples())), false);
+        }
+        source.sendFeedback(() -> Text.literal("Heartbeat timeouts: " + stats.timeouts()), false);
+        source.sendFeedback(() -> Text.literal("Expired commands: " + stats.expiredOnArrival()
+            + " refused on arrival, " + ServiceFactory.getExpiredCommandCount() + " dropped from wolf queues"), false);
+        source.sendFeedback(() -> Text.literal("Undeliverable commands: " + stats.undeliverable()), false);
+        
+        MessageService messageService = AiMobsMod.getMessageService();
+        if (messageService != null) {
+            DeferredStats deferred = messageService.getDeferredStats();
+            source.sendFeedback(() -> Text.literal("Deferred commands: " + deferred.pending() + " held for "
+                + deferred.entities() + " unloaded wolves, " + deferred.expired() + " expired, "
+                + deferred.refused() + " refused"), false);
+        }
+        return 1;
+    }
+}
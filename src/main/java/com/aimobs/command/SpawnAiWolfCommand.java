@@ -2,13 +2,10 @@ package com.aimobs.command;
 
 import com.aimobs.AiMobsMod;
 import com.aimobs.entity.AiControlledWolfEntity;
-import com.aimobs.entity.ModEntities;
-import com.aimobs.entity.ai.EntityLifecycleService;
-import com.aimobs.entity.ai.ServiceFactory;
-import com.aimobs.entity.ai.AiPersistenceService;
-import com.aimobs.network.MessageService;
-import com.aimobs.network.application.MessageParser;
+import com.aimobs.entity.ai.infrastructure.MinecraftWolfSpawner;
 import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.DoubleArgumentType;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
 import com.mojang.brigadier.context.CommandContext;
 import net.minecraft.command.CommandRegistryAccess;
 import net.minecraft.server.command.CommandManager;
@@ -17,43 +14,51 @@ import net.minecraft.server.world.ServerWorld;
 import net.minecraft.text.Text;
 import net.minecraft.util.math.Vec3d;
 
+import java.util.List;
+
+/**
+ * Spawns AI wolves at the command source.
+ *
+ * <pre>
+ * /spawn_ai_wolf
+ * /spawn_ai_wolf &lt;count&gt; [radius]
+ * </pre>
+ *
+ * Several wolves are spread evenly over a disc of the given radius, and spawns larger
+ * than the per-tick limit are spread over several ticks.
+ */
 public class SpawnAiWolfCommand {
-    
+
+    private static final String COUNT_ARG = "count";
+    private static final String RADIUS_ARG = "radius";
+    private static final int MAX_COUNT = 1000;
+    private static final double MAX_RADIUS = 128;
+
     public static void register(CommandDispatcher<ServerCommandSource> dispatcher, CommandRegistryAccess registryAccess) {
         dispatcher.register(CommandManager.literal("spawn_ai_wolf")
             .requires(source -> source.hasPermissionLevel(0)) // Allow all players in single-player
-            .executes(SpawnAiWolfCommand::execute));
+            .executes(SpawnAiWolfCommand::execute)
+            .then(CommandManager.argument(COUNT_ARG, IntegerArgumentType.integer(1, MAX_COUNT))
+                .executes(context -> executeBulk(context, 0))
+                .then(CommandManager.argument(RADIUS_ARG, DoubleArgumentType.doubleArg(0, MAX_RADIUS))
+                    .executes(context -> executeBulk(context, DoubleArgumentType.getDouble(context, RADIUS_ARG))))));
     }
-    
+
     private static int execute(CommandContext<ServerCommandSource> context) {
         try {
             ServerCommandSource source = context.getSource();
             ServerWorld world = source.getWorld();
             Vec3d position = source.getPosition();
-            
+
             AiMobsMod.LOGGER.info("Attempting to spawn AI wolf at {}, {}, {}", position.x, position.y, position.z);
-            
-            AiControlledWolfEntity wolf = new AiControlledWolfEntity(ModEntities.AI_CONTROLLED_WOLF, world);
-            wolf.refreshPositionAndAngles(position.x, position.y, position.z, 0, 0);
-            
-            AiMobsMod.LOGGER.info("Created wolf entity, attempting to spawn in world");
-            
-            if (world.spawnEntity(wolf)) {
-                // Register the entity with the lifecycle service for persistence
-                try {
-                    AiPersistenceService persistenceService = ServiceFactory.createAiPersistenceService(world);
-                    EntityLifecycleService lifecycleService = ServiceFactory.createEntityLifecycleService(persistenceService);
-                    lifecycleService.registerAiEntity(wolf.getAiEntityId());
-                    AiMobsMod.LOGGER.info("Registered AI wolf with lifecycle service for persistence");
-                } catch (Exception e) {
-                    AiMobsMod.LOGGER.warn("Failed to register wolf with lifecycle service: {}", e.getMessage());
-                    // Continue anyway - the wolf can still be spawned
-                }
-                
+
+            // Spawned and registered with the shared lifecycle service for persistence
+            List<AiControlledWolfEntity> wolves = AiMobsMod.getWolfSpawner().spawnNow(world, position, 1, 0);
+            if (!wolves.isEmpty()) {
                 // Wolf will be automatically discovered by the command routing system
                 AiMobsMod.LOGGER.info("AI wolf spawned - will be available for commands through clean architecture");
-                
-                source.sendFeedback(() -> Text.literal("Spawned AI-controlled wolf at " + 
+
+                source.sendFeedback(() -> Text.literal("Spawned AI-controlled wolf at " +
                     String.format("%.1f, %.1f, %.1f", position.x, position.y, position.z)), true);
                 AiMobsMod.LOGGER.info("Successfully spawned AI wolf");
                 return 1;
@@ -68,4 +73,25 @@ public class SpawnAiWolfCommand {
             return 0;
         }
     }
-}
\ No newline at end of file
+
+    private static int executeBulk(CommandContext<ServerCommandSource> context, double radius) {
+        try {
+            ServerCommandSource source = context.getSource();
+            int count = IntegerArgumentType.getInteger(context, COUNT_ARG);
+            MinecraftWolfSpawner spawner = AiMobsMod.getWolfSpawner();
+
+            AiMobsMod.LOGGER.info("Spawning {} AI wolves within {} blocks", count, radius);
+
+            int ticks = spawner.spawnPaced(source.getWorld(), source.getPosition(), count, radius, spawned ->
+                source.sendFeedback(() -> Text.literal("Spawned " + spawned + " of " + count + " AI-controlled wolves"), true));
+            if (ticks > 1) {
+                source.sendFeedback(() -> Text.literal("Spawning " + count + " AI-controlled wolves over " + ticks + " ticks"), false);
+            }
+            return count;
+        } catch (Exception e) {
+            AiMobsMod.LOGGER.error("Error executing spawn command", e);
+            context.getSource().sendFeedback(() -> Text.literal("Error spawning wolves: " + e.getMessage()), false);
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.aimobs.command;
+
+import com.aimobs.AiMobsMod;
+import com.aimobs.entity.AiControlledWolfEntity;
+import com.aimobs.entity.ai.WolfGroupService;
+import com.aimobs.entity.ai.core.EntityId;
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import net.minecraft.command.CommandRegistryAccess;
+import net.minecraft.command.argument.EntityArgumentType;
+import net.minecraft.entity.Entity;
+import net.minecraft.server.command.CommandManager;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.text.Text;
+
+import java.util.Set;
+
+/**
+ * Maintains named groups of AI wolves that the backend can address with {@code context.group}.
+ *
+ * <pre>
+ * /aimobs_group add &lt;group&gt; &lt;wolves&gt;
+ * /aimobs_group remove &lt;group&gt; &lt;wolves&gt;
+ * /aimobs_group disband &lt;group&gt;
+ * /aimobs_group list
+ * </pre>
+ */
+public class WolfGroupCommand {
+
+    private static final String GROUP_ARG = "group";
+    private static final String WOLVES_ARG = "wolves";
+
+    public static void register(CommandDispatcher<ServerCommandSource> dispatcher, CommandRegistryAccess registryAccess) {
+        dispatcher.register(CommandManager.literal("aimobs_group")
+            .requires(source -> source.hasPermissionLevel(0)) // Allow all players in single-player
+            .then(CommandManager.literal("add")
+                .then(CommandManager.argument(GROUP_ARG, StringArgumentType.word())
+                    .then(CommandManager.argument(WOLVES_ARG, EntityArgumentType.entities())
+                        .executes(context -> editMembers(context, true)))))
+            .then(CommandManager.literal("remove")
+                .then(CommandManager.argument(GROUP_ARG, StringArgumentType.word())
+                    .then(CommandManager.argument(WOLVES_ARG, EntityArgumentType.entities())
+                        .executes(context -> editMembers(context, false)))))
+            .then(CommandManager.literal("disband")
+                .then(CommandManager.argument(GROUP_ARG, StringArgumentType.word())
+                    .executes(WolfGroupCommand::disband)))
+            .then(CommandManager.literal("list")
+                .executes(WolfGroupCommand::list)));
+    }
+
+    private static int editMembers(CommandContext<ServerCommandSource> context, boolean add) throws CommandSyntaxException {
+        ServerCommandSource source = context.getSource();
+        WolfGroupService groups = AiMobsMod.getWolfGroupService();
+        String group = StringArgumentType.getString(context, GROUP_ARG);
+
+        int changed = 0;
+        for (Entity entity : EntityArgumentType.getEntities(context, WOLVES_ARG)) {
+            if (entity instanceof AiControlledWolfEntity wolf) {
+                EntityId id = wolf.getAiEntityId();
+                if (add ? groups.addMember(group, id) : groups.removeMember(group, id)) {
+                    changed++;
+                }
+            }
+        }
+
+        int count = changed;
+        source.sendFeedback(() -> Text.literal((add ? "Added " : "Removed ") + count + " AI wolves "
+            + (add ? "to" : "from") + " group '" + group + "' (" + groups.getMembers(group).size() + " members)"), true);
+        return count;
+    }
+
+    private static int disband(CommandContext<ServerCommandSource> context) {
+        ServerCommandSource source = context.getSource();
+        String group = StringArgumentType.getString(context, GROUP_ARG);
+
+        if (AiMobsMod.getWolfGroupService().removeGroup(group)) {
+            source.sendFeedback(() -> Text.literal("Disbanded group '" + group + "'"), true);
+            return 1;
+        }
+        source.sendError(Text.literal("No group named '" + group + "'"));
+        return 0;
+    }
+
+    private static int list(CommandContext<ServerCommandSource> context) {
+        ServerCommandSource source = context.getSource();
+        WolfGroupService groups = AiMobsMod.getWolfGroupService();
+
+        Set<String> names = groups.getGroupNames();
+        if (names.isEmpty()) {
+            source.sendFeedback(() -> Text.literal("No wolf groups defined"), false);
+            return 0;
+        }
+        for (String name : names) {
+            int members = groups.getMembers(name).size();
+            source.sendFeedback(() -> Text.literal(name + ": " + members + " members"), false);
+        }
+        return names.size();
+    }
+}
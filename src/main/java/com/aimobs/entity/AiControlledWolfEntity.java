@@ -1,15 +1,12 @@
 package com.aimobs.entity;
 
+import com.aimobs.AiMobsMod;
 import com.aimobs.entity.ai.CommandProcessorService;
 import com.aimobs.entity.ai.CommandReceiver;
-import com.aimobs.entity.ai.EntityResolverService;
-import com.aimobs.entity.ai.GoalService;
 import com.aimobs.entity.ai.InteractionService;
-import com.aimobs.entity.ai.MovementService;
 import com.aimobs.entity.ai.ServiceFactory;
-import com.aimobs.entity.ai.TargetResolverService;
+import com.aimobs.entity.ai.application.AiScheduler;
 import com.aimobs.entity.ai.application.InteractionCommandFactory;
-import com.aimobs.entity.ai.application.MovementCommandFactory;
 import com.aimobs.entity.ai.core.InventoryActions;
 import com.aimobs.entity.ai.core.AICommand;
 import com.aimobs.entity.ai.core.AIState;
@@ -24,43 +21,50 @@ import net.minecraft.entity.passive.WolfEntity;
 import net.minecraft.world.World;
 import net.minecraft.nbt.NbtCompound;
 
-import java.util.LinkedList;
+import java.util.List;
 import java.util.Queue;
 
-public class AiControlledWolfEntity extends WolfEntity implements CommandExecutor, com.aimobs.entity.ai.core.EntityActions, CommandReceiver {
+public class AiControlledWolfEntity extends WolfEntity implements CommandExecutor, com.aimobs.entity.ai.core.EntityActions, CommandReceiver, AiScheduler.Task {
     
     private static final String AI_ENTITY_ID_KEY = "aiEntityId";
     private static final String AI_CONTROLLED_KEY = "aiControlled";
     
     private EntityId entityId; // Not final since it needs to be restored from NBT
-    private final CommandProcessorService commandProcessor;
-    private final GoalService goalService;
-    private final MovementService movementService;
-    private final InteractionService interactionService;
-    private final InventoryActions inventoryActions;
-    private final EntityResolverService entityResolverService;
-    private final MovementCommandFactory movementCommandFactory;
+    private Queue<AICommand> injectedCommandQueue; // Only set by the testable constructor until services exist
+    private AiWolfServices services; // Created on first command; null for wolves never commanded
+    private boolean scheduled; // Command updates run by the shared scheduler instead of tick()
     
     public AiControlledWolfEntity(EntityType<? extends WolfEntity> entityType, World world) {
-        this(entityType, world, new LinkedList<>());
+        this(entityType, world, null);
     }
     
     // Constructor for dependency injection (testable)
     public AiControlledWolfEntity(EntityType<? extends WolfEntity> entityType, World world, Queue<AICommand> commandQueue) {
         super(entityType, world);
         this.entityId = EntityId.generate(); // Generate unique ID for new entities
-        // Composition root pattern - wiring happens here
-        this.commandProcessor = ServiceFactory.createCommandProcessor(commandQueue);
-        this.goalService = ServiceFactory.createGoalService(this);
-        this.movementService = ServiceFactory.createMovementService(this);
-        this.interactionService = ServiceFactory.createInteractionService(this, movementService);
-        this.inventoryActions = ServiceFactory.createInventoryActions(this);
-        this.entityResolverService = ServiceFactory.createEntityResolverService();
+        this.injectedCommandQueue = commandQueue;
         
-        TargetResolverService targetResolver = ServiceFactory.createTargetResolverService();
-        this.movementCommandFactory = new MovementCommandFactory(movementService, targetResolver, this);
-        
-        initializeGoals();
+        // Goals only need the wolf itself, so the goal service is not kept
+        ServiceFactory.createGoalService(this).initializeAIGoals();
+    }
+    
+    /**
+     * Creates the wolf's stateful services on first use, and on the server hands its command
+     * updates to the shared scheduler. Loading a chunk full of wolves therefore only builds
+     * the entities themselves.
+     */
+    private AiWolfServices services() {
+        if (services == null) {
+            services = new AiWolfServices(this,
+                injectedCommandQueue != null ? injectedCommandQueue : ServiceFactory.createCommandQueue());
+            injectedCommandQueue = null;
+            AiScheduler scheduler = AiMobsMod.getAiScheduler();
+            if (scheduler != null && !getWorld().isClient()) {
+                scheduler.register(this);
+                scheduled = true;
+            }
+        }
+        return services;
     }
     
     // EntityActions implementation - allows dependency injection while maintaining access to protected fields
@@ -84,7 +88,9 @@ public class AiControlledWolfEntity extends WolfEntity implements CommandExecuto
     public void addControllableGoal() {
         this.goalSelector.add(10, new MinecraftControllableGoal(this));
         // Add movement goal with higher priority than controllable goal
-        this.goalSelector.add(5, new MoveToLocationGoal(this, movementService));
+        // Idle until the movement service exists
+        this.goalSelector.add(5, new MoveToLocationGoal(this,
+            () -> services != null ? services.movementService : null));
     }
     
     public net.minecraft.util.math.Vec3d getPosition() {
@@ -120,38 +126,41 @@ public class AiControlledWolfEntity extends WolfEntity implements CommandExecuto
         return this;
     }
     
-    private void initializeGoals() {
-        goalService.initializeAIGoals();
-    }
-    
     @Override
     public void executeCommand(AICommand command) {
-        commandProcessor.executeCommand(command);
+        services().commandProcessor.executeCommand(command);
     }
     
     @Override
     public void stopCurrentCommand() {
-        commandProcessor.stopCurrentCommand();
+        if (services != null) {
+            services.commandProcessor.stopCurrentCommand();
+        }
     }
     
     @Override
     public AIState getCurrentState() {
-        return commandProcessor.getCurrentState();
+        return services != null ? services.commandProcessor.getCurrentState() : AIState.IDLE;
     }
     
     @Override
     public Queue<AICommand> getCommandQueue() {
-        return commandProcessor.getCommandQueue();
+        return services().commandProcessor.getCommandQueue();
     }
     
     @Override
     public void tick() {
         super.tick();
-        commandProcessor.tick();
+        if (services == null) {
+            return; // Never commanded, nothing to update
+        }
+        if (!scheduled) {
+            services.commandProcessor.tick();
+        }
         // Update movement progress each tick
-        movementService.updateMovementProgress();
+        services.movementService.updateMovementProgress();
         // Update interaction progress each tick
-        interactionService.updateInteractionProgress();
+        services.interactionService.updateInteractionProgress();
     }
     
     /**
@@ -159,7 +168,7 @@ public class AiControlledWolfEntity extends WolfEntity implements CommandExecuto
      * This is called by the message parsing system to handle movement commands.
      */
     public AICommand createMovementCommand(com.aimobs.network.core.NetworkMessage message) {
-        return movementCommandFactory.createMovementCommand(message, this.getWorld());
+        return services().movementCommandFactory.createMovementCommand(message, this.getWorld());
     }
 
     /**
@@ -167,24 +176,21 @@ public class AiControlledWolfEntity extends WolfEntity implements CommandExecuto
      * This is called by the message parsing system to handle interaction commands.
      */
     public AICommand createInteractionCommand(com.aimobs.network.core.NetworkMessage message) {
-        return InteractionCommandFactory.createInteractionCommand(message, entityResolverService, this.getPos());
+        return InteractionCommandFactory.createInteractionCommand(message,
+            ServiceFactory.createEntityResolverService(), this.getPos());
     }
     
     // Package-private accessors for testing
     CommandProcessorService getCommandProcessor() {
-        return commandProcessor;
+        return services().commandProcessor;
     }
     
-    GoalService getGoalService() {
-        return goalService;
-    }
-
     InteractionService getInteractionService() {
-        return interactionService;
+        return services().interactionService;
     }
 
     InventoryActions getInventoryActions() {
-        return inventoryActions;
+        return services().inventoryActions;
     }
     
     // Override to prevent taming mechanics for AI-controlled entities
@@ -252,10 +258,27 @@ public class AiControlledWolfEntity extends WolfEntity implements CommandExecuto
     }
     
     @Override
-    public void receiveCommand(AICommand command) {
-        if (command != null) {
-            getCommandQueue().offer(command);
+    public boolean receiveCommand(AICommand command) {
+        if (command == null) {
+            return false;
+        }
+        if (!getCommandQueue().offer(command)) {
+            AiMobsMod.LOGGER.warn("Command queue full, dropped {}", command.getClass().getSimpleName());
+            return false;
         }
+        return true;
+    }
+    
+    @Override
+    public boolean receiveCommands(List<AICommand> commands) {
+        if (commands == null || commands.isEmpty()) {
+            return false;
+        }
+        if (!getCommandQueue().addAll(commands)) {
+            AiMobsMod.LOGGER.warn("Command queue cannot hold the whole plan, dropped {} step(s)", commands.size());
+            return false;
+        }
+        return true;
     }
     
     @Override
@@ -265,6 +288,25 @@ public class AiControlledWolfEntity extends WolfEntity implements CommandExecuto
     
     @Override
     public int getQueuedCommandCount() {
-        return getCommandQueue().size();
+        return services != null ? services.commandProcessor.getCommandQueue().size() : 0;
+    }
+    
+    // AiScheduler.Task implementation - starting commands (and the path and target
+    // searches that come with it) runs within the scheduler's per-tick budget,
+    // while the progress of the running command is still updated every tick
+    
+    @Override
+    public boolean isScheduled() {
+        return isAvailable();
+    }
+    
+    @Override
+    public boolean hasPendingWork() {
+        return services != null && services.commandProcessor.hasPendingWork();
+    }
+    
+    @Override
+    public void runSlice() {
+        services.commandProcessor.tick();
     }
 }
\ No newline at end of file
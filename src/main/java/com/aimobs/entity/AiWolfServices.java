@@ -0,0 +1,40 @@
+package com.aimobs.entity;
+
+import com.aimobs.AiMobsMod;
+import com.aimobs.entity.ai.CommandProcessorService;
+import com.aimobs.entity.ai.InteractionService;
+import com.aimobs.entity.ai.MovementService;
+import com.aimobs.entity.ai.ServiceFactory;
+import com.aimobs.entity.ai.application.MovementCommandFactory;
+import com.aimobs.entity.ai.core.AICommand;
+import com.aimobs.entity.ai.core.InventoryActions;
+
+import java.util.Queue;
+
+/**
+ * The stateful services of one AI wolf, created together when the wolf
+ * first receives or builds a command. Wolves that are loaded but never
+ * commanded carry none of them.
+ * 
+ * Stateless services (entity and target resolution) are shared by all wolves
+ * and not held here.
+ */
+final class AiWolfServices {
+    
+    final CommandProcessorService commandProcessor;
+    final MovementService movementService;
+    final InventoryActions inventoryActions;
+    final InteractionService interactionService;
+    final MovementCommandFactory movementCommandFactory;
+    
+    AiWolfServices(AiControlledWolfEntity wolf, Queue<AICommand> commandQueue) {
+        // Composition root pattern - wiring happens here
+        this.commandProcessor = ServiceFactory.createCommandProcessor(commandQueue);
+        this.movementService = ServiceFactory.createMovementService(wolf);
+        // One inventory, shared by the wolf and its interactions
+        this.inventoryActions = ServiceFactory.createInventoryActions(wolf);
+        this.interactionService = ServiceFactory.createInteractionService(wolf, movementService, inventoryActions);
+        this.movementCommandFactory = new MovementCommandFactory(movementService,
+            ServiceFactory.createTargetResolverService(), wolf, AiMobsMod.getPlayerDirectory());
+    }
+}
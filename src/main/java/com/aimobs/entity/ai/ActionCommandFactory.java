@@ -0,0 +1,25 @@
+package com.aimobs.entity.ai;
+
+import com.aimobs.entity.AiControlledWolfEntity;
+import com.aimobs.entity.ai.core.AICommand;
+import com.aimobs.network.core.NetworkMessage;
+
+/**
+ * Service contract for turning a message of one action into an executable command.
+ * One factory is registered per action; built-in actions use the wolf's own
+ * movement and interaction factories, other mods can register their own.
+ * 
+ * Root interface - defines what the system does (contract only).
+ */
+@FunctionalInterface
+public interface ActionCommandFactory {
+    
+    /**
+     * Creates the command for a message.
+     * 
+     * @param message The message, already validated; its action token selected this factory
+     * @param wolf The wolf the command is built for
+     * @return The command, or null if the message cannot be turned into one
+     */
+    AICommand create(NetworkMessage message, AiControlledWolfEntity wolf);
+}
@@ -3,6 +3,8 @@ package com.aimobs.entity.ai;
 import com.aimobs.entity.ai.core.EntityId;
 import com.aimobs.entity.ai.core.AiEntityState;
 
+import java.util.Map;
+
 /**
  * Service contract for persisting and restoring AI entity state.
  * Abstracts the storage mechanism (NBT, database, etc.) from business logic.
@@ -28,6 +30,14 @@ public interface AiPersistenceService {
      */
     AiEntityState loadAiState(EntityId entityId);
     
+    /**
+     * Loads the AI state of every persisted entity in one pass.
+     * Used during world load, so reconnecting does not look entities up one by one.
+     * 
+     * @return Persisted AI states by entity id
+     */
+    Map<EntityId, AiEntityState> loadAllAiStates();
+    
     /**
      * Checks if an entity has persisted AI state.
      * 
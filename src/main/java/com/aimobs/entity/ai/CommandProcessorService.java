@@ -20,5 +20,15 @@ public interface CommandProcessorService {
     AIState getCurrentState();
     Queue<AICommand> getCommandQueue();
     boolean tick();
+    
+    /**
+     * @return true if the next {@link #tick()} would start, finish, preempt or discard a command
+     */
+    boolean hasPendingWork();
     AICommand getCurrentCommand();
+    
+    /**
+     * @return Queued commands discarded because their deadline passed before they started
+     */
+    long getExpiredCount();
 }
\ No newline at end of file
@@ -3,6 +3,8 @@ package com.aimobs.entity.ai;
 import com.aimobs.entity.ai.core.EntityId;
 import com.aimobs.entity.ai.core.AICommand;
 
+import java.util.List;
+
 /**
  * Service contract for entities that can receive and process AI commands.
  * Abstracts command delivery from entity implementation details.
@@ -25,8 +27,18 @@ public interface CommandReceiver {
      * Implementation handles command queuing and execution.
      * 
      * @param command The command to process
+     * @return true if the command was queued, false if it was dropped
+     */
+    boolean receiveCommand(AICommand command);
+    
+    /**
+     * Receives an ordered plan of commands in a single enqueue.
+     * Commands from other sources never interleave with the plan.
+     * 
+     * @param commands The commands to process, in execution order
+     * @return true if the whole plan was queued, false if it was dropped
      */
-    void receiveCommand(AICommand command);
+    boolean receiveCommands(List<AICommand> commands);
     
     /**
      * Checks if this receiver is available to process commands.
@@ -43,4 +55,12 @@ public interface CommandReceiver {
      * @return Number of queued commands
      */
     int getQueuedCommandCount();
+    
+    /**
+     * Gets the squared distance from this receiver to a position.
+     * Used to route commands to the entity nearest to the player.
+     * 
+     * @return Squared distance in blocks
+     */
+    double squaredDistanceTo(double x, double y, double z);
 }
\ No newline at end of file
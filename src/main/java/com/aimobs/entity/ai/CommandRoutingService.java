@@ -2,7 +2,9 @@ package com.aimobs.entity.ai;
 
 import com.aimobs.entity.ai.core.EntityId;
 import com.aimobs.entity.ai.core.AICommand;
+import com.aimobs.entity.ai.core.RoutingHint;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -34,6 +36,45 @@ public interface CommandRoutingService {
      */
     boolean routeToAnyAvailable(AICommand command);
     
+    /**
+     * Routes an ordered plan to a single receiver in one enqueue.
+     * Either the whole plan is delivered to one receiver or nothing is.
+     * 
+     * @param commands The commands to route, in execution order
+     * @param targetId Optional target entity ID for specific routing
+     * @return true if the plan was successfully routed
+     */
+    boolean routeCommands(List<AICommand> commands, Optional<EntityId> targetId);
+    
+    /**
+     * Chooses the receiver for a command without delivering anything to it.
+     * Lets the caller build the commands against the receiver that will run them.
+     * 
+     * @param targetId Optional target entity ID for specific routing
+     * @param hint Information about the command's issuer, used when there is no target
+     * @param commandCount Number of commands the receiver must have room for
+     * @return An available receiver with room, or empty if none can take the commands
+     */
+    Optional<CommandReceiver> selectReceiver(Optional<EntityId> targetId, RoutingHint hint, int commandCount);
+    
+    /**
+     * Resolves the members of a named group that can take commands.
+     * 
+     * @param group Group name
+     * @param commandCount Number of commands each member must have room for
+     * @return Available members with room, in group order; empty if none
+     */
+    List<CommandReceiver> selectGroup(String group, int commandCount);
+    
+    /**
+     * Checks whether an entity is currently loaded, available or not.
+     * Commands for entities that are not loaded can be held until they load.
+     * 
+     * @param entityId The entity to check
+     * @return true if the entity is loaded
+     */
+    boolean isEntityLoaded(EntityId entityId);
+    
     /**
      * Gets the number of available command receivers.
      * Used for routing decisions and monitoring.
@@ -42,6 +83,14 @@ public interface CommandRoutingService {
      */
     int getAvailableReceiverCount();
     
+    /**
+     * Gets how many more commands available receivers can queue before reaching their limit.
+     * Used to advertise delivery credits to the command source.
+     * 
+     * @return Total free queue slots across available receivers
+     */
+    int getQueueHeadroom();
+    
     /**
      * Checks if any receivers are available for command processing.
      * 
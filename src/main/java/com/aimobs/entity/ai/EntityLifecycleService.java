@@ -2,6 +2,8 @@ package com.aimobs.entity.ai;
 
 import com.aimobs.entity.ai.core.EntityId;
 
+import java.util.Collection;
+
 /**
  * Service contract for managing AI entity lifecycle and reconnection.
  * Handles the business logic of reconnecting AI entities after world reload.
@@ -25,6 +27,13 @@ public interface EntityLifecycleService {
      */
     void registerAiEntity(EntityId entityId);
     
+    /**
+     * Registers several newly spawned AI entities in one batch.
+     * 
+     * @param entityIds The unique identifiers of the entities
+     */
+    void registerAiEntities(Collection<EntityId> entityIds);
+    
     /**
      * Unregisters an AI entity from the lifecycle management system.
      * Should be called when an AI entity is removed/dies.
@@ -41,6 +50,22 @@ public interface EntityLifecycleService {
      */
     boolean isAiEntity(EntityId entityId);
     
+    /**
+     * Notifies the service that an AI entity was loaded into a world.
+     * Cached answers to {@link #isAiEntity} from before the load are not reused.
+     * 
+     * @param entityId The entity that loaded
+     */
+    void onAiEntityLoaded(EntityId entityId);
+    
+    /**
+     * Notifies the service that an AI entity was unloaded or removed.
+     * Cached answers to {@link #isAiEntity} from before the unload are not reused.
+     * 
+     * @param entityId The entity that unloaded
+     */
+    void onAiEntityUnloaded(EntityId entityId);
+    
     /**
      * Gets all registered AI entity IDs.
      * 
@@ -1,6 +1,7 @@
 package com.aimobs.entity.ai;
 
 import com.aimobs.entity.ai.core.AICommand;
+import com.aimobs.network.core.Action;
 import java.util.UUID;
 
 /**
@@ -20,9 +21,9 @@ public interface FeedbackService {
      * Triggered when a command begins execution.
      * 
      * @param wolfId the unique identifier of the wolf entity
-     * @param action the action being executed (e.g., "move", "attack")
+     * @param action the action being executed (e.g., {@link Action#MOVE}, {@link Action#ATTACK})
      */
-    void onCommandExecuting(UUID wolfId, String action);
+    void onCommandExecuting(UUID wolfId, Action action);
     
     /**
      * Triggered when a command completes successfully.
@@ -30,7 +31,7 @@ public interface FeedbackService {
      * @param wolfId the unique identifier of the wolf entity
      * @param action the action that was completed
      */
-    void onCommandCompleted(UUID wolfId, String action);
+    void onCommandCompleted(UUID wolfId, Action action);
     
     /**
      * Triggered when a command fails to execute.
@@ -39,7 +40,7 @@ public interface FeedbackService {
      * @param action the action that failed
      * @param reason the reason for failure
      */
-    void onCommandFailed(UUID wolfId, String action, String reason);
+    void onCommandFailed(UUID wolfId, Action action, String reason);
     
     /**
      * Triggered when movement starts to a specific target.
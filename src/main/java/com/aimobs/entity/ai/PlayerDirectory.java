@@ -0,0 +1,37 @@
+package com.aimobs.entity.ai;
+
+import net.minecraft.entity.player.PlayerEntity;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Service contract for finding online players by name or UUID.
+ * Used to resolve the player a command refers to instead of taking the closest one.
+ */
+public interface PlayerDirectory {
+    
+    /**
+     * @param name Player name, matched case-insensitively
+     * @return The online player with that name, or empty if none
+     */
+    Optional<PlayerEntity> findByName(String name);
+    
+    /**
+     * @return The online player with that UUID, or empty if none
+     */
+    Optional<PlayerEntity> findByUuid(UUID uuid);
+    
+    /**
+     * Finds a player from a string that is either a UUID or a name.
+     * 
+     * @param nameOrUuid Player UUID in its standard form, or player name
+     * @return The online player, or empty if none matches
+     */
+    Optional<PlayerEntity> find(String nameOrUuid);
+    
+    /**
+     * @return Number of online players
+     */
+    int size();
+}
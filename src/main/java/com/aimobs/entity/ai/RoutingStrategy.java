@@ -0,0 +1,24 @@
+package com.aimobs.entity.ai;
+
+import com.aimobs.entity.ai.core.RoutingHint;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service contract for choosing which entity runs an untargeted command.
+ * 
+ * Root interface - defines what the system does (contract only).
+ * Dependencies: Core layer only.
+ */
+public interface RoutingStrategy {
+    
+    /**
+     * Chooses one receiver among candidates that are available and have queue room.
+     * 
+     * @param candidates Receivers able to take the command, never empty
+     * @param hint Information about the command's issuer
+     * @return The chosen receiver, or empty to refuse all candidates
+     */
+    Optional<CommandReceiver> select(List<CommandReceiver> candidates, RoutingHint hint);
+}
@@ -1,5 +1,7 @@
 package com.aimobs.entity.ai;
 
+import com.aimobs.entity.ai.application.AiScheduler;
+import com.aimobs.entity.ai.application.CommandPriorityQueue;
 import com.aimobs.entity.ai.application.CommandProcessor;
 import com.aimobs.entity.ai.application.EntityResolver;
 import com.aimobs.entity.ai.application.GoalCoordinator;
@@ -9,9 +11,16 @@ import com.aimobs.entity.ai.application.TargetResolver;
 import com.aimobs.entity.ai.application.WolfInventoryManager;
 import com.aimobs.entity.ai.application.EntityLifecycleCoordinator;
 import com.aimobs.entity.ai.application.CommandRouter;
+import com.aimobs.entity.ai.application.LeastQueuedRoutingStrategy;
+import com.aimobs.entity.ai.application.NearestRoutingStrategy;
+import com.aimobs.entity.ai.application.RoundRobinRoutingStrategy;
+import com.aimobs.entity.ai.application.ShardedCommandRouter;
+import com.aimobs.entity.ai.application.StickyRoutingStrategy;
+import com.aimobs.entity.ai.application.WolfGroupRegistry;
 import com.aimobs.entity.ai.application.FeedbackCoordinator;
 import com.aimobs.entity.ai.application.ParticleCoordinator;
 import com.aimobs.entity.ai.application.AudioCoordinator;
+import com.aimobs.entity.ai.application.AiEntityRegistry;
 import com.aimobs.entity.ai.application.StatusDisplayCoordinator;
 import com.aimobs.entity.ai.core.AICommand;
 import com.aimobs.entity.ai.core.EntityActions;
@@ -19,6 +28,9 @@ import com.aimobs.entity.ai.core.InventoryActions;
 import com.aimobs.entity.ai.infrastructure.MinecraftPathfindingService;
 import com.aimobs.entity.ai.infrastructure.MinecraftAiPersistenceAdapter;
 import com.aimobs.entity.ai.infrastructure.MinecraftWorldEventHandler;
+import com.aimobs.entity.ai.infrastructure.MinecraftAiEntityTracker;
+import com.aimobs.entity.ai.infrastructure.MinecraftPlayerTracker;
+import com.aimobs.entity.ai.infrastructure.MinecraftWolfSpawner;
 import com.aimobs.entity.ai.infrastructure.MinecraftEntityLookupService;
 import com.aimobs.entity.ai.infrastructure.MinecraftParticleAdapter;
 import com.aimobs.entity.ai.infrastructure.MinecraftAudioAdapter;
@@ -28,12 +40,28 @@ import com.aimobs.entity.ai.infrastructure.AudioAdapter;
 import com.aimobs.entity.ai.infrastructure.StatusDisplayAdapter;
 import com.aimobs.network.MessageService;
 import com.aimobs.network.WebSocketService;
+import com.aimobs.network.application.CommandDeadlines;
+import com.aimobs.network.application.CreditController;
+import com.aimobs.network.application.InMemoryMessageSpool;
+import com.aimobs.network.application.InboundMessageMailbox;
+import com.aimobs.network.application.LinkHealthMonitor;
+import com.aimobs.network.application.DeferredCommandInbox;
 import com.aimobs.network.application.MessageParser;
 import com.aimobs.network.application.NetworkCommandCoordinator;
+import com.aimobs.network.application.RecentMessageWindow;
 import com.aimobs.network.application.TestableWebSocketService;
+import com.aimobs.network.core.Action;
+import com.aimobs.network.core.ActionRegistry;
+import com.aimobs.network.core.OutboundMessageSpool;
+import com.aimobs.network.infrastructure.MappedMessageSpool;
+import com.aimobs.AiMobsMod;
+import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.entity.passive.WolfEntity;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Queue;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Service Factory - Composition Root for dependency injection.
@@ -46,12 +74,84 @@ import java.util.Queue;
  */
 public class ServiceFactory {
     
+    // Stateless services shared by every wolf
+    private static final TargetResolverService SHARED_TARGET_RESOLVER = new TargetResolver();
+    private static final EntityResolverService SHARED_ENTITY_RESOLVER = new EntityResolver();
+    
+    // Inbound message hand-off configuration
+    private static final int INBOUND_MAILBOX_CAPACITY = Integer.getInteger("aimobs.inbound.capacity", 1024);
+    private static final int INBOUND_TICK_BUDGET = Integer.getInteger("aimobs.inbound.tickBudget", 64);
+    
+    // Flow control: per-entity queue limit and the tick time at which credits run out
+    private static final int MAX_QUEUED_PER_WOLF = Integer.getInteger("aimobs.flow.maxQueuedPerWolf",
+        CommandRouter.DEFAULT_MAX_QUEUED_PER_RECEIVER);
+    private static final long FLOW_TICK_BUDGET_MS = Long.getLong("aimobs.flow.tickBudgetMs", 50);
+    
+    // Hard bound of each wolf's priority command mailbox, above the flow control limit
+    private static final int COMMAND_QUEUE_CAPACITY = Integer.getInteger("aimobs.queue.capacity",
+        CommandPriorityQueue.DEFAULT_CAPACITY);
+    
+    // Command time to live from the message timestamp; per-action overrides use aimobs.command.ttlMs.<action>
+    private static final long COMMAND_TTL_MS = Long.getLong("aimobs.command.ttlMs", CommandDeadlines.DEFAULT_TTL_MS);
+    // Commands every wolf discarded because they expired in its queue
+    private static final LongAdder EXPIRED_COMMANDS = new LongAdder();
+    
+    // Choice of wolf for commands that do not name one: least_queued, nearest, round_robin or sticky
+    private static final String ROUTING_STRATEGY = System.getProperty("aimobs.routing.strategy", "least_queued");
+    
+    // Duplicate delivery detection
+    private static final int DEDUP_WINDOW = Integer.getInteger("aimobs.dedup.window", MessageParser.DEFAULT_DEDUP_WINDOW);
+    
+    // Commands held for target entities in unloaded chunks
+    private static final int DEFERRED_CAPACITY = Integer.getInteger("aimobs.deferred.capacity",
+        MessageParser.DEFAULT_DEFERRED_CAPACITY);
+    private static final long DEFERRED_TTL_MS = Long.getLong("aimobs.deferred.ttlMs",
+        MessageParser.DEFAULT_DEFERRED_TTL_MS);
+    
+    // AI entity membership caching: ids remembered as not AI, and the bloom filter over persisted ids
+    private static final int LIFECYCLE_NEGATIVE_CACHE_SIZE = Integer.getInteger("aimobs.lifecycle.negativeCacheSize",
+        EntityLifecycleCoordinator.DEFAULT_NEGATIVE_CACHE_SIZE);
+    private static final boolean LIFECYCLE_BLOOM_FILTER = Boolean.parseBoolean(
+        System.getProperty("aimobs.lifecycle.bloomFilter", "true"));
+    
+    // Wolves spawned per server tick by bulk spawns
+    private static final int SPAWNS_PER_TICK = Integer.getInteger("aimobs.spawn.perTick", 16);
+    
+    // Time per server tick spent starting wolf commands; the rest carries over to the next tick
+    private static final long SCHEDULER_TICK_BUDGET_US = Long.getLong("aimobs.scheduler.tickBudgetUs", 2000);
+    
+    // Heartbeat configuration
+    private static final long HEARTBEAT_INTERVAL_MS = Long.getLong("aimobs.heartbeat.intervalMs",
+        NetworkCommandCoordinator.DEFAULT_HEARTBEAT_INTERVAL_MS);
+    private static final long HEARTBEAT_TIMEOUT_MS = Long.getLong("aimobs.heartbeat.timeoutMs",
+        NetworkCommandCoordinator.DEFAULT_HEARTBEAT_TIMEOUT_MS);
+    
+    // Outbound spool configuration
+    private static final int SPOOL_SEGMENT_BYTES = Integer.getInteger("aimobs.spool.segmentBytes", 1 << 20);
+    private static final int SPOOL_MAX_SEGMENTS = Integer.getInteger("aimobs.spool.maxSegments", 16);
+    private static final int SPOOL_FALLBACK_MESSAGES = 100;
+    
     /**
      * Create command processor service with injected dependencies.
      * Returns interface, constructs concrete implementation.
      */
     public static CommandProcessorService createCommandProcessor(Queue<AICommand> commandQueue) {
-        return new CommandProcessor(commandQueue);
+        return new CommandProcessor(commandQueue, null, null, EXPIRED_COMMANDS);
+    }
+    
+    /**
+     * @return Commands discarded from wolf queues because their deadline passed before they started
+     */
+    public static long getExpiredCommandCount() {
+        return EXPIRED_COMMANDS.sum();
+    }
+    
+    /**
+     * Create a wolf's command mailbox, ordered by command priority.
+     * Returns interface, constructs concrete implementation.
+     */
+    public static Queue<AICommand> createCommandQueue() {
+        return new CommandPriorityQueue(COMMAND_QUEUE_CAPACITY);
     }
     
     /**
@@ -67,7 +167,8 @@ public class ServiceFactory {
      * Returns interface, constructs concrete implementation.
      */
     public static MessageService createMessageService(CommandProcessorService commandProcessor, CommandRoutingService commandRouter) {
-        return new MessageParser(commandProcessor, commandRouter);
+        return new MessageParser(commandProcessor, commandRouter, new RecentMessageWindow(DEDUP_WINDOW),
+            createDeferredCommandInbox(), createCommandDeadlines());
     }
     
     /**
@@ -77,7 +178,27 @@ public class ServiceFactory {
     public static MessageService createMessageService(CommandProcessorService commandProcessor) {
         // Create a null command router for legacy support
         // This will be removed once all callers are updated
-        return new MessageParser(commandProcessor, null);
+        return new MessageParser(commandProcessor, null, new RecentMessageWindow(DEDUP_WINDOW),
+            createDeferredCommandInbox(), createCommandDeadlines());
+    }
+    
+    private static CommandDeadlines createCommandDeadlines() {
+        if (COMMAND_TTL_MS <= 0) {
+            return CommandDeadlines.none();
+        }
+        CommandDeadlines deadlines = CommandDeadlines.defaults(COMMAND_TTL_MS);
+        for (Action action : ActionRegistry.all()) {
+            Long ttl = Long.getLong("aimobs.command.ttlMs." + action.name());
+            if (ttl != null) {
+                deadlines.setTtl(action, ttl);
+            }
+        }
+        return deadlines;
+    }
+    
+    private static DeferredCommandInbox createDeferredCommandInbox() {
+        // A wolf never gets more held commands than its queue could take at once
+        return new DeferredCommandInbox(DEFERRED_CAPACITY, MAX_QUEUED_PER_WOLF, DEFERRED_TTL_MS);
     }
     
     /**
@@ -86,13 +207,38 @@ public class ServiceFactory {
      * Uses seam pattern for testability.
      */
     public static WebSocketService createWebSocketService(MessageService messageService) {
-        NetworkCommandCoordinator coordinator = new NetworkCommandCoordinator(messageService);
+        // Received frames are parked in a mailbox and handled on the server thread
+        InboundMessageMailbox inboundMailbox = new InboundMessageMailbox(INBOUND_MAILBOX_CAPACITY);
+        LinkHealthMonitor linkHealth = new LinkHealthMonitor(HEARTBEAT_INTERVAL_MS, HEARTBEAT_TIMEOUT_MS);
+        // The backend may send only as many commands as entity queues and tick time allow
+        CreditController credits = new CreditController(INBOUND_TICK_BUDGET, FLOW_TICK_BUDGET_MS);
+        NetworkCommandCoordinator coordinator = new NetworkCommandCoordinator(
+            messageService, inboundMailbox, INBOUND_TICK_BUDGET, linkHealth, credits);
         
         // In production, use real WebSocket connection
         com.aimobs.network.core.WebSocketConnection connection = 
             new com.aimobs.network.infrastructure.JavaWebSocketConnection();
         
-        return new TestableWebSocketService(connection, coordinator);
+        TestableWebSocketService service = new TestableWebSocketService(connection, coordinator, createOutboundSpool());
+        // Heartbeats notice half-open connections long before TCP does
+        service.startHeartbeat();
+        return service;
+    }
+    
+    /**
+     * Create the durable outbound spool, falling back to a heap spool if it cannot be opened.
+     */
+    private static OutboundMessageSpool createOutboundSpool() {
+        String configuredDir = System.getProperty("aimobs.spool.dir");
+        Path directory = configuredDir != null
+            ? Path.of(configuredDir)
+            : FabricLoader.getInstance().getGameDir().resolve("aimobs").resolve("spool");
+        try {
+            return MappedMessageSpool.open(directory, SPOOL_SEGMENT_BYTES, SPOOL_MAX_SEGMENTS);
+        } catch (IOException | IllegalArgumentException e) {
+            AiMobsMod.LOGGER.error("Could not open outbound spool in {}, buffering in memory", directory, e);
+            return new InMemoryMessageSpool(SPOOL_FALLBACK_MESSAGES);
+        }
     }
     
     /**
@@ -122,10 +268,10 @@ public class ServiceFactory {
     
     /**
      * Create target resolver service.
-     * Returns interface, constructs concrete implementation.
+     * Returns interface; the resolver is stateless, so one instance is shared by all wolves.
      */
     public static TargetResolverService createTargetResolverService() {
-        return new TargetResolver();
+        return SHARED_TARGET_RESOLVER;
     }
     
     /**
@@ -155,8 +301,20 @@ public class ServiceFactory {
         if (!(wolfEntity instanceof com.aimobs.entity.AiControlledWolfEntity)) {
             throw new IllegalArgumentException("Wolf entity must be an AiControlledWolfEntity");
         }
+        return createInteractionService(wolfEntity, movementService, new WolfInventoryManager(wolfEntity));
+    }
+    
+    /**
+     * Create interaction service over an existing inventory, so the wolf and its
+     * interactions share one inventory.
+     * Returns interface, constructs concrete implementation.
+     */
+    public static InteractionService createInteractionService(WolfEntity wolfEntity, MovementService movementService,
+                                                              InventoryActions inventoryActions) {
+        if (!(wolfEntity instanceof com.aimobs.entity.AiControlledWolfEntity)) {
+            throw new IllegalArgumentException("Wolf entity must be an AiControlledWolfEntity");
+        }
         EntityActions entityActions = (EntityActions) wolfEntity;
-        InventoryActions inventoryActions = new WolfInventoryManager(wolfEntity);
         return new InteractionCoordinator(entityActions, inventoryActions, movementService);
     }
     
@@ -181,10 +339,10 @@ public class ServiceFactory {
     
     /**
      * Create entity resolver service.
-     * Returns interface, constructs concrete implementation.
+     * Returns interface; the resolver is stateless, so one instance is shared by all wolves.
      */
     public static EntityResolverService createEntityResolverService() {
-        return new EntityResolver();
+        return SHARED_ENTITY_RESOLVER;
     }
     
     /**
@@ -209,16 +367,18 @@ public class ServiceFactory {
      * Returns interface, constructs concrete implementation.
      */
     public static EntityLifecycleService createEntityLifecycleService(AiPersistenceService persistenceService) {
-        return new EntityLifecycleCoordinator(persistenceService);
+        return new EntityLifecycleCoordinator(persistenceService, LIFECYCLE_NEGATIVE_CACHE_SIZE, LIFECYCLE_BLOOM_FILTER);
     }
 
     /**
      * Create world event handler.
      * Returns concrete implementation for infrastructure layer.
-     * Services are created when world loads.
+     * Services are created when world loads; AI entities are indexed as they load.
+     * Commands are routed through one shard per dimension.
      */
-    public static MinecraftWorldEventHandler createWorldEventHandler() {
-        return new MinecraftWorldEventHandler();
+    public static MinecraftWorldEventHandler createWorldEventHandler(WolfGroupService groups) {
+        ShardedCommandRouter router = new ShardedCommandRouter(groups);
+        return new MinecraftWorldEventHandler(new MinecraftAiEntityTracker(router), router);
     }
 
     /**
@@ -230,19 +390,70 @@ public class ServiceFactory {
     }
 
     /**
-     * Create entity lookup service with world context.
+     * Create entity lookup service over a world's AI entity registry.
      * Returns interface, constructs concrete implementation.
      */
-    public static EntityLookupService createEntityLookupService(net.minecraft.server.world.ServerWorld world) {
-        return new MinecraftEntityLookupService(world);
+    public static EntityLookupService createEntityLookupService(AiEntityRegistry registry) {
+        return new MinecraftEntityLookupService(registry);
     }
 
     /**
-     * Create command routing service with entity lookup.
+     * Create command routing service with entity lookup and named groups.
      * Returns interface, constructs concrete implementation.
      */
-    public static CommandRoutingService createCommandRoutingService(EntityLookupService entityLookup) {
-        return new CommandRouter(entityLookup);
+    public static CommandRoutingService createCommandRoutingService(EntityLookupService entityLookup, WolfGroupService groups) {
+        return new CommandRouter(entityLookup, MAX_QUEUED_PER_WOLF, COMMAND_QUEUE_CAPACITY,
+            createRoutingStrategy(ROUTING_STRATEGY), groups);
+    }
+
+    /**
+     * Create the registry of named wolf groups.
+     * Returns interface, constructs concrete implementation.
+     */
+    public static WolfGroupService createWolfGroupService() {
+        return new WolfGroupRegistry();
+    }
+
+    /**
+     * Create the tracker that indexes online players by name and UUID.
+     * Returns concrete implementation for infrastructure layer.
+     */
+    public static MinecraftPlayerTracker createPlayerTracker() {
+        return new MinecraftPlayerTracker();
+    }
+
+    /**
+     * Create the spawner used for single and bulk AI wolf spawns.
+     * Returns concrete implementation for infrastructure layer.
+     */
+    public static MinecraftWolfSpawner createWolfSpawner() {
+        return new MinecraftWolfSpawner(SPAWNS_PER_TICK);
+    }
+
+    /**
+     * Create the scheduler that shares a per-tick time budget between all AI wolves.
+     * Returns concrete implementation for the tick adapter.
+     */
+    public static AiScheduler createAiScheduler() {
+        return new AiScheduler(SCHEDULER_TICK_BUDGET_US);
+    }
+
+    /**
+     * Create the routing strategy named by configuration.
+     * Unknown names fall back to least queued.
+     */
+    public static RoutingStrategy createRoutingStrategy(String name) {
+        RoutingStrategy leastQueued = new LeastQueuedRoutingStrategy();
+        return switch (name) {
+            case "least_queued" -> leastQueued;
+            case "nearest" -> new NearestRoutingStrategy(leastQueued);
+            case "round_robin" -> new RoundRobinRoutingStrategy();
+            case "sticky" -> new StickyRoutingStrategy(new NearestRoutingStrategy(leastQueued));
+            default -> {
+                AiMobsMod.LOGGER.warn("Unknown routing strategy '{}', using least_queued", name);
+                yield leastQueued;
+            }
+        };
     }
 
     /**
@@ -0,0 +1,48 @@
+package com.aimobs.entity.ai;
+
+import com.aimobs.entity.ai.core.EntityId;
+
+import java.util.Set;
+
+/**
+ * Service contract for named groups of AI entities.
+ * A command addressed to a group is delivered to every available member.
+ * 
+ * Root interface - defines what the system does (contract only).
+ * Dependencies: Core layer only.
+ */
+public interface WolfGroupService {
+    
+    /**
+     * Adds an entity to a group, creating the group if needed.
+     * 
+     * @return true if the entity was not already a member
+     */
+    boolean addMember(String group, EntityId entityId);
+    
+    /**
+     * Removes an entity from a group; a group left empty is removed.
+     * 
+     * @return true if the entity was a member
+     */
+    boolean removeMember(String group, EntityId entityId);
+    
+    /**
+     * Removes a whole group.
+     * 
+     * @return true if the group existed
+     */
+    boolean removeGroup(String group);
+    
+    /**
+     * Gets the members of a group in the order they joined.
+     * 
+     * @return Snapshot of the members, empty if the group does not exist
+     */
+    Set<EntityId> getMembers(String group);
+    
+    /**
+     * @return Names of all groups
+     */
+    Set<String> getGroupNames();
+}
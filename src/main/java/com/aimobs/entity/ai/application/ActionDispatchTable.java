@@ -0,0 +1,75 @@
+package com.aimobs.entity.ai.application;
+
+import com.aimobs.entity.AiControlledWolfEntity;
+import com.aimobs.entity.ai.ActionCommandFactory;
+import com.aimobs.network.core.Action;
+import com.aimobs.network.core.ActionCategory;
+import com.aimobs.network.core.ActionRegistry;
+
+import java.util.Arrays;
+
+/**
+ * Command factories indexed by action id.
+ * Selecting a factory is a single array read instead of comparing action names.
+ * 
+ * Application layer - process-wide table, written during initialization and read on every command.
+ */
+public final class ActionDispatchTable {
+    
+    private static volatile ActionCommandFactory[] factories = new ActionCommandFactory[0];
+    
+    static {
+        ActionCommandFactory movement = AiControlledWolfEntity::createMovementCommand;
+        ActionCommandFactory interaction = AiControlledWolfEntity::createInteractionCommand;
+        register(Action.MOVE, movement);
+        register(Action.FOLLOW, movement);
+        register(Action.STOP, movement);
+        register(Action.COME_HERE, movement);
+        register(Action.ATTACK, interaction);
+        register(Action.COLLECT, interaction);
+        register(Action.DEFEND, interaction);
+        register(Action.SPEAK, interaction);
+        register(Action.COMMUNICATE, interaction);
+    }
+    
+    private ActionDispatchTable() {
+    }
+    
+    /**
+     * Registers a new action together with the factory that builds its commands.
+     * Intended for other mods adding actions during initialization.
+     * 
+     * @param name Wire name of the action
+     * @param category Kind of action, used for feedback
+     * @param factory Factory for the action's commands
+     * @return The registered action
+     */
+    public static Action registerAction(String name, ActionCategory category, ActionCommandFactory factory) {
+        Action action = ActionRegistry.register(name, category);
+        register(action, factory);
+        return action;
+    }
+    
+    /**
+     * Sets the factory for an action, replacing any previous one.
+     */
+    public static synchronized void register(Action action, ActionCommandFactory factory) {
+        ActionCommandFactory[] current = factories;
+        ActionCommandFactory[] updated = action.id() < current.length
+            ? current.clone()
+            : Arrays.copyOf(current, action.id() + 1);
+        updated[action.id()] = factory;
+        factories = updated;
+    }
+    
+    /**
+     * @return The factory for the action, or null if none is registered
+     */
+    public static ActionCommandFactory factoryFor(Action action) {
+        if (action == null) {
+            return null;
+        }
+        ActionCommandFactory[] current = factories;
+        return action.id() < current.length ? current[action.id()] : null;
+    }
+}
@@ -0,0 +1,99 @@
+package com.aimobs.entity.ai.application;
+
+import com.aimobs.entity.ai.core.AiEntityRecord;
+import com.aimobs.entity.ai.core.AiEntityState;
+import com.aimobs.entity.ai.core.EntityId;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Index of every AI entity in the save, loaded or not, with its last known
+ * location and AI state. Replaces scanning the world for AI entities: the index
+ * is updated as entities load, unload and change state, and saved with the world.
+ *
+ * Every change is reported to a listener so the owner knows when to save.
+ * Not thread-safe: maintained and queried on the server thread.
+ *
+ * Application layer - pure data structure, no platform dependencies.
+ */
+public class AiEntityIndex {
+
+    private final Map<EntityId, AiEntityRecord> records = new LinkedHashMap<>();
+    private final Runnable onChange;
+
+    public AiEntityIndex() {
+        this(() -> {});
+    }
+
+    /**
+     * @param onChange Called after every change to the index
+     */
+    public AiEntityIndex(Runnable onChange) {
+        this.onChange = onChange;
+    }
+
+    /**
+     * Adds or replaces the record of an entity.
+     */
+    public void put(AiEntityRecord record) {
+        if (record == null || record.entityId() == null || record.state() == null) {
+            return;
+        }
+        if (!record.equals(records.put(record.entityId(), record))) {
+            onChange.run();
+        }
+    }
+
+    /**
+     * Records where an entity was seen, keeping its state; unknown entities
+     * are added with the given state.
+     */
+    public void updateLocation(EntityId entityId, String dimension, int chunkX, int chunkZ, AiEntityState state) {
+        AiEntityRecord current = records.get(entityId);
+        put(current != null
+            ? current.movedTo(dimension, chunkX, chunkZ).withState(state != null ? state : current.state())
+            : new AiEntityRecord(entityId, dimension, chunkX, chunkZ, state));
+    }
+
+    /**
+     * Records an entity's state, keeping its location; unknown entities are added without one.
+     */
+    public void updateState(EntityId entityId, AiEntityState state) {
+        AiEntityRecord current = records.get(entityId);
+        put(current != null ? current.withState(state) : AiEntityRecord.unplaced(entityId, state));
+    }
+
+    /**
+     * @return true if the entity was indexed
+     */
+    public boolean remove(EntityId entityId) {
+        if (entityId != null && records.remove(entityId) != null) {
+            onChange.run();
+            return true;
+        }
+        return false;
+    }
+
+    public Optional<AiEntityRecord> get(EntityId entityId) {
+        return entityId != null ? Optional.ofNullable(records.get(entityId)) : Optional.empty();
+    }
+
+    public boolean contains(EntityId entityId) {
+        return entityId != null && records.containsKey(entityId);
+    }
+
+    /**
+     * @return Every record, in the order entities were first indexed
+     */
+    public List<AiEntityRecord> getAll() {
+        return new ArrayList<>(records.values());
+    }
+
+    public int size() {
+        return records.size();
+    }
+}
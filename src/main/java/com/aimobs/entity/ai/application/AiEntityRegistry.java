@@ -0,0 +1,154 @@
+package com.aimobs.entity.ai.application;
+
+import com.aimobs.entity.ai.CommandReceiver;
+import com.aimobs.entity.ai.core.EntityId;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Index of the AI entities currently loaded in one world.
+ * Kept up to date from entity load/unload events, so lookups are a hash probe
+ * instead of a walk over every entity in the world.
+ *
+ * Entities occupy slots in a dense array. A bitset marks the slots whose entity
+ * was available when last checked; availability is re-checked when read, and an
+ * entity that is found unavailable stays out of the set until it is added again.
+ *
+ * Not thread-safe: maintained and queried on the server thread.
+ *
+ * Application layer - pure data structure, no platform dependencies.
+ */
+public class AiEntityRegistry {
+
+    private static final int INITIAL_SLOTS = 16;
+
+    private final Map<UUID, Integer> slotsByUuid = new HashMap<>();
+    private final Map<EntityId, Integer> slotsByEntityId = new HashMap<>();
+    private final BitSet occupied = new BitSet();
+    private final BitSet available = new BitSet();
+    private CommandReceiver[] receivers = new CommandReceiver[INITIAL_SLOTS];
+
+    /**
+     * Adds an entity, replacing any entity previously registered under the same UUID.
+     *
+     * @param uuid The entity's platform UUID
+     * @param receiver The entity as a command receiver
+     */
+    public void add(UUID uuid, CommandReceiver receiver) {
+        if (uuid == null || receiver == null) {
+            return;
+        }
+        remove(uuid);
+
+        int slot = occupied.nextClearBit(0);
+        if (slot >= receivers.length) {
+            receivers = Arrays.copyOf(receivers, receivers.length * 2);
+        }
+        receivers[slot] = receiver;
+        occupied.set(slot);
+        available.set(slot, receiver.isAvailable());
+
+        slotsByUuid.put(uuid, slot);
+        EntityId entityId = receiver.getEntityId();
+        if (entityId != null) {
+            slotsByEntityId.put(entityId, slot);
+        }
+    }
+
+    /**
+     * Removes an entity.
+     *
+     * @param uuid The entity's platform UUID
+     * @return true if the entity was registered
+     */
+    public boolean remove(UUID uuid) {
+        Integer slot = uuid != null ? slotsByUuid.remove(uuid) : null;
+        if (slot == null) {
+            return false;
+        }
+        EntityId entityId = receivers[slot].getEntityId();
+        if (entityId != null) {
+            // Only drop the id mapping if it still points at this slot
+            slotsByEntityId.remove(entityId, slot);
+        }
+        receivers[slot] = null;
+        occupied.clear(slot);
+        available.clear(slot);
+        return true;
+    }
+
+    /**
+     * @return The receiver with the given AI entity id, available or not
+     */
+    public Optional<CommandReceiver> findByEntityId(EntityId entityId) {
+        Integer slot = entityId != null ? slotsByEntityId.get(entityId) : null;
+        return slot != null ? Optional.of(receivers[slot]) : Optional.empty();
+    }
+
+    /**
+     * @return The receiver with the given platform UUID, or null if not registered
+     */
+    public CommandReceiver findByUuid(UUID uuid) {
+        Integer slot = uuid != null ? slotsByUuid.get(uuid) : null;
+        return slot != null ? receivers[slot] : null;
+    }
+
+    /**
+     * @return The first available receiver, or empty if none
+     */
+    public Optional<CommandReceiver> findAnyAvailable() {
+        for (int slot = available.nextSetBit(0); slot >= 0; slot = available.nextSetBit(slot + 1)) {
+            if (receivers[slot].isAvailable()) {
+                return Optional.of(receivers[slot]);
+            }
+            available.clear(slot);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @return All available receivers, in slot order
+     */
+    public List<CommandReceiver> getAvailable() {
+        List<CommandReceiver> result = new ArrayList<>(available.cardinality());
+        for (int slot = available.nextSetBit(0); slot >= 0; slot = available.nextSetBit(slot + 1)) {
+            if (receivers[slot].isAvailable()) {
+                result.add(receivers[slot]);
+            } else {
+                available.clear(slot);
+            }
+        }
+        return result;
+    }
+
+    public int getAvailableCount() {
+        for (int slot = available.nextSetBit(0); slot >= 0; slot = available.nextSetBit(slot + 1)) {
+            if (!receivers[slot].isAvailable()) {
+                available.clear(slot);
+            }
+        }
+        return available.cardinality();
+    }
+
+    /**
+     * @return Number of registered entities, available or not
+     */
+    public int size() {
+        return slotsByUuid.size();
+    }
+
+    public void clear() {
+        slotsByUuid.clear();
+        slotsByEntityId.clear();
+        occupied.clear();
+        available.clear();
+        Arrays.fill(receivers, null);
+    }
+}
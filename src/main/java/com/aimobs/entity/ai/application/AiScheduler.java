@@ -0,0 +1,192 @@
+package com.aimobs.entity.ai.application;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs the expensive update of every registered AI entity within a time budget per server tick.
+ * Entities take turns round-robin: each tick starts with the first entity that was not served
+ * in the previous tick, and entities with nothing to do are skipped. Once the budget is spent
+ * the remaining entities carry over to the next tick, so a burst of commands arriving together
+ * is started over several ticks instead of in one long tick.
+ *
+ * At least one entity is served every tick, however small the budget, so work always progresses.
+ * The budget is checked between slices; a slice that runs long is never interrupted.
+ * Not thread-safe; used from the server thread only.
+ *
+ * Application layer - pure data structure, no platform dependencies.
+ */
+public class AiScheduler {
+
+    private static final Logger LOGGER = Logger.getLogger(AiScheduler.class.getName());
+
+    /**
+     * An entity whose expensive update is run by the scheduler.
+     */
+    public interface Task {
+
+        /**
+         * @return false once the entity is gone; it is then dropped from the scheduler
+         */
+        boolean isScheduled();
+
+        /**
+         * @return true if the entity has an update waiting; must be cheap
+         */
+        boolean hasPendingWork();
+
+        /**
+         * Runs the entity's pending update.
+         */
+        void runSlice();
+    }
+
+    private final long budgetMicros;
+    private final long budgetNanos;
+    private final LongSupplier nanoClock;
+    private final List<Task> tasks = new ArrayList<>();
+    private final Set<Task> registered = Collections.newSetFromMap(new IdentityHashMap<>());
+    // Index of the task served first in the next tick
+    private int cursor;
+    private int lastTickSlices;
+    private long exhaustedTicks;
+
+    /**
+     * @param budgetMicros Time per tick spent on entity updates; 0 or less for no limit
+     */
+    public AiScheduler(long budgetMicros) {
+        this(budgetMicros, System::nanoTime);
+    }
+
+    /**
+     * @param budgetMicros Time per tick spent on entity updates; 0 or less for no limit
+     * @param nanoClock Source of the time in nanoseconds
+     */
+    public AiScheduler(long budgetMicros, LongSupplier nanoClock) {
+        this.budgetMicros = budgetMicros;
+        this.budgetNanos = budgetMicros > 0 ? budgetMicros * 1_000 : Long.MAX_VALUE;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Adds an entity after the last one registered; registering it again does nothing.
+     */
+    public void register(Task task) {
+        if (task != null && registered.add(task)) {
+            tasks.add(task);
+        }
+    }
+
+    /**
+     * Removes an entity, keeping the turn of the others.
+     */
+    public void unregister(Task task) {
+        if (registered.remove(task)) {
+            int index = indexOf(task);
+            tasks.remove(index);
+            if (index < cursor) {
+                cursor--;
+            }
+        }
+    }
+
+    public boolean isRegistered(Task task) {
+        return registered.contains(task);
+    }
+
+    /**
+     * Removes every entity, e.g. when the server stops.
+     */
+    public void clear() {
+        tasks.clear();
+        registered.clear();
+        cursor = 0;
+    }
+
+    /**
+     * Serves entities with pending work in turn until the budget is spent or every
+     * entity has been visited once. Call once per server tick.
+     * @return Number of entities served
+     */
+    public int runTick() {
+        long start = nanoClock.getAsLong();
+        int slices = 0;
+        int remaining = tasks.size();
+        while (remaining > 0) {
+            if (cursor >= tasks.size()) {
+                cursor = 0;
+            }
+            Task task = tasks.get(cursor);
+            if (!task.isScheduled()) {
+                tasks.remove(cursor);
+                registered.remove(task);
+                remaining--;
+                continue;
+            }
+            if (task.hasPendingWork()) {
+                if (slices > 0 && nanoClock.getAsLong() - start >= budgetNanos) {
+                    // Out of time; this task goes first next tick
+                    exhaustedTicks++;
+                    break;
+                }
+                runSlice(task);
+                slices++;
+            }
+            cursor++;
+            remaining--;
+        }
+        lastTickSlices = slices;
+        return slices;
+    }
+
+    private static void runSlice(Task task) {
+        try {
+            task.runSlice();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Scheduled AI update failed", e);
+        }
+    }
+
+    private int indexOf(Task task) {
+        for (int i = 0; i < tasks.size(); i++) {
+            if (tasks.get(i) == task) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return Number of registered entities
+     */
+    public int getRegisteredCount() {
+        return tasks.size();
+    }
+
+    /**
+     * @return Time per tick spent on entity updates in microseconds; 0 or less if unlimited
+     */
+    public long getBudgetMicros() {
+        return budgetMicros;
+    }
+
+    /**
+     * @return Entities served in the last tick
+     */
+    public int getLastTickSlices() {
+        return lastTickSlices;
+    }
+
+    /**
+     * @return Ticks whose budget ran out before every entity with pending work was served
+     */
+    public long getExhaustedTickCount() {
+        return exhaustedTicks;
+    }
+}
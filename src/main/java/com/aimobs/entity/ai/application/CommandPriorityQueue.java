@@ -0,0 +1,352 @@
+package com.aimobs.entity.ai.application;
+
+import com.aimobs.entity.ai.core.AICommand;
+import com.aimobs.entity.ai.core.PlanStepCommand;
+
+import java.util.AbstractQueue;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Bounded per-wolf command mailbox ordered by {@link AICommand#getPriority()},
+ * highest first, and by arrival among commands of equal priority.
+ *
+ * Implemented as an indexed binary heap: every entry knows its slot, so a queued
+ * command can be removed in O(log n) as well as polled. When the mailbox is full,
+ * an arriving command takes the place of the newest command of the lowest priority,
+ * provided it outranks that command; otherwise it is refused.
+ *
+ * Commands offered one at a time are coalesced by {@link AICommand#getCoalescingKey()}:
+ * a queued command with the same key is replaced in place, in O(1) through a slot per
+ * key plus a re-sift if the priority changed, and the replaced command is cancelled.
+ * Steps added together with {@link #addAll} form a plan: they are queued as
+ * {@link PlanStepCommand}s at the plan's highest priority, so they are polled in plan
+ * order. They are never coalesced, never evict queued commands, and are queued all
+ * together or not at all. Queries such as {@link #contains} and {@link #remove} take
+ * the step as it was added.
+ *
+ * Iteration visits commands in heap order, not in the order they will be polled.
+ * Not thread-safe; used from the server thread only.
+ *
+ * Application layer - pure data structure, no platform dependencies.
+ */
+public class CommandPriorityQueue extends AbstractQueue<AICommand> {
+
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private final int capacity;
+    private Entry[] heap = new Entry[8];
+    private final Map<AICommand, Entry> entries = new IdentityHashMap<>();
+    // Latest coalescable entry per coalescing key
+    private final Map<Object, Entry> slots = new HashMap<>();
+    private int size;
+    private long nextSequence;
+    private long evicted;
+    private long coalesced;
+
+    /**
+     * @param capacity Maximum commands held
+     */
+    public CommandPriorityQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Command queue capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Queues a command, replacing a queued command with the same coalescing key,
+     * or else evicting a lower-priority command if the queue is full.
+     * @return false if the queue is full of commands of the same or higher priority,
+     *         or the command is already queued
+     */
+    @Override
+    public boolean offer(AICommand command) {
+        return insert(command, command, true);
+    }
+
+    /**
+     * Queues a plan's commands in order, at one rank and without coalescing them.
+     * A plan with holes would run later steps without the ones before them, so the
+     * plan is refused as a whole unless every step fits in the free room.
+     * @return true if every command was queued, false if none was
+     */
+    @Override
+    public boolean addAll(Collection<? extends AICommand> commands) {
+        if (commands.size() > capacity - size) {
+            return false;
+        }
+        List<AICommand> steps = List.copyOf(commands);
+        List<AICommand> plan = PlanStepCommand.asPlan(steps);
+        for (int i = 0; i < steps.size(); i++) {
+            if (!insert(steps.get(i), plan.get(i), false)) {
+                // A step is already queued; take back the steps queued so far
+                for (int queued = 0; queued < i; queued++) {
+                    remove(steps.get(queued));
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param command Command as added, used to look the entry up
+     * @param queued Command held and polled in its place
+     */
+    private boolean insert(AICommand command, AICommand queued, boolean coalesce) {
+        if (command == null) {
+            throw new NullPointerException("command");
+        }
+        if (entries.containsKey(command)) {
+            return false;
+        }
+        int priority = queued.getPriority();
+        Object key = coalesce ? command.getCoalescingKey() : null;
+        if (key != null) {
+            Entry previous = slots.get(key);
+            if (previous != null) {
+                replace(previous, command, priority);
+                return true;
+            }
+        }
+        if (size >= capacity) {
+            int victim = lowestSlot();
+            if (heap[victim].priority >= priority) {
+                return false;
+            }
+            removeAt(victim);
+            evicted++;
+        }
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, Math.min(capacity, size * 2));
+        }
+        Entry entry = new Entry(command, queued, priority, nextSequence++, key);
+        entries.put(command, entry);
+        if (key != null) {
+            slots.put(key, entry);
+        }
+        entry.slot = size;
+        heap[size++] = entry;
+        siftUp(entry.slot);
+        return true;
+    }
+
+    /**
+     * Puts a newer command into a queued command's place; it keeps the older command's
+     * arrival order and takes its own priority.
+     */
+    private void replace(Entry entry, AICommand command, int priority) {
+        AICommand replaced = entry.command;
+        entries.remove(entry.added);
+        entries.put(command, entry);
+        entry.added = command;
+        entry.command = command;
+        int oldPriority = entry.priority;
+        entry.priority = priority;
+        if (priority > oldPriority) {
+            siftUp(entry.slot);
+        } else if (priority < oldPriority) {
+            siftDown(entry.slot);
+        }
+        replaced.cancel();
+        coalesced++;
+    }
+
+    @Override
+    public AICommand poll() {
+        return size == 0 ? null : removeAt(0).command;
+    }
+
+    @Override
+    public AICommand peek() {
+        return size == 0 ? null : heap[0].command;
+    }
+
+    @Override
+    public boolean remove(Object command) {
+        Entry entry = entries.get(command);
+        if (entry == null) {
+            return false;
+        }
+        removeAt(entry.slot);
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object command) {
+        return entries.containsKey(command);
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(heap, 0, size, null);
+        entries.clear();
+        slots.clear();
+        size = 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Maximum commands held
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return Commands dropped to make room for higher-priority arrivals
+     */
+    public long getEvictedCount() {
+        return evicted;
+    }
+
+    /**
+     * @return Queued commands replaced by a newer command with the same coalescing key
+     */
+    public long getCoalescedCount() {
+        return coalesced;
+    }
+
+    /**
+     * Iterates over a snapshot of the queued commands; removing through the
+     * iterator removes the command from the queue.
+     */
+    @Override
+    public Iterator<AICommand> iterator() {
+        Entry[] snapshot = Arrays.copyOf(heap, size);
+        return new Iterator<>() {
+            private int next;
+            // Command as added for the entry returned last
+            private AICommand last;
+
+            @Override
+            public boolean hasNext() {
+                return next < snapshot.length;
+            }
+
+            @Override
+            public AICommand next() {
+                if (next >= snapshot.length) {
+                    throw new NoSuchElementException();
+                }
+                Entry entry = snapshot[next++];
+                last = entry.added;
+                return entry.command;
+            }
+
+            @Override
+            public void remove() {
+                if (last == null) {
+                    throw new IllegalStateException();
+                }
+                CommandPriorityQueue.this.remove(last);
+                last = null;
+            }
+        };
+    }
+
+    private Entry removeAt(int slot) {
+        Entry removed = heap[slot];
+        entries.remove(removed.added);
+        if (removed.key != null) {
+            slots.remove(removed.key, removed);
+        }
+        int lastSlot = --size;
+        Entry moved = heap[lastSlot];
+        heap[lastSlot] = null;
+        if (slot != lastSlot) {
+            heap[slot] = moved;
+            moved.slot = slot;
+            siftDown(slot);
+            if (heap[slot] == moved) {
+                siftUp(slot);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * @return Slot of the newest command of the lowest priority; always a leaf
+     */
+    private int lowestSlot() {
+        int lowest = size - 1;
+        for (int i = size >>> 1; i < size; i++) {
+            if (ranksAbove(heap[lowest], heap[i])) {
+                lowest = i;
+            }
+        }
+        return lowest;
+    }
+
+    private void siftUp(int slot) {
+        Entry entry = heap[slot];
+        while (slot > 0) {
+            int parent = (slot - 1) >>> 1;
+            if (!ranksAbove(entry, heap[parent])) {
+                break;
+            }
+            place(heap[parent], slot);
+            slot = parent;
+        }
+        place(entry, slot);
+    }
+
+    private void siftDown(int slot) {
+        Entry entry = heap[slot];
+        int half = size >>> 1;
+        while (slot < half) {
+            int child = 2 * slot + 1;
+            int right = child + 1;
+            if (right < size && ranksAbove(heap[right], heap[child])) {
+                child = right;
+            }
+            if (!ranksAbove(heap[child], entry)) {
+                break;
+            }
+            place(heap[child], slot);
+            slot = child;
+        }
+        place(entry, slot);
+    }
+
+    private void place(Entry entry, int slot) {
+        heap[slot] = entry;
+        entry.slot = slot;
+    }
+
+    /**
+     * Higher priority first, then earlier arrival.
+     */
+    private static boolean ranksAbove(Entry a, Entry b) {
+        return a.priority != b.priority ? a.priority > b.priority : a.sequence < b.sequence;
+    }
+
+    private static final class Entry {
+        // Command as added, and the command held for it
+        AICommand added;
+        AICommand command;
+        int priority;
+        final long sequence;
+        final Object key;
+        int slot;
+
+        Entry(AICommand added, AICommand command, int priority, long sequence, Object key) {
+            this.added = added;
+            this.command = command;
+            this.priority = priority;
+            this.sequence = sequence;
+            this.key = key;
+        }
+    }
+}
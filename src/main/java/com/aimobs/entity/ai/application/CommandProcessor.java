@@ -2,10 +2,13 @@ package com.aimobs.entity.ai.application;
 
 import com.aimobs.entity.ai.core.AICommand;
 import com.aimobs.entity.ai.core.AIState;
+import com.aimobs.entity.ai.core.ExpiringCommand;
+import com.aimobs.entity.ai.core.PlanStepCommand;
 import com.aimobs.entity.ai.FeedbackService;
 
 import java.util.Queue;
 import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
@@ -25,15 +28,28 @@ public class CommandProcessor implements CommandProcessorService {
     private AICommand currentCommand;
     private final FeedbackService feedbackService;
     private final UUID wolfId;
+    // Shared count of expired commands across processors, or null
+    private final LongAdder expiredTotal;
+    private long expiredCount;
     
     public CommandProcessor(Queue<AICommand> commandQueue) {
         this(commandQueue, null, null);
     }
     
     public CommandProcessor(Queue<AICommand> commandQueue, FeedbackService feedbackService, UUID wolfId) {
+        this(commandQueue, feedbackService, wolfId, null);
+    }
+    
+    /**
+     * @param expiredTotal Counter shared by all processors that also counts this processor's expired commands,
+     *                     or null
+     */
+    public CommandProcessor(Queue<AICommand> commandQueue, FeedbackService feedbackService, UUID wolfId,
+                            LongAdder expiredTotal) {
         this.commandQueue = commandQueue;
         this.feedbackService = feedbackService;
         this.wolfId = wolfId;
+        this.expiredTotal = expiredTotal;
         LOGGER.log(Level.INFO, "CommandProcessor created with queue: " + commandQueue.getClass().getSimpleName());
     }
     
@@ -43,21 +59,25 @@ public class CommandProcessor implements CommandProcessorService {
             return;
         }
         
-        LOGGER.log(Level.INFO, "Queueing command: " + command.getClass().getSimpleName());
+        LOGGER.log(Level.INFO, "Queueing command: " + nameOf(command));
+        
+        if (!this.commandQueue.offer(command)) {
+            LOGGER.log(Level.WARNING, "Command queue full, dropped " + nameOf(command));
+            return;
+        }
         
         // Trigger feedback for command received
         if (feedbackService != null && wolfId != null) {
             feedbackService.onCommandReceived(wolfId, command);
         }
         
-        this.commandQueue.offer(command);
         this.currentState = AIState.BUSY;
         LOGGER.log(Level.INFO, "Command queue size after adding: " + this.commandQueue.size());
     }
     
     public void stopCurrentCommand() {
         LOGGER.log(Level.INFO, "Stopping current command. Current command: " + 
-                  (this.currentCommand != null ? this.currentCommand.getClass().getSimpleName() : "null"));
+                  (this.currentCommand != null ? nameOf(this.currentCommand) : "null"));
         if (this.currentCommand != null) {
             this.currentCommand.cancel();
             this.currentCommand = null;
@@ -77,43 +97,105 @@ public class CommandProcessor implements CommandProcessorService {
     
     /**
      * Process pending commands. Call this from entity tick() method.
+     * The running command is cancelled when a higher-priority command is queued,
+     * and queued commands past their deadline are discarded instead of started.
+     * While nothing changes this allocates nothing, so per-tick debug
+     * messages are only built when FINE logging is enabled.
      * @return true if state changed, false otherwise
      */
     public boolean tick() {
-        LOGGER.log(Level.FINE, "CommandProcessor tick() called. Queue size: " + this.commandQueue.size() + 
-                  ", Current command: " + (this.currentCommand != null ? this.currentCommand.getClass().getSimpleName() : "null") +
-                  ", Current state: " + this.currentState);
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.log(Level.FINE, "CommandProcessor tick() called. Queue size: " + this.commandQueue.size() + 
+                      ", Current command: " + (this.currentCommand != null ? nameOf(this.currentCommand) : "null") +
+                      ", Current state: " + this.currentState);
+        }
         
         boolean stateChanged = false;
         
+        if (!this.commandQueue.isEmpty() && discardExpiredHead()
+                && this.currentCommand == null && this.commandQueue.isEmpty()) {
+            // Everything that was waiting expired
+            this.currentState = AIState.IDLE;
+            return true;
+        }
+        
         if (this.currentCommand == null && !this.commandQueue.isEmpty()) {
             LOGGER.log(Level.INFO, "No current command and queue not empty - processing next command");
             processNextCommand();
             stateChanged = true;
         } else if (this.currentCommand != null && this.currentCommand.isComplete()) {
-            LOGGER.log(Level.INFO, "Current command completed: " + this.currentCommand.getClass().getSimpleName());
+            LOGGER.log(Level.INFO, "Current command completed: " + nameOf(this.currentCommand));
+            this.currentCommand = null;
+            processNextCommand();
+            stateChanged = true;
+        } else if (this.currentCommand != null && outranksCurrent(this.commandQueue.peek())) {
+            LOGGER.log(Level.INFO, "Preempting " + nameOf(this.currentCommand) +
+                      " for higher-priority " + nameOf(this.commandQueue.peek()));
+            this.currentCommand.cancel();
             this.currentCommand = null;
             processNextCommand();
             stateChanged = true;
-        } else if (this.currentCommand == null && this.commandQueue.isEmpty()) {
-            LOGGER.log(Level.FINE, "No commands to process - queue is empty");
-        } else if (this.currentCommand != null && !this.currentCommand.isComplete()) {
-            LOGGER.log(Level.FINE, "Current command still executing: " + this.currentCommand.getClass().getSimpleName());
+        } else if (LOGGER.isLoggable(Level.FINE)) {
+            if (this.currentCommand == null) {
+                LOGGER.log(Level.FINE, "No commands to process - queue is empty");
+            } else {
+                LOGGER.log(Level.FINE, "Current command still executing: " + nameOf(this.currentCommand));
+            }
         }
         
         return stateChanged;
     }
     
+    /**
+     * Whether {@link #tick()} has anything to do besides watching the running command:
+     * a queued command to start, discard or preempt with, or a finished command to replace.
+     * Cheap and allocation free, so schedulers can poll it every tick.
+     */
+    public boolean hasPendingWork() {
+        return !this.commandQueue.isEmpty() || (this.currentCommand != null && this.currentCommand.isComplete());
+    }
+    
+    /**
+     * Discards queued commands past their deadline from the head of the queue, so the next
+     * command started or considered for preemption is one that can still run.
+     * Commands further back are checked when they reach the head.
+     * @return true if any command was discarded
+     */
+    private boolean discardExpiredHead() {
+        long now = System.currentTimeMillis();
+        boolean discarded = false;
+        AICommand head;
+        while ((head = this.commandQueue.peek()) != null && now >= head.getDeadlineMillis()) {
+            this.commandQueue.poll();
+            head.cancel();
+            this.expiredCount++;
+            if (this.expiredTotal != null) {
+                this.expiredTotal.increment();
+            }
+            LOGGER.log(Level.INFO, "Discarding expired command: " + nameOf(head));
+            discarded = true;
+        }
+        return discarded;
+    }
+    
+    /**
+     * A queued command preempts the running one only if its priority is strictly higher,
+     * so commands of equal priority still run in arrival order.
+     */
+    private boolean outranksCurrent(AICommand next) {
+        return next != null && next.getPriority() > this.currentCommand.getPriority();
+    }
+    
     private void processNextCommand() {
         if (!this.commandQueue.isEmpty()) {
             this.currentCommand = this.commandQueue.poll();
-            LOGGER.log(Level.INFO, "Starting execution of command: " + this.currentCommand.getClass().getSimpleName());
+            LOGGER.log(Level.INFO, "Starting execution of command: " + nameOf(this.currentCommand));
             this.currentState = AIState.BUSY;
             try {
                 this.currentCommand.execute();
-                LOGGER.log(Level.INFO, "Command execute() method called successfully for: " + this.currentCommand.getClass().getSimpleName());
+                LOGGER.log(Level.INFO, "Command execute() method called successfully for: " + nameOf(this.currentCommand));
             } catch (Exception e) {
-                LOGGER.log(Level.SEVERE, "Exception during command execution: " + this.currentCommand.getClass().getSimpleName(), e);
+                LOGGER.log(Level.SEVERE, "Exception during command execution: " + nameOf(this.currentCommand), e);
             }
         } else {
             LOGGER.log(Level.INFO, "No commands in queue - setting state to IDLE");
@@ -125,4 +207,14 @@ public class CommandProcessor implements CommandProcessorService {
     public AICommand getCurrentCommand() {
         return this.currentCommand;
     }
+    
+    public long getExpiredCount() {
+        return this.expiredCount;
+    }
+    
+    private static String nameOf(AICommand command) {
+        AICommand named = command instanceof PlanStepCommand step ? step.getCommand() : command;
+        named = named instanceof ExpiringCommand expiring ? expiring.getCommand() : named;
+        return named.getClass().getSimpleName();
+    }
 }
\ No newline at end of file
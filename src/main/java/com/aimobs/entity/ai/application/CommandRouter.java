@@ -3,11 +3,16 @@ package com.aimobs.entity.ai.application;
 import com.aimobs.entity.ai.CommandRoutingService;
 import com.aimobs.entity.ai.EntityLookupService;
 import com.aimobs.entity.ai.CommandReceiver;
+import com.aimobs.entity.ai.RoutingStrategy;
+import com.aimobs.entity.ai.WolfGroupService;
 import com.aimobs.entity.ai.core.EntityId;
 import com.aimobs.entity.ai.core.AICommand;
+import com.aimobs.entity.ai.core.RoutingHint;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Application service implementing command routing logic.
@@ -18,10 +23,56 @@ import java.util.Optional;
  */
 public class CommandRouter implements CommandRoutingService {
     
+    public static final int DEFAULT_MAX_QUEUED_PER_RECEIVER = 16;
+    
     private final EntityLookupService entityLookup;
+    private final int maxQueuedPerReceiver;
+    private final int queueCapacity;
+    private final RoutingStrategy strategy;
+    private final WolfGroupService groups;
     
     public CommandRouter(EntityLookupService entityLookup) {
+        this(entityLookup, DEFAULT_MAX_QUEUED_PER_RECEIVER);
+    }
+    
+    /**
+     * @param maxQueuedPerReceiver Queue depth at which a receiver stops accepting commands
+     */
+    public CommandRouter(EntityLookupService entityLookup, int maxQueuedPerReceiver) {
+        this(entityLookup, maxQueuedPerReceiver, new LeastQueuedRoutingStrategy());
+    }
+    
+    /**
+     * @param maxQueuedPerReceiver Queue depth at which a receiver stops accepting commands
+     * @param strategy Chooses the receiver for commands without a target
+     */
+    public CommandRouter(EntityLookupService entityLookup, int maxQueuedPerReceiver, RoutingStrategy strategy) {
+        this(entityLookup, maxQueuedPerReceiver, strategy, new WolfGroupRegistry());
+    }
+    
+    /**
+     * @param maxQueuedPerReceiver Queue depth at which a receiver stops accepting commands
+     * @param strategy Chooses the receiver for commands without a target
+     * @param groups Named groups that commands can be addressed to
+     */
+    public CommandRouter(EntityLookupService entityLookup, int maxQueuedPerReceiver, RoutingStrategy strategy,
+                         WolfGroupService groups) {
+        this(entityLookup, maxQueuedPerReceiver, CommandPriorityQueue.DEFAULT_CAPACITY, strategy, groups);
+    }
+    
+    /**
+     * @param maxQueuedPerReceiver Queue depth at which a receiver stops accepting commands
+     * @param queueCapacity Hard bound of each receiver's queue, the longest plan an idle receiver can take
+     * @param strategy Chooses the receiver for commands without a target
+     * @param groups Named groups that commands can be addressed to
+     */
+    public CommandRouter(EntityLookupService entityLookup, int maxQueuedPerReceiver, int queueCapacity,
+                         RoutingStrategy strategy, WolfGroupService groups) {
         this.entityLookup = entityLookup;
+        this.maxQueuedPerReceiver = maxQueuedPerReceiver;
+        this.queueCapacity = queueCapacity;
+        this.strategy = strategy;
+        this.groups = groups;
     }
     
     @Override
@@ -45,13 +96,53 @@ public class CommandRouter implements CommandRoutingService {
             return false;
         }
         
-        Optional<CommandReceiver> receiver = entityLookup.findAnyAvailable();
-        if (receiver.isPresent()) {
-            receiver.get().receiveCommand(command);
-            return true;
+        Optional<CommandReceiver> receiver = selectReceiver(Optional.empty(), RoutingHint.none(), 1);
+        return receiver.isPresent() && receiver.get().receiveCommand(command);
+    }
+    
+    @Override
+    public boolean routeCommands(List<AICommand> commands, Optional<EntityId> targetId) {
+        if (commands == null || commands.isEmpty()) {
+            return false;
+        }
+        
+        Optional<CommandReceiver> receiver = selectReceiver(targetId, RoutingHint.none(), commands.size());
+        return receiver.isPresent() && receiver.get().receiveCommands(commands);
+    }
+    
+    @Override
+    public Optional<CommandReceiver> selectReceiver(Optional<EntityId> targetId, RoutingHint hint, int commandCount) {
+        if (targetId.isPresent()) {
+            return entityLookup.findEntityById(targetId.get())
+                .filter(CommandReceiver::isAvailable)
+                .filter(target -> hasRoom(target, commandCount));
         }
         
-        return false;
+        List<CommandReceiver> candidates = new ArrayList<>();
+        for (CommandReceiver receiver : entityLookup.getAllAvailableEntities()) {
+            if (hasRoom(receiver, commandCount)) {
+                candidates.add(receiver);
+            }
+        }
+        return candidates.isEmpty() ? Optional.empty() : strategy.select(candidates, hint);
+    }
+    
+    @Override
+    public List<CommandReceiver> selectGroup(String group, int commandCount) {
+        Set<EntityId> members = groups.getMembers(group);
+        List<CommandReceiver> receivers = new ArrayList<>(members.size());
+        for (EntityId member : members) {
+            entityLookup.findEntityById(member)
+                .filter(CommandReceiver::isAvailable)
+                .filter(receiver -> hasRoom(receiver, commandCount))
+                .ifPresent(receivers::add);
+        }
+        return receivers;
+    }
+    
+    @Override
+    public boolean isEntityLoaded(EntityId entityId) {
+        return entityLookup.findEntityById(entityId).isPresent();
     }
     
     @Override
@@ -59,6 +150,15 @@ public class CommandRouter implements CommandRoutingService {
         return entityLookup.getAvailableEntityCount();
     }
     
+    @Override
+    public int getQueueHeadroom() {
+        int headroom = 0;
+        for (CommandReceiver receiver : entityLookup.getAllAvailableEntities()) {
+            headroom += Math.max(0, maxQueuedPerReceiver - receiver.getQueuedCommandCount());
+        }
+        return headroom;
+    }
+    
     @Override
     public boolean hasAvailableReceivers() {
         return getAvailableReceiverCount() > 0;
@@ -74,12 +174,18 @@ public class CommandRouter implements CommandRoutingService {
      * Pure business logic - no platform dependencies.
      */
     private boolean routeToSpecificEntity(AICommand command, EntityId targetId) {
-        Optional<CommandReceiver> receiver = entityLookup.findEntityById(targetId);
-        if (receiver.isPresent() && receiver.get().isAvailable()) {
-            receiver.get().receiveCommand(command);
-            return true;
+        Optional<CommandReceiver> receiver = selectReceiver(Optional.of(targetId), RoutingHint.none(), 1);
+        return receiver.isPresent() && receiver.get().receiveCommand(command);
+    }
+    
+    /**
+     * An idle receiver has room for plans longer than the limit, up to its queue capacity.
+     */
+    private boolean hasRoom(CommandReceiver receiver, int commandCount) {
+        int queued = receiver.getQueuedCommandCount();
+        if (queued == 0) {
+            return commandCount <= queueCapacity;
         }
-        
-        return false;
+        return queued + commandCount <= maxQueuedPerReceiver;
     }
 }
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.aimobs.entity.ai.application;
+
+import com.aimobs.entity.ai.core.EntityId;
+
+import java.util.UUID;
+
+/**
+ * Bloom filter over entity ids: answers "definitely not added" without a lookup,
+ * and "maybe added" with a false positive rate close to the one it was sized for
+ * while no more than the expected number of ids has been added.
+ *
+ * Bit positions come from double hashing the two halves of the id's UUID,
+ * which are already random for generated ids.
+ *
+ * Not thread-safe.
+ *
+ * Application layer - pure data structure, no platform dependencies.
+ */
+public class EntityIdBloomFilter {
+
+    private static final int MIN_EXPECTED = 64;
+
+    private final long[] bits;
+    private final int bitCount;
+    private final int hashCount;
+    private final int expected;
+    private int added;
+
+    /**
+     * @param expected Number of ids the filter is sized for
+     * @param falsePositiveRate Target false positive rate at that size, between 0 and 1
+     */
+    public EntityIdBloomFilter(int expected, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+        this.expected = Math.max(MIN_EXPECTED, expected);
+        double ln2 = Math.log(2);
+        long optimalBits = (long) Math.ceil(-this.expected * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.bitCount = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, optimalBits));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / this.expected * ln2));
+        this.bits = new long[(bitCount + 63) >>> 6];
+    }
+
+    public void add(EntityId entityId) {
+        UUID uuid = entityId.getUuid();
+        long h1 = uuid.getMostSignificantBits();
+        long h2 = uuid.getLeastSignificantBits() | 1;
+        for (int i = 0; i < hashCount; i++) {
+            int bit = (int) Math.floorMod(h1 + i * h2, (long) bitCount);
+            bits[bit >>> 6] |= 1L << bit;
+        }
+        added++;
+    }
+
+    /**
+     * @return false if the id was definitely never added
+     */
+    public boolean mightContain(EntityId entityId) {
+        UUID uuid = entityId.getUuid();
+        long h1 = uuid.getMostSignificantBits();
+        long h2 = uuid.getLeastSignificantBits() | 1;
+        for (int i = 0; i < hashCount; i++) {
+            int bit = (int) Math.floorMod(h1 + i * h2, (long) bitCount);
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true once more ids were added than the filter was sized for
+     */
+    public boolean isSaturated() {
+        return added > expected;
+    }
+
+    public int getAddedCount() {
+        return added;
+    }
+
+    /**
+     * @return Number of ids the filter was sized for
+     */
+    public int getExpectedCount() {
+        return expected;
+    }
+}
@@ -5,50 +5,114 @@ import com.aimobs.entity.ai.AiPersistenceService;
 import com.aimobs.entity.ai.core.EntityId;
 import com.aimobs.entity.ai.core.AiEntityState;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.Map;
 import java.util.Set;
 
 /**
  * Application service implementing entity lifecycle coordination logic.
  * Orchestrates between persistence and command system to restore AI capabilities.
  * 
+ * Membership checks are cached in two levels. Entities registered this session
+ * are a set lookup, and ids recently found not to be AI entities are remembered
+ * in a bounded negative cache until the next AI entity load or unload. Behind that,
+ * an optional bloom filter over the persisted ids, built on reconnect, rules out
+ * most other ids before persistence is asked.
+ * 
  * Pure business logic - no infrastructure dependencies.
  * Dependencies: Root interfaces + Core only.
  */
 public class EntityLifecycleCoordinator implements EntityLifecycleService {
     
+    public static final int DEFAULT_NEGATIVE_CACHE_SIZE = 1024;
+    
+    private static final double BLOOM_FALSE_POSITIVE_RATE = 0.01;
+    
+    private static final AiEntityState INITIAL_STATE = AiEntityState.createAiControlled(
+        com.aimobs.entity.ai.core.AIState.IDLE, 
+        "ai_controlled_wolf"
+    );
+    
     private final AiPersistenceService persistenceService;
     private final Set<EntityId> registeredEntities;
+    private final Map<EntityId, Long> notAiEntities;
+    private final boolean useBloomFilter;
+    private long generation;
+    private EntityIdBloomFilter persistedIds; // Null until reconnect, or when disabled
 
     public EntityLifecycleCoordinator(AiPersistenceService persistenceService) {
+        this(persistenceService, DEFAULT_NEGATIVE_CACHE_SIZE, false);
+    }
+
+    /**
+     * @param negativeCacheSize Ids remembered as not being AI entities
+     * @param useBloomFilter Whether to build a bloom filter over persisted ids on reconnect
+     */
+    public EntityLifecycleCoordinator(AiPersistenceService persistenceService, int negativeCacheSize,
+                                      boolean useBloomFilter) {
         this.persistenceService = persistenceService;
         this.registeredEntities = ConcurrentHashMap.newKeySet();
+        this.notAiEntities = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<EntityId, Long> eldest) {
+                return size() > negativeCacheSize;
+            }
+        };
+        this.useBloomFilter = useBloomFilter;
     }
 
     @Override
     public void reconnectAiEntities() {
-        // Business logic: Find all AI entities and reconnect them
-        EntityId[] aiEntityIds = persistenceService.getAllAiEntityIds();
-        
-        for (EntityId entityId : aiEntityIds) {
-            AiEntityState state = persistenceService.loadAiState(entityId);
+        // Business logic: Find all AI entities and reconnect them, in one pass over the persisted states
+        Map<EntityId, AiEntityState> states = persistenceService.loadAllAiStates();
+        for (Map.Entry<EntityId, AiEntityState> entry : states.entrySet()) {
+            AiEntityState state = entry.getValue();
             
             if (state != null && state.isAiControlled()) {
-                reconnectSingleEntity(entityId, state);
+                reconnectSingleEntity(entry.getKey(), state);
             }
         }
+        if (useBloomFilter) {
+            rebuildBloomFilter(states);
+        }
+        invalidateNegativeCache();
     }
 
     @Override
     public void registerAiEntity(EntityId entityId) {
         registeredEntities.add(entityId);
+        rememberPersisted(entityId);
         
         // Save initial AI state
-        AiEntityState initialState = AiEntityState.createAiControlled(
-            com.aimobs.entity.ai.core.AIState.IDLE, 
-            "ai_controlled_wolf"
-        );
-        persistenceService.saveAiState(entityId, initialState);
+        persistenceService.saveAiState(entityId, INITIAL_STATE);
+    }
+
+    @Override
+    public void registerAiEntities(Collection<EntityId> entityIds) {
+        if (entityIds.isEmpty()) {
+            return;
+        }
+        registeredEntities.addAll(entityIds);
+        synchronized (this) {
+            if (persistedIds != null) {
+                if (persistedIds.getAddedCount() + entityIds.size() > persistedIds.getExpectedCount()) {
+                    // Size the filter for the whole batch at once instead of resizing during it
+                    Map<EntityId, AiEntityState> states = new LinkedHashMap<>(persistenceService.loadAllAiStates());
+                    for (EntityId entityId : entityIds) {
+                        states.put(entityId, INITIAL_STATE);
+                    }
+                    rebuildBloomFilter(states);
+                } else {
+                    entityIds.forEach(persistedIds::add);
+                }
+            }
+        }
+        
+        for (EntityId entityId : entityIds) {
+            persistenceService.saveAiState(entityId, INITIAL_STATE);
+        }
     }
 
     @Override
@@ -64,9 +128,38 @@ public class EntityLifecycleCoordinator implements EntityLifecycleService {
             return true;
         }
         
+        synchronized (this) {
+            Long checkedIn = notAiEntities.get(entityId);
+            if (checkedIn != null && checkedIn == generation) {
+                return false;
+            }
+            if (persistedIds != null && !persistedIds.mightContain(entityId)) {
+                notAiEntities.put(entityId, generation);
+                return false;
+            }
+        }
+        
         // Check if persisted as AI-controlled entity
         AiEntityState state = persistenceService.loadAiState(entityId);
-        return state != null && state.isAiControlled();
+        boolean aiEntity = state != null && state.isAiControlled();
+        if (!aiEntity) {
+            synchronized (this) {
+                notAiEntities.put(entityId, generation);
+            }
+        }
+        return aiEntity;
+    }
+
+    @Override
+    public void onAiEntityLoaded(EntityId entityId) {
+        // The entity may have been persisted by another service instance
+        rememberPersisted(entityId);
+        invalidateNegativeCache();
+    }
+
+    @Override
+    public void onAiEntityUnloaded(EntityId entityId) {
+        invalidateNegativeCache();
     }
 
     @Override
@@ -74,6 +167,35 @@ public class EntityLifecycleCoordinator implements EntityLifecycleService {
         return persistenceService.getAllAiEntityIds();
     }
 
+    /**
+     * Stale entries are not removed; they no longer match the generation and age out.
+     */
+    private synchronized void invalidateNegativeCache() {
+        generation++;
+    }
+
+    private synchronized void rememberPersisted(EntityId entityId) {
+        if (persistedIds == null) {
+            return;
+        }
+        if (persistedIds.isSaturated()) {
+            // Past its sizing the false positive rate climbs; resize from persistence
+            rebuildBloomFilter(persistenceService.loadAllAiStates());
+        }
+        persistedIds.add(entityId);
+    }
+
+    private synchronized void rebuildBloomFilter(Map<EntityId, AiEntityState> states) {
+        // Room to double before the next rebuild
+        EntityIdBloomFilter filter = new EntityIdBloomFilter(states.size() * 2, BLOOM_FALSE_POSITIVE_RATE);
+        for (Map.Entry<EntityId, AiEntityState> entry : states.entrySet()) {
+            if (entry.getValue() != null && entry.getValue().isAiControlled()) {
+                filter.add(entry.getKey());
+            }
+        }
+        persistedIds = filter;
+    }
+
     /**
      * Reconnects a single AI entity to the command system.
      * Pure business logic for entity reconnection.
@@ -82,13 +204,10 @@ public class EntityLifecycleCoordinator implements EntityLifecycleService {
         // Register with current session
         registeredEntities.add(entityId);
         
-        // Entity lookup and MessageService reconnection will be handled by
-        // the MessageParser when it searches for available wolves using findAvailableWolf()
-        // This method just ensures the entity is registered and state is preserved
-        
-        // Ensure state is preserved
-        persistenceService.saveAiState(entityId, state);
+        // Entity lookup and MessageService reconnection are handled by the entity
+        // registry as wolves load; the state came straight from persistence, so
+        // there is nothing to write back
         
         System.out.println("[AIMobs] Reconnected AI entity: " + entityId.asString());
     }
-}
\ No newline at end of file
+}
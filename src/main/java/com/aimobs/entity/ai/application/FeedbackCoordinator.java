@@ -9,6 +9,7 @@ import com.aimobs.entity.ai.core.FeedbackEvent;
 import com.aimobs.entity.ai.core.FeedbackType;
 import com.aimobs.entity.ai.core.StatusIcon;
 import com.aimobs.network.MessageService;
+import com.aimobs.network.core.Action;
 import net.minecraft.util.math.BlockPos;
 
 import java.util.UUID;
@@ -50,8 +51,8 @@ public class FeedbackCoordinator implements FeedbackService {
     }
     
     @Override
-    public void onCommandExecuting(UUID wolfId, String action) {
-        FeedbackEvent event = FeedbackEvent.commandExecuting(wolfId, action);
+    public void onCommandExecuting(UUID wolfId, Action action) {
+        FeedbackEvent event = FeedbackEvent.commandExecuting(wolfId, action.name());
         
         // Determine appropriate feedback type and icon based on action
         FeedbackType feedbackType = determineFeedbackType(action);
@@ -65,8 +66,8 @@ public class FeedbackCoordinator implements FeedbackService {
     }
     
     @Override
-    public void onCommandCompleted(UUID wolfId, String action) {
-        FeedbackEvent event = FeedbackEvent.commandCompleted(wolfId, action);
+    public void onCommandCompleted(UUID wolfId, Action action) {
+        FeedbackEvent event = FeedbackEvent.commandCompleted(wolfId, action.name());
         
         particleService.spawnCommandEffect(wolfId, FeedbackType.SUCCESS);
         audioService.playFeedbackSound(wolfId, FeedbackType.SUCCESS);
@@ -78,8 +79,8 @@ public class FeedbackCoordinator implements FeedbackService {
     }
     
     @Override
-    public void onCommandFailed(UUID wolfId, String action, String reason) {
-        FeedbackEvent event = FeedbackEvent.commandFailed(wolfId, action, reason);
+    public void onCommandFailed(UUID wolfId, Action action, String reason) {
+        FeedbackEvent event = FeedbackEvent.commandFailed(wolfId, action.name(), reason);
         
         particleService.spawnCommandEffect(wolfId, FeedbackType.FAILURE);
         audioService.playFeedbackSound(wolfId, FeedbackType.FAILURE);
@@ -115,27 +116,27 @@ public class FeedbackCoordinator implements FeedbackService {
     }
     
     /**
-     * Determines the appropriate feedback type based on the action.
+     * Determines the appropriate feedback type based on the action's category.
      */
-    private FeedbackType determineFeedbackType(String action) {
-        return switch (action.toLowerCase()) {
-            case "move", "moveto", "comehere", "follow" -> FeedbackType.MOVEMENT;
-            case "attack", "attacktarget" -> FeedbackType.COMBAT;
-            case "collect", "collectitems" -> FeedbackType.COLLECTION;
-            case "defend", "defendarea" -> FeedbackType.DEFENSE;
+    private FeedbackType determineFeedbackType(Action action) {
+        return switch (action.category()) {
+            case MOVEMENT -> FeedbackType.MOVEMENT;
+            case COMBAT -> FeedbackType.COMBAT;
+            case COLLECTION -> FeedbackType.COLLECTION;
+            case DEFENSE -> FeedbackType.DEFENSE;
             default -> FeedbackType.EXECUTING;
         };
     }
     
     /**
-     * Determines the appropriate status icon based on the action.
+     * Determines the appropriate status icon based on the action's category.
      */
-    private StatusIcon determineStatusIcon(String action) {
-        return switch (action.toLowerCase()) {
-            case "move", "moveto", "comehere", "follow" -> StatusIcon.MOVEMENT;
-            case "attack", "attacktarget" -> StatusIcon.COMBAT;
-            case "collect", "collectitems" -> StatusIcon.COLLECTION;
-            case "defend", "defendarea" -> StatusIcon.DEFENSE;
+    private StatusIcon determineStatusIcon(Action action) {
+        return switch (action.category()) {
+            case MOVEMENT -> StatusIcon.MOVEMENT;
+            case COMBAT -> StatusIcon.COMBAT;
+            case COLLECTION -> StatusIcon.COLLECTION;
+            case DEFENSE -> StatusIcon.DEFENSE;
             default -> StatusIcon.PROCESSING;
         };
     }
@@ -143,20 +144,23 @@ public class FeedbackCoordinator implements FeedbackService {
     /**
      * Triggers action-specific feedback effects.
      */
-    private void triggerActionSpecificFeedback(UUID wolfId, String action) {
-        switch (action.toLowerCase()) {
-            case "move", "moveto", "comehere", "follow" -> {
+    private void triggerActionSpecificFeedback(UUID wolfId, Action action) {
+        switch (action.category()) {
+            case MOVEMENT -> {
                 particleService.spawnMovementTrail(wolfId);
                 audioService.playMovementSound(wolfId);
             }
-            case "attack", "attacktarget" -> {
+            case COMBAT -> {
                 particleService.spawnCombatEffect(wolfId);
                 audioService.playCombatSound(wolfId);
             }
-            case "collect", "collectitems" -> {
+            case COLLECTION -> {
                 particleService.spawnCollectionEffect(wolfId);
                 audioService.playCollectionSound(wolfId);
             }
+            default -> {
+                // No extra effects for other kinds of action
+            }
         }
     }
     
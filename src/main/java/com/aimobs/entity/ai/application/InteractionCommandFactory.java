@@ -2,6 +2,7 @@ package com.aimobs.entity.ai.application;
 
 import com.aimobs.entity.ai.EntityResolverService;
 import com.aimobs.entity.ai.core.*;
+import com.aimobs.network.core.Action;
 import com.aimobs.network.core.NetworkMessage;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.util.math.BlockPos;
@@ -33,22 +34,20 @@ public class InteractionCommandFactory {
             return null;
         }
         
-        String action = message.getData().getAction();
+        Action action = message.getData().getActionToken();
         Map<String, Object> parameters = message.getData().getParameters();
         
-        switch (action.toLowerCase()) {
-            case "attack":
-                return createAttackCommand(parameters, entityResolver, entityPos);
-            case "collect":
-                return createCollectCommand(parameters);
-            case "defend":
-                return createDefendCommand(parameters, entityPos);
-            case "speak":
-            case "communicate":
-                return createCommunicationCommand(parameters);
-            default:
-                return null;
+        // Tokens are unique per action, so identity comparison is enough
+        if (action == Action.ATTACK) {
+            return createAttackCommand(parameters, entityResolver, entityPos);
+        } else if (action == Action.COLLECT) {
+            return createCollectCommand(parameters);
+        } else if (action == Action.DEFEND) {
+            return createDefendCommand(parameters, entityPos);
+        } else if (action == Action.SPEAK || action == Action.COMMUNICATE) {
+            return createCommunicationCommand(parameters);
         }
+        return null;
     }
     
     private static boolean isValidInteractionMessage(NetworkMessage message) {
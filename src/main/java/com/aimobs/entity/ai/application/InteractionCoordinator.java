@@ -7,6 +7,7 @@ import com.aimobs.entity.ai.core.*;
 import com.aimobs.entity.ai.infrastructure.AttackTargetGoal;
 import com.aimobs.entity.ai.infrastructure.CollectItemsGoal;
 import com.aimobs.entity.ai.infrastructure.DefendAreaGoal;
+import com.aimobs.network.core.Action;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec3d;
 import java.util.UUID;
@@ -54,7 +55,7 @@ public class InteractionCoordinator implements InteractionService {
         
         // Trigger feedback for attack command
         if (feedbackService != null && wolfId != null) {
-            feedbackService.onCommandExecuting(wolfId, "attack");
+            feedbackService.onCommandExecuting(wolfId, Action.ATTACK);
             feedbackService.onAttackStarted(wolfId, target.getEntityUuid());
         }
         
@@ -81,7 +82,7 @@ public class InteractionCoordinator implements InteractionService {
         
         // Trigger feedback for collection command
         if (feedbackService != null && wolfId != null) {
-            feedbackService.onCommandExecuting(wolfId, "collect");
+            feedbackService.onCommandExecuting(wolfId, Action.COLLECT);
             feedbackService.onCollectionStarted(wolfId, itemType);
         }
         
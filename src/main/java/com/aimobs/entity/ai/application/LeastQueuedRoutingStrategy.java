@@ -0,0 +1,34 @@
+package com.aimobs.entity.ai.application;
+
+import com.aimobs.entity.ai.CommandReceiver;
+import com.aimobs.entity.ai.RoutingStrategy;
+import com.aimobs.entity.ai.core.RoutingHint;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Routes each command to the receiver with the fewest queued commands,
+ * so work spreads across the pack instead of piling onto one entity.
+ * 
+ * Application layer - pure business logic, no platform dependencies.
+ */
+public class LeastQueuedRoutingStrategy implements RoutingStrategy {
+    
+    @Override
+    public Optional<CommandReceiver> select(List<CommandReceiver> candidates, RoutingHint hint) {
+        CommandReceiver best = null;
+        int bestQueued = Integer.MAX_VALUE;
+        for (CommandReceiver candidate : candidates) {
+            int queued = candidate.getQueuedCommandCount();
+            if (queued < bestQueued) {
+                best = candidate;
+                bestQueued = queued;
+                if (queued == 0) {
+                    break; // Cannot do better than idle
+                }
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+}
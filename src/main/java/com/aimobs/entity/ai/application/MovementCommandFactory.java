@@ -1,8 +1,10 @@
 package com.aimobs.entity.ai.application;
 
 import com.aimobs.entity.ai.MovementService;
+import com.aimobs.entity.ai.PlayerDirectory;
 import com.aimobs.entity.ai.TargetResolverService;
 import com.aimobs.entity.ai.core.*;
+import com.aimobs.network.core.Action;
 import com.aimobs.network.core.NetworkMessage;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.util.math.BlockPos;
@@ -15,19 +17,37 @@ import java.util.Optional;
 /**
  * Factory for creating movement commands from network messages.
  * Handles the conversion from WebSocket commands to movement AICommand implementations.
+ * 
+ * Follow and comeHere resolve their player by name or UUID through the player directory:
+ * the {@code player} parameter names who to follow, and otherwise the speaking player
+ * from the message context is used. Only messages naming no player at all fall back
+ * to the closest player.
  */
 public class MovementCommandFactory {
     
     private final MovementService movementService;
     private final TargetResolverService targetResolver;
     private final EntityActions entityActions;
+    private final PlayerDirectory playerDirectory;
 
     public MovementCommandFactory(MovementService movementService, 
                                 TargetResolverService targetResolver,
                                 EntityActions entityActions) {
+        this(movementService, targetResolver, entityActions, null);
+    }
+
+    /**
+     * @param playerDirectory Online players, used to resolve the player a command names;
+     *                        null before mod initialization, when no player can be named
+     */
+    public MovementCommandFactory(MovementService movementService, 
+                                TargetResolverService targetResolver,
+                                EntityActions entityActions,
+                                PlayerDirectory playerDirectory) {
         this.movementService = movementService;
         this.targetResolver = targetResolver;
         this.entityActions = entityActions;
+        this.playerDirectory = playerDirectory;
     }
 
     /**
@@ -42,21 +62,21 @@ public class MovementCommandFactory {
             return null;
         }
 
-        String action = message.getData().getAction();
+        Action action = message.getData().getActionToken();
         Map<String, Object> parameters = message.getData().getParameters();
+        Map<String, Object> context = message.getData().getContext();
 
-        switch (action) {
-            case "move":
-                return createMoveCommand(parameters, world);
-            case "follow":
-                return createFollowCommand(parameters, world);
-            case "stop":
-                return createStopCommand();
-            case "comeHere":
-                return createComeHereCommand(parameters, world);
-            default:
-                return null;
+        // Tokens are unique per action, so identity comparison is enough
+        if (action == Action.MOVE) {
+            return createMoveCommand(parameters, world);
+        } else if (action == Action.FOLLOW) {
+            return createFollowCommand(parameters, context, world);
+        } else if (action == Action.STOP) {
+            return createStopCommand();
+        } else if (action == Action.COME_HERE) {
+            return createComeHereCommand(parameters, context, world);
         }
+        return null;
     }
 
     private AICommand createMoveCommand(Map<String, Object> parameters, World world) {
@@ -67,8 +87,8 @@ public class MovementCommandFactory {
         return new MoveToLocationCommand(movementService, target);
     }
 
-    private AICommand createFollowCommand(Map<String, Object> parameters, World world) {
-        PlayerEntity player = findPlayer(parameters, world);
+    private AICommand createFollowCommand(Map<String, Object> parameters, Map<String, Object> context, World world) {
+        PlayerEntity player = findPlayer(parameters, context, world);
         if (player == null) {
             return null;
         }
@@ -79,8 +99,8 @@ public class MovementCommandFactory {
         return new StopMovementCommand(movementService);
     }
 
-    private AICommand createComeHereCommand(Map<String, Object> parameters, World world) {
-        PlayerEntity player = findPlayer(parameters, world);
+    private AICommand createComeHereCommand(Map<String, Object> parameters, Map<String, Object> context, World world) {
+        PlayerEntity player = findPlayer(parameters, context, world);
         if (player == null) {
             return null;
         }
@@ -113,9 +133,20 @@ public class MovementCommandFactory {
         return null;
     }
 
-    private PlayerEntity findPlayer(Map<String, Object> parameters, World world) {
-        // For now, find the closest player
-        // In a more advanced implementation, this could use player names or IDs
+    private PlayerEntity findPlayer(Map<String, Object> parameters, Map<String, Object> context, World world) {
+        String named = parameters != null && parameters.get("player") instanceof String player ? player
+            : context != null && context.get("player") instanceof String speaker ? speaker
+            : null;
+        if (named != null) {
+            // A named player who is offline or in another dimension is not swapped for someone else
+            if (playerDirectory == null) {
+                return null;
+            }
+            return playerDirectory.find(named)
+                .filter(player -> player.getWorld() == world)
+                .orElse(null);
+        }
+        
         Vec3d entityPosition = entityActions.getPosition();
         return world.getClosestPlayer(entityPosition.x, entityPosition.y, entityPosition.z, 50.0, false);
     }
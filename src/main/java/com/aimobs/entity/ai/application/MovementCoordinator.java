@@ -6,7 +6,9 @@ import com.aimobs.entity.ai.FeedbackService;
 import com.aimobs.entity.ai.core.EntityActions;
 import com.aimobs.entity.ai.core.MovementState;
 import com.aimobs.entity.ai.core.MovementTarget;
+import com.aimobs.network.core.Action;
 import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec3d;
 import java.util.UUID;
 
@@ -24,6 +26,8 @@ public class MovementCoordinator implements MovementService {
     private MovementState currentState = MovementState.IDLE;
     private MovementTarget currentTarget = null;
     private PlayerEntity followingPlayer = null;
+    // Block the current follow path leads to, so a standing player is not re-pathed every tick
+    private BlockPos followPathBlock = null;
 
     public MovementCoordinator(EntityActions entityActions, PathfindingService pathfindingService) {
         this(entityActions, pathfindingService, null, null);
@@ -46,7 +50,7 @@ public class MovementCoordinator implements MovementService {
         
         // Trigger feedback for movement start
         if (feedbackService != null && wolfId != null) {
-            feedbackService.onCommandExecuting(wolfId, "move");
+            feedbackService.onCommandExecuting(wolfId, Action.MOVE);
             Vec3d targetPos = target.getPosition();
             feedbackService.onMovementStarted(wolfId, targetPos.x, targetPos.y, targetPos.z);
         }
@@ -63,7 +67,7 @@ public class MovementCoordinator implements MovementService {
             
             // Trigger failure feedback
             if (feedbackService != null && wolfId != null) {
-                feedbackService.onCommandFailed(wolfId, "move", "Target unreachable");
+                feedbackService.onCommandFailed(wolfId, Action.MOVE, "Target unreachable");
             }
             return;
         }
@@ -85,7 +89,7 @@ public class MovementCoordinator implements MovementService {
         
         // Trigger feedback for follow command
         if (feedbackService != null && wolfId != null) {
-            feedbackService.onCommandExecuting(wolfId, "follow");
+            feedbackService.onCommandExecuting(wolfId, Action.FOLLOW);
         }
         
         // Stop any current movement
@@ -96,7 +100,8 @@ public class MovementCoordinator implements MovementService {
         currentTarget = null;
         
         // Start following by moving to player's current position
-        MovementTarget playerTarget = new MovementTarget(player.getBlockPos());
+        followPathBlock = player.getBlockPos();
+        MovementTarget playerTarget = new MovementTarget(followPathBlock);
         pathfindingService.startPathfinding(entityActions.getPosition(), playerTarget);
     }
 
@@ -158,7 +163,7 @@ public class MovementCoordinator implements MovementService {
                 
                 // Trigger success feedback
                 if (feedbackService != null && wolfId != null) {
-                    feedbackService.onCommandCompleted(wolfId, "move");
+                    feedbackService.onCommandCompleted(wolfId, Action.MOVE);
                 }
             } else if (!pathfindingService.isMoving()) {
                 // Stopped moving but didn't reach target - likely failed
@@ -167,7 +172,7 @@ public class MovementCoordinator implements MovementService {
                 
                 // Trigger failure feedback
                 if (feedbackService != null && wolfId != null) {
-                    feedbackService.onCommandFailed(wolfId, "move", "Movement interrupted");
+                    feedbackService.onCommandFailed(wolfId, Action.MOVE, "Movement interrupted");
                 }
             }
         }
@@ -183,9 +188,12 @@ public class MovementCoordinator implements MovementService {
         double distanceToPlayer = followingPlayer.getPos().distanceTo(entityActions.getPosition());
         
         if (distanceToPlayer > 5.0) {
-            // Player is too far, update following target
-            MovementTarget newPlayerTarget = new MovementTarget(followingPlayer.getBlockPos());
-            pathfindingService.startPathfinding(entityActions.getPosition(), newPlayerTarget);
+            // Player is too far, update following target unless the path already leads there
+            BlockPos playerBlock = followingPlayer.getBlockPos();
+            if (!pathfindingService.isMoving() || !playerBlock.equals(followPathBlock)) {
+                followPathBlock = playerBlock;
+                pathfindingService.startPathfinding(entityActions.getPosition(), new MovementTarget(playerBlock));
+            }
         } else if (distanceToPlayer < 2.0 && pathfindingService.isMoving()) {
             // Close enough to player, can stop moving
             pathfindingService.stopPathfinding();
@@ -202,5 +210,6 @@ public class MovementCoordinator implements MovementService {
         currentState = MovementState.IDLE;
         currentTarget = null;
         followingPlayer = null;
+        followPathBlock = null;
     }
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.aimobs.entity.ai.application;
+
+import com.aimobs.entity.ai.CommandReceiver;
+import com.aimobs.entity.ai.RoutingStrategy;
+import com.aimobs.entity.ai.core.RoutingHint;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Routes each command to the receiver closest to the player who issued it.
+ * Commands without a player position are routed by the fallback strategy.
+ * 
+ * Application layer - pure business logic, no platform dependencies.
+ */
+public class NearestRoutingStrategy implements RoutingStrategy {
+    
+    private final RoutingStrategy fallback;
+    
+    public NearestRoutingStrategy(RoutingStrategy fallback) {
+        this.fallback = fallback;
+    }
+    
+    @Override
+    public Optional<CommandReceiver> select(List<CommandReceiver> candidates, RoutingHint hint) {
+        if (!hint.hasPosition()) {
+            return fallback.select(candidates, hint);
+        }
+        
+        CommandReceiver nearest = null;
+        double nearestDistance = Double.MAX_VALUE;
+        for (CommandReceiver candidate : candidates) {
+            double distance = candidate.squaredDistanceTo(hint.x(), hint.y(), hint.z());
+            if (distance < nearestDistance) {
+                nearest = candidate;
+                nearestDistance = distance;
+            }
+        }
+        return Optional.ofNullable(nearest);
+    }
+}
@@ -0,0 +1,98 @@
+package com.aimobs.entity.ai.application;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Index of online players by lowercase name and by UUID.
+ * Kept up to date from join, respawn and leave events, so resolving a player
+ * is a hash probe instead of a distance scan over every player.
+ *
+ * Not thread-safe: maintained and queried on the server thread.
+ *
+ * Application layer - pure data structure, no platform dependencies.
+ *
+ * @param <P> Platform player type
+ */
+public class PlayerIndex<P> {
+
+    // Length of a UUID in its standard 8-4-4-4-12 form
+    private static final int UUID_LENGTH = 36;
+
+    private final Map<UUID, P> byUuid = new HashMap<>();
+    private final Map<String, P> byName = new HashMap<>();
+    private final Map<UUID, String> namesByUuid = new HashMap<>();
+
+    /**
+     * Adds a player, replacing any player previously indexed under the same UUID,
+     * e.g. the entity a player had before respawning.
+     */
+    public void add(UUID uuid, String name, P player) {
+        if (uuid == null || name == null || player == null) {
+            return;
+        }
+        remove(uuid);
+        String key = name.toLowerCase(Locale.ROOT);
+        byUuid.put(uuid, player);
+        byName.put(key, player);
+        namesByUuid.put(uuid, key);
+    }
+
+    /**
+     * @return true if the player was indexed
+     */
+    public boolean remove(UUID uuid) {
+        P player = uuid != null ? byUuid.remove(uuid) : null;
+        if (player == null) {
+            return false;
+        }
+        // Only drop the name if it still belongs to this player
+        byName.remove(namesByUuid.remove(uuid), player);
+        return true;
+    }
+
+    public void clear() {
+        byUuid.clear();
+        byName.clear();
+        namesByUuid.clear();
+    }
+
+    /**
+     * @param name Player name, matched case-insensitively
+     */
+    public Optional<P> findByName(String name) {
+        return name != null ? Optional.ofNullable(byName.get(name.toLowerCase(Locale.ROOT))) : Optional.empty();
+    }
+
+    public Optional<P> findByUuid(UUID uuid) {
+        return uuid != null ? Optional.ofNullable(byUuid.get(uuid)) : Optional.empty();
+    }
+
+    /**
+     * @param nameOrUuid Player UUID in its standard form, or player name
+     */
+    public Optional<P> find(String nameOrUuid) {
+        if (nameOrUuid == null) {
+            return Optional.empty();
+        }
+        // Player names are at most 16 characters, so only UUID-shaped strings are parsed
+        if (nameOrUuid.length() == UUID_LENGTH && nameOrUuid.indexOf('-') > 0) {
+            try {
+                return findByUuid(UUID.fromString(nameOrUuid));
+            } catch (IllegalArgumentException e) {
+                // Not a UUID after all; fall through to the name
+            }
+        }
+        return findByName(nameOrUuid);
+    }
+
+    /**
+     * @return Number of indexed players
+     */
+    public int size() {
+        return byUuid.size();
+    }
+}
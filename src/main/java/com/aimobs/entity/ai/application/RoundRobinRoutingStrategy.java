@@ -0,0 +1,29 @@
+package com.aimobs.entity.ai.application;
+
+import com.aimobs.entity.ai.CommandReceiver;
+import com.aimobs.entity.ai.RoutingStrategy;
+import com.aimobs.entity.ai.core.RoutingHint;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Routes commands to the candidates in turn.
+ * 
+ * Application layer - pure business logic, no platform dependencies.
+ */
+public class RoundRobinRoutingStrategy implements RoutingStrategy {
+    
+    private int next;
+    
+    @Override
+    public synchronized Optional<CommandReceiver> select(List<CommandReceiver> candidates, RoutingHint hint) {
+        if (candidates.isEmpty()) {
+            return Optional.empty();
+        }
+        // The candidate list can shrink between calls, so wrap rather than trust the cursor
+        int index = Math.floorMod(next, candidates.size());
+        next = index + 1;
+        return Optional.of(candidates.get(index));
+    }
+}
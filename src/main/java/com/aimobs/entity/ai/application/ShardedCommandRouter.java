@@ -0,0 +1,185 @@
+package com.aimobs.entity.ai.application;
+
+import com.aimobs.entity.ai.CommandReceiver;
+import com.aimobs.entity.ai.CommandRoutingService;
+import com.aimobs.entity.ai.WolfGroupService;
+import com.aimobs.entity.ai.core.AICommand;
+import com.aimobs.entity.ai.core.EntityId;
+import com.aimobs.entity.ai.core.RoutingHint;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Routes commands across one routing shard per dimension.
+ * Each shard only knows the entities loaded in its own dimension; an index of
+ * entity to dimension sends addressed commands straight to the right shard.
+ *
+ * Commands without a target go to the shard of the issuing player's dimension
+ * when known, otherwise to the first shard, in load order, that can take them.
+ *
+ * Application layer - implements service contracts.
+ * Dependencies: Root interfaces + Core only.
+ */
+public class ShardedCommandRouter implements CommandRoutingService {
+
+    private final WolfGroupService groups;
+    private final Map<String, CommandRoutingService> shards = new ConcurrentHashMap<>();
+    // Load order, so the first dimension loaded (the overworld) is tried first
+    private final List<String> shardOrder = new CopyOnWriteArrayList<>();
+    private final Map<EntityId, String> entityDimensions = new ConcurrentHashMap<>();
+
+    /**
+     * @param groups Named groups, whose members may be spread over several dimensions
+     */
+    public ShardedCommandRouter(WolfGroupService groups) {
+        this.groups = groups;
+    }
+
+    /**
+     * Adds or replaces the shard of a dimension.
+     */
+    public void putShard(String dimension, CommandRoutingService shard) {
+        if (shards.put(dimension, shard) == null) {
+            shardOrder.add(dimension);
+        }
+    }
+
+    /**
+     * Removes the shard of an unloaded dimension together with its entities.
+     */
+    public void removeShard(String dimension) {
+        if (shards.remove(dimension) != null) {
+            shardOrder.remove(dimension);
+            entityDimensions.values().removeIf(dimension::equals);
+        }
+    }
+
+    /**
+     * Records that an entity was loaded in a dimension.
+     */
+    public void onEntityLoaded(EntityId entityId, String dimension) {
+        entityDimensions.put(entityId, dimension);
+    }
+
+    /**
+     * Records that an entity left a dimension.
+     * A load in the new dimension may be reported first when an entity changes dimension,
+     * so the entry is only dropped if it still points at the dimension being left.
+     */
+    public void onEntityUnloaded(EntityId entityId, String dimension) {
+        entityDimensions.remove(entityId, dimension);
+    }
+
+    /**
+     * @return The dimension an entity is loaded in, or empty if it is not loaded
+     */
+    public Optional<String> getDimension(EntityId entityId) {
+        return Optional.ofNullable(entityDimensions.get(entityId));
+    }
+
+    @Override
+    public boolean routeCommand(AICommand command, Optional<EntityId> targetId) {
+        if (command == null) {
+            return false;
+        }
+        Optional<CommandReceiver> receiver = selectReceiver(targetId, RoutingHint.none(), 1);
+        return receiver.isPresent() && receiver.get().receiveCommand(command);
+    }
+
+    @Override
+    public boolean routeToAnyAvailable(AICommand command) {
+        return routeCommand(command, Optional.empty());
+    }
+
+    @Override
+    public boolean routeCommands(List<AICommand> commands, Optional<EntityId> targetId) {
+        if (commands == null || commands.isEmpty()) {
+            return false;
+        }
+        Optional<CommandReceiver> receiver = selectReceiver(targetId, RoutingHint.none(), commands.size());
+        return receiver.isPresent() && receiver.get().receiveCommands(commands);
+    }
+
+    @Override
+    public Optional<CommandReceiver> selectReceiver(Optional<EntityId> targetId, RoutingHint hint, int commandCount) {
+        if (targetId.isPresent()) {
+            CommandRoutingService shard = shardOf(targetId.get());
+            return shard != null ? shard.selectReceiver(targetId, hint, commandCount) : Optional.empty();
+        }
+
+        CommandRoutingService preferred = hint.dimension() != null ? shards.get(hint.dimension()) : null;
+        if (preferred != null) {
+            Optional<CommandReceiver> receiver = preferred.selectReceiver(targetId, hint, commandCount);
+            if (receiver.isPresent()) {
+                return receiver;
+            }
+        }
+        for (String dimension : shardOrder) {
+            CommandRoutingService shard = shards.get(dimension);
+            if (shard == null || shard == preferred) {
+                continue;
+            }
+            Optional<CommandReceiver> receiver = shard.selectReceiver(targetId, hint, commandCount);
+            if (receiver.isPresent()) {
+                return receiver;
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public List<CommandReceiver> selectGroup(String group, int commandCount) {
+        List<CommandReceiver> receivers = new ArrayList<>();
+        for (EntityId member : groups.getMembers(group)) {
+            CommandRoutingService shard = shardOf(member);
+            if (shard != null) {
+                shard.selectReceiver(Optional.of(member), RoutingHint.none(), commandCount)
+                    .ifPresent(receivers::add);
+            }
+        }
+        return receivers;
+    }
+
+    @Override
+    public boolean isEntityLoaded(EntityId entityId) {
+        return entityDimensions.containsKey(entityId);
+    }
+
+    @Override
+    public int getAvailableReceiverCount() {
+        int count = 0;
+        for (CommandRoutingService shard : shards.values()) {
+            count += shard.getAvailableReceiverCount();
+        }
+        return count;
+    }
+
+    @Override
+    public int getQueueHeadroom() {
+        int headroom = 0;
+        for (CommandRoutingService shard : shards.values()) {
+            headroom += shard.getQueueHeadroom();
+        }
+        return headroom;
+    }
+
+    @Override
+    public boolean hasAvailableReceivers() {
+        for (CommandRoutingService shard : shards.values()) {
+            if (shard.hasAvailableReceivers()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private CommandRoutingService shardOf(EntityId entityId) {
+        String dimension = entityDimensions.get(entityId);
+        return dimension != null ? shards.get(dimension) : null;
+    }
+}
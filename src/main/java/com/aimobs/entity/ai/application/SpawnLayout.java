@@ -0,0 +1,32 @@
+package com.aimobs.entity.ai.application;
+
+/**
+ * Spreads a number of spawn points evenly over a disc.
+ * Points follow a sunflower spiral: each is turned by the golden angle from the
+ * previous one, and the distance from the centre grows with the square root of
+ * its index, so every point covers about the same area and none coincide.
+ *
+ * Application layer - pure calculation, no platform dependencies.
+ */
+public final class SpawnLayout {
+
+    private static final double GOLDEN_ANGLE = Math.PI * (3 - Math.sqrt(5));
+
+    private SpawnLayout() {
+    }
+
+    /**
+     * @param index Point number, from 0 to count - 1
+     * @param count Number of points in the disc
+     * @param radius Disc radius; 0 puts every point at the centre
+     * @return Offset of the point from the centre as {x, z}
+     */
+    public static double[] offset(int index, int count, double radius) {
+        if (radius <= 0 || count <= 1) {
+            return new double[] {0, 0};
+        }
+        double distance = radius * Math.sqrt((index + 0.5) / count);
+        double angle = index * GOLDEN_ANGLE;
+        return new double[] {distance * Math.cos(angle), distance * Math.sin(angle)};
+    }
+}
@@ -0,0 +1,56 @@
+package com.aimobs.entity.ai.application;
+
+import com.aimobs.entity.ai.CommandReceiver;
+import com.aimobs.entity.ai.RoutingStrategy;
+import com.aimobs.entity.ai.core.EntityId;
+import com.aimobs.entity.ai.core.RoutingHint;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps sending a player's commands to the receiver that handled their last one,
+ * so a conversation stays with one entity. A player's first command, and any
+ * command whose receiver is no longer a candidate, is routed by the fallback strategy.
+ * 
+ * Application layer - pure business logic, no platform dependencies.
+ */
+public class StickyRoutingStrategy implements RoutingStrategy {
+    
+    // Bound on remembered players; the least recently active player is forgotten first
+    private static final int MAX_SESSIONS = 256;
+    
+    private final RoutingStrategy fallback;
+    private final Map<String, EntityId> sessions = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, EntityId> eldest) {
+            return size() > MAX_SESSIONS;
+        }
+    };
+    
+    public StickyRoutingStrategy(RoutingStrategy fallback) {
+        this.fallback = fallback;
+    }
+    
+    @Override
+    public synchronized Optional<CommandReceiver> select(List<CommandReceiver> candidates, RoutingHint hint) {
+        if (hint.player() == null) {
+            return fallback.select(candidates, hint);
+        }
+        
+        EntityId sticky = sessions.get(hint.player());
+        if (sticky != null) {
+            for (CommandReceiver candidate : candidates) {
+                if (sticky.equals(candidate.getEntityId())) {
+                    return Optional.of(candidate);
+                }
+            }
+        }
+        
+        Optional<CommandReceiver> chosen = fallback.select(candidates, hint);
+        chosen.ifPresent(receiver -> sessions.put(hint.player(), receiver.getEntityId()));
+        return chosen;
+    }
+}
@@ -0,0 +1,74 @@
+package com.aimobs.entity.ai.application;
+
+import com.aimobs.entity.ai.WolfGroupService;
+import com.aimobs.entity.ai.core.EntityId;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory group membership.
+ * Member sets are replaced rather than mutated, so routing reads a stable
+ * snapshot without copying while groups are edited by commands.
+ * 
+ * Application layer - pure business logic, no platform dependencies.
+ */
+public class WolfGroupRegistry implements WolfGroupService {
+    
+    private final ConcurrentHashMap<String, Set<EntityId>> groups = new ConcurrentHashMap<>();
+    
+    @Override
+    public boolean addMember(String group, EntityId entityId) {
+        if (group == null || group.isBlank() || entityId == null) {
+            return false;
+        }
+        boolean[] added = new boolean[1];
+        groups.compute(group, (name, members) -> {
+            if (members != null && members.contains(entityId)) {
+                return members;
+            }
+            Set<EntityId> updated = members != null ? new LinkedHashSet<>(members) : new LinkedHashSet<>();
+            updated.add(entityId);
+            added[0] = true;
+            return Collections.unmodifiableSet(updated);
+        });
+        return added[0];
+    }
+    
+    @Override
+    public boolean removeMember(String group, EntityId entityId) {
+        if (group == null || entityId == null) {
+            return false;
+        }
+        boolean[] removed = new boolean[1];
+        groups.computeIfPresent(group, (name, members) -> {
+            if (!members.contains(entityId)) {
+                return members;
+            }
+            removed[0] = true;
+            Set<EntityId> updated = new LinkedHashSet<>(members);
+            updated.remove(entityId);
+            return updated.isEmpty() ? null : Collections.unmodifiableSet(updated);
+        });
+        return removed[0];
+    }
+    
+    @Override
+    public boolean removeGroup(String group) {
+        return group != null && groups.remove(group) != null;
+    }
+    
+    @Override
+    public Set<EntityId> getMembers(String group) {
+        Set<EntityId> members = group != null ? groups.get(group) : null;
+        return members != null ? members : Set.of();
+    }
+    
+    @Override
+    public Set<String> getGroupNames() {
+        return Collections.unmodifiableSet(new TreeSet<>(groups.keySet()));
+    }
+}
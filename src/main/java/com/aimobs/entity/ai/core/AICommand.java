@@ -1,7 +1,42 @@
 package com.aimobs.entity.ai.core;
 
 public interface AICommand {
+    /** Priority of commands that do not set one; the same as collecting items. */
+    int NORMAL_PRIORITY = 3;
+    /** Priority of commands that must run before anything else, such as stop. */
+    int URGENT_PRIORITY = 10;
+    /** Deadline of commands that never expire. */
+    long NO_DEADLINE = Long.MAX_VALUE;
+    /** Coalescing key shared by all movement commands. */
+    String MOVEMENT_KEY = "movement";
+
     void execute();
     boolean isComplete();
     void cancel();
-}
\ No newline at end of file
+
+    /**
+     * @return The priority level of this command (higher = more important).
+     *         A queued command of higher priority preempts the running one.
+     */
+    default int getPriority() {
+        return NORMAL_PRIORITY;
+    }
+
+    /**
+     * @return Key under which a newer queued command replaces this one before it starts,
+     *         or null if this command is never coalesced. Movement commands share
+     *         {@link #MOVEMENT_KEY}; other commands key on their parameters, so only
+     *         identical repeats merge.
+     */
+    default Object getCoalescingKey() {
+        return null;
+    }
+
+    /**
+     * @return Wall-clock time, in epoch milliseconds, after which this command is
+     *         discarded instead of started, or {@link #NO_DEADLINE}
+     */
+    default long getDeadlineMillis() {
+        return NO_DEADLINE;
+    }
+}
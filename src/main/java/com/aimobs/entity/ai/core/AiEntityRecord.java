@@ -0,0 +1,33 @@
+package com.aimobs.entity.ai.core;
+
+/**
+ * Immutable record of an AI entity as last seen: where it was and its AI state.
+ * Kept in the world-level entity index so AI entities can be found without loading them.
+ * 
+ * @param entityId The entity's AI id
+ * @param dimension Dimension id the entity was last seen in, or null if not seen yet
+ * @param chunkX Chunk x the entity was last seen in
+ * @param chunkZ Chunk z the entity was last seen in
+ * @param state The entity's persisted AI state
+ */
+public record AiEntityRecord(EntityId entityId, String dimension, int chunkX, int chunkZ, AiEntityState state) {
+    
+    /**
+     * @return A record for an entity whose location is not known yet
+     */
+    public static AiEntityRecord unplaced(EntityId entityId, AiEntityState state) {
+        return new AiEntityRecord(entityId, null, 0, 0, state);
+    }
+    
+    public boolean hasLocation() {
+        return dimension != null;
+    }
+    
+    public AiEntityRecord withState(AiEntityState newState) {
+        return new AiEntityRecord(entityId, dimension, chunkX, chunkZ, newState);
+    }
+    
+    public AiEntityRecord movedTo(String newDimension, int newChunkX, int newChunkZ) {
+        return new AiEntityRecord(entityId, newDimension, newChunkX, newChunkZ, state);
+    }
+}
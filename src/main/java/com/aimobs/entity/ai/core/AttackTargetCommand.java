@@ -1,5 +1,7 @@
 package com.aimobs.entity.ai.core;
 
+import java.util.Arrays;
+
 /**
  * Command for attacking a specific target entity.
  * 
@@ -42,6 +44,11 @@ public class AttackTargetCommand implements InteractionCommand {
         isComplete = true;
     }
     
+    @Override
+    public Object getCoalescingKey() {
+        return target != null ? Arrays.asList(InteractionType.ATTACK, target.getEntityUuid()) : null;
+    }
+    
     @Override
     public InteractionType getInteractionType() {
         return InteractionType.ATTACK;
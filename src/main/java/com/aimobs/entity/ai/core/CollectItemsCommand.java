@@ -1,5 +1,7 @@
 package com.aimobs.entity.ai.core;
 
+import java.util.Arrays;
+
 /**
  * Command for collecting items within a specified area.
  * 
@@ -47,6 +49,11 @@ public class CollectItemsCommand implements InteractionCommand {
         isComplete = true;
     }
     
+    @Override
+    public Object getCoalescingKey() {
+        return Arrays.asList(InteractionType.COLLECT, itemType, radius, maxItems);
+    }
+    
     @Override
     public InteractionType getInteractionType() {
         return InteractionType.COLLECT;
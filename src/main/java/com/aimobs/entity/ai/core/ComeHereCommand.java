@@ -44,6 +44,11 @@ public final class ComeHereCommand implements AICommand {
         }
     }
 
+    @Override
+    public Object getCoalescingKey() {
+        return MOVEMENT_KEY;
+    }
+
     public PlayerEntity getPlayer() {
         return player;
     }
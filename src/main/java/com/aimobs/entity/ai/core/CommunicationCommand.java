@@ -1,5 +1,7 @@
 package com.aimobs.entity.ai.core;
 
+import java.util.Arrays;
+
 /**
  * Command for processing communication messages and generating responses.
  * 
@@ -45,6 +47,11 @@ public class CommunicationCommand implements InteractionCommand {
         isComplete = true;
     }
     
+    @Override
+    public Object getCoalescingKey() {
+        return Arrays.asList(InteractionType.COMMUNICATE, message);
+    }
+    
     @Override
     public InteractionType getInteractionType() {
         return InteractionType.COMMUNICATE;
@@ -2,6 +2,8 @@ package com.aimobs.entity.ai.core;
 
 import net.minecraft.util.math.BlockPos;
 
+import java.util.Arrays;
+
 /**
  * Command for defending a specific area from hostile entities.
  * 
@@ -47,6 +49,11 @@ public class DefendAreaCommand implements InteractionCommand {
         isComplete = true;
     }
     
+    @Override
+    public Object getCoalescingKey() {
+        return Arrays.asList(InteractionType.DEFEND, centerPos, radius);
+    }
+    
     @Override
     public InteractionType getInteractionType() {
         return InteractionType.DEFEND;
@@ -0,0 +1,72 @@
+package com.aimobs.entity.ai.core;
+
+/**
+ * Gives a command the deadline of the message it was built from.
+ * Everything else is delegated to the wrapped command, so priority and
+ * coalescing behave as for the command itself.
+ *
+ * Part of the core layer - pure domain object with no dependencies.
+ */
+public final class ExpiringCommand implements AICommand {
+
+    private final AICommand command;
+    private final long deadlineMillis;
+
+    private ExpiringCommand(AICommand command, long deadlineMillis) {
+        this.command = command;
+        this.deadlineMillis = deadlineMillis;
+    }
+
+    /**
+     * @param deadlineMillis Wall-clock deadline in epoch milliseconds, or {@link AICommand#NO_DEADLINE}
+     * @return The command itself if it gets no deadline, otherwise the command with its deadline
+     */
+    public static AICommand withDeadline(AICommand command, long deadlineMillis) {
+        if (command == null || deadlineMillis == NO_DEADLINE) {
+            return command;
+        }
+        return new ExpiringCommand(command, deadlineMillis);
+    }
+
+    @Override
+    public void execute() {
+        command.execute();
+    }
+
+    @Override
+    public boolean isComplete() {
+        return command.isComplete();
+    }
+
+    @Override
+    public void cancel() {
+        command.cancel();
+    }
+
+    @Override
+    public int getPriority() {
+        return command.getPriority();
+    }
+
+    @Override
+    public Object getCoalescingKey() {
+        return command.getCoalescingKey();
+    }
+
+    @Override
+    public long getDeadlineMillis() {
+        return deadlineMillis;
+    }
+
+    /**
+     * @return The command this deadline applies to
+     */
+    public AICommand getCommand() {
+        return command;
+    }
+
+    @Override
+    public String toString() {
+        return command + " (deadline " + deadlineMillis + ")";
+    }
+}
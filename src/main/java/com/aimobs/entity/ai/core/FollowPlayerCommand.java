@@ -44,6 +44,11 @@ public final class FollowPlayerCommand implements AICommand {
         }
     }
 
+    @Override
+    public Object getCoalescingKey() {
+        return MOVEMENT_KEY;
+    }
+
     public PlayerEntity getPlayer() {
         return player;
     }
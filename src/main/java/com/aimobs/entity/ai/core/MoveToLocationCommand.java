@@ -49,6 +49,11 @@ public final class MoveToLocationCommand implements AICommand {
         }
     }
 
+    @Override
+    public Object getCoalescingKey() {
+        return MOVEMENT_KEY;
+    }
+
     public MovementTarget getTarget() {
         return target;
     }
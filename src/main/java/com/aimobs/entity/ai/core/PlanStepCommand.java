@@ -0,0 +1,76 @@
+package com.aimobs.entity.ai.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs a command as one step of an ordered plan.
+ * Every step of a plan takes the plan's highest priority, so the steps run in the
+ * order they were sent and a later step never preempts an earlier one. Steps are
+ * never coalesced; everything else is delegated to the wrapped command.
+ *
+ * Part of the core layer - pure domain object with no dependencies.
+ */
+public final class PlanStepCommand implements AICommand {
+
+    private final AICommand command;
+    private final int planPriority;
+
+    private PlanStepCommand(AICommand command, int planPriority) {
+        this.command = command;
+        this.planPriority = planPriority;
+    }
+
+    /**
+     * @param steps Commands in plan order
+     * @return The steps, each ranked at the plan's highest priority
+     */
+    public static List<AICommand> asPlan(List<? extends AICommand> steps) {
+        int planPriority = Integer.MIN_VALUE;
+        for (AICommand step : steps) {
+            planPriority = Math.max(planPriority, step.getPriority());
+        }
+        List<AICommand> plan = new ArrayList<>(steps.size());
+        for (AICommand step : steps) {
+            plan.add(new PlanStepCommand(step, planPriority));
+        }
+        return plan;
+    }
+
+    @Override
+    public void execute() {
+        command.execute();
+    }
+
+    @Override
+    public boolean isComplete() {
+        return command.isComplete();
+    }
+
+    @Override
+    public void cancel() {
+        command.cancel();
+    }
+
+    @Override
+    public int getPriority() {
+        return planPriority;
+    }
+
+    @Override
+    public long getDeadlineMillis() {
+        return command.getDeadlineMillis();
+    }
+
+    /**
+     * @return The command run as this step
+     */
+    public AICommand getCommand() {
+        return command;
+    }
+
+    @Override
+    public String toString() {
+        return command + " (plan step)";
+    }
+}
@@ -0,0 +1,39 @@
+package com.aimobs.entity.ai.core;
+
+/**
+ * Immutable record describing who issued a command, used to pick the entity that runs it.
+ * Built from the message context; every part is optional.
+ * 
+ * @param player Name of the player who spoke the command, or null if unknown
+ * @param dimension Dimension id of the player, e.g. "minecraft:the_nether", or null if unknown
+ * @param hasPosition Whether x, y and z hold the player's position
+ * @param x Player position x
+ * @param y Player position y
+ * @param z Player position z
+ */
+public record RoutingHint(String player, String dimension, boolean hasPosition, double x, double y, double z) {
+    
+    private static final RoutingHint NONE = new RoutingHint(null, null, false, 0, 0, 0);
+    
+    /**
+     * @return A hint carrying no information
+     */
+    public static RoutingHint none() {
+        return NONE;
+    }
+    
+    public static RoutingHint forPlayer(String player) {
+        return player == null ? NONE : new RoutingHint(player, null, false, 0, 0, 0);
+    }
+    
+    public static RoutingHint at(String player, double x, double y, double z) {
+        return new RoutingHint(player, null, true, x, y, z);
+    }
+    
+    /**
+     * @return This hint with the player's dimension set
+     */
+    public RoutingHint inDimension(String dimension) {
+        return new RoutingHint(player, dimension, hasPosition, x, y, z);
+    }
+}
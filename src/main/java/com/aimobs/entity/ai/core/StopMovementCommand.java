@@ -4,6 +4,8 @@ import com.aimobs.entity.ai.MovementService;
 
 /**
  * Command to immediately stop all movement.
+ * Urgent, so it runs ahead of queued commands and preempts the running one,
+ * and it takes the place of a queued movement command so the wolf stays put.
  * Implements the Command pattern for movement cessation.
  */
 public final class StopMovementCommand implements AICommand {
@@ -29,4 +31,16 @@ public final class StopMovementCommand implements AICommand {
     public void cancel() {
         // Stop commands cannot be cancelled - they execute immediately
     }
+
+    @Override
+    public int getPriority() {
+        // Never waits behind queued work
+        return URGENT_PRIORITY;
+    }
+
+    @Override
+    public Object getCoalescingKey() {
+        // A movement queued before the stop must not start right after it
+        return MOVEMENT_KEY;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,97 @@
+package com.aimobs.entity.ai.infrastructure;
+
+import com.aimobs.AiMobsMod;
+import com.aimobs.entity.ai.application.AiEntityIndex;
+import com.aimobs.entity.ai.core.AIState;
+import com.aimobs.entity.ai.core.AiEntityRecord;
+import com.aimobs.entity.ai.core.AiEntityState;
+import com.aimobs.entity.ai.core.EntityId;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtList;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.PersistentState;
+
+/**
+ * Infrastructure adapter saving the {@link AiEntityIndex} with the world.
+ * One index covers every dimension and is stored in the overworld's data folder
+ * as {@code aimobs_entities.dat}; it is marked dirty whenever the index changes.
+ * 
+ * Thin adapter - minimal logic, only NBT conversion.
+ * Infrastructure layer - can depend on all other layers.
+ */
+public class AiEntityIndexState extends PersistentState {
+    
+    private static final String KEY = "aimobs_entities";
+    private static final String ENTITIES_KEY = "entities";
+    private static final String ID_KEY = "id";
+    private static final String DIMENSION_KEY = "dimension";
+    private static final String CHUNK_X_KEY = "chunkX";
+    private static final String CHUNK_Z_KEY = "chunkZ";
+    private static final String AI_CONTROLLED_KEY = "aiControlled";
+    private static final String STATE_KEY = "state";
+    private static final String TYPE_KEY = "type";
+    
+    private static final PersistentState.Type<AiEntityIndexState> TYPE =
+        new PersistentState.Type<>(AiEntityIndexState::new, AiEntityIndexState::fromNbt, null);
+    
+    private final AiEntityIndex index = new AiEntityIndex(this::markDirty);
+    
+    /**
+     * @return The server's AI entity index, loaded from disk on first use
+     */
+    public static AiEntityIndex get(MinecraftServer server) {
+        return server.getOverworld().getPersistentStateManager().getOrCreate(TYPE, KEY).index;
+    }
+    
+    private static AiEntityIndexState fromNbt(NbtCompound nbt) {
+        AiEntityIndexState state = new AiEntityIndexState();
+        NbtList entities = nbt.getList(ENTITIES_KEY, NbtElement.COMPOUND_TYPE);
+        for (int i = 0; i < entities.size(); i++) {
+            NbtCompound entry = entities.getCompound(i);
+            try {
+                state.index.put(readRecord(entry));
+            } catch (IllegalArgumentException e) {
+                AiMobsMod.LOGGER.warn("Skipping unreadable AI entity index entry: {}", e.getMessage());
+            }
+        }
+        // Loading is not a change
+        state.setDirty(false);
+        return state;
+    }
+    
+    @Override
+    public NbtCompound writeNbt(NbtCompound nbt) {
+        NbtList entities = new NbtList();
+        for (AiEntityRecord record : index.getAll()) {
+            entities.add(writeRecord(record));
+        }
+        nbt.put(ENTITIES_KEY, entities);
+        return nbt;
+    }
+    
+    private static AiEntityRecord readRecord(NbtCompound entry) {
+        EntityId entityId = EntityId.fromString(entry.getString(ID_KEY));
+        AiEntityState state = new AiEntityState(
+            entry.getBoolean(AI_CONTROLLED_KEY),
+            AIState.valueOf(entry.getString(STATE_KEY)),
+            entry.getString(TYPE_KEY));
+        String dimension = entry.contains(DIMENSION_KEY) ? entry.getString(DIMENSION_KEY) : null;
+        return new AiEntityRecord(entityId, dimension, entry.getInt(CHUNK_X_KEY), entry.getInt(CHUNK_Z_KEY), state);
+    }
+    
+    private static NbtCompound writeRecord(AiEntityRecord record) {
+        NbtCompound entry = new NbtCompound();
+        entry.putString(ID_KEY, record.entityId().asString());
+        if (record.hasLocation()) {
+            entry.putString(DIMENSION_KEY, record.dimension());
+            entry.putInt(CHUNK_X_KEY, record.chunkX());
+            entry.putInt(CHUNK_Z_KEY, record.chunkZ());
+        }
+        entry.putBoolean(AI_CONTROLLED_KEY, record.state().isAiControlled());
+        AIState current = record.state().getCurrentState();
+        entry.putString(STATE_KEY, (current != null ? current : AIState.IDLE).name());
+        entry.putString(TYPE_KEY, record.state().getEntityType());
+        return entry;
+    }
+}
@@ -0,0 +1,109 @@
+package com.aimobs.entity.ai.infrastructure;
+
+import com.aimobs.AiMobsMod;
+import com.aimobs.entity.AiControlledWolfEntity;
+import com.aimobs.entity.ai.application.AiEntityIndex;
+import com.aimobs.entity.ai.application.AiEntityRegistry;
+import com.aimobs.entity.ai.application.ShardedCommandRouter;
+import com.aimobs.entity.ai.core.AiEntityState;
+import com.aimobs.network.MessageService;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerEntityEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.entity.Entity;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.world.World;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Infrastructure adapter keeping one {@link AiEntityRegistry} per world
+ * in step with Minecraft's entity load and unload events, and telling the
+ * sharded router which dimension each AI entity is in. Commands held while
+ * an entity was unloaded are handed to it as soon as it loads. The world-level
+ * {@link AiEntityIndex} is told where each AI entity was last seen, and forgets
+ * entities that are removed for good.
+ * 
+ * Thin adapter - minimal logic, mostly event forwarding.
+ * Infrastructure layer - can depend on all other layers.
+ */
+public class MinecraftAiEntityTracker {
+    
+    private final Map<RegistryKey<World>, AiEntityRegistry> registries = new HashMap<>();
+    private final ShardedCommandRouter router;
+    
+    public MinecraftAiEntityTracker(ShardedCommandRouter router) {
+        this.router = router;
+    }
+    
+    /**
+     * Registers this tracker to listen for entity and world events.
+     * Must be called during mod initialization, before any world loads entities.
+     */
+    public void register() {
+        ServerEntityEvents.ENTITY_LOAD.register(this::onEntityLoad);
+        ServerEntityEvents.ENTITY_UNLOAD.register(this::onEntityUnload);
+        ServerWorldEvents.UNLOAD.register(this::onWorldUnload);
+    }
+    
+    /**
+     * @return The registry of AI entities loaded in the world
+     */
+    public AiEntityRegistry getRegistry(ServerWorld world) {
+        return registries.computeIfAbsent(world.getRegistryKey(), key -> new AiEntityRegistry());
+    }
+    
+    /**
+     * @return The id of a world's dimension, e.g. "minecraft:the_nether"
+     */
+    public static String dimensionId(ServerWorld world) {
+        return world.getRegistryKey().getValue().toString();
+    }
+    
+    private void onEntityLoad(Entity entity, ServerWorld world) {
+        if (entity instanceof AiControlledWolfEntity wolf) {
+            getRegistry(world).add(wolf.getUuid(), wolf);
+            router.onEntityLoaded(wolf.getAiEntityId(), dimensionId(world));
+            recordLocation(wolf, world);
+            
+            MessageService messageService = AiMobsMod.getMessageService();
+            if (messageService != null) {
+                messageService.deliverDeferred(wolf);
+            }
+        }
+    }
+    
+    private void onEntityUnload(Entity entity, ServerWorld world) {
+        if (entity instanceof AiControlledWolfEntity wolf) {
+            AiEntityRegistry registry = registries.get(world.getRegistryKey());
+            if (registry != null) {
+                registry.remove(wolf.getUuid());
+            }
+            router.onEntityUnloaded(wolf.getAiEntityId(), dimensionId(world));
+            
+            Entity.RemovalReason reason = wolf.getRemovalReason();
+            if (reason != null && reason.shouldDestroy()) {
+                AiEntityIndexState.get(world.getServer()).remove(wolf.getAiEntityId());
+            } else if (reason != Entity.RemovalReason.CHANGED_DIMENSION) {
+                // After a dimension change the load in the new dimension holds the location
+                recordLocation(wolf, world);
+            }
+        }
+    }
+    
+    private static void recordLocation(AiControlledWolfEntity wolf, ServerWorld world) {
+        AiEntityIndexState.get(world.getServer()).updateLocation(wolf.getAiEntityId(), dimensionId(world),
+            wolf.getChunkPos().x, wolf.getChunkPos().z,
+            AiEntityState.createAiControlled(wolf.getCurrentState(), "ai_controlled_wolf"));
+    }
+    
+    private void onWorldUnload(MinecraftServer server, ServerWorld world) {
+        router.removeShard(dimensionId(world));
+        AiEntityRegistry registry = registries.remove(world.getRegistryKey());
+        if (registry != null) {
+            registry.clear();
+        }
+    }
+}
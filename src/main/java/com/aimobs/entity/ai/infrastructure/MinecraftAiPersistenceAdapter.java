@@ -1,23 +1,27 @@
 package com.aimobs.entity.ai.infrastructure;
 
 import com.aimobs.entity.ai.AiPersistenceService;
+import com.aimobs.entity.ai.application.AiEntityIndex;
+import com.aimobs.entity.ai.core.AiEntityRecord;
 import com.aimobs.entity.ai.core.EntityId;
 import com.aimobs.entity.ai.core.AiEntityState;
-import com.aimobs.entity.ai.core.AIState;
 import com.aimobs.entity.AiControlledWolfEntity;
 
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.RegistryKeys;
 import net.minecraft.server.world.ServerWorld;
-import net.minecraft.entity.Entity;
+import net.minecraft.util.Identifier;
 import net.minecraft.util.math.Box;
-import net.minecraft.util.math.Vec3d;
 
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.ArrayList;
-import java.util.UUID;
+import java.util.Map;
 
 /**
- * Infrastructure adapter implementing AI persistence through Minecraft's entity system.
- * Stores AI state by mapping it to actual entities in the world.
+ * Infrastructure adapter implementing AI persistence through the world-level
+ * {@link AiEntityIndex}, which is saved with the world as persistent state.
+ * Entities themselves still carry their AI id in NBT; the index only avoids
+ * scanning the world to find them.
  * 
  * This is a thin adapter - delegates to Minecraft APIs but keeps business logic minimal.
  * Infrastructure layer - can depend on all other layers.
@@ -25,80 +29,80 @@ import java.util.UUID;
 public class MinecraftAiPersistenceAdapter implements AiPersistenceService {
     
     private final ServerWorld world;
+    private final AiEntityIndex index;
 
     public MinecraftAiPersistenceAdapter(ServerWorld world) {
         this.world = world;
+        this.index = AiEntityIndexState.get(world.getServer());
     }
 
     @Override
     public void saveAiState(EntityId entityId, AiEntityState state) {
-        // Find the entity in the world
-        AiControlledWolfEntity entity = findAiWolfByEntityId(entityId);
-        if (entity != null) {
-            // State is automatically saved to NBT when entity is saved
-            // The entity's writeCustomDataToNbt method handles the persistence
-            // Minecraft handles entity saving automatically when the world saves
-        }
+        index.updateState(entityId, state);
     }
 
     @Override
     public AiEntityState loadAiState(EntityId entityId) {
-        AiControlledWolfEntity entity = findAiWolfByEntityId(entityId);
-        if (entity != null) {
-            // Extract current state from the living entity
-            return AiEntityState.createAiControlled(
-                entity.getCurrentState(),
-                "ai_controlled_wolf"
-            );
+        return index.get(entityId).map(AiEntityRecord::state).orElse(null);
+    }
+
+    @Override
+    public Map<EntityId, AiEntityState> loadAllAiStates() {
+        Map<EntityId, AiEntityState> states = new LinkedHashMap<>();
+        for (AiEntityRecord record : index.getAll()) {
+            states.put(record.entityId(), record.state());
         }
-        return null;
+        return states;
     }
 
     @Override
     public boolean hasAiState(EntityId entityId) {
-        return findAiWolfByEntityId(entityId) != null;
+        return index.contains(entityId);
     }
 
     @Override
     public void removeAiState(EntityId entityId) {
-        AiControlledWolfEntity entity = findAiWolfByEntityId(entityId);
-        if (entity != null) {
-            // Mark entity for removal
-            entity.discard();
-        }
+        index.get(entityId).ifPresent(record -> {
+            AiControlledWolfEntity entity = findLoadedWolf(record);
+            if (entity != null) {
+                // Mark entity for removal
+                entity.discard();
+            }
+        });
+        index.remove(entityId);
     }
 
     @Override
     public EntityId[] getAllAiEntityIds() {
-        List<EntityId> entityIds = new ArrayList<>();
-        
-        // Search for all AI-controlled wolves in the world
-        List<AiControlledWolfEntity> aiWolves = world.getEntitiesByClass(
-            AiControlledWolfEntity.class,
-            new Box(-30000000, -512, -30000000, 30000000, 512, 30000000), // Large search box
-            entity -> entity.isAlive()
-        );
-        
-        for (AiControlledWolfEntity wolf : aiWolves) {
-            entityIds.add(wolf.getAiEntityId());
+        List<AiEntityRecord> records = index.getAll();
+        EntityId[] entityIds = new EntityId[records.size()];
+        for (int i = 0; i < entityIds.length; i++) {
+            entityIds[i] = records.get(i).entityId();
         }
-        
-        return entityIds.toArray(new EntityId[0]);
+        return entityIds;
     }
 
     /**
-     * Finds an AI-controlled wolf entity by its EntityId.
-     * This is the core infrastructure logic that maps our domain EntityId
-     * to actual Minecraft entities in the world.
+     * Finds an indexed wolf if its last known chunk is loaded,
+     * searching only that chunk's column instead of the whole world.
      */
-    private AiControlledWolfEntity findAiWolfByEntityId(EntityId entityId) {
-        // Search for AI wolves in a large area (effectively the entire world)
-        List<AiControlledWolfEntity> aiWolves = world.getEntitiesByClass(
+    private AiControlledWolfEntity findLoadedWolf(AiEntityRecord record) {
+        if (!record.hasLocation()) {
+            return null;
+        }
+        ServerWorld recordWorld = world.getServer().getWorld(
+            RegistryKey.of(RegistryKeys.WORLD, new Identifier(record.dimension())));
+        if (recordWorld == null || !recordWorld.isChunkLoaded(record.chunkX(), record.chunkZ())) {
+            return null;
+        }
+        int minX = record.chunkX() << 4;
+        int minZ = record.chunkZ() << 4;
+        List<AiControlledWolfEntity> aiWolves = recordWorld.getEntitiesByClass(
             AiControlledWolfEntity.class,
-            new Box(-30000000, -512, -30000000, 30000000, 512, 30000000),
-            entity -> entity.isAlive() && entity.getAiEntityId().equals(entityId)
+            new Box(minX, recordWorld.getBottomY(), minZ, minX + 16, recordWorld.getTopY(), minZ + 16),
+            entity -> entity.isAlive() && entity.getAiEntityId().equals(record.entityId())
         );
         
         return aiWolves.isEmpty() ? null : aiWolves.get(0);
     }
-}
\ No newline at end of file
+}
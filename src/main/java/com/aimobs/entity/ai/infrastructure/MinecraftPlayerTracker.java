@@ -0,0 +1,60 @@
+package com.aimobs.entity.ai.infrastructure;
+
+import com.aimobs.entity.ai.PlayerDirectory;
+import com.aimobs.entity.ai.application.PlayerIndex;
+import net.fabricmc.fabric.api.entity.event.v1.ServerPlayerEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Infrastructure adapter keeping a {@link PlayerIndex} in step with players
+ * joining, respawning and leaving the server, and serving lookups from it.
+ * 
+ * Thin adapter - minimal logic, mostly event forwarding.
+ * Infrastructure layer - can depend on all other layers.
+ */
+public class MinecraftPlayerTracker implements PlayerDirectory {
+    
+    private final PlayerIndex<ServerPlayerEntity> index = new PlayerIndex<>();
+    
+    /**
+     * Registers this tracker to listen for player connection events.
+     * Should be called during mod initialization.
+     */
+    public void register() {
+        ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> add(handler.getPlayer()));
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> index.remove(handler.getPlayer().getUuid()));
+        // Respawning replaces the player entity
+        ServerPlayerEvents.AFTER_RESPAWN.register((oldPlayer, newPlayer, alive) -> add(newPlayer));
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> index.clear());
+    }
+    
+    @Override
+    public Optional<PlayerEntity> findByName(String name) {
+        return index.findByName(name).map(player -> player);
+    }
+    
+    @Override
+    public Optional<PlayerEntity> findByUuid(UUID uuid) {
+        return index.findByUuid(uuid).map(player -> player);
+    }
+    
+    @Override
+    public Optional<PlayerEntity> find(String nameOrUuid) {
+        return index.find(nameOrUuid).map(player -> player);
+    }
+    
+    @Override
+    public int size() {
+        return index.size();
+    }
+    
+    private void add(ServerPlayerEntity player) {
+        index.add(player.getUuid(), player.getGameProfile().getName(), player);
+    }
+}
@@ -0,0 +1,191 @@
+package com.aimobs.entity.ai.infrastructure;
+
+import com.aimobs.AiMobsMod;
+import com.aimobs.entity.AiControlledWolfEntity;
+import com.aimobs.entity.ModEntities;
+import com.aimobs.entity.ai.EntityLifecycleService;
+import com.aimobs.entity.ai.ServiceFactory;
+import com.aimobs.entity.ai.application.SpawnLayout;
+import com.aimobs.entity.ai.core.EntityId;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.Heightmap;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Infrastructure adapter spawning AI wolves in bulk.
+ * Each batch of new wolves is registered with the shared lifecycle service in one call.
+ * Large spawns are spread over server ticks, a fixed number of wolves per tick,
+ * so spawning hundreds of wolves does not stall a single tick.
+ * 
+ * Infrastructure layer - can depend on all other layers.
+ */
+public class MinecraftWolfSpawner {
+    
+    private final int spawnsPerTick;
+    private final Deque<SpawnJob> jobs = new ArrayDeque<>();
+    private EntityLifecycleService fallbackLifecycleService;
+    
+    /**
+     * @param spawnsPerTick Maximum wolves spawned per server tick by paced spawns
+     */
+    public MinecraftWolfSpawner(int spawnsPerTick) {
+        if (spawnsPerTick <= 0) {
+            throw new IllegalArgumentException("Spawns per tick must be positive");
+        }
+        this.spawnsPerTick = spawnsPerTick;
+    }
+    
+    /**
+     * Registers this spawner with the server tick events.
+     * Should be called during mod initialization.
+     */
+    public void register() {
+        ServerTickEvents.END_SERVER_TICK.register(this::onServerTick);
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> jobs.clear());
+    }
+    
+    /**
+     * Spawns wolves now, all in the current tick, and registers them in one batch.
+     * 
+     * @param center Centre of the disc the wolves are spread over
+     * @param count Number of wolves
+     * @param radius Disc radius; 0 spawns every wolf at the centre
+     * @return The wolves that were spawned
+     */
+    public List<AiControlledWolfEntity> spawnNow(ServerWorld world, Vec3d center, int count, double radius) {
+        SpawnJob job = new SpawnJob(world, center, count, radius, spawned -> {});
+        return spawnBatch(job, count);
+    }
+    
+    /**
+     * Spawns wolves over as many ticks as needed, starting in the current tick.
+     * 
+     * @param center Centre of the disc the wolves are spread over
+     * @param count Number of wolves
+     * @param radius Disc radius; 0 spawns every wolf at the centre
+     * @param onComplete Called with the number of wolves spawned once the last one is
+     * @return Number of ticks the spawn will take
+     */
+    public int spawnPaced(ServerWorld world, Vec3d center, int count, double radius, IntConsumer onComplete) {
+        SpawnJob job = new SpawnJob(world, center, count, radius, onComplete);
+        spawnBatch(job, spawnsPerTick);
+        if (job.isDone()) {
+            job.onComplete.accept(job.spawned);
+        } else {
+            jobs.add(job);
+        }
+        return (count + spawnsPerTick - 1) / spawnsPerTick;
+    }
+    
+    /**
+     * @return Wolves still waiting to be spawned by paced spawns
+     */
+    public int getPendingCount() {
+        int pending = 0;
+        for (SpawnJob job : jobs) {
+            pending += job.count - job.next;
+        }
+        return pending;
+    }
+    
+    private void onServerTick(MinecraftServer server) {
+        int budget = spawnsPerTick;
+        while (budget > 0 && !jobs.isEmpty()) {
+            SpawnJob job = jobs.peek();
+            int attempted = job.next;
+            spawnBatch(job, budget);
+            budget -= job.next - attempted;
+            if (job.isDone()) {
+                jobs.poll();
+                job.onComplete.accept(job.spawned);
+            }
+        }
+    }
+    
+    private List<AiControlledWolfEntity> spawnBatch(SpawnJob job, int limit) {
+        int end = Math.min(job.count, job.next + limit);
+        List<AiControlledWolfEntity> wolves = new ArrayList<>(end - job.next);
+        List<EntityId> ids = new ArrayList<>(end - job.next);
+        
+        for (; job.next < end; job.next++) {
+            AiControlledWolfEntity wolf = spawnOne(job);
+            if (wolf != null) {
+                wolves.add(wolf);
+                ids.add(wolf.getAiEntityId());
+            }
+        }
+        job.spawned += wolves.size();
+        
+        if (!ids.isEmpty()) {
+            try {
+                lifecycleService(job.world).registerAiEntities(ids);
+            } catch (Exception e) {
+                // The wolves still work; they are indexed again when their chunks load
+                AiMobsMod.LOGGER.warn("Failed to register {} spawned wolves with lifecycle service: {}",
+                    ids.size(), e.getMessage());
+            }
+        }
+        return wolves;
+    }
+    
+    private AiControlledWolfEntity spawnOne(SpawnJob job) {
+        double[] offset = SpawnLayout.offset(job.next, job.count, job.radius);
+        double x = job.center.x + offset[0];
+        double z = job.center.z + offset[1];
+        double y = job.radius > 0
+            ? job.world.getTopY(Heightmap.Type.MOTION_BLOCKING_NO_LEAVES, MathHelper.floor(x), MathHelper.floor(z))
+            : job.center.y;
+        
+        AiControlledWolfEntity wolf = new AiControlledWolfEntity(ModEntities.AI_CONTROLLED_WOLF, job.world);
+        wolf.refreshPositionAndAngles(x, y, z, job.world.random.nextFloat() * 360, 0);
+        return job.world.spawnEntity(wolf) ? wolf : null;
+    }
+    
+    private EntityLifecycleService lifecycleService(ServerWorld world) {
+        // Shared with world loading, so spawned ids land in the same membership caches
+        EntityLifecycleService shared = AiMobsMod.getEntityLifecycleService();
+        if (shared != null) {
+            return shared;
+        }
+        if (fallbackLifecycleService == null) {
+            fallbackLifecycleService = ServiceFactory.createEntityLifecycleService(
+                ServiceFactory.createAiPersistenceService(world));
+        }
+        return fallbackLifecycleService;
+    }
+    
+    /**
+     * A spawn of several wolves around one point, possibly spread over ticks.
+     */
+    private static final class SpawnJob {
+        private final ServerWorld world;
+        private final Vec3d center;
+        private final int count;
+        private final double radius;
+        private final IntConsumer onComplete;
+        private int next;
+        private int spawned;
+        
+        SpawnJob(ServerWorld world, Vec3d center, int count, double radius, IntConsumer onComplete) {
+            this.world = world;
+            this.center = center;
+            this.count = count;
+            this.radius = radius;
+            this.onComplete = onComplete;
+        }
+        
+        boolean isDone() {
+            return next >= count;
+        }
+    }
+}
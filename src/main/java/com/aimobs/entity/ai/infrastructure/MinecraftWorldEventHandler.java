@@ -2,13 +2,16 @@ package com.aimobs.entity.ai.infrastructure;
 
 import com.aimobs.entity.ai.EntityLifecycleService;
 import com.aimobs.entity.ai.EntityLookupService;
-import com.aimobs.entity.ai.CommandRoutingService;
 import com.aimobs.entity.ai.AiPersistenceService;
 import com.aimobs.entity.ai.ServiceFactory;
+import com.aimobs.entity.ai.application.ShardedCommandRouter;
 import com.aimobs.AiMobsMod;
+import com.aimobs.entity.AiControlledWolfEntity;
 import com.aimobs.network.MessageService;
 import com.aimobs.network.application.MessageParser;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerEntityEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.entity.Entity;
 import net.minecraft.server.world.ServerWorld;
 
 /**
@@ -20,10 +23,14 @@ import net.minecraft.server.world.ServerWorld;
  */
 public class MinecraftWorldEventHandler {
     
+    private final MinecraftAiEntityTracker entityTracker;
+    private final ShardedCommandRouter commandRouter;
     private EntityLifecycleService lifecycleService;
 
-    public MinecraftWorldEventHandler() {
+    public MinecraftWorldEventHandler(MinecraftAiEntityTracker entityTracker, ShardedCommandRouter commandRouter) {
         // Services will be created when world loads
+        this.entityTracker = entityTracker;
+        this.commandRouter = commandRouter;
     }
 
     /**
@@ -31,18 +38,35 @@ public class MinecraftWorldEventHandler {
      * Should be called during mod initialization.
      */
     public void register() {
+        entityTracker.register();
         ServerWorldEvents.LOAD.register(this::onWorldLoad);
+        ServerEntityEvents.ENTITY_LOAD.register(this::onEntityLoad);
+        ServerEntityEvents.ENTITY_UNLOAD.register(this::onEntityUnload);
+        
+        // One router for all dimensions; shards are added as worlds load
+        MessageService messageService = AiMobsMod.getMessageService();
+        if (messageService instanceof MessageParser parser) {
+            parser.setCommandRouter(commandRouter);
+        }
     }
 
     /**
      * Called when a world is loaded.
-     * Creates persistence services and triggers reconnection of AI entities.
+     * Adds the world's routing shard; for the overworld also creates persistence
+     * services and triggers reconnection of AI entities.
      * 
      * @param server The minecraft server
      * @param world The world that was loaded
      */
     private void onWorldLoad(net.minecraft.server.MinecraftServer server, ServerWorld world) {
-        // Only handle the main world (overworld) to avoid duplicate processing
+        // Every dimension gets its own lookup and router over its own entities
+        String dimension = MinecraftAiEntityTracker.dimensionId(world);
+        EntityLookupService entityLookup = ServiceFactory.createEntityLookupService(entityTracker.getRegistry(world));
+        commandRouter.putShard(dimension, ServiceFactory.createCommandRoutingService(
+            entityLookup, AiMobsMod.getWolfGroupService()));
+        System.out.println("[AIMobs] Command routing shard created for " + dimension);
+        
+        // Only handle persistence for the main world (overworld) to avoid duplicate processing
         if (world.getRegistryKey().equals(net.minecraft.world.World.OVERWORLD)) {
             System.out.println("[AIMobs] World loaded - setting up persistence services...");
             
@@ -51,25 +75,14 @@ public class MinecraftWorldEventHandler {
                 AiPersistenceService persistenceService = ServiceFactory.createAiPersistenceService(world);
                 lifecycleService = ServiceFactory.createEntityLifecycleService(persistenceService);
                 
+                // Commands are held for unloaded targets only if they are known AI entities
+                if (AiMobsMod.getMessageService() instanceof MessageParser parser) {
+                    parser.setEntityLifecycleService(lifecycleService);
+                }
+                
                 // Reconnect AI entities
                 lifecycleService.reconnectAiEntities();
                 
-                // Create entity lookup and command routing services
-                EntityLookupService entityLookup = ServiceFactory.createEntityLookupService(world);
-                CommandRoutingService commandRouter = ServiceFactory.createCommandRoutingService(entityLookup);
-                
-                // Configure MessageParser with the clean command router
-                try {
-                    MessageService messageService = AiMobsMod.getMessageService();
-                    if (messageService instanceof MessageParser parser) {
-                        parser.setCommandRouter(commandRouter);
-                        System.out.println("[AIMobs] MessageParser configured with clean CommandRouter");
-                    }
-                    System.out.println("[AIMobs] Command routing services created successfully");
-                } catch (Exception e) {
-                    System.err.println("[AIMobs] Error configuring MessageParser: " + e.getMessage());
-                }
-                
                 System.out.println("[AIMobs] AI entities reconnected successfully");
             } catch (Exception e) {
                 System.err.println("[AIMobs] Error setting up persistence services: " + e.getMessage());
@@ -77,4 +90,26 @@ public class MinecraftWorldEventHandler {
             }
         }
     }
+    
+    /**
+     * @return The lifecycle service created when the overworld loaded, or null before that
+     */
+    public EntityLifecycleService getLifecycleService() {
+        return lifecycleService;
+    }
+    
+    /**
+     * Keeps the lifecycle service's cached membership answers in step with AI entity loads.
+     */
+    private void onEntityLoad(Entity entity, ServerWorld world) {
+        if (lifecycleService != null && entity instanceof AiControlledWolfEntity wolf) {
+            lifecycleService.onAiEntityLoaded(wolf.getAiEntityId());
+        }
+    }
+    
+    private void onEntityUnload(Entity entity, ServerWorld world) {
+        if (lifecycleService != null && entity instanceof AiControlledWolfEntity wolf) {
+            lifecycleService.onAiEntityUnloaded(wolf.getAiEntityId());
+        }
+    }
 }
\ No newline at end of file
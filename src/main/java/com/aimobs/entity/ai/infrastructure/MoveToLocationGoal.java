@@ -6,6 +6,7 @@ import net.minecraft.entity.ai.goal.Goal;
 import net.minecraft.entity.passive.WolfEntity;
 
 import java.util.EnumSet;
+import java.util.function.Supplier;
 
 /**
  * Minecraft AI Goal that integrates movement commands with the entity's goal system.
@@ -14,9 +15,16 @@ import java.util.EnumSet;
 public class MoveToLocationGoal extends Goal {
     
     private final WolfEntity wolf;
-    private final MovementService movementService;
+    private final Supplier<MovementService> movementService;
 
     public MoveToLocationGoal(WolfEntity wolf, MovementService movementService) {
+        this(wolf, () -> movementService);
+    }
+
+    /**
+     * @param movementService Supplies the wolf's movement service, or null while it has none
+     */
+    public MoveToLocationGoal(WolfEntity wolf, Supplier<MovementService> movementService) {
         this.wolf = wolf;
         this.movementService = movementService;
         this.setControls(EnumSet.of(Goal.Control.MOVE));
@@ -25,7 +33,11 @@ public class MoveToLocationGoal extends Goal {
     @Override
     public boolean canStart() {
         // This goal can start when there's an active movement command
-        MovementState state = movementService.getCurrentState();
+        MovementService movement = movementService.get();
+        if (movement == null) {
+            return false;
+        }
+        MovementState state = movement.getCurrentState();
         return state == MovementState.MOVING_TO_LOCATION || 
                state == MovementState.FOLLOWING_PLAYER;
     }
@@ -33,7 +45,7 @@ public class MoveToLocationGoal extends Goal {
     @Override
     public boolean shouldContinue() {
         // Continue while movement is active
-        MovementState state = movementService.getCurrentState();
+        MovementState state = movementService.get().getCurrentState();
         return state == MovementState.MOVING_TO_LOCATION || 
                state == MovementState.FOLLOWING_PLAYER;
     }
@@ -47,7 +59,7 @@ public class MoveToLocationGoal extends Goal {
     @Override
     public void tick() {
         // Update movement progress on each tick
-        movementService.updateMovementProgress();
+        movementService.get().updateMovementProgress();
     }
 
     @Override
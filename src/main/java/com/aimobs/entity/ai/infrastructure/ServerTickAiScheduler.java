@@ -0,0 +1,35 @@
+package com.aimobs.entity.ai.infrastructure;
+
+import com.aimobs.entity.ai.application.AiScheduler;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.server.MinecraftServer;
+
+/**
+ * Infrastructure adapter that runs the AI scheduler once per server tick.
+ * The scheduler runs at the start of the tick, after inbound messages are handled when
+ * registered after the message pump, so commands routed in a tick can start in that tick.
+ *
+ * Thin adapter - minimal logic, mostly event forwarding.
+ */
+public class ServerTickAiScheduler {
+
+    private final AiScheduler scheduler;
+
+    public ServerTickAiScheduler(AiScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Registers this adapter with the server tick events.
+     * Should be called during mod initialization.
+     */
+    public void register() {
+        ServerTickEvents.START_SERVER_TICK.register(this::onServerTick);
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> scheduler.clear());
+    }
+
+    private void onServerTick(MinecraftServer server) {
+        scheduler.runTick();
+    }
+}
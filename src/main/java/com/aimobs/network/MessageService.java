@@ -1,8 +1,12 @@
 package com.aimobs.network;
 
+import com.aimobs.entity.ai.CommandReceiver;
 import com.aimobs.entity.ai.core.AICommand;
+import com.aimobs.network.core.DeferredStats;
 import com.aimobs.network.core.NetworkMessage;
 
+import java.util.List;
+
 /**
  * Root interface defining message parsing and command queuing contract.
  * Following Standard Package Layout - this is a service contract.
@@ -23,6 +27,29 @@ public interface MessageService {
      */
     boolean validateMessage(NetworkMessage message);
     
+    /**
+     * Record delivery of a message carrying a sequence number or id.
+     * Senders retransmit unacknowledged messages after a reconnect, so the same
+     * message may arrive more than once; only the first delivery is handled.
+     * @param message Message with a delivery identity
+     * @return true on first delivery, false if it was already delivered recently
+     */
+    boolean registerDelivery(NetworkMessage message);
+    
+    /**
+     * Undo the most recent {@link #registerDelivery} of a message that could not be handled,
+     * so a retransmission of it is handled rather than dropped as a duplicate.
+     * @param message Message with a delivery identity
+     */
+    void forgetDelivery(NetworkMessage message);
+    
+    /**
+     * Called each time the connection to the backend is established.
+     * A backend that does not name its session may have restarted and begun
+     * numbering its messages again, so deliveries remembered so far are forgotten.
+     */
+    void onBackendConnected();
+    
     /**
      * Convert network message to AI command for execution.
      * @param message Network message
@@ -30,12 +57,61 @@ public interface MessageService {
      */
     AICommand convertToCommand(NetworkMessage message);
     
+    /**
+     * Convert a batch message to its ordered list of AI commands.
+     * @param message Batch network message
+     * @return Commands in plan order, or an empty list if any step fails to convert
+     */
+    List<AICommand> convertToCommands(NetworkMessage message);
+    
+    /**
+     * Convert a command or batch message and deliver it in one step.
+     * The entity chosen by the routing strategy both builds the commands and receives them,
+     * so a command is never built against one entity and queued on another.
+     * @param message Valid command or batch message
+     * @return true if the commands were delivered or kept for later, false if conversion failed or they were dropped
+     */
+    boolean dispatchMessage(NetworkMessage message);
+    
+    /**
+     * Check whether a message arrived too late for any of its commands to start.
+     * @param message Decoded message
+     * @return true if every command in it is past the deadline given by its timestamp
+     */
+    boolean isExpired(NetworkMessage message);
+    
+    /**
+     * Deliver the commands held for an entity while it was not loaded.
+     * Called when the entity loads; commands whose time to live ran out are discarded.
+     * @param receiver The entity that just loaded
+     * @return Number of held messages delivered
+     */
+    int deliverDeferred(CommandReceiver receiver);
+    
+    /**
+     * Get counts of commands held for entities that are not loaded.
+     * @return Held, expired and refused command counts
+     */
+    DeferredStats getDeferredStats();
+    
     /**
      * Queue command for execution by entity system.
      * @param command Command to queue
      */
     void queueCommand(AICommand command);
     
+    /**
+     * Queue an ordered plan so a single entity receives all of it in one enqueue.
+     * @param commands Commands in plan order
+     */
+    void queueCommands(List<AICommand> commands);
+    
+    /**
+     * Get how many more commands can be queued before entity queues are full.
+     * @return Free command slots; 0 means new commands should be refused
+     */
+    int getCommandHeadroom();
+    
     /**
      * Get count of queued commands.
      * @return Number of commands in queue
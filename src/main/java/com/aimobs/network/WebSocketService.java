@@ -1,8 +1,11 @@
 package com.aimobs.network;
 
 import com.aimobs.network.core.ConnectionState;
+import com.aimobs.network.core.LinkStats;
 import com.aimobs.network.core.NetworkMessage;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Root interface defining WebSocket connection management contract.
  * Following Standard Package Layout - this is a service contract.
@@ -15,6 +18,14 @@ public interface WebSocketService {
      */
     void connect(String serverUrl);
     
+    /**
+     * Establish connection to WebSocket server without blocking the caller.
+     * The handshake runs on a virtual thread; concurrent calls share the attempt in flight.
+     * @param serverUrl The WebSocket server URL
+     * @return Future completed with the connection state once the attempt finishes
+     */
+    CompletableFuture<ConnectionState> connectAsync(String serverUrl);
+    
     /**
      * Disconnect from WebSocket server.
      */
@@ -32,6 +43,12 @@ public interface WebSocketService {
      */
     boolean isConnected();
     
+    /**
+     * Get link health measured by heartbeats.
+     * @return Connection state with heartbeat round-trip statistics
+     */
+    LinkStats getLinkStats();
+    
     /**
      * Send message to server.
      * @param message Message to send
@@ -44,6 +61,20 @@ public interface WebSocketService {
      */
     void handleIncomingMessage(String rawMessage);
     
+    /**
+     * Handle messages received off-thread since the last call.
+     * Must be called from the server thread once per tick.
+     * @return Number of messages handled
+     */
+    int processInboundMessages();
+    
+    /**
+     * Record how long the last server tick took.
+     * Flow control grants the backend fewer credits when ticks run long.
+     * @param nanos Duration of the last tick in nanoseconds
+     */
+    void recordTickDuration(long nanos);
+    
     /**
      * Shutdown the WebSocket service and cleanup resources.
      */
@@ -0,0 +1,135 @@
+package com.aimobs.network.application;
+
+import com.aimobs.entity.ai.core.AICommand;
+import com.aimobs.network.core.Action;
+import com.aimobs.network.core.NetworkMessage;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Time to live of commands by action, counted from the timestamp of the message
+ * that carried them. A command not started by its deadline is discarded.
+ *
+ * Timestamps are the sender's wall clock. A timestamp in the future or one that
+ * cannot be parsed counts as the time of arrival, so a sender clock running ahead
+ * never extends a deadline; a sender clock running behind shortens every deadline
+ * by the difference.
+ *
+ * Application layer - pure data structure, no platform dependencies.
+ */
+public class CommandDeadlines {
+
+    // Time to live of actions without one of their own
+    public static final long DEFAULT_TTL_MS = 30_000;
+
+    private final long defaultTtlMillis;
+    private final Map<Action, Long> ttlByAction = new ConcurrentHashMap<>();
+
+    /**
+     * @param defaultTtlMillis Time to live of actions without one of their own; 0 or less for no deadline
+     */
+    public CommandDeadlines(long defaultTtlMillis) {
+        this.defaultTtlMillis = defaultTtlMillis;
+    }
+
+    /**
+     * @return Deadlines that never expire a command
+     */
+    public static CommandDeadlines none() {
+        return new CommandDeadlines(0);
+    }
+
+    /**
+     * Built-in times to live: short for actions that only make sense right away,
+     * longer for work that stays useful.
+     * @param defaultTtlMillis Time to live of every other action
+     */
+    public static CommandDeadlines defaults(long defaultTtlMillis) {
+        return new CommandDeadlines(defaultTtlMillis)
+            .setTtl(Action.STOP, 5_000)
+            .setTtl(Action.STATUS, 5_000)
+            .setTtl(Action.SPEAK, 10_000)
+            .setTtl(Action.COMMUNICATE, 10_000)
+            .setTtl(Action.MOVE, 15_000)
+            .setTtl(Action.COME_HERE, 15_000)
+            .setTtl(Action.ATTACK, 15_000)
+            .setTtl(Action.FOLLOW, 30_000)
+            .setTtl(Action.DEFEND, 30_000)
+            .setTtl(Action.COLLECT, 60_000);
+    }
+
+    /**
+     * @param ttlMillis Time to live of the action; 0 or less for no deadline
+     * @return This, for chaining
+     */
+    public CommandDeadlines setTtl(Action action, long ttlMillis) {
+        ttlByAction.put(action, ttlMillis);
+        return this;
+    }
+
+    /**
+     * @return Time to live of the action; 0 or less if its commands never expire
+     */
+    public long getTtlMillis(Action action) {
+        Long ttl = action != null ? ttlByAction.get(action) : null;
+        return ttl != null ? ttl : defaultTtlMillis;
+    }
+
+    /**
+     * @param timestamp ISO-8601 timestamp of the carrying message
+     * @param action Action of the command
+     * @param nowMillis Current wall-clock time
+     * @return Deadline in epoch milliseconds, or {@link AICommand#NO_DEADLINE}
+     */
+    public long deadlineFor(String timestamp, Action action, long nowMillis) {
+        long ttl = getTtlMillis(action);
+        if (ttl <= 0) {
+            return AICommand.NO_DEADLINE;
+        }
+        return issuedAt(timestamp, nowMillis) + ttl;
+    }
+
+    /**
+     * A batch is expired only once every one of its steps is.
+     * @return true if no command in the message can still be started
+     */
+    public boolean isExpired(NetworkMessage message, long nowMillis) {
+        return nowMillis >= latestDeadline(message, nowMillis);
+    }
+
+    /**
+     * @return Latest deadline of the commands in the message, in epoch milliseconds,
+     *         or {@link AICommand#NO_DEADLINE}
+     */
+    public long latestDeadline(NetworkMessage message, long nowMillis) {
+        NetworkMessage.MessageData data = message.getData();
+        if (data == null) {
+            return AICommand.NO_DEADLINE;
+        }
+        if (!message.isBatch()) {
+            return deadlineFor(message.getTimestamp(), data.getActionToken(), nowMillis);
+        }
+        long latest = Long.MIN_VALUE;
+        for (NetworkMessage.MessageData step : data.getCommands()) {
+            latest = Math.max(latest, deadlineFor(message.getTimestamp(), step.getActionToken(), nowMillis));
+        }
+        return latest;
+    }
+
+    /**
+     * @return The message time in epoch milliseconds, no later than now
+     */
+    static long issuedAt(String timestamp, long nowMillis) {
+        if (timestamp == null) {
+            return nowMillis;
+        }
+        try {
+            return Math.min(Instant.parse(timestamp).toEpochMilli(), nowMillis);
+        } catch (DateTimeParseException | ArithmeticException e) {
+            return nowMillis;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.aimobs.network.application;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Credit-based flow control for commands from the backend.
+ * Each tick the mod grants as many credits as entity queues have room for,
+ * reduced when the previous tick ran close to its time budget. Every accepted
+ * command spends one credit; commands arriving without credit are refused
+ * rather than buffered.
+ *
+ * Application layer - pure business logic, no platform dependencies.
+ */
+public class CreditController {
+
+    // Credits start shrinking once a tick uses this share of its budget
+    private static final int TICK_LOAD_SOFT_LIMIT_PERCENT = 80;
+
+    private final int maxCreditsPerTick;
+    private final long tickBudgetNanos;
+    private final long softLimitNanos;
+
+    private long lastTickNanos;
+    private int available;
+    private int lastAdvertised = -1;
+    private long rejected;
+
+    /**
+     * @param maxCreditsPerTick Most credits granted in one tick, normally the inbound tick budget
+     * @param tickBudgetMillis Tick duration at which no new credits are granted
+     */
+    public CreditController(int maxCreditsPerTick, long tickBudgetMillis) {
+        if (maxCreditsPerTick <= 0 || tickBudgetMillis <= 0) {
+            throw new IllegalArgumentException("Credit limit and tick budget must be positive");
+        }
+        this.maxCreditsPerTick = maxCreditsPerTick;
+        this.tickBudgetNanos = TimeUnit.MILLISECONDS.toNanos(tickBudgetMillis);
+        this.softLimitNanos = tickBudgetNanos * TICK_LOAD_SOFT_LIMIT_PERCENT / 100;
+    }
+
+    public synchronized void recordTickDuration(long nanos) {
+        this.lastTickNanos = nanos;
+    }
+
+    /**
+     * Recompute the grant for the coming tick.
+     * @param queueHeadroom Free command slots across entity queues
+     * @return Credits now available
+     */
+    public synchronized int refresh(int queueHeadroom) {
+        available = Math.max(0, Math.min(queueHeadroom, tickCredits()));
+        return available;
+    }
+
+    private int tickCredits() {
+        if (lastTickNanos <= softLimitNanos) {
+            return maxCreditsPerTick;
+        }
+        if (lastTickNanos >= tickBudgetNanos) {
+            return 0;
+        }
+        // Scale down linearly between the soft limit and the full budget
+        double headroom = (double) (tickBudgetNanos - lastTickNanos) / (tickBudgetNanos - softLimitNanos);
+        return (int) (maxCreditsPerTick * headroom);
+    }
+
+    public synchronized boolean hasCredit(int cost) {
+        return cost <= available;
+    }
+
+    public synchronized void consume(int cost) {
+        available = Math.max(0, available - cost);
+    }
+
+    public synchronized void onRejected() {
+        rejected++;
+    }
+
+    public synchronized int getAvailable() {
+        return available;
+    }
+
+    public synchronized long getRejectedCount() {
+        return rejected;
+    }
+
+    /**
+     * @return true if the grant changed since it was last advertised
+     */
+    public synchronized boolean shouldAdvertise() {
+        return available != lastAdvertised;
+    }
+
+    public synchronized void markAdvertised() {
+        lastAdvertised = available;
+    }
+
+    /**
+     * Advertise again on the next refresh, e.g. to a freshly connected backend.
+     */
+    public synchronized void forceAdvertise() {
+        lastAdvertised = -1;
+    }
+}
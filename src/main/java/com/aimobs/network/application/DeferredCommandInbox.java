@@ -0,0 +1,200 @@
+package com.aimobs.network.application;
+
+import com.aimobs.entity.ai.core.EntityId;
+import com.aimobs.network.core.NetworkMessage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds command messages addressed to entities that are not loaded,
+ * until the entity loads again or the message's time to live runs out.
+ *
+ * Messages are kept as decoded, not as built commands, because commands are
+ * built by the entity that runs them. Each entity's messages sit in two parallel
+ * arrays in arrival order. A message is held for the inbox time to live or until
+ * its own command deadline, whichever comes first, so expired messages are
+ * compacted out of the arrays rather than always forming a prefix.
+ *
+ * All times are {@link System#nanoTime()} values supplied by the caller.
+ *
+ * Application layer - pure data structure, no platform dependencies.
+ */
+public class DeferredCommandInbox {
+
+    private final int capacity;
+    private final int maxPerEntity;
+    private final long ttlNanos;
+
+    private final Map<EntityId, Pending> pending = new HashMap<>();
+    private int size;
+    private long expired;
+    private long refused;
+
+    /**
+     * @param capacity Maximum messages held across all entities
+     * @param maxPerEntity Maximum messages held for one entity
+     * @param ttlMillis Time a message is held before it expires
+     */
+    public DeferredCommandInbox(int capacity, int maxPerEntity, long ttlMillis) {
+        if (capacity <= 0 || maxPerEntity <= 0 || ttlMillis <= 0) {
+            throw new IllegalArgumentException("Deferred inbox limits must be positive");
+        }
+        this.capacity = capacity;
+        this.maxPerEntity = maxPerEntity;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    }
+
+    /**
+     * Holds a message for an entity that is not loaded.
+     * @return false if the inbox or the entity's share of it is full
+     */
+    public synchronized boolean defer(EntityId entityId, NetworkMessage message, long now) {
+        return defer(entityId, message, now, Long.MAX_VALUE);
+    }
+
+    /**
+     * Holds a message for an entity that is not loaded, for no longer than it stays useful.
+     * @param maxHoldNanos Time until the message's own deadline passes
+     * @return false if the inbox or the entity's share of it is full
+     */
+    public synchronized boolean defer(EntityId entityId, NetworkMessage message, long now, long maxHoldNanos) {
+        if (size >= capacity) {
+            purgeExpired(now);
+        }
+        Pending entry = pending.get(entityId);
+        if (entry != null) {
+            expire(entityId, entry, now);
+            entry = pending.get(entityId);
+        }
+        if (size >= capacity || (entry != null && entry.count >= maxPerEntity)) {
+            refused++;
+            return false;
+        }
+        if (entry == null) {
+            entry = new Pending();
+            pending.put(entityId, entry);
+        }
+        entry.add(message, now + Math.min(ttlNanos, maxHoldNanos));
+        size++;
+        return true;
+    }
+
+    /**
+     * Removes the messages held for an entity.
+     * @return Unexpired messages in arrival order, empty if none
+     */
+    public synchronized List<NetworkMessage> take(EntityId entityId, long now) {
+        Pending entry = pending.get(entityId);
+        if (entry == null) {
+            return List.of();
+        }
+        expire(entityId, entry, now);
+        entry = pending.remove(entityId);
+        if (entry == null) {
+            return List.of();
+        }
+        size -= entry.count;
+        List<NetworkMessage> messages = new ArrayList<>(entry.count);
+        for (int i = 0; i < entry.count; i++) {
+            messages.add(entry.messages[i]);
+        }
+        return messages;
+    }
+
+    /**
+     * Drops every expired message.
+     * @return Number of messages dropped
+     */
+    public synchronized int purgeExpired(long now) {
+        long before = expired;
+        Iterator<Map.Entry<EntityId, Pending>> it = pending.entrySet().iterator();
+        while (it.hasNext()) {
+            Pending entry = it.next().getValue();
+            int dropped = entry.dropExpired(now);
+            size -= dropped;
+            expired += dropped;
+            if (entry.count == 0) {
+                it.remove();
+            }
+        }
+        return (int) (expired - before);
+    }
+
+    /**
+     * @return Messages currently held
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @return Entities with at least one held message
+     */
+    public synchronized int getEntityCount() {
+        return pending.size();
+    }
+
+    /**
+     * @return Messages that expired before their entity loaded
+     */
+    public synchronized long getExpiredCount() {
+        return expired;
+    }
+
+    /**
+     * @return Messages refused because the inbox was full
+     */
+    public synchronized long getRefusedCount() {
+        return refused;
+    }
+
+    private void expire(EntityId entityId, Pending entry, long now) {
+        int dropped = entry.dropExpired(now);
+        size -= dropped;
+        expired += dropped;
+        if (entry.count == 0) {
+            pending.remove(entityId);
+        }
+    }
+
+    /**
+     * Messages for one entity with their deadlines, oldest first.
+     */
+    private static final class Pending {
+        private NetworkMessage[] messages = new NetworkMessage[2];
+        private long[] deadlines = new long[2];
+        private int count;
+
+        void add(NetworkMessage message, long deadline) {
+            if (count == messages.length) {
+                messages = Arrays.copyOf(messages, count * 2);
+                deadlines = Arrays.copyOf(deadlines, count * 2);
+            }
+            messages[count] = message;
+            deadlines[count] = deadline;
+            count++;
+        }
+
+        int dropExpired(long now) {
+            // Keep unexpired messages in arrival order, closing the gaps in place
+            int kept = 0;
+            for (int i = 0; i < count; i++) {
+                if (now - deadlines[i] < 0) {
+                    messages[kept] = messages[i];
+                    deadlines[kept] = deadlines[i];
+                    kept++;
+                }
+            }
+            int stale = count - kept;
+            Arrays.fill(messages, kept, count, null);
+            count = kept;
+            return stale;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.aimobs.network.application;
+
+import com.aimobs.network.core.OutboundMessageSpool;
+
+import java.util.ArrayDeque;
+
+/**
+ * Heap-only outbound spool with a fixed frame limit.
+ * Used by tests and as a fallback when the durable spool cannot be opened.
+ *
+ * Application layer - pure data structure, no platform dependencies.
+ */
+public class InMemoryMessageSpool implements OutboundMessageSpool {
+
+    private final ArrayDeque<String> frames = new ArrayDeque<>();
+    private final int maxFrames;
+    private long droppedFrames;
+
+    public InMemoryMessageSpool(int maxFrames) {
+        if (maxFrames <= 0) {
+            throw new IllegalArgumentException("Spool limit must be positive: " + maxFrames);
+        }
+        this.maxFrames = maxFrames;
+    }
+
+    @Override
+    public synchronized boolean append(String frame) {
+        if (frame == null) {
+            return false;
+        }
+        if (frames.size() >= maxFrames) {
+            // Remove oldest frame to make room
+            frames.pollFirst();
+            droppedFrames++;
+        }
+        frames.addLast(frame);
+        return true;
+    }
+
+    @Override
+    public synchronized String peek() {
+        return frames.peekFirst();
+    }
+
+    @Override
+    public synchronized void advance() {
+        frames.pollFirst();
+    }
+
+    @Override
+    public synchronized int size() {
+        return frames.size();
+    }
+
+    @Override
+    public synchronized boolean isEmpty() {
+        return frames.isEmpty();
+    }
+
+    @Override
+    public synchronized long getDroppedCount() {
+        return droppedFrames;
+    }
+
+    @Override
+    public synchronized void clear() {
+        frames.clear();
+    }
+
+    @Override
+    public synchronized void close() {
+        frames.clear();
+    }
+}
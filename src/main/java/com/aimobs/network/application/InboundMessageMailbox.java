@@ -0,0 +1,132 @@
+package com.aimobs.network.application;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded, lock-free multi-producer/single-consumer ring buffer for inbound frames.
+ * WebSocket threads only enqueue raw frames here; the server thread drains them
+ * once per tick, so parsing and routing never race with the main tick loop.
+ *
+ * Application layer - pure data structure, no platform dependencies.
+ */
+public class InboundMessageMailbox {
+
+    private final AtomicReferenceArray<String> slots;
+    private final int mask;
+
+    // Next slot to be claimed by a producer
+    private final AtomicLong tail = new AtomicLong();
+    // Next slot to be consumed; written only by the consumer thread
+    private final AtomicLong head = new AtomicLong();
+
+    // Ingest metrics
+    private final AtomicLong droppedMessages = new AtomicLong();
+    private long drainedMessages;
+    private long lastDrainNanos;
+
+    /**
+     * @param requestedCapacity Maximum number of frames held; rounded up to a power of two
+     */
+    public InboundMessageMailbox(int requestedCapacity) {
+        if (requestedCapacity <= 0) {
+            throw new IllegalArgumentException("Mailbox capacity must be positive: " + requestedCapacity);
+        }
+        int capacity = Integer.highestOneBit(requestedCapacity);
+        if (capacity < requestedCapacity) {
+            capacity <<= 1;
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Enqueue a frame. Safe to call from any thread.
+     * @param message Raw frame
+     * @return true if accepted, false if the mailbox is full and the frame was dropped
+     */
+    public boolean offer(String message) {
+        if (message == null) {
+            return false;
+        }
+
+        while (true) {
+            long currentTail = tail.get();
+            if (currentTail - head.get() >= slots.length()) {
+                droppedMessages.incrementAndGet();
+                return false;
+            }
+            if (tail.compareAndSet(currentTail, currentTail + 1)) {
+                slots.lazySet((int) currentTail & mask, message);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Dequeue the oldest frame. Must only be called from the consumer thread.
+     * @return The next frame, or null if none is ready
+     */
+    public String poll() {
+        long currentHead = head.get();
+        int index = (int) currentHead & mask;
+        String message = slots.get(index);
+        if (message == null) {
+            // Empty, or a producer claimed the slot but has not published yet
+            return null;
+        }
+        slots.lazySet(index, null);
+        head.lazySet(currentHead + 1);
+        return message;
+    }
+
+    /**
+     * Drain up to {@code budget} frames into the handler in arrival order.
+     * Must only be called from the consumer thread.
+     * @return Number of frames handled
+     */
+    public int drain(Consumer<String> handler, int budget) {
+        long start = System.nanoTime();
+        int handled = 0;
+        String message;
+        while (handled < budget && (message = poll()) != null) {
+            handled++;
+            handler.accept(message);
+        }
+        drainedMessages += handled;
+        lastDrainNanos = System.nanoTime() - start;
+        return handled;
+    }
+
+    /**
+     * @return Approximate number of frames waiting to be drained
+     */
+    public int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, slots.length()));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+
+    public long getDroppedMessageCount() {
+        return droppedMessages.get();
+    }
+
+    public long getDrainedMessageCount() {
+        return drainedMessages;
+    }
+
+    /**
+     * @return Wall time spent in the most recent {@link #drain} call, in nanoseconds
+     */
+    public long getLastDrainNanos() {
+        return lastDrainNanos;
+    }
+}
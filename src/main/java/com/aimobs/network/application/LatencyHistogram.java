@@ -0,0 +1,73 @@
+package com.aimobs.network.application;
+
+import java.util.Arrays;
+
+/**
+ * Rolling window of round-trip samples with percentile queries.
+ * Recording is O(1) into a fixed ring; percentiles sort a copy of the window
+ * and are only computed when somebody asks for them.
+ *
+ * Application layer - pure data structure, no platform dependencies.
+ */
+public class LatencyHistogram {
+
+    private final long[] samples;
+    private int next;
+    private int count;
+    private long totalSamples;
+
+    /**
+     * @param windowSize Number of most recent samples kept
+     */
+    public LatencyHistogram(int windowSize) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("Window size must be positive: " + windowSize);
+        }
+        this.samples = new long[windowSize];
+    }
+
+    public synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+        totalSamples++;
+    }
+
+    /**
+     * @param percentile Percentile in the range 0-100
+     * @return Sample at the given percentile of the window, or 0 if empty
+     */
+    public synchronized long percentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+        return sorted[Math.max(0, Math.min(count - 1, index))];
+    }
+
+    public synchronized long max() {
+        long max = 0;
+        for (int i = 0; i < count; i++) {
+            max = Math.max(max, samples[i]);
+        }
+        return max;
+    }
+
+    /**
+     * @return Number of samples currently in the window
+     */
+    public synchronized int size() {
+        return count;
+    }
+
+    /**
+     * @return Number of samples recorded since creation
+     */
+    public synchronized long getTotalSamples() {
+        return totalSamples;
+    }
+}
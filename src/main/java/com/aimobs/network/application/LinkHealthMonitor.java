@@ -0,0 +1,104 @@
+package com.aimobs.network.application;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heartbeat bookkeeping for the WebSocket link.
+ * Decides when a ping is due and when an unanswered ping means the link is dead,
+ * and records round-trip times of answered pings.
+ *
+ * All times are {@link System#nanoTime()} values supplied by the caller,
+ * which keeps this class deterministic under test.
+ *
+ * Application layer - pure business logic, no platform dependencies.
+ */
+public class LinkHealthMonitor {
+
+    private static final int RTT_WINDOW = 256;
+
+    private final long intervalNanos;
+    private final long timeoutNanos;
+    private final LatencyHistogram rttHistogram = new LatencyHistogram(RTT_WINDOW);
+
+    private boolean pingOutstanding;
+    private long pingSentNanos;
+    private long lastPingNanos;
+    private long lastRttNanos = -1;
+    private long timeouts;
+
+    /**
+     * @param intervalMillis Time between heartbeats
+     * @param timeoutMillis Time an unanswered heartbeat may take before the link is considered dead
+     */
+    public LinkHealthMonitor(long intervalMillis, long timeoutMillis) {
+        if (intervalMillis <= 0 || timeoutMillis <= 0) {
+            throw new IllegalArgumentException("Heartbeat interval and timeout must be positive");
+        }
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    }
+
+    /**
+     * Forget in-flight heartbeats, e.g. after a new connection is established.
+     */
+    public synchronized void reset(long now) {
+        pingOutstanding = false;
+        lastPingNanos = now;
+    }
+
+    public synchronized boolean isPingDue(long now) {
+        return !pingOutstanding && now - lastPingNanos >= intervalNanos;
+    }
+
+    public synchronized void onPingSent(long now) {
+        pingOutstanding = true;
+        pingSentNanos = now;
+        lastPingNanos = now;
+    }
+
+    public synchronized void onPong(long now) {
+        if (!pingOutstanding) {
+            // Unsolicited pong, nothing to measure
+            return;
+        }
+        pingOutstanding = false;
+        lastRttNanos = now - pingSentNanos;
+        rttHistogram.record(lastRttNanos);
+    }
+
+    /**
+     * Check for an unanswered heartbeat; a timed-out heartbeat is counted once and cleared.
+     * @return true if the outstanding heartbeat has exceeded the timeout
+     */
+    public synchronized boolean checkTimedOut(long now) {
+        if (pingOutstanding && now - pingSentNanos >= timeoutNanos) {
+            pingOutstanding = false;
+            timeouts++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return Most recent round trip in nanoseconds, or -1 if none measured yet
+     */
+    public synchronized long getLastRttNanos() {
+        return lastRttNanos;
+    }
+
+    public synchronized long getTimeoutCount() {
+        return timeouts;
+    }
+
+    public LatencyHistogram getRttHistogram() {
+        return rttHistogram;
+    }
+
+    /**
+     * @return Suggested period for calling the heartbeat check
+     */
+    public long getCheckPeriodMillis() {
+        long shortest = Math.min(intervalNanos, timeoutNanos);
+        return Math.max(50, TimeUnit.NANOSECONDS.toMillis(shortest) / 4);
+    }
+}
@@ -1,18 +1,30 @@
 package com.aimobs.network.application;
 
+import com.aimobs.AiMobsMod;
+import com.aimobs.entity.ai.ActionCommandFactory;
 import com.aimobs.entity.ai.CommandProcessorService;
+import com.aimobs.entity.ai.CommandReceiver;
 import com.aimobs.entity.ai.CommandRoutingService;
+import com.aimobs.entity.ai.EntityLifecycleService;
 import com.aimobs.entity.ai.core.AICommand;
 import com.aimobs.entity.ai.core.EntityId;
+import com.aimobs.entity.ai.core.ExpiringCommand;
+import com.aimobs.entity.ai.core.RoutingHint;
 import com.aimobs.entity.AiControlledWolfEntity;
+import com.aimobs.entity.ai.application.ActionDispatchTable;
+import com.aimobs.entity.ai.application.CommandRouter;
 import com.aimobs.network.MessageService;
+import com.aimobs.network.core.DeferredStats;
 import com.aimobs.network.core.NetworkMessage;
-import com.google.gson.Gson;
-import com.google.gson.JsonSyntaxException;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Application service implementing message parsing and command queuing.
@@ -20,13 +32,63 @@ import java.util.concurrent.ConcurrentLinkedQueue;
  */
 public class MessageParser implements MessageService {
     
-    private final Gson gson;
+    // Recent deliveries remembered for duplicate detection
+    public static final int DEFAULT_DEDUP_WINDOW = 4096;
+    
+    // Commands held for entities that are not loaded, and how long they are held
+    public static final int DEFAULT_DEFERRED_CAPACITY = 256;
+    public static final long DEFAULT_DEFERRED_TTL_MS = 60_000;
+    
+    // Local queue used only while no entity can take commands
+    private static final int MAX_FALLBACK_COMMANDS = 64;
+    
+    // Context keys addressing a single entity or a named group
+    private static final String TARGET_ENTITY_KEY = "target_entity";
+    private static final String GROUP_KEY = "group";
+    
+    private final NetworkMessageDecoder decoder;
+    private final RecentMessageWindow recentDeliveries;
+    // Sender session the remembered deliveries belong to, null until the sender names one
+    private volatile String deliverySession;
+    private final DeferredCommandInbox deferredInbox;
+    private final CommandDeadlines deadlines;
     private final Queue<AICommand> commandQueue;
     private final CommandProcessorService commandProcessor;
     private CommandRoutingService commandRouter; // Not final - can be set dynamically
+    private EntityLifecycleService lifecycleService; // Set once the save is loaded
     
     public MessageParser(CommandProcessorService commandProcessor, CommandRoutingService commandRouter) {
-        this.gson = new Gson();
+        this(commandProcessor, commandRouter, new RecentMessageWindow(DEFAULT_DEDUP_WINDOW));
+    }
+    
+    /**
+     * @param recentDeliveries Window of recently delivered message keys used to drop retransmissions
+     */
+    public MessageParser(CommandProcessorService commandProcessor, CommandRoutingService commandRouter,
+                         RecentMessageWindow recentDeliveries) {
+        this(commandProcessor, commandRouter, recentDeliveries, new DeferredCommandInbox(
+            DEFAULT_DEFERRED_CAPACITY, CommandRouter.DEFAULT_MAX_QUEUED_PER_RECEIVER, DEFAULT_DEFERRED_TTL_MS));
+    }
+    
+    /**
+     * @param recentDeliveries Window of recently delivered message keys used to drop retransmissions
+     * @param deferredInbox Holds commands for target entities that are not loaded until they load
+     */
+    public MessageParser(CommandProcessorService commandProcessor, CommandRoutingService commandRouter,
+                         RecentMessageWindow recentDeliveries, DeferredCommandInbox deferredInbox) {
+        this(commandProcessor, commandRouter, recentDeliveries, deferredInbox, CommandDeadlines.none());
+    }
+    
+    /**
+     * @param deadlines Time to live of commands by action, counted from the message timestamp
+     */
+    public MessageParser(CommandProcessorService commandProcessor, CommandRoutingService commandRouter,
+                         RecentMessageWindow recentDeliveries, DeferredCommandInbox deferredInbox,
+                         CommandDeadlines deadlines) {
+        this.decoder = new NetworkMessageDecoder();
+        this.recentDeliveries = recentDeliveries;
+        this.deferredInbox = deferredInbox;
+        this.deadlines = deadlines;
         this.commandQueue = new ConcurrentLinkedQueue<>();
         this.commandProcessor = commandProcessor;
         this.commandRouter = commandRouter;
@@ -36,36 +98,21 @@ public class MessageParser implements MessageService {
     // Method to set the command router for entity lookup and routing
     public void setCommandRouter(CommandRoutingService commandRouter) {
         this.commandRouter = commandRouter;
-        System.out.println("[AIMobs] CommandRouter configured on MessageParser");
+        AiMobsMod.LOGGER.info("CommandRouter configured on MessageParser");
+    }
+    
+    /**
+     * Sets the service that knows which entity ids belong to AI entities in the save.
+     * Commands are only held for unloaded targets it knows.
+     */
+    public void setEntityLifecycleService(EntityLifecycleService lifecycleService) {
+        this.lifecycleService = lifecycleService;
     }
     
     @Override
     public NetworkMessage parseMessage(String rawMessage) {
-        if (rawMessage == null || rawMessage.trim().isEmpty()) {
-            return null;
-        }
-        
-        try {
-            // Parse JSON into temporary structure
-            JsonMessage jsonMessage = gson.fromJson(rawMessage, JsonMessage.class);
-            
-            if (jsonMessage == null) {
-                return null;
-            }
-            
-            // Convert to domain object
-            NetworkMessage.MessageData data = new NetworkMessage.MessageData(
-                jsonMessage.data != null ? jsonMessage.data.action : null,
-                jsonMessage.data != null ? jsonMessage.data.parameters : Map.of(),
-                jsonMessage.data != null ? jsonMessage.data.context : Map.of()
-            );
-            
-            return new NetworkMessage(jsonMessage.type, jsonMessage.timestamp, data);
-            
-        } catch (JsonSyntaxException e) {
-            // Invalid JSON - return null
-            return null;
-        }
+        // Streaming decode straight into the domain object
+        return decoder.decode(rawMessage);
     }
     
     @Override
@@ -73,55 +120,300 @@ public class MessageParser implements MessageService {
         return message != null && message.isValid();
     }
     
+    @Override
+    public boolean registerDelivery(NetworkMessage message) {
+        if (message == null || !message.hasDeliveryId()) {
+            return true;
+        }
+        String session = message.getSession();
+        if (session != null && !session.equals(deliverySession)) {
+            // A new sender session numbers its messages from the start again
+            recentDeliveries.clear();
+            deliverySession = session;
+        }
+        return recentDeliveries.markSeen(deliveryKey(message));
+    }
+    
+    @Override
+    public void onBackendConnected() {
+        if (deliverySession == null) {
+            // Without a session there is no telling a restarted backend from a reconnect
+            recentDeliveries.clear();
+        }
+    }
+    
+    @Override
+    public void forgetDelivery(NetworkMessage message) {
+        if (message != null && message.hasDeliveryId()) {
+            recentDeliveries.forgetLatest(deliveryKey(message));
+        }
+    }
+    
+    /**
+     * Sequence numbers are used as-is; string ids are folded into 64 bits with FNV-1a.
+     */
+    private static long deliveryKey(NetworkMessage message) {
+        if (message.getSeq() != null) {
+            return message.getSeq();
+        }
+        String id = message.getId();
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < id.length(); i++) {
+            hash ^= id.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+    
+    @Override
+    public boolean isExpired(NetworkMessage message) {
+        return message != null && deadlines.isExpired(message, System.currentTimeMillis());
+    }
+    
     @Override
     public AICommand convertToCommand(NetworkMessage message) {
         if (!validateMessage(message)) {
             return null;
         }
         
-        String action = message.getData().getAction();
+        return convertStep(message, asWolf(selectReceiver(RoutingHint.none(), 1).orElse(null)));
+    }
+    
+    @Override
+    public List<AICommand> convertToCommands(NetworkMessage message) {
+        if (!validateMessage(message) || !message.isBatch()) {
+            return List.of();
+        }
         
-        // Use command router to create commands through proper command receivers
-        if (commandRouter != null) {
-            // Find any available command receiver to create the command
-            java.util.Optional<com.aimobs.entity.ai.CommandReceiver> receiver = 
-                ((com.aimobs.entity.ai.application.CommandRouter) commandRouter).getEntityLookup().findAnyAvailable();
-            
-            if (receiver.isPresent() && receiver.get() instanceof com.aimobs.entity.AiControlledWolfEntity wolf) {
-                // Use the wolf to create appropriate commands
-                if (isMovementCommand(action)) {
-                    AICommand movementCommand = wolf.createMovementCommand(message);
-                    if (movementCommand != null) {
-                        return movementCommand;
-                    }
-                }
-                
-                if (isInteractionCommand(action)) {
-                    AICommand interactionCommand = wolf.createInteractionCommand(message);
-                    if (interactionCommand != null) {
-                        return interactionCommand;
-                    }
-                }
+        // Every step is built against the same wolf so the plan stays coherent
+        int stepCount = message.getData().getCommands().size();
+        return convertSteps(message, asWolf(selectReceiver(RoutingHint.none(), stepCount).orElse(null)));
+    }
+    
+    @Override
+    public boolean dispatchMessage(NetworkMessage message) {
+        if (!validateMessage(message)) {
+            return false;
+        }
+        
+        int commandCount = message.isBatch() ? message.getData().getCommands().size() : 1;
+        Map<String, Object> context = message.getData().getContext();
+        
+        if (context != null && context.get(GROUP_KEY) instanceof String group) {
+            return dispatchToGroup(message, group, commandCount);
+        }
+        
+        Optional<EntityId> target = Optional.empty();
+        if (context != null && context.get(TARGET_ENTITY_KEY) instanceof String targetEntity) {
+            try {
+                target = Optional.of(EntityId.fromString(targetEntity));
+            } catch (IllegalArgumentException e) {
+                AiMobsMod.LOGGER.warn("Ignoring command for malformed target entity: {}", targetEntity);
+                return false;
             }
         }
         
-        // Fall back to generic network command
-        return new NetworkAICommand(message);
+        Optional<CommandReceiver> receiver = commandRouter != null
+            ? commandRouter.selectReceiver(target, routingHint(message), commandCount)
+            : Optional.empty();
+        if (receiver.isPresent()) {
+            // The receiver refuses commands its queue cannot hold, so the sender can retry them
+            return deliver(receiver.get(), message);
+        }
+        if (target.isPresent() && (commandRouter == null || !commandRouter.isEntityLoaded(target.get()))) {
+            if (lifecycleService == null || !lifecycleService.isAiEntity(target.get())) {
+                // Unknown ids would only fill the inbox until their commands expire
+                AiMobsMod.LOGGER.warn("Target entity {} is not a known AI entity, refusing command",
+                    target.get().asString());
+                return false;
+            }
+            // The target is in an unloaded chunk; hand the command over when it loads again
+            if (deferredInbox.defer(target.get(), message, System.nanoTime(), holdNanos(message))) {
+                return true;
+            }
+            AiMobsMod.LOGGER.warn("Deferred command inbox is full, dropping command for {}",
+                target.get().asString());
+            return false;
+        }
+        if (target.isPresent()) {
+            // Holding an addressed command back would deliver it to whichever wolf frees up first
+            AiMobsMod.LOGGER.debug("Target entity {} cannot take commands, dropping", target.get().asString());
+            return false;
+        }
+        
+        // Nothing drains a local queue, so refuse the command and let the sender retry it
+        AiMobsMod.LOGGER.debug("No entity can take commands, refusing command");
+        return false;
     }
     
-    private boolean isMovementCommand(String action) {
-        return "move".equals(action) || 
-               "follow".equals(action) || 
-               "stop".equals(action) || 
-               "comeHere".equals(action);
+    /**
+     * Fans a message out to every group member that can take it, in one pass.
+     * Each member builds its own commands, since commands act on the entity that built them.
+     */
+    private boolean dispatchToGroup(NetworkMessage message, String group, int commandCount) {
+        List<CommandReceiver> members = commandRouter != null
+            ? commandRouter.selectGroup(group, commandCount)
+            : List.of();
+        if (members.isEmpty()) {
+            AiMobsMod.LOGGER.debug("No member of group '{}' can take commands, dropping", group);
+            return false;
+        }
+        boolean delivered = false;
+        for (CommandReceiver member : members) {
+            delivered |= deliver(member, message);
+        }
+        return delivered;
     }
     
-    private boolean isInteractionCommand(String action) {
-        return "attack".equals(action) || 
-               "collect".equals(action) || 
-               "defend".equals(action) || 
-               "speak".equals(action) ||
-               "communicate".equals(action);
+    /**
+     * @return Time until the message's last command deadline, so it is not held past it
+     */
+    private long holdNanos(NetworkMessage message) {
+        long now = System.currentTimeMillis();
+        long deadline = deadlines.latestDeadline(message, now);
+        if (deadline == AICommand.NO_DEADLINE) {
+            return Long.MAX_VALUE;
+        }
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, deadline - now));
+    }
+    
+    @Override
+    public int deliverDeferred(CommandReceiver receiver) {
+        EntityId entityId = receiver.getEntityId();
+        if (entityId == null) {
+            return 0;
+        }
+        List<NetworkMessage> messages = deferredInbox.take(entityId, System.nanoTime());
+        int delivered = 0;
+        for (NetworkMessage message : messages) {
+            if (deliver(receiver, message)) {
+                delivered++;
+            }
+        }
+        return delivered;
+    }
+    
+    @Override
+    public DeferredStats getDeferredStats() {
+        synchronized (deferredInbox) {
+            deferredInbox.purgeExpired(System.nanoTime());
+            return new DeferredStats(deferredInbox.size(), deferredInbox.getEntityCount(),
+                deferredInbox.getExpiredCount(), deferredInbox.getRefusedCount());
+        }
+    }
+    
+    /**
+     * @return true if the receiver queued the message's commands
+     */
+    private boolean deliver(CommandReceiver receiver, NetworkMessage message) {
+        AiControlledWolfEntity wolf = asWolf(receiver);
+        if (message.isBatch()) {
+            List<AICommand> commands = convertSteps(message, wolf);
+            return !commands.isEmpty() && receiver.receiveCommands(commands);
+        }
+        AICommand command = convertStep(message, wolf);
+        return command != null && receiver.receiveCommand(command);
+    }
+    
+    private Optional<CommandReceiver> selectReceiver(RoutingHint hint, int commandCount) {
+        if (commandRouter == null) {
+            return Optional.empty();
+        }
+        return commandRouter.selectReceiver(Optional.empty(), hint, commandCount);
+    }
+    
+    private static AiControlledWolfEntity asWolf(CommandReceiver receiver) {
+        return receiver instanceof AiControlledWolfEntity wolf ? wolf : null;
+    }
+    
+    /**
+     * Reads the issuing player from the message context: {@code player} holds the name,
+     * {@code dimension} the player's dimension id and {@code position} an object with
+     * numeric {@code x}, {@code y} and {@code z}.
+     */
+    static RoutingHint routingHint(NetworkMessage message) {
+        Map<String, Object> context = message.getData().getContext();
+        if (context == null) {
+            return RoutingHint.none();
+        }
+        String player = context.get("player") instanceof String name ? name : null;
+        RoutingHint hint = RoutingHint.forPlayer(player);
+        if (context.get("position") instanceof Map<?, ?> position
+                && position.get("x") instanceof Number x
+                && position.get("y") instanceof Number y
+                && position.get("z") instanceof Number z) {
+            hint = RoutingHint.at(player, x.doubleValue(), y.doubleValue(), z.doubleValue());
+        }
+        if (context.get("dimension") instanceof String dimension) {
+            hint = hint.inDimension(dimension);
+        }
+        return hint;
+    }
+    
+    /**
+     * @return The plan's commands, or an empty list if any step cannot be built, so the plan is refused whole
+     */
+    private List<AICommand> convertSteps(NetworkMessage message, AiControlledWolfEntity wolf) {
+        List<NetworkMessage.MessageData> steps = message.getData().getCommands();
+        List<AICommand> commands = new ArrayList<>(steps.size());
+        for (NetworkMessage.MessageData step : steps) {
+            AICommand command = convertStep(stepMessage(message, step), wolf);
+            if (command == null) {
+                return List.of();
+            }
+            commands.add(command);
+        }
+        return commands;
+    }
+    
+    /**
+     * Builds the command message for one batch step. The step sees the envelope's shared
+     * context, e.g. the speaking {@code player}, with its own context keys taking precedence.
+     */
+    static NetworkMessage stepMessage(NetworkMessage batch, NetworkMessage.MessageData step) {
+        Map<String, Object> shared = batch.getData().getContext();
+        if (shared != null && !shared.isEmpty()) {
+            Map<String, Object> context = new HashMap<>(shared);
+            if (step.getContext() != null) {
+                context.putAll(step.getContext());
+            }
+            step = new NetworkMessage.MessageData(step.getAction(), step.getParameters(), context);
+        }
+        return new NetworkMessage("command", batch.getTimestamp(), step);
+    }
+    
+    /**
+     * Builds the command for one action, carrying the deadline its message timestamp gives it.
+     * @return The command, or null if the action's factory cannot build it for this wolf
+     */
+    private AICommand convertStep(NetworkMessage message, AiControlledWolfEntity wolf) {
+        AICommand command = buildStep(message, wolf);
+        if (command == null) {
+            return null;
+        }
+        long deadline = deadlines.deadlineFor(message.getTimestamp(), message.getData().getActionToken(),
+            System.currentTimeMillis());
+        return ExpiringCommand.withDeadline(command, deadline);
+    }
+    
+    private AICommand buildStep(NetworkMessage message, AiControlledWolfEntity wolf) {
+        if (wolf != null) {
+            // The action token resolved at decode time selects the factory directly
+            ActionCommandFactory factory = ActionDispatchTable.factoryFor(message.getData().getActionToken());
+            if (factory != null) {
+                // A registered action that cannot be built, e.g. following a player who is
+                // offline or in another dimension, is refused rather than run as a no-op
+                AICommand command = factory.create(message, wolf);
+                if (command == null) {
+                    AiMobsMod.LOGGER.warn("Cannot build {} for this entity, refusing command",
+                        message.getData().getAction());
+                }
+                return command;
+            }
+        }
+        
+        // Fall back to generic network command
+        return new NetworkAICommand(message);
     }
     
     @Override
@@ -133,10 +425,50 @@ public class MessageParser implements MessageService {
             }
             
             // Fallback to local queue if no entity is available
+            if (commandQueue.size() >= MAX_FALLBACK_COMMANDS) {
+                AiMobsMod.LOGGER.warn("No entity can take commands and fallback queue is full, dropping command");
+                return;
+            }
             commandQueue.offer(command);
         }
     }
     
+    @Override
+    public void queueCommands(List<AICommand> commands) {
+        if (commands == null || commands.isEmpty()) {
+            return;
+        }
+        
+        // Route the whole plan to a single entity
+        if (commandRouter != null && commandRouter.routeCommands(commands, Optional.empty())) {
+            return;
+        }
+        
+        queueFallback(commands);
+    }
+    
+    /**
+     * Keeps commands locally while no entity can take them.
+     * @return false if the fallback queue is full and the commands were dropped
+     */
+    private boolean queueFallback(List<AICommand> commands) {
+        if (commandQueue.size() + commands.size() > MAX_FALLBACK_COMMANDS) {
+            AiMobsMod.LOGGER.warn("No entity can take commands and fallback queue is full, dropping {} command(s)",
+                commands.size());
+            return false;
+        }
+        commandQueue.addAll(commands);
+        return true;
+    }
+    
+    @Override
+    public int getCommandHeadroom() {
+        if (commandRouter != null) {
+            return commandRouter.getQueueHeadroom();
+        }
+        return Math.max(0, MAX_FALLBACK_COMMANDS - commandQueue.size());
+    }
+    
     @Override
     public int getQueuedCommandCount() {
         return commandQueue.size();
@@ -147,21 +479,6 @@ public class MessageParser implements MessageService {
         commandQueue.clear();
     }
     
-    /**
-     * Temporary JSON structure for parsing.
-     */
-    private static class JsonMessage {
-        String type;
-        String timestamp;
-        JsonData data;
-        
-        static class JsonData {
-            String action;
-            Map<String, Object> parameters;
-            Map<String, Object> context;
-        }
-    }
-    
     /**
      * AI Command implementation that wraps network messages.
      */
@@ -1,15 +1,17 @@
 package com.aimobs.network.application;
 
-import com.aimobs.entity.ai.core.AICommand;
 import com.aimobs.network.MessageService;
 import com.aimobs.network.core.ConnectionState;
+import com.aimobs.network.core.LinkStats;
 import com.aimobs.network.core.NetworkMessage;
 import com.aimobs.network.core.WebSocketConnection;
 import com.aimobs.AiMobsMod;
 
+import java.time.Instant;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * Pure business logic coordinator - no external dependencies.
@@ -19,7 +21,8 @@ import java.util.concurrent.TimeUnit;
 public class NetworkCommandCoordinator implements WebSocketConnection.ConnectionListener {
     
     private final MessageService messageService;
-    private ConnectionState connectionState;
+    private final NetworkMessageEncoder encoder = new NetworkMessageEncoder();
+    private volatile ConnectionState connectionState;
     private String lastError;
     
     // Error recovery configuration
@@ -32,10 +35,64 @@ public class NetworkCommandCoordinator implements WebSocketConnection.Connection
     private long currentRetryDelay = INITIAL_RETRY_DELAY_MS;
     private final ScheduledExecutorService retryExecutor = Executors.newSingleThreadScheduledExecutor();
     private Runnable reconnectCallback;
+    private Runnable connectedCallback;
+    
+    // Inbound hand-off between the WebSocket thread and the server thread
+    private final InboundMessageMailbox inboundMailbox;
+    private final int inboundTickBudget;
+    private final Consumer<String> inboundHandler = this::handleIncomingMessage;
+    
+    // Heartbeat defaults: a stalled link is noticed within interval + timeout
+    public static final long DEFAULT_HEARTBEAT_INTERVAL_MS = 2000;
+    public static final long DEFAULT_HEARTBEAT_TIMEOUT_MS = 5000;
+    private final LinkHealthMonitor linkHealth;
+    
+    // Deliveries acknowledged once per tick, or per message without a mailbox
+    private final PendingAcks pendingAcks = new PendingAcks();
+    private Consumer<String> controlFrameSender;
+    
+    // Credit-based flow control; null accepts every command
+    private final CreditController credits;
+    
+    // Commands refused because they arrived after their deadline
+    private long expiredOnArrival;
+    
+    // Commands refused because no entity could take them
+    private long undeliverable;
     
     public NetworkCommandCoordinator(MessageService messageService) {
+        this(messageService, null, 0);
+    }
+    
+    /**
+     * @param inboundMailbox Mailbox that received frames are parked in until the next tick,
+     *                       or null to handle frames directly on the receiving thread
+     * @param inboundTickBudget Maximum number of frames handled per tick
+     */
+    public NetworkCommandCoordinator(MessageService messageService, InboundMessageMailbox inboundMailbox, int inboundTickBudget) {
+        this(messageService, inboundMailbox, inboundTickBudget,
+            new LinkHealthMonitor(DEFAULT_HEARTBEAT_INTERVAL_MS, DEFAULT_HEARTBEAT_TIMEOUT_MS));
+    }
+    
+    /**
+     * @param linkHealth Heartbeat bookkeeping and round-trip statistics for the link
+     */
+    public NetworkCommandCoordinator(MessageService messageService, InboundMessageMailbox inboundMailbox,
+                                     int inboundTickBudget, LinkHealthMonitor linkHealth) {
+        this(messageService, inboundMailbox, inboundTickBudget, linkHealth, null);
+    }
+    
+    /**
+     * @param credits Flow control granting the backend credits each tick, or null to accept every command
+     */
+    public NetworkCommandCoordinator(MessageService messageService, InboundMessageMailbox inboundMailbox,
+                                     int inboundTickBudget, LinkHealthMonitor linkHealth, CreditController credits) {
+        this.credits = credits;
         this.messageService = messageService;
         this.connectionState = ConnectionState.DISCONNECTED;
+        this.inboundMailbox = inboundMailbox;
+        this.inboundTickBudget = inboundTickBudget;
+        this.linkHealth = linkHealth;
     }
     
     /**
@@ -49,13 +106,35 @@ public class NetworkCommandCoordinator implements WebSocketConnection.Connection
         
         NetworkMessage message = messageService.parseMessage(rawMessage);
         
+        // Repeats come first: a resend of a delivery that already ran is acked, never refused
+        if (message != null && message.hasDeliveryId() && !messageService.registerDelivery(message)) {
+            // Acknowledge repeats again so the sender stops retransmitting
+            pendingAcks.add(message);
+            AiMobsMod.LOGGER.debug("Dropped duplicate delivery seq={} id={}", message.getSeq(), message.getId());
+            return;
+        }
+        
+        if (message != null && messageService.validateMessage(message) && messageService.isExpired(message)) {
+            // Too late to start; tell the sender instead of spending credit or a wolf's time on it
+            rejectExpired(message);
+            return;
+        }
+        
+        int cost = credits != null ? commandCost(message) : 0;
+        if (cost > 0 && !credits.hasCredit(cost)) {
+            // Refuse explicitly instead of buffering; the sender retries once credit is granted
+            rejectMessage(message);
+            return;
+        }
+        
         if (message != null && messageService.validateMessage(message)) {
-            AICommand command = messageService.convertToCommand(message);
-            if (command != null) {
-                messageService.queueCommand(command);
-                AiMobsMod.LOGGER.debug("Queued command: " + message.getData().getAction());
+            // The receiver that will run the commands also builds them
+            if (messageService.dispatchMessage(message)) {
+                AiMobsMod.LOGGER.debug("Dispatched " + (message.isBatch() ? "batch" : message.getData().getAction()));
+                acceptDelivery(message, cost);
             } else {
-                AiMobsMod.LOGGER.warn("Failed to convert message to command: " + rawMessage);
+                AiMobsMod.LOGGER.warn("Failed to dispatch message: " + rawMessage);
+                rejectUndeliverable(message);
             }
         } else {
             // Only log as warning if it's not a welcome/status message
@@ -64,9 +143,68 @@ public class NetworkCommandCoordinator implements WebSocketConnection.Connection
             } else {
                 AiMobsMod.LOGGER.warn("Received invalid message: " + rawMessage);
             }
+            if (message != null && message.hasDeliveryId()) {
+                // Invalid messages are acknowledged as handled, since resending cannot fix them
+                pendingAcks.add(message);
+            }
         }
     }
     
+    private void acceptDelivery(NetworkMessage message, int cost) {
+        if (message.hasDeliveryId()) {
+            pendingAcks.add(message);
+        }
+        if (cost > 0) {
+            credits.consume(cost);
+        }
+    }
+    
+    /**
+     * @return Credits a message spends: one per command, 0 for anything that is not a valid command
+     */
+    private int commandCost(NetworkMessage message) {
+        if (message == null || !messageService.validateMessage(message)) {
+            return 0;
+        }
+        return message.isBatch() ? message.getData().getCommands().size() : 1;
+    }
+    
+    /**
+     * Refused commands are not remembered as delivered, so a resend is handled as new.
+     */
+    private void rejectMessage(NetworkMessage message) {
+        credits.onRejected();
+        if (message.hasDeliveryId()) {
+            messageService.forgetDelivery(message);
+        }
+        AiMobsMod.LOGGER.debug("Refused command without credit seq={} id={}", message.getSeq(), message.getId());
+        sendControlFrame(encoder.encodeReject(Instant.now().toString(), message, "no_credit", credits.getAvailable()));
+    }
+    
+    /**
+     * Refuses a command no entity could take. It is not acknowledged and not remembered
+     * as delivered, so the sender can resend it once an entity is available.
+     */
+    private void rejectUndeliverable(NetworkMessage message) {
+        undeliverable++;
+        if (message.hasDeliveryId()) {
+            messageService.forgetDelivery(message);
+        }
+        AiMobsMod.LOGGER.debug("Refused undeliverable command seq={} id={}", message.getSeq(), message.getId());
+        sendControlFrame(encoder.encodeReject(Instant.now().toString(), message, "unavailable",
+            credits != null ? credits.getAvailable() : 0));
+    }
+    
+    private void rejectExpired(NetworkMessage message) {
+        expiredOnArrival++;
+        if (message.hasDeliveryId()) {
+            messageService.forgetDelivery(message);
+        }
+        AiMobsMod.LOGGER.debug("Refused expired command seq={} id={}", message.getSeq(), message.getId());
+        sendControlFrame(encoder.encodeReject(Instant.now().toString(), message, "expired",
+            credits != null ? credits.getAvailable() : 0));
+    }
+    
     /**
      * Prepare message for sending - pure business logic.
      */
@@ -75,24 +213,8 @@ public class NetworkCommandCoordinator implements WebSocketConnection.Connection
             return null;
         }
         
-        // Convert to JSON format expected by server
-        return String.format("""
-            {
-              "type": "%s",
-              "timestamp": "%s",
-              "data": {
-                "action": "%s",
-                "parameters": %s,
-                "context": %s
-              }
-            }
-            """, 
-            message.getType(),
-            message.getTimestamp(),
-            message.getData().getAction(),
-            formatMapAsJson(message.getData().getParameters()),
-            formatMapAsJson(message.getData().getContext())
-        );
+        // Compact JSON frame in the format expected by server
+        return encoder.encode(message);
     }
     
     public ConnectionState getConnectionState() {
@@ -107,6 +229,106 @@ public class NetworkCommandCoordinator implements WebSocketConnection.Connection
         return messageService.getQueuedCommandCount();
     }
     
+    /**
+     * Handle frames parked in the inbound mailbox, up to the per-tick budget.
+     * Must be called from the server thread once per tick.
+     * @return Number of frames handled
+     */
+    public int processInboundMessages() {
+        int handled = 0;
+        if (inboundMailbox != null) {
+            handled = inboundMailbox.drain(inboundHandler, inboundTickBudget);
+            flushAcks();
+        }
+        refreshCredits();
+        return handled;
+    }
+    
+    /**
+     * Send one acknowledgement frame for every delivery handled since the last flush.
+     */
+    public void flushAcks() {
+        if (pendingAcks.isEmpty()) {
+            return;
+        }
+        String frame = pendingAcks.drainToFrame(encoder, Instant.now().toString());
+        if (frame != null) {
+            sendControlFrame(frame);
+        }
+    }
+    
+    /**
+     * Grant credits for the coming tick and advertise them if the grant changed.
+     */
+    private void refreshCredits() {
+        if (credits == null) {
+            return;
+        }
+        int granted = credits.refresh(messageService.getCommandHeadroom());
+        if (connectionState == ConnectionState.CONNECTED && credits.shouldAdvertise()) {
+            sendControlFrame(encoder.encodeCredit(Instant.now().toString(), granted));
+            credits.markAdvertised();
+        }
+    }
+    
+    /**
+     * Record how long the last server tick took; long ticks shrink the next credit grant.
+     */
+    public void recordTickDuration(long nanos) {
+        if (credits != null) {
+            credits.recordTickDuration(nanos);
+        }
+    }
+    
+    public CreditController getCredits() {
+        return credits;
+    }
+    
+    private void sendControlFrame(String frame) {
+        if (controlFrameSender != null) {
+            controlFrameSender.accept(frame);
+        }
+    }
+    
+    /**
+     * Set the sink for control frames: acknowledgements, credit grants and rejections.
+     * Control frames are not buffered while disconnected; the sender retransmits
+     * unacknowledged messages and credits are advertised again after reconnecting.
+     */
+    public void setControlFrameSender(Consumer<String> controlFrameSender) {
+        this.controlFrameSender = controlFrameSender;
+    }
+    
+    public InboundMessageMailbox getInboundMailbox() {
+        return inboundMailbox;
+    }
+    
+    public LinkHealthMonitor getLinkHealth() {
+        return linkHealth;
+    }
+    
+    /**
+     * Snapshot link health: connection state plus heartbeat round-trip statistics.
+     */
+    public LinkStats getLinkStats() {
+        LatencyHistogram rtt = linkHealth.getRttHistogram();
+        long lastRtt = linkHealth.getLastRttNanos();
+        return new LinkStats(
+            connectionState,
+            lastRtt < 0 ? -1 : toMillis(lastRtt),
+            toMillis(rtt.percentile(50)),
+            toMillis(rtt.percentile(99)),
+            toMillis(rtt.max()),
+            rtt.size(),
+            linkHealth.getTimeoutCount(),
+            expiredOnArrival,
+            undeliverable);
+    }
+    
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+    
     /**
      * Set callback for reconnection attempts.
      * This allows the service layer to trigger actual reconnections.
@@ -115,6 +337,23 @@ public class NetworkCommandCoordinator implements WebSocketConnection.Connection
         this.reconnectCallback = reconnectCallback;
     }
     
+    /**
+     * Set callback run after each successful connection, e.g. to replay buffered frames.
+     */
+    public void setConnectedCallback(Runnable connectedCallback) {
+        this.connectedCallback = connectedCallback;
+    }
+    
+    /**
+     * Record that a connection attempt has started.
+     * Retries keep their RECONNECTING state so the backoff schedule is not disturbed.
+     */
+    public void onConnectAttempt() {
+        if (connectionState == ConnectionState.DISCONNECTED || connectionState == ConnectionState.ERROR) {
+            connectionState = ConnectionState.CONNECTING;
+        }
+    }
+    
     /**
      * Reset retry state after successful connection.
      */
@@ -173,7 +412,17 @@ public class NetworkCommandCoordinator implements WebSocketConnection.Connection
         connectionState = ConnectionState.CONNECTED;
         lastError = null;
         resetRetryState(); // Reset retry state on successful connection
+        linkHealth.reset(System.nanoTime());
+        messageService.onBackendConnected();
+        if (credits != null) {
+            // A new backend session starts without credit until the next grant
+            credits.forceAdvertise();
+        }
         AiMobsMod.LOGGER.info("WebSocket connection established");
+        
+        if (connectedCallback != null) {
+            connectedCallback.run();
+        }
     }
     
     @Override
@@ -218,28 +467,21 @@ public class NetworkCommandCoordinator implements WebSocketConnection.Connection
     }
     
     @Override
-    public void onMessageReceived(String message) {
-        handleIncomingMessage(message);
+    public void onPong() {
+        linkHealth.onPong(System.nanoTime());
     }
     
-    private String formatMapAsJson(java.util.Map<String, Object> map) {
-        if (map == null || map.isEmpty()) {
-            return "{}";
+    @Override
+    public void onMessageReceived(String message) {
+        if (inboundMailbox == null) {
+            handleIncomingMessage(message);
+            flushAcks();
+            return;
         }
         
-        StringBuilder sb = new StringBuilder("{");
-        boolean first = true;
-        for (java.util.Map.Entry<String, Object> entry : map.entrySet()) {
-            if (!first) sb.append(",");
-            sb.append("\"").append(entry.getKey()).append("\":");
-            if (entry.getValue() instanceof String) {
-                sb.append("\"").append(entry.getValue()).append("\"");
-            } else {
-                sb.append(entry.getValue());
-            }
-            first = false;
+        // Socket thread only hands the frame off; the server thread does the rest
+        if (!inboundMailbox.offer(message)) {
+            AiMobsMod.LOGGER.warn("Inbound mailbox full ({} frames), dropping message", inboundMailbox.capacity());
         }
-        sb.append("}");
-        return sb.toString();
     }
 }
\ No newline at end of file
@@ -0,0 +1,247 @@
+package com.aimobs.network.application;
+
+import com.aimobs.network.core.NetworkMessage;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single-pass streaming decoder from raw JSON frames to {@link NetworkMessage}.
+ * Reads tokens straight into the domain object without a reflective DTO,
+ * interns type names, resolves action names to {@link com.aimobs.network.core.Action}
+ * tokens and skips unknown fields without materialising them.
+ *
+ * Application layer - depends only on the Gson streaming API.
+ */
+public class NetworkMessageDecoder {
+
+    private static final String[] KNOWN_TYPES = {"command", "batch"};
+
+    // Integral values in this range share boxed instances (coordinates, counts, radii)
+    private static final int CACHED_NUMBER_MIN = -1024;
+    private static final int CACHED_NUMBER_MAX = 1024;
+    private static final Double[] CACHED_NUMBERS = new Double[CACHED_NUMBER_MAX - CACHED_NUMBER_MIN + 1];
+
+    static {
+        for (int i = 0; i < CACHED_NUMBERS.length; i++) {
+            CACHED_NUMBERS[i] = (double) (i + CACHED_NUMBER_MIN);
+        }
+    }
+
+    private final Map<String, String> internedNames;
+
+    public NetworkMessageDecoder() {
+        this.internedNames = new HashMap<>();
+        for (String type : KNOWN_TYPES) {
+            internedNames.put(type, type);
+        }
+    }
+
+    /**
+     * Decode a raw frame.
+     * @param rawMessage Raw JSON string
+     * @return Decoded message, or null if the frame is empty, malformed or not a JSON object
+     */
+    public NetworkMessage decode(String rawMessage) {
+        if (rawMessage == null || rawMessage.isBlank()) {
+            return null;
+        }
+
+        try (JsonReader reader = new JsonReader(new StringReader(rawMessage))) {
+            JsonToken first = reader.peek();
+            if (first != JsonToken.BEGIN_OBJECT) {
+                return null;
+            }
+
+            NetworkMessage message = readMessage(reader);
+            if (reader.peek() != JsonToken.END_DOCUMENT) {
+                // Trailing content after the top-level object
+                return null;
+            }
+            return message;
+        } catch (IOException | IllegalStateException | NumberFormatException e) {
+            // Malformed JSON or unexpected token types
+            return null;
+        }
+    }
+
+    private NetworkMessage readMessage(JsonReader reader) throws IOException {
+        String type = null;
+        String timestamp = null;
+        NetworkMessage.MessageData data = null;
+        Long seq = null;
+        String id = null;
+        String session = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "type" -> type = intern(readString(reader));
+                case "timestamp" -> timestamp = readString(reader);
+                case "data" -> data = readData(reader);
+                case "seq" -> seq = readLong(reader);
+                case "id" -> id = readString(reader);
+                case "session" -> session = readString(reader);
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (data == null) {
+            data = new NetworkMessage.MessageData(null, Map.of(), Map.of());
+        }
+        NetworkMessage message = new NetworkMessage(type, timestamp, data);
+        message.setSeq(seq);
+        message.setId(id);
+        message.setSession(session);
+        return message;
+    }
+
+    private NetworkMessage.MessageData readData(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+
+        String action = null;
+        Map<String, Object> parameters = Map.of();
+        Map<String, Object> context = Map.of();
+        List<NetworkMessage.MessageData> commands = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                // Resolved to an action token, and interned, by MessageData
+                case "action" -> action = readString(reader);
+                case "parameters" -> parameters = readObjectOrEmpty(reader);
+                case "context" -> context = readObjectOrEmpty(reader);
+                case "commands" -> commands = readCommands(reader);
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (commands != null) {
+            return new NetworkMessage.MessageData(commands, context);
+        }
+        return new NetworkMessage.MessageData(action, parameters, context);
+    }
+
+    private List<NetworkMessage.MessageData> readCommands(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+
+        List<NetworkMessage.MessageData> commands = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            commands.add(readData(reader));
+        }
+        reader.endArray();
+        return commands;
+    }
+
+    private String readString(JsonReader reader) throws IOException {
+        JsonToken token = reader.peek();
+        if (token == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        if (token != JsonToken.STRING && token != JsonToken.NUMBER) {
+            throw new IllegalStateException("Expected a string but was " + token);
+        }
+        return reader.nextString();
+    }
+
+    private Long readLong(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        // Rejects fractional values, which fails the whole frame
+        return reader.nextLong();
+    }
+
+    private Map<String, Object> readObjectOrEmpty(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return Map.of();
+        }
+        return readObject(reader);
+    }
+
+    private Map<String, Object> readObject(JsonReader reader) throws IOException {
+        Map<String, Object> values = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            Object value = readValue(reader);
+            if (values == null) {
+                values = new LinkedHashMap<>();
+            }
+            values.put(name, value);
+        }
+        reader.endObject();
+        return values != null ? values : Map.of();
+    }
+
+    private List<Object> readArray(JsonReader reader) throws IOException {
+        List<Object> values = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            values.add(readValue(reader));
+        }
+        reader.endArray();
+        return values;
+    }
+
+    private Object readValue(JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case STRING:
+                return reader.nextString();
+            case NUMBER:
+                return toNumber(reader.nextDouble());
+            case BOOLEAN:
+                return reader.nextBoolean();
+            case NULL:
+                reader.nextNull();
+                return null;
+            case BEGIN_OBJECT:
+                return readObject(reader);
+            case BEGIN_ARRAY:
+                return readArray(reader);
+            default:
+                throw new IllegalStateException("Unexpected token " + reader.peek());
+        }
+    }
+
+    /**
+     * Numbers keep the Double representation callers already expect,
+     * but common integral values reuse a shared instance instead of boxing.
+     */
+    private static Double toNumber(double value) {
+        if (value >= CACHED_NUMBER_MIN && value <= CACHED_NUMBER_MAX) {
+            int integral = (int) value;
+            if (integral == value && Double.doubleToRawLongBits(value) != Double.doubleToRawLongBits(-0.0)) {
+                return CACHED_NUMBERS[integral - CACHED_NUMBER_MIN];
+            }
+        }
+        return value;
+    }
+
+    private String intern(String name) {
+        if (name == null) {
+            return null;
+        }
+        String known = internedNames.get(name);
+        return known != null ? known : name;
+    }
+}
@@ -0,0 +1,296 @@
+package com.aimobs.network.application;
+
+import com.aimobs.network.core.NetworkMessage;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming encoder from {@link NetworkMessage} to compact JSON frames.
+ * Writes straight into a reused per-thread buffer with proper string escaping
+ * and support for nested maps, collections and arrays.
+ *
+ * Application layer - pure Java, no platform dependencies.
+ */
+public class NetworkMessageEncoder {
+
+    private static final int INITIAL_BUFFER_SIZE = 512;
+    // Buffers grown past this by an unusually large frame are not kept around
+    private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final ThreadLocal<StringBuilder> BUFFER =
+        ThreadLocal.withInitial(() -> new StringBuilder(INITIAL_BUFFER_SIZE));
+
+    /**
+     * Encode a message as a compact JSON frame.
+     * @param message Message to encode; callers validate it first
+     * @return JSON frame without insignificant whitespace
+     */
+    public String encode(NetworkMessage message) {
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+
+        out.append("{\"type\":");
+        writeString(out, message.getType());
+        out.append(",\"timestamp\":");
+        writeString(out, message.getTimestamp());
+        if (message.getSeq() != null) {
+            out.append(",\"seq\":").append(message.getSeq().longValue());
+        }
+        if (message.getId() != null) {
+            out.append(",\"id\":");
+            writeString(out, message.getId());
+        }
+        out.append(",\"data\":");
+        writeData(out, message.getData());
+        out.append('}');
+
+        return finish(out);
+    }
+
+    /**
+     * Encode an acknowledgement frame covering every delivery handled since the last one.
+     * @param timestamp Frame timestamp
+     * @param seqs Acknowledged sequence numbers; only the first {@code seqCount} are used
+     * @param seqCount Number of sequence numbers in use
+     * @param ids Acknowledged message ids
+     * @return JSON frame of type {@code "ack"}
+     */
+    public String encodeAck(String timestamp, long[] seqs, int seqCount, List<String> ids) {
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+
+        out.append("{\"type\":\"ack\",\"timestamp\":");
+        writeString(out, timestamp);
+        out.append(",\"data\":{\"seqs\":[");
+        for (int i = 0; i < seqCount; i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            out.append(seqs[i]);
+        }
+        out.append("],\"ids\":");
+        writeIterable(out, ids);
+        out.append("}}");
+
+        return finish(out);
+    }
+
+    /**
+     * Encode a flow-control frame granting the backend new credits.
+     * @param timestamp Frame timestamp
+     * @param credits Commands the backend may send until the next grant
+     * @return JSON frame of type {@code "credit"}
+     */
+    public String encodeCredit(String timestamp, int credits) {
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+
+        out.append("{\"type\":\"credit\",\"timestamp\":");
+        writeString(out, timestamp);
+        out.append(",\"data\":{\"credits\":").append(credits).append("}}");
+
+        return finish(out);
+    }
+
+    /**
+     * Encode a frame refusing a message, e.g. one that arrived without credit or after its deadline.
+     * @param timestamp Frame timestamp
+     * @param refused The refused message; its seq and id are echoed back when present
+     * @param reason Machine-readable reason
+     * @param credits Credits currently available
+     * @return JSON frame of type {@code "reject"}
+     */
+    public String encodeReject(String timestamp, NetworkMessage refused, String reason, int credits) {
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+
+        out.append("{\"type\":\"reject\",\"timestamp\":");
+        writeString(out, timestamp);
+        if (refused.getSeq() != null) {
+            out.append(",\"seq\":").append(refused.getSeq().longValue());
+        }
+        if (refused.getId() != null) {
+            out.append(",\"id\":");
+            writeString(out, refused.getId());
+        }
+        out.append(",\"data\":{\"reason\":");
+        writeString(out, reason);
+        out.append(",\"credits\":").append(credits).append("}}");
+
+        return finish(out);
+    }
+
+    private static String finish(StringBuilder out) {
+        String frame = out.toString();
+        if (out.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+            BUFFER.remove();
+        }
+        return frame;
+    }
+
+    private static void writeData(StringBuilder out, NetworkMessage.MessageData data) {
+        if (data == null) {
+            out.append("null");
+            return;
+        }
+        if (data.isBatch()) {
+            writeBatch(out, data);
+            return;
+        }
+        out.append("{\"action\":");
+        writeString(out, data.getAction());
+        out.append(",\"parameters\":");
+        writeMap(out, data.getParameters());
+        out.append(",\"context\":");
+        writeMap(out, data.getContext());
+        out.append('}');
+    }
+
+    private static void writeBatch(StringBuilder out, NetworkMessage.MessageData data) {
+        out.append("{\"commands\":[");
+        boolean first = true;
+        for (NetworkMessage.MessageData step : data.getCommands()) {
+            if (!first) {
+                out.append(',');
+            }
+            writeData(out, step);
+            first = false;
+        }
+        out.append("],\"context\":");
+        writeMap(out, data.getContext());
+        out.append('}');
+    }
+
+    private static void writeMap(StringBuilder out, Map<?, ?> map) {
+        if (map == null) {
+            out.append("{}");
+            return;
+        }
+        out.append('{');
+        boolean first = true;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!first) {
+                out.append(',');
+            }
+            writeString(out, String.valueOf(entry.getKey()));
+            out.append(':');
+            writeValue(out, entry.getValue());
+            first = false;
+        }
+        out.append('}');
+    }
+
+    private static void writeIterable(StringBuilder out, Iterable<?> values) {
+        out.append('[');
+        boolean first = true;
+        for (Object value : values) {
+            if (!first) {
+                out.append(',');
+            }
+            writeValue(out, value);
+            first = false;
+        }
+        out.append(']');
+    }
+
+    private static void writeArray(StringBuilder out, Object[] values) {
+        out.append('[');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            writeValue(out, values[i]);
+        }
+        out.append(']');
+    }
+
+    private static void writeValue(StringBuilder out, Object value) {
+        if (value == null) {
+            out.append("null");
+        } else if (value instanceof String string) {
+            writeString(out, string);
+        } else if (value instanceof Number number) {
+            writeNumber(out, number);
+        } else if (value instanceof Boolean bool) {
+            out.append(bool.booleanValue());
+        } else if (value instanceof Map<?, ?> map) {
+            writeMap(out, map);
+        } else if (value instanceof Iterable<?> iterable) {
+            writeIterable(out, iterable);
+        } else if (value instanceof Object[] array) {
+            writeArray(out, array);
+        } else if (value instanceof Enum<?> constant) {
+            writeString(out, constant.name());
+        } else {
+            writeString(out, value.toString());
+        }
+    }
+
+    private static void writeNumber(StringBuilder out, Number number) {
+        if (number instanceof Double || number instanceof Float) {
+            double value = number.doubleValue();
+            if (Double.isNaN(value) || Double.isInfinite(value)) {
+                // Not representable in JSON
+                out.append("null");
+            } else if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+                // Integral values (decoded coordinates, counts) without the trailing ".0"
+                out.append((long) value);
+            } else {
+                out.append(value);
+            }
+        } else if (number instanceof Integer || number instanceof Long
+                || number instanceof Short || number instanceof Byte) {
+            out.append(number.longValue());
+        } else {
+            // BigDecimal, BigInteger and friends render as JSON-compatible literals
+            out.append(number.toString());
+        }
+    }
+
+    private static void writeString(StringBuilder out, String value) {
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+        out.append('"');
+        int length = value.length();
+        int runStart = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            String escape = escapeFor(c);
+            // Control characters and JavaScript line separators are written as unicode escapes
+            if (escape == null && c >= 0x20 && c != '\u2028' && c != '\u2029') {
+                continue;
+            }
+            out.append(value, runStart, i);
+            if (escape != null) {
+                out.append(escape);
+            } else {
+                out.append("\\u")
+                   .append(HEX[(c >> 12) & 0xF])
+                   .append(HEX[(c >> 8) & 0xF])
+                   .append(HEX[(c >> 4) & 0xF])
+                   .append(HEX[c & 0xF]);
+            }
+            runStart = i + 1;
+        }
+        out.append(value, runStart, length);
+        out.append('"');
+    }
+
+    private static String escapeFor(char c) {
+        switch (c) {
+            case '"': return "\\\"";
+            case '\\': return "\\\\";
+            case '\n': return "\\n";
+            case '\r': return "\\r";
+            case '\t': return "\\t";
+            case '\b': return "\\b";
+            case '\f': return "\\f";
+            default: return null;
+        }
+    }
+}
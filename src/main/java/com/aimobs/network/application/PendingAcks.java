@@ -0,0 +1,59 @@
+package com.aimobs.network.application;
+
+import com.aimobs.network.core.NetworkMessage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Deliveries handled since the last acknowledgement frame.
+ * Collected while a tick's messages are handled, then sent as a single frame
+ * so the backend gets one ack per tick rather than one per message.
+ *
+ * Application layer - pure data structure, no platform dependencies.
+ */
+public class PendingAcks {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private long[] seqs = new long[INITIAL_CAPACITY];
+    private int seqCount;
+    private final List<String> ids = new ArrayList<>();
+
+    /**
+     * Remember a message's delivery identity; messages without one are ignored.
+     */
+    public synchronized void add(NetworkMessage message) {
+        if (message.getSeq() != null) {
+            if (seqCount == seqs.length) {
+                seqs = Arrays.copyOf(seqs, seqCount * 2);
+            }
+            seqs[seqCount++] = message.getSeq();
+        } else if (message.getId() != null) {
+            ids.add(message.getId());
+        }
+    }
+
+    public synchronized boolean isEmpty() {
+        return seqCount == 0 && ids.isEmpty();
+    }
+
+    public synchronized int size() {
+        return seqCount + ids.size();
+    }
+
+    /**
+     * Encode every pending acknowledgement into one frame and start over.
+     * @return Ack frame, or null if nothing is pending
+     */
+    public synchronized String drainToFrame(NetworkMessageEncoder encoder, String timestamp) {
+        if (isEmpty()) {
+            return null;
+        }
+        String frame = encoder.encodeAck(timestamp, seqs, seqCount, ids);
+        seqCount = 0;
+        ids.clear();
+        return frame;
+    }
+}
@@ -0,0 +1,169 @@
+package com.aimobs.network.application;
+
+import java.util.Arrays;
+
+/**
+ * Bounded window of recently delivered message keys for duplicate detection.
+ * Keys live in a ring, oldest first, and in an open-addressing hash set of
+ * primitive longs; when the ring is full the oldest key is evicted from both.
+ * No boxing and no allocation after construction.
+ *
+ * Application layer - pure data structure, no platform dependencies.
+ */
+public class RecentMessageWindow {
+
+    // 0 marks an empty slot; a real 0 key is tracked by a flag instead
+    private static final long EMPTY = 0L;
+
+    private final long[] ring;
+    private int next;
+    private int count;
+
+    private final long[] table;
+    private final int mask;
+    private boolean containsZero;
+
+    /**
+     * @param capacity Number of most recent keys remembered
+     */
+    public RecentMessageWindow(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Window capacity must be positive: " + capacity);
+        }
+        this.ring = new long[capacity];
+        // Keep the load factor at or below one half so probe chains stay short
+        int tableSize = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) << 1;
+        this.table = new long[tableSize];
+        this.mask = tableSize - 1;
+    }
+
+    /**
+     * Record a key, evicting the oldest one if the window is full.
+     * @return true if the key was new, false if it is already in the window
+     */
+    public synchronized boolean markSeen(long key) {
+        if (containsKey(key)) {
+            return false;
+        }
+        if (count == ring.length) {
+            // The slot about to be overwritten holds the oldest key
+            removeKey(ring[next]);
+        } else {
+            count++;
+        }
+        ring[next] = key;
+        next = (next + 1) % ring.length;
+        insertKey(key);
+        return true;
+    }
+
+    /**
+     * Forget a key if it was the last one recorded, e.g. for a delivery that could not be handled.
+     * A key the recording evicted from a full window is not restored.
+     * @return true if the key was forgotten, false if it was not the most recent key
+     */
+    public synchronized boolean forgetLatest(long key) {
+        if (count == 0) {
+            return false;
+        }
+        int latest = (next + ring.length - 1) % ring.length;
+        if (ring[latest] != key) {
+            return false;
+        }
+        removeKey(key);
+        ring[latest] = EMPTY;
+        next = latest;
+        count--;
+        return true;
+    }
+
+    /**
+     * Forget every key, e.g. when the sender starts numbering its messages again.
+     */
+    public synchronized void clear() {
+        Arrays.fill(table, EMPTY);
+        containsZero = false;
+        next = 0;
+        count = 0;
+    }
+
+    public synchronized boolean contains(long key) {
+        return containsKey(key);
+    }
+
+    public synchronized int size() {
+        return count;
+    }
+
+    public int capacity() {
+        return ring.length;
+    }
+
+    private boolean containsKey(long key) {
+        if (key == EMPTY) {
+            return containsZero;
+        }
+        int slot = slot(key);
+        long current;
+        while ((current = table[slot]) != EMPTY) {
+            if (current == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    private void insertKey(long key) {
+        if (key == EMPTY) {
+            containsZero = true;
+            return;
+        }
+        int slot = slot(key);
+        while (table[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = key;
+    }
+
+    private void removeKey(long key) {
+        if (key == EMPTY) {
+            containsZero = false;
+            return;
+        }
+        int gap = slot(key);
+        while (table[gap] != key) {
+            if (table[gap] == EMPTY) {
+                return;
+            }
+            gap = (gap + 1) & mask;
+        }
+
+        // Backward-shift deletion: pull later entries of the probe chain into the gap
+        int probe = gap;
+        while (true) {
+            probe = (probe + 1) & mask;
+            long candidate = table[probe];
+            if (candidate == EMPTY) {
+                break;
+            }
+            int home = slot(candidate);
+            if (((probe - home) & mask) >= ((probe - gap) & mask)) {
+                table[gap] = candidate;
+                gap = probe;
+            }
+        }
+        table[gap] = EMPTY;
+    }
+
+    private int slot(long key) {
+        // Murmur3 finalizer spreads sequential ids across the table
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+}
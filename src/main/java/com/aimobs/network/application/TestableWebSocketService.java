@@ -2,12 +2,18 @@ package com.aimobs.network.application;
 
 import com.aimobs.network.WebSocketService;
 import com.aimobs.network.core.ConnectionState;
+import com.aimobs.network.core.LinkStats;
 import com.aimobs.network.core.NetworkMessage;
+import com.aimobs.network.core.OutboundMessageSpool;
 import com.aimobs.network.core.WebSocketConnection;
 import com.aimobs.AiMobsMod;
 
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Testable WebSocket service using dependency injection.
@@ -20,35 +26,164 @@ public class TestableWebSocketService implements WebSocketService {
     private final NetworkCommandCoordinator coordinator;
     
     // Message buffering for offline periods
-    private final Queue<NetworkMessage> pendingMessages = new ConcurrentLinkedQueue<>();
     private static final int MAX_PENDING_MESSAGES = 100;
+    private final OutboundMessageSpool pendingMessages;
+    private final NetworkMessageEncoder spoolEncoder = new NetworkMessageEncoder();
+    // Keeps replayed frames ahead of new ones when the server and socket threads both send
+    private final Object sendLock = new Object();
     
-    private String currentServerUrl;
+    private volatile String currentServerUrl;
+    
+    // Asynchronous connection attempts
+    private static final Executor VIRTUAL_THREAD_EXECUTOR =
+        task -> Thread.ofVirtual().name("aimobs-websocket-connect").start(task);
+    private final Executor connectExecutor;
+    private final AtomicReference<CompletableFuture<ConnectionState>> connectInFlight = new AtomicReference<>();
+    
+    // Heartbeat scheduling; null until startHeartbeat()
+    private ScheduledExecutorService heartbeatExecutor;
     
     public TestableWebSocketService(WebSocketConnection connection, NetworkCommandCoordinator coordinator) {
+        this(connection, coordinator, VIRTUAL_THREAD_EXECUTOR);
+    }
+    
+    public TestableWebSocketService(WebSocketConnection connection, NetworkCommandCoordinator coordinator,
+                                    Executor connectExecutor) {
+        this(connection, coordinator, connectExecutor, new InMemoryMessageSpool(MAX_PENDING_MESSAGES));
+    }
+    
+    public TestableWebSocketService(WebSocketConnection connection, NetworkCommandCoordinator coordinator,
+                                    OutboundMessageSpool pendingMessages) {
+        this(connection, coordinator, VIRTUAL_THREAD_EXECUTOR, pendingMessages);
+    }
+    
+    /**
+     * @param connectExecutor Executor that runs blocking connection handshakes
+     * @param pendingMessages Spool holding encoded frames while the connection is down
+     */
+    public TestableWebSocketService(WebSocketConnection connection, NetworkCommandCoordinator coordinator,
+                                    Executor connectExecutor, OutboundMessageSpool pendingMessages) {
         this.connection = connection;
         this.coordinator = coordinator;
+        this.connectExecutor = connectExecutor;
+        this.pendingMessages = pendingMessages;
         
         // Set up reconnection callback
         coordinator.setReconnectCallback(this::attemptReconnection);
+        // Replay spooled frames as soon as the connection is back
+        coordinator.setConnectedCallback(this::flushPendingMessages);
+        // Acks, credits and rejections go straight out, never through the spool
+        coordinator.setControlFrameSender(this::sendControlFrame);
     }
     
     @Override
     public void connect(String serverUrl) {
         this.currentServerUrl = serverUrl;
+        coordinator.onConnectAttempt();
         connection.connect(serverUrl, coordinator);
     }
     
+    @Override
+    public CompletableFuture<ConnectionState> connectAsync(String serverUrl) {
+        this.currentServerUrl = serverUrl;
+        
+        if (coordinator.getConnectionState() == ConnectionState.SHUTDOWN) {
+            return CompletableFuture.completedFuture(ConnectionState.SHUTDOWN);
+        }
+        
+        CompletableFuture<ConnectionState> attempt = new CompletableFuture<>();
+        while (true) {
+            CompletableFuture<ConnectionState> current = connectInFlight.get();
+            if (current != null && !current.isDone()) {
+                // Share the handshake already in progress
+                return current;
+            }
+            if (connectInFlight.compareAndSet(current, attempt)) {
+                break;
+            }
+        }
+        
+        coordinator.onConnectAttempt();
+        try {
+            connectExecutor.execute(() -> runConnectAttempt(serverUrl, attempt));
+        } catch (RuntimeException e) {
+            connectInFlight.compareAndSet(attempt, null);
+            attempt.completeExceptionally(e);
+        }
+        return attempt;
+    }
+    
+    private void runConnectAttempt(String serverUrl, CompletableFuture<ConnectionState> attempt) {
+        try {
+            connection.connect(serverUrl, coordinator);
+            attempt.complete(coordinator.getConnectionState());
+        } catch (RuntimeException e) {
+            AiMobsMod.LOGGER.error("WebSocket connection attempt failed", e);
+            attempt.completeExceptionally(e);
+        } finally {
+            connectInFlight.compareAndSet(attempt, null);
+        }
+    }
+    
     /**
      * Attempt reconnection using the stored server URL.
-     * Called by the coordinator's retry mechanism.
+     * Called by the coordinator's retry mechanism; never blocks the retry executor.
      */
     private void attemptReconnection() {
         if (currentServerUrl != null) {
-            connection.connect(currentServerUrl, coordinator);
+            connectAsync(currentServerUrl);
+        }
+    }
+    
+    /**
+     * Start sending heartbeats in the background.
+     * The check runs several times per heartbeat interval so timeouts are noticed promptly.
+     */
+    public synchronized void startHeartbeat() {
+        if (heartbeatExecutor != null) {
+            return;
+        }
+        heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "aimobs-websocket-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = coordinator.getLinkHealth().getCheckPeriodMillis();
+        heartbeatExecutor.scheduleAtFixedRate(() -> {
+            try {
+                heartbeat(System.nanoTime());
+            } catch (RuntimeException e) {
+                // Keep the schedule alive; a failed ping is caught by the next timeout check
+                AiMobsMod.LOGGER.warn("WebSocket heartbeat failed: {}", e.getMessage());
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * One heartbeat step: abort a link whose ping went unanswered, otherwise ping when due.
+     * Aborting reports a disconnect, which starts the regular reconnection path.
+     * @param now Current {@link System#nanoTime()} value
+     */
+    public void heartbeat(long now) {
+        if (!connection.isConnected()) {
+            return;
+        }
+        
+        LinkHealthMonitor linkHealth = coordinator.getLinkHealth();
+        if (linkHealth.checkTimedOut(now)) {
+            AiMobsMod.LOGGER.warn("WebSocket heartbeat unanswered, dropping stalled connection");
+            connection.abort("Heartbeat timeout");
+        } else if (linkHealth.isPingDue(now)) {
+            linkHealth.onPingSent(now);
+            connection.sendPing();
         }
     }
     
+    @Override
+    public LinkStats getLinkStats() {
+        return coordinator.getLinkStats();
+    }
+    
     @Override
     public void disconnect() {
         connection.disconnect();
@@ -67,9 +202,11 @@ public class TestableWebSocketService implements WebSocketService {
     @Override
     public void sendMessage(NetworkMessage message) {
         if (connection.isConnected()) {
-            // Connection is active - send immediately and flush any pending messages
-            sendMessageNow(message);
-            flushPendingMessages();
+            // Connection is active - flush pending messages first so ordering is kept, then send
+            synchronized (sendLock) {
+                flushPendingMessages();
+                sendMessageNow(message);
+            }
         } else {
             // Connection is down - buffer message for later
             bufferMessage(message);
@@ -86,19 +223,34 @@ public class TestableWebSocketService implements WebSocketService {
         }
     }
     
+    private void sendControlFrame(String frame) {
+        if (!connection.isConnected()) {
+            return;
+        }
+        synchronized (sendLock) {
+            try {
+                connection.sendMessage(frame);
+            } catch (RuntimeException e) {
+                // Unacknowledged messages are retransmitted and credits re-advertised after reconnecting
+                AiMobsMod.LOGGER.debug("Could not send control frame: {}", e.getMessage());
+            }
+        }
+    }
+    
     /**
      * Buffer a message for sending when connection is restored.
      */
     private void bufferMessage(NetworkMessage message) {
-        if (pendingMessages.size() >= MAX_PENDING_MESSAGES) {
-            // Remove oldest message to make room
-            NetworkMessage oldest = pendingMessages.poll();
-            if (oldest != null) {
-                AiMobsMod.LOGGER.warn("Message buffer full, dropping oldest message");
-            }
+        if (message == null || !message.isValid()) {
+            return;
+        }
+        
+        long droppedBefore = pendingMessages.getDroppedCount();
+        pendingMessages.append(spoolEncoder.encode(message));
+        if (pendingMessages.getDroppedCount() != droppedBefore) {
+            AiMobsMod.LOGGER.warn("Message buffer full, dropping oldest message");
         }
         
-        pendingMessages.offer(message);
         AiMobsMod.LOGGER.debug("Buffered message for later delivery (queue size: {})", 
             pendingMessages.size());
     }
@@ -107,31 +259,62 @@ public class TestableWebSocketService implements WebSocketService {
      * Send all buffered messages when connection is restored.
      */
     private void flushPendingMessages() {
-        if (pendingMessages.isEmpty()) {
-            return;
-        }
-        
-        AiMobsMod.LOGGER.info("Flushing {} buffered messages", pendingMessages.size());
-        
-        NetworkMessage message;
-        while ((message = pendingMessages.poll()) != null) {
-            sendMessageNow(message);
+        synchronized (sendLock) {
+            if (pendingMessages.isEmpty()) {
+                return;
+            }
+            
+            AiMobsMod.LOGGER.info("Flushing {} buffered messages", pendingMessages.size());
+            
+            String frame;
+            while (connection.isConnected() && (frame = pendingMessages.peek()) != null) {
+                try {
+                    connection.sendMessage(frame);
+                } catch (RuntimeException e) {
+                    // Connection dropped mid-replay; keep the frame for the next attempt
+                    AiMobsMod.LOGGER.warn("Replay of buffered messages interrupted: {}", e.getMessage());
+                    return;
+                }
+                pendingMessages.advance();
+            }
         }
     }
     
+    /**
+     * @return Number of frames waiting for the connection to come back
+     */
+    public int getPendingMessageCount() {
+        return pendingMessages.size();
+    }
+    
     @Override
     public void handleIncomingMessage(String rawMessage) {
         coordinator.handleIncomingMessage(rawMessage);
     }
     
+    @Override
+    public int processInboundMessages() {
+        return coordinator.processInboundMessages();
+    }
+    
+    @Override
+    public void recordTickDuration(long nanos) {
+        coordinator.recordTickDuration(nanos);
+    }
+    
     @Override
     public void shutdown() {
         // Mark as shutdown to prevent reconnection attempts
         coordinator.shutdown();
+        synchronized (this) {
+            if (heartbeatExecutor != null) {
+                heartbeatExecutor.shutdownNow();
+            }
+        }
         disconnect();
         connection.cleanup();
         
-        // Clear pending messages
-        pendingMessages.clear();
+        // Release the spool; durable spools keep unsent frames for the next start
+        pendingMessages.close();
     }
 }
\ No newline at end of file
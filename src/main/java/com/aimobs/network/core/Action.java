@@ -0,0 +1,64 @@
+package com.aimobs.network.core;
+
+import java.util.List;
+
+/**
+ * Core domain primitive for a command action.
+ * Action names are resolved to an {@code Action} once, when a message is decoded;
+ * everything downstream compares tokens by identity or indexes tables by {@link #id()}.
+ *
+ * Instances are unique per name and only created by {@link ActionRegistry}.
+ */
+public final class Action {
+
+    public static final Action MOVE = new Action("move", 0, ActionCategory.MOVEMENT);
+    public static final Action FOLLOW = new Action("follow", 1, ActionCategory.MOVEMENT);
+    public static final Action STOP = new Action("stop", 2, ActionCategory.MOVEMENT);
+    public static final Action COME_HERE = new Action("comeHere", 3, ActionCategory.MOVEMENT);
+    public static final Action ATTACK = new Action("attack", 4, ActionCategory.COMBAT);
+    public static final Action COLLECT = new Action("collect", 5, ActionCategory.COLLECTION);
+    public static final Action DEFEND = new Action("defend", 6, ActionCategory.DEFENSE);
+    public static final Action SPEAK = new Action("speak", 7, ActionCategory.COMMUNICATION);
+    public static final Action COMMUNICATE = new Action("communicate", 8, ActionCategory.COMMUNICATION);
+    public static final Action STATUS = new Action("status", 9, ActionCategory.QUERY);
+
+    /**
+     * Actions accepted by the PRD spec, in id order.
+     */
+    static final List<Action> BUILT_IN = List.of(
+        MOVE, FOLLOW, STOP, COME_HERE, ATTACK, COLLECT, DEFEND, SPEAK, COMMUNICATE, STATUS
+    );
+
+    private final String name;
+    private final int id;
+    private final ActionCategory category;
+
+    Action(String name, int id, ActionCategory category) {
+        this.name = name;
+        this.id = id;
+        this.category = category;
+    }
+
+    /**
+     * @return Wire name of the action, e.g. {@code "comeHere"}
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @return Dense index, stable for the lifetime of the process; suitable for array lookup
+     */
+    public int id() {
+        return id;
+    }
+
+    public ActionCategory category() {
+        return category;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,14 @@
+package com.aimobs.network.core;
+
+/**
+ * Broad kind of an action, used to pick feedback without looking at action names.
+ */
+public enum ActionCategory {
+    MOVEMENT,
+    COMBAT,
+    COLLECTION,
+    DEFENSE,
+    COMMUNICATION,
+    QUERY,
+    OTHER
+}
@@ -0,0 +1,95 @@
+package com.aimobs.network.core;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Process-wide registry of known actions.
+ * Built-in actions are always present; other mods may register their own
+ * during initialization. Lookups read an immutable snapshot and never lock;
+ * registration copies the snapshot.
+ */
+public final class ActionRegistry {
+
+    private static volatile Map<String, Action> byName;
+    private static volatile Action[] byId;
+
+    static {
+        Map<String, Action> names = new HashMap<>();
+        for (Action action : Action.BUILT_IN) {
+            names.put(action.name(), action);
+        }
+        byName = names;
+        byId = Action.BUILT_IN.toArray(new Action[0]);
+    }
+
+    private ActionRegistry() {
+    }
+
+    /**
+     * Resolve a wire name to its action.
+     * @param name Action name as sent by the backend; matching is case-sensitive
+     * @return The action, or null if no action has that name
+     */
+    public static Action resolve(String name) {
+        return name == null ? null : byName.get(name);
+    }
+
+    /**
+     * @return The action with the given id, or null if out of range
+     */
+    public static Action byId(int id) {
+        Action[] actions = byId;
+        return id >= 0 && id < actions.length ? actions[id] : null;
+    }
+
+    /**
+     * Register an additional action.
+     * Registering an existing name with the same category returns the existing action.
+     * @param name Wire name of the action
+     * @param category Kind of action, used for feedback
+     * @return The registered action
+     * @throws IllegalArgumentException if the name is blank or already registered with another category
+     */
+    public static synchronized Action register(String name, ActionCategory category) {
+        if (name == null || name.isBlank() || category == null) {
+            throw new IllegalArgumentException("Action name and category are required");
+        }
+        Action existing = byName.get(name);
+        if (existing != null) {
+            if (existing.category() != category) {
+                throw new IllegalArgumentException("Action already registered with category "
+                    + existing.category() + ": " + name);
+            }
+            return existing;
+        }
+
+        Action[] actions = byId;
+        Action action = new Action(name, actions.length, category);
+        Map<String, Action> names = new HashMap<>(byName);
+        names.put(name, action);
+        Action[] ids = Arrays.copyOf(actions, actions.length + 1);
+        ids[action.id()] = action;
+
+        // Publish the id table first so a resolved action can always be looked up by id
+        byId = ids;
+        byName = names;
+        return action;
+    }
+
+    /**
+     * @return Number of registered actions; ids range from 0 to size - 1
+     */
+    public static int size() {
+        return byId.length;
+    }
+
+    /**
+     * @return All registered actions in id order
+     */
+    public static List<Action> all() {
+        return List.of(byId);
+    }
+}
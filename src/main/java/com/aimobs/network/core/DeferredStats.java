@@ -0,0 +1,16 @@
+package com.aimobs.network.core;
+
+/**
+ * Core value object describing commands held for entities that are not loaded.
+ *
+ * @param pending Commands currently held
+ * @param entities Entities with at least one held command
+ * @param expired Commands that expired before their entity loaded
+ * @param refused Commands refused because the inbox was full
+ */
+public record DeferredStats(
+    int pending,
+    int entities,
+    long expired,
+    long refused
+) {}
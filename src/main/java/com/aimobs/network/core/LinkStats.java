@@ -0,0 +1,27 @@
+package com.aimobs.network.core;
+
+/**
+ * Core value object describing WebSocket link health at a point in time.
+ * Round-trip times are in milliseconds and cover the most recent heartbeat window.
+ *
+ * @param state Current connection state
+ * @param lastRttMillis Most recent heartbeat round trip, or -1 if none yet
+ * @param p50RttMillis Median round trip in the window
+ * @param p99RttMillis 99th percentile round trip in the window
+ * @param maxRttMillis Slowest round trip in the window
+ * @param samples Number of round trips in the window
+ * @param timeouts Heartbeats that went unanswered and closed the link
+ * @param expiredOnArrival Commands refused because they arrived after their deadline
+ * @param undeliverable Commands refused because no entity could take them
+ */
+public record LinkStats(
+    ConnectionState state,
+    double lastRttMillis,
+    double p50RttMillis,
+    double p99RttMillis,
+    double maxRttMillis,
+    int samples,
+    long timeouts,
+    long expiredOnArrival,
+    long undeliverable
+) {}
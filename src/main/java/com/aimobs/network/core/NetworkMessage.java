@@ -1,5 +1,6 @@
 package com.aimobs.network.core;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -12,6 +13,11 @@ public class NetworkMessage {
     private String type;
     private String timestamp;
     private MessageData data;
+    // Optional delivery identity for at-least-once delivery; either may be absent
+    private Long seq;
+    private String id;
+    // Optional sender session; sequence numbers restart with each session
+    private String session;
     
     public NetworkMessage(String type, String timestamp, MessageData data) {
         this.type = type;
@@ -38,6 +44,43 @@ public class NetworkMessage {
         return data;
     }
     
+    /**
+     * @return Sender-assigned sequence number, or null if the sender did not assign one
+     */
+    public Long getSeq() {
+        return seq;
+    }
+    
+    /**
+     * @return Sender-assigned message id, or null if the sender did not assign one
+     */
+    public String getId() {
+        return id;
+    }
+    
+    /**
+     * @return Sender session the delivery identity belongs to, or null if the sender did not name one
+     */
+    public String getSession() {
+        return session;
+    }
+    
+    /**
+     * Messages carrying a sequence number or id are acknowledged and deduplicated.
+     * @return true if the sender assigned a delivery identity
+     */
+    public boolean hasDeliveryId() {
+        return seq != null || id != null;
+    }
+    
+    /**
+     * Batch envelopes carry an ordered plan of steps instead of a single action.
+     * @return true if this message is a {@code "batch"} envelope
+     */
+    public boolean isBatch() {
+        return "batch".equals(type);
+    }
+    
     // Setters for testing
     public void setType(String type) {
         this.type = type;
@@ -51,6 +94,18 @@ public class NetworkMessage {
         this.data = data;
     }
     
+    public void setSeq(Long seq) {
+        this.seq = seq;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public void setSession(String session) {
+        this.session = session;
+    }
+    
     /**
      * Validate this message according to domain rules.
      * @return true if message is valid, false otherwise
@@ -68,6 +123,11 @@ public class NetworkMessage {
             return false;
         }
         
+        // Batch envelopes must carry steps, single commands must not
+        if (isBatch() != data.isBatch()) {
+            return false;
+        }
+        
         return data.isValid();
     }
     
@@ -75,16 +135,30 @@ public class NetworkMessage {
      * Nested value object for message data.
      */
     public static class MessageData {
+        
         private String action;
+        // Resolved once from the action name; null for unknown actions
+        private Action actionToken;
         private Map<String, Object> parameters;
         private Map<String, Object> context;
+        private List<MessageData> commands;
         
         public MessageData(String action, Map<String, Object> parameters, Map<String, Object> context) {
-            this.action = action;
+            resolveAction(action);
             this.parameters = parameters;
             this.context = context;
         }
         
+        /**
+         * Batch payload: an ordered list of steps sharing one envelope.
+         * @param commands Steps in execution order
+         * @param context Context of the whole plan
+         */
+        public MessageData(List<MessageData> commands, Map<String, Object> context) {
+            this(null, Map.of(), context);
+            this.commands = commands;
+        }
+        
         // Default constructor for testing
         public MessageData() {
             this.action = null;
@@ -96,6 +170,13 @@ public class NetworkMessage {
             return action;
         }
         
+        /**
+         * @return The resolved action, or null if the action name is not registered
+         */
+        public Action getActionToken() {
+            return actionToken;
+        }
+        
         public Map<String, Object> getParameters() {
             return parameters;
         }
@@ -104,9 +185,20 @@ public class NetworkMessage {
             return context;
         }
         
+        /**
+         * @return Batch steps in execution order, or null for a single command
+         */
+        public List<MessageData> getCommands() {
+            return commands;
+        }
+        
+        public boolean isBatch() {
+            return commands != null;
+        }
+        
         // Setters for testing
         public void setAction(String action) {
-            this.action = action;
+            resolveAction(action);
         }
         
         public void setParameters(Map<String, Object> parameters) {
@@ -117,26 +209,37 @@ public class NetworkMessage {
             this.context = context;
         }
         
+        public void setCommands(List<MessageData> commands) {
+            this.commands = commands;
+        }
+        
+        // Private so the constructor does not call a method subclasses can override
+        private void resolveAction(String action) {
+            this.actionToken = ActionRegistry.resolve(action);
+            // Share the registry's string so every message of an action holds the same instance
+            this.action = actionToken != null ? actionToken.name() : action;
+        }
+        
         public boolean isValid() {
-            if (action == null || action.trim().isEmpty()) {
-                return false;
+            if (commands != null) {
+                return isValidBatch();
             }
             
-            // Validate action types according to PRD spec
-            return isValidAction(action);
-        }
-        
-        private boolean isValidAction(String action) {
-            return "move".equals(action) || 
-                   "follow".equals(action) ||
-                   "stop".equals(action) ||
-                   "comeHere".equals(action) ||
-                   "attack".equals(action) || 
-                   "collect".equals(action) ||
-                   "defend".equals(action) ||
-                   "speak".equals(action) ||
-                   "communicate".equals(action) ||
-                   "status".equals(action);
+            // Known actions resolved to a token when the name was set
+            return actionToken != null;
+        }
+        
+        private boolean isValidBatch() {
+            if (commands.isEmpty()) {
+                return false;
+            }
+            for (MessageData step : commands) {
+                // Steps are plain commands; batches do not nest
+                if (step == null || step.isBatch() || !step.isValid()) {
+                    return false;
+                }
+            }
+            return true;
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.aimobs.network.core;
+
+/**
+ * Core abstraction for frames waiting to be sent while the connection is down.
+ * Frames are replayed in append order; a frame is only removed once it has been sent.
+ * Implementations must be safe to call from the server and socket threads.
+ */
+public interface OutboundMessageSpool {
+
+    /**
+     * Append an encoded frame to the end of the spool.
+     * When the spool is full the oldest frames are dropped to make room.
+     * @param frame Encoded outbound frame
+     * @return true if the frame was stored, false if it can never fit
+     */
+    boolean append(String frame);
+
+    /**
+     * @return The oldest unsent frame, or null if the spool is empty
+     */
+    String peek();
+
+    /**
+     * Remove the frame last returned by {@link #peek()} after it was sent.
+     */
+    void advance();
+
+    /**
+     * @return Number of unsent frames, in constant time
+     */
+    int size();
+
+    boolean isEmpty();
+
+    /**
+     * @return Frames discarded because the spool was full or a frame was too large
+     */
+    long getDroppedCount();
+
+    /**
+     * Discard all unsent frames.
+     */
+    void clear();
+
+    /**
+     * Release resources. Durable implementations keep unsent frames for the next start.
+     */
+    void close();
+}
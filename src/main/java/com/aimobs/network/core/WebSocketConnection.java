@@ -15,6 +15,11 @@ public interface WebSocketConnection {
         void onDisconnected();
         void onError(Exception error);
         void onMessageReceived(String message);
+        
+        /**
+         * Called when the server answers a heartbeat ping.
+         */
+        void onPong();
     }
     
     /**
@@ -41,6 +46,18 @@ public interface WebSocketConnection {
      */
     void sendMessage(String message);
     
+    /**
+     * Send a heartbeat ping; the answer arrives through {@link ConnectionListener#onPong()}.
+     */
+    void sendPing();
+    
+    /**
+     * Drop the connection without a closing handshake, e.g. when heartbeats go unanswered.
+     * Listeners are told through {@link ConnectionListener#onDisconnected()}.
+     * @param reason Reason recorded for the close
+     */
+    void abort(String reason);
+    
     /**
      * Cleanup resources.
      */
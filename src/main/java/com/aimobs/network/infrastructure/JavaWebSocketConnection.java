@@ -1,7 +1,10 @@
 package com.aimobs.network.infrastructure;
 
 import com.aimobs.network.core.WebSocketConnection;
+import org.java_websocket.WebSocket;
 import org.java_websocket.client.WebSocketClient;
+import org.java_websocket.framing.CloseFrame;
+import org.java_websocket.framing.Framedata;
 import org.java_websocket.handshake.ServerHandshake;
 
 import java.net.URI;
@@ -39,6 +42,14 @@ public class JavaWebSocketConnection implements WebSocketConnection {
                     }
                 }
                 
+                @Override
+                public void onWebsocketPong(WebSocket conn, Framedata frame) {
+                    super.onWebsocketPong(conn, frame);
+                    if (JavaWebSocketConnection.this.listener != null) {
+                        JavaWebSocketConnection.this.listener.onPong();
+                    }
+                }
+                
                 @Override
                 public void onClose(int code, String reason, boolean remote) {
                     if (JavaWebSocketConnection.this.listener != null) {
@@ -54,6 +65,9 @@ public class JavaWebSocketConnection implements WebSocketConnection {
                 }
             };
             
+            // Heartbeats are driven by the service so the timeout is ours, not the library's 60s check
+            client.setConnectionLostTimeout(0);
+            
             // Connect with timeout to prevent hanging
             boolean connected = client.connectBlocking(5, TimeUnit.SECONDS);
             if (!connected) {
@@ -100,6 +114,20 @@ public class JavaWebSocketConnection implements WebSocketConnection {
         }
     }
     
+    @Override
+    public void sendPing() {
+        if (client != null && client.isOpen()) {
+            client.sendPing();
+        }
+    }
+    
+    @Override
+    public void abort(String reason) {
+        if (client != null) {
+            client.closeConnection(CloseFrame.ABNORMAL_CLOSE, reason);
+        }
+    }
+    
     @Override
     public void cleanup() {
         if (client != null) {
@@ -0,0 +1,353 @@
+package com.aimobs.network.infrastructure;
+
+import com.aimobs.AiMobsMod;
+import com.aimobs.network.core.OutboundMessageSpool;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Durable outbound spool backed by memory-mapped, append-only segment files.
+ * Each segment is a fixed-size file holding a small header followed by
+ * length-prefixed UTF-8 frames. Read and write positions live in the header,
+ * so unsent frames survive a restart and are replayed in order.
+ *
+ * Segment layout:
+ * <pre>
+ *   0: int magic
+ *   4: int read position  (first unsent record)
+ *   8: int write position (end of last record)
+ *  12: int reserved
+ *  16: records - int length, then that many bytes
+ * </pre>
+ *
+ * When the segment limit is reached the oldest segment is discarded as a whole.
+ * Frame contents are written before the header is updated, so a crash can
+ * lose at most the record being appended. Data reaches disk through the
+ * page cache; segments are forced on {@link #close()}.
+ *
+ * Infrastructure layer - file system access.
+ */
+public class MappedMessageSpool implements OutboundMessageSpool {
+
+    private static final int MAGIC = 0x41495350; // "AISP"
+    private static final int MAGIC_OFFSET = 0;
+    private static final int READ_POS_OFFSET = 4;
+    private static final int WRITE_POS_OFFSET = 8;
+    private static final int HEADER_BYTES = 16;
+    private static final int LENGTH_BYTES = 4;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".spool";
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final int maxSegments;
+
+    private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+    private long nextSegmentId;
+    private int size;
+    private long droppedFrames;
+
+    private MappedMessageSpool(Path directory, int segmentBytes, int maxSegments) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.maxSegments = maxSegments;
+    }
+
+    /**
+     * Open the spool in a directory, recovering any unsent frames left by a previous run.
+     * @param directory Directory holding segment files; created if missing
+     * @param segmentBytes Size of each segment file
+     * @param maxSegments Maximum number of segments kept before the oldest is dropped
+     */
+    public static MappedMessageSpool open(Path directory, int segmentBytes, int maxSegments) throws IOException {
+        if (segmentBytes <= HEADER_BYTES + LENGTH_BYTES) {
+            throw new IllegalArgumentException("Segment size too small: " + segmentBytes);
+        }
+        if (maxSegments <= 0) {
+            throw new IllegalArgumentException("Segment limit must be positive: " + maxSegments);
+        }
+
+        MappedMessageSpool spool = new MappedMessageSpool(directory, segmentBytes, maxSegments);
+        Files.createDirectories(directory);
+        spool.recover();
+        return spool;
+    }
+
+    @Override
+    public synchronized boolean append(String frame) {
+        if (frame == null) {
+            return false;
+        }
+
+        byte[] bytes = frame.getBytes(StandardCharsets.UTF_8);
+        int recordBytes = LENGTH_BYTES + bytes.length;
+        if (recordBytes > segmentBytes - HEADER_BYTES) {
+            droppedFrames++;
+            return false;
+        }
+
+        try {
+            Segment tail = segments.peekLast();
+            if (tail == null || tail.writePos + recordBytes > segmentBytes) {
+                tail = rollSegment();
+            }
+
+            MappedByteBuffer buffer = tail.buffer;
+            buffer.putInt(tail.writePos, bytes.length);
+            buffer.put(tail.writePos + LENGTH_BYTES, bytes);
+            tail.writePos += recordBytes;
+            // Publish the record only after its bytes are in place
+            buffer.putInt(WRITE_POS_OFFSET, tail.writePos);
+
+            tail.records++;
+            size++;
+            return true;
+        } catch (IOException e) {
+            AiMobsMod.LOGGER.error("Failed to extend outbound spool in {}", directory, e);
+            droppedFrames++;
+            return false;
+        }
+    }
+
+    @Override
+    public synchronized String peek() {
+        Segment head = segments.peekFirst();
+        if (head == null || head.records == 0) {
+            return null;
+        }
+        int length = head.buffer.getInt(head.readPos);
+        byte[] bytes = new byte[length];
+        head.buffer.get(head.readPos + LENGTH_BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public synchronized void advance() {
+        Segment head = segments.peekFirst();
+        if (head == null || head.records == 0) {
+            return;
+        }
+
+        int length = head.buffer.getInt(head.readPos);
+        head.readPos += LENGTH_BYTES + length;
+        head.buffer.putInt(READ_POS_OFFSET, head.readPos);
+        head.records--;
+        size--;
+
+        if (head.records == 0) {
+            if (segments.size() > 1) {
+                segments.pollFirst();
+                head.delete();
+            } else {
+                // Reuse the only segment from the start
+                head.reset();
+            }
+        }
+    }
+
+    @Override
+    public synchronized int size() {
+        return size;
+    }
+
+    @Override
+    public synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public synchronized long getDroppedCount() {
+        return droppedFrames;
+    }
+
+    @Override
+    public synchronized void clear() {
+        Segment segment;
+        while ((segment = segments.pollFirst()) != null) {
+            segment.delete();
+        }
+        size = 0;
+    }
+
+    @Override
+    public synchronized void close() {
+        for (Segment segment : segments) {
+            segment.close();
+        }
+        segments.clear();
+        size = 0;
+    }
+
+    private Segment rollSegment() throws IOException {
+        if (segments.size() >= maxSegments) {
+            // Drop the oldest segment with all of its unsent frames
+            Segment oldest = segments.pollFirst();
+            droppedFrames += oldest.records;
+            size -= oldest.records;
+            oldest.delete();
+            AiMobsMod.LOGGER.warn("Outbound spool full, dropped {} oldest frames", oldest.records);
+        }
+
+        Path path = directory.resolve(segmentName(nextSegmentId++));
+        FileChannel channel = FileChannel.open(path,
+            StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        buffer.putInt(MAGIC_OFFSET, MAGIC);
+        buffer.putInt(READ_POS_OFFSET, HEADER_BYTES);
+        buffer.putInt(WRITE_POS_OFFSET, HEADER_BYTES);
+
+        Segment segment = new Segment(path, channel, buffer, HEADER_BYTES, HEADER_BYTES, 0);
+        segments.addLast(segment);
+        return segment;
+    }
+
+    private void recover() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        // Zero-padded ids sort lexicographically in creation order
+        files.sort(null);
+
+        for (Path file : files) {
+            long id = parseSegmentId(file);
+            if (id < 0) {
+                continue;
+            }
+            nextSegmentId = Math.max(nextSegmentId, id + 1);
+
+            Segment segment = openExisting(file);
+            if (segment == null || segment.records == 0) {
+                if (segment != null) {
+                    segment.delete();
+                } else {
+                    Files.deleteIfExists(file);
+                }
+                continue;
+            }
+            segments.addLast(segment);
+            size += segment.records;
+        }
+
+        // Respect the limit even if it was lowered since the last run
+        while (segments.size() > maxSegments) {
+            Segment oldest = segments.pollFirst();
+            droppedFrames += oldest.records;
+            size -= oldest.records;
+            oldest.delete();
+        }
+
+        if (size > 0) {
+            AiMobsMod.LOGGER.info("Recovered {} unsent frames from outbound spool", size);
+        }
+    }
+
+    private Segment openExisting(Path file) throws IOException {
+        if (Files.size(file) != segmentBytes) {
+            // Written with a different segment size, or truncated
+            AiMobsMod.LOGGER.warn("Discarding outbound spool segment with unexpected size: {}", file);
+            return null;
+        }
+
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        int readPos = buffer.getInt(READ_POS_OFFSET);
+        int writePos = buffer.getInt(WRITE_POS_OFFSET);
+        if (buffer.getInt(MAGIC_OFFSET) != MAGIC
+                || readPos < HEADER_BYTES || writePos > segmentBytes || readPos > writePos) {
+            channel.close();
+            AiMobsMod.LOGGER.warn("Discarding corrupt outbound spool segment: {}", file);
+            return null;
+        }
+
+        // Count records once at startup; afterwards depth is tracked incrementally
+        int records = 0;
+        int position = readPos;
+        while (position < writePos) {
+            int length = buffer.getInt(position);
+            if (length < 0 || position + LENGTH_BYTES + length > writePos) {
+                // Torn tail record: keep everything before it
+                writePos = position;
+                buffer.putInt(WRITE_POS_OFFSET, writePos);
+                break;
+            }
+            position += LENGTH_BYTES + length;
+            records++;
+        }
+
+        return new Segment(file, channel, buffer, readPos, writePos, records);
+    }
+
+    private static String segmentName(long id) {
+        return String.format("%s%016d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX);
+    }
+
+    private static long parseSegmentId(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * One mapped segment file and its in-memory cursor state.
+     */
+    private static final class Segment {
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int readPos;
+        private int writePos;
+        private int records;
+
+        Segment(Path path, FileChannel channel, MappedByteBuffer buffer, int readPos, int writePos, int records) {
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+            this.readPos = readPos;
+            this.writePos = writePos;
+            this.records = records;
+        }
+
+        void reset() {
+            // Write position first: a crash in between leaves readPos > writePos, which recovery discards
+            writePos = HEADER_BYTES;
+            buffer.putInt(WRITE_POS_OFFSET, writePos);
+            readPos = HEADER_BYTES;
+            buffer.putInt(READ_POS_OFFSET, readPos);
+        }
+
+        void close() {
+            try {
+                buffer.force();
+                channel.close();
+            } catch (IOException e) {
+                AiMobsMod.LOGGER.warn("Failed to close outbound spool segment {}", path, e);
+            }
+        }
+
+        void delete() {
+            try {
+                channel.close();
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                AiMobsMod.LOGGER.warn("Failed to delete outbound spool segment {}", path, e);
+            }
+        }
+    }
+}
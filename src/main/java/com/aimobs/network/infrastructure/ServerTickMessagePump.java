@@ -0,0 +1,41 @@
+package com.aimobs.network.infrastructure;
+
+import com.aimobs.network.WebSocketService;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.server.MinecraftServer;
+
+/**
+ * Infrastructure adapter that drains inbound WebSocket messages on the server thread.
+ * Messages received by the socket thread are handled in one batch at the start of each tick,
+ * before entities tick, so routed commands are picked up in the same tick.
+ * Tick durations are reported back so flow control can react to server load.
+ *
+ * Thin adapter - minimal logic, mostly event forwarding.
+ */
+public class ServerTickMessagePump {
+
+    private final WebSocketService webSocketService;
+    private long tickStartNanos;
+
+    public ServerTickMessagePump(WebSocketService webSocketService) {
+        this.webSocketService = webSocketService;
+    }
+
+    /**
+     * Registers this pump with the server tick events.
+     * Should be called during mod initialization.
+     */
+    public void register() {
+        ServerTickEvents.START_SERVER_TICK.register(this::onServerTick);
+        ServerTickEvents.END_SERVER_TICK.register(this::onServerTickEnd);
+    }
+
+    private void onServerTick(MinecraftServer server) {
+        tickStartNanos = System.nanoTime();
+        webSocketService.processInboundMessages();
+    }
+
+    private void onServerTickEnd(MinecraftServer server) {
+        webSocketService.recordTickDuration(System.nanoTime() - tickStartNanos);
+    }
+}
@@ -5,6 +5,7 @@ import com.aimobs.entity.ai.CommandProcessorService;
 import com.aimobs.entity.ai.ServiceFactory;
 import com.aimobs.entity.ai.core.AICommand;
 import com.aimobs.entity.ai.core.AIState;
+import com.aimobs.entity.ai.core.ExpiringCommand;
 import com.aimobs.test.BaseUnitTest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -50,6 +51,18 @@ class CommandProcessorTest extends BaseUnitTest {
         assertSame(command, commandQueue.peek());
     }
     
+    @Test
+    void shouldStayIdleWhenQueueRefusesCommand() {
+        Queue<AICommand> fullQueue = new java.util.concurrent.ArrayBlockingQueue<>(1);
+        CommandProcessorService bounded = ServiceFactory.createCommandProcessor(fullQueue);
+        fullQueue.offer(new TestCommand());
+        
+        bounded.executeCommand(new TestCommand());
+        
+        assertEquals(AIState.IDLE, bounded.getCurrentState());
+        assertEquals(1, fullQueue.size());
+    }
+    
     @Test
     void shouldIgnoreNullCommands() {
         processor.executeCommand(null);
@@ -148,4 +161,106 @@ class CommandProcessorTest extends BaseUnitTest {
         
         assertFalse(stateChanged);
     }
-}
\ No newline at end of file
+    
+    @Test
+    void shouldPreemptRunningCommandForHigherPriority() {
+        RunningCommand running = new RunningCommand(AICommand.NORMAL_PRIORITY);
+        RunningCommand urgent = new RunningCommand(AICommand.URGENT_PRIORITY);
+        processor.executeCommand(running);
+        processor.tick(); // Start command
+        
+        commandQueue.offer(urgent);
+        boolean stateChanged = processor.tick();
+        
+        assertTrue(stateChanged);
+        assertTrue(running.cancelled);
+        assertSame(urgent, processor.getCurrentCommand());
+    }
+    
+    @Test
+    void shouldNotPreemptForEqualPriority() {
+        RunningCommand running = new RunningCommand(AICommand.NORMAL_PRIORITY);
+        processor.executeCommand(running);
+        processor.tick(); // Start command
+        
+        commandQueue.offer(new RunningCommand(AICommand.NORMAL_PRIORITY));
+        
+        assertFalse(processor.tick());
+        assertFalse(running.cancelled);
+        assertSame(running, processor.getCurrentCommand());
+    }
+    
+    @Test
+    void shouldDiscardExpiredCommandInsteadOfStartingIt() {
+        TestCommand expired = new TestCommand();
+        TestCommand fresh = new TestCommand();
+        processor.executeCommand(ExpiringCommand.withDeadline(expired, System.currentTimeMillis() - 1));
+        processor.executeCommand(ExpiringCommand.withDeadline(fresh, System.currentTimeMillis() + 60_000));
+        
+        processor.tick();
+        
+        assertTrue(expired.isCancelled());
+        assertTrue(fresh.isComplete());
+        assertEquals(1, processor.getExpiredCount());
+    }
+    
+    @Test
+    void shouldBecomeIdleWhenEveryQueuedCommandExpired() {
+        processor.executeCommand(ExpiringCommand.withDeadline(new TestCommand(), 0));
+        
+        assertTrue(processor.tick());
+        
+        assertEquals(AIState.IDLE, processor.getCurrentState());
+        assertTrue(commandQueue.isEmpty());
+        assertEquals(1, processor.getExpiredCount());
+    }
+    
+    @Test
+    void shouldReportPendingWorkOnlyWhenTickHasSomethingToDo() {
+        RunningCommand running = new RunningCommand(AICommand.NORMAL_PRIORITY);
+        assertFalse(processor.hasPendingWork());
+        
+        processor.executeCommand(running);
+        assertTrue(processor.hasPendingWork());
+        
+        processor.tick(); // Start command
+        assertFalse(processor.hasPendingWork());
+        
+        running.cancel();
+        assertTrue(processor.hasPendingWork());
+        
+        processor.tick(); // Finish command
+        assertFalse(processor.hasPendingWork());
+    }
+    
+    /**
+     * Command that runs until cancelled.
+     */
+    private static class RunningCommand implements AICommand {
+        private final int priority;
+        private boolean cancelled;
+        
+        RunningCommand(int priority) {
+            this.priority = priority;
+        }
+        
+        @Override
+        public void execute() {
+        }
+        
+        @Override
+        public boolean isComplete() {
+            return cancelled;
+        }
+        
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+        
+        @Override
+        public int getPriority() {
+            return priority;
+        }
+    }
+}
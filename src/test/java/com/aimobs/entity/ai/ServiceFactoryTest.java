@@ -0,0 +1,26 @@
+package com.aimobs.entity.ai;
+
+import com.aimobs.test.BaseUnitTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests which services the factory shares between wolves.
+ */
+class ServiceFactoryTest extends BaseUnitTest {
+
+    @Test
+    void shouldShareStatelessResolversBetweenWolves() {
+        assertSame(ServiceFactory.createTargetResolverService(), ServiceFactory.createTargetResolverService());
+        assertSame(ServiceFactory.createEntityResolverService(), ServiceFactory.createEntityResolverService());
+    }
+
+    @Test
+    void shouldCreateSeparateCommandProcessorPerWolf() {
+        assertNotSame(ServiceFactory.createCommandProcessor(new LinkedList<>()),
+            ServiceFactory.createCommandProcessor(new LinkedList<>()));
+    }
+}
@@ -0,0 +1,107 @@
+package com.aimobs.entity.ai;
+
+import com.aimobs.entity.TestCommand;
+import com.aimobs.entity.ai.application.CommandProcessor;
+import com.aimobs.entity.ai.application.InteractionCoordinator;
+import com.aimobs.entity.ai.application.MovementCoordinator;
+import com.aimobs.entity.ai.core.AICommand;
+import com.aimobs.entity.ai.core.MovementTarget;
+import com.aimobs.test.BaseUnitTest;
+import com.aimobs.test.FakeEntityActions;
+import com.aimobs.test.FakeInventoryActions;
+import com.aimobs.test.FakePathfindingService;
+import net.minecraft.util.math.BlockPos;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedList;
+import java.util.Queue;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks that the services an AI wolf updates every tick allocate nothing
+ * while their state does not change.
+ * Allocation is measured with the per-thread allocation counter of the JVM.
+ */
+class TickAllocationTest extends BaseUnitTest {
+
+    private static final int WARMUP_TICKS = 20_000;
+    private static final int MEASURED_TICKS = 10_000;
+
+    private com.sun.management.ThreadMXBean threads;
+    private CommandProcessor processor;
+    private MovementCoordinator movement;
+    private InteractionCoordinator interaction;
+    private FakePathfindingService pathfinding;
+
+    @BeforeEach
+    void setUp() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+            "Per-thread allocation counter not available");
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "Per-thread allocation counter not available");
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        Queue<AICommand> queue = new LinkedList<>();
+        FakeEntityActions entity = new FakeEntityActions();
+        pathfinding = new FakePathfindingService();
+        processor = new CommandProcessor(queue);
+        movement = new MovementCoordinator(entity, pathfinding);
+        interaction = new InteractionCoordinator(entity, new FakeInventoryActions(), movement);
+    }
+
+    @Test
+    void idleTickShouldNotAllocate() {
+        assertEquals(0, allocatedPerTick());
+    }
+
+    @Test
+    void tickWhileCommandRunsShouldNotAllocate() {
+        processor.executeCommand(new RunningCommand());
+        processor.tick(); // Starts the command
+
+        assertEquals(0, allocatedPerTick());
+    }
+
+    @Test
+    void tickWhileMovingShouldNotAllocate() {
+        movement.moveTo(new MovementTarget(new BlockPos(5, 64, 5)));
+        pathfinding.setMoving(true);
+
+        assertEquals(0, allocatedPerTick());
+    }
+
+    /**
+     * @return Bytes allocated per tick, rounded down, so occasional allocations
+     *         by the JVM itself do not count but any per-tick allocation does
+     */
+    private long allocatedPerTick() {
+        runTicks(WARMUP_TICKS);
+        long before = threads.getCurrentThreadAllocatedBytes();
+        runTicks(MEASURED_TICKS);
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        return allocated / MEASURED_TICKS;
+    }
+
+    private void runTicks(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            // Same order as AiControlledWolfEntity.tick()
+            processor.tick();
+            movement.updateMovementProgress();
+            interaction.updateInteractionProgress();
+        }
+    }
+
+    /**
+     * Command that never completes on its own.
+     */
+    private static class RunningCommand extends TestCommand {
+        @Override
+        public void execute() {
+            // Keeps running until cancelled
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.aimobs.entity.ai.application;
+
+import com.aimobs.entity.ai.ActionCommandFactory;
+import com.aimobs.entity.ai.core.AICommand;
+import com.aimobs.network.core.Action;
+import com.aimobs.network.core.ActionCategory;
+import com.aimobs.network.core.ActionRegistry;
+import com.aimobs.test.BaseUnitTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@Tag("unit")
+class ActionDispatchTableTest extends BaseUnitTest {
+
+    @Test
+    void shouldHaveFactoriesForExecutableBuiltInActions() {
+        assertNotNull(ActionDispatchTable.factoryFor(Action.MOVE));
+        assertNotNull(ActionDispatchTable.factoryFor(Action.COME_HERE));
+        assertNotNull(ActionDispatchTable.factoryFor(Action.ATTACK));
+        assertNotNull(ActionDispatchTable.factoryFor(Action.COMMUNICATE));
+        // Status is answered by the backend, never executed by a wolf
+        assertNull(ActionDispatchTable.factoryFor(Action.STATUS));
+        assertNull(ActionDispatchTable.factoryFor(null));
+    }
+
+    @Test
+    void shouldDispatchThirdPartyActionToItsFactory() {
+        AICommand command = mock(AICommand.class);
+        ActionCommandFactory factory = (message, wolf) -> command;
+
+        Action sit = ActionDispatchTable.registerAction("dispatch_test_sit", ActionCategory.OTHER, factory);
+
+        assertSame(sit, ActionRegistry.resolve("dispatch_test_sit"));
+        assertSame(factory, ActionDispatchTable.factoryFor(sit));
+    }
+
+    @Test
+    void shouldReplaceFactoryForAction() {
+        Action roll = ActionRegistry.register("dispatch_test_roll", ActionCategory.OTHER);
+        ActionCommandFactory first = (message, wolf) -> null;
+        ActionCommandFactory second = (message, wolf) -> null;
+
+        ActionDispatchTable.register(roll, first);
+        ActionDispatchTable.register(roll, second);
+
+        assertSame(second, ActionDispatchTable.factoryFor(roll));
+    }
+}
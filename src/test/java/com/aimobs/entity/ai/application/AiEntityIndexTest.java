@@ -0,0 +1,89 @@
+package com.aimobs.entity.ai.application;
+
+import com.aimobs.entity.ai.core.AIState;
+import com.aimobs.entity.ai.core.AiEntityRecord;
+import com.aimobs.entity.ai.core.AiEntityState;
+import com.aimobs.entity.ai.core.EntityId;
+import com.aimobs.test.BaseUnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class AiEntityIndexTest extends BaseUnitTest {
+
+    private static final String OVERWORLD = "minecraft:overworld";
+    private static final AiEntityState IDLE = AiEntityState.createAiControlled(AIState.IDLE, "ai_controlled_wolf");
+    private static final AiEntityState MOVING = AiEntityState.createAiControlled(AIState.MOVING, "ai_controlled_wolf");
+
+    private AtomicInteger changes;
+    private AiEntityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        changes = new AtomicInteger();
+        index = new AiEntityIndex(changes::incrementAndGet);
+    }
+
+    @Test
+    void shouldKeepStateWhenEntityMoves() {
+        EntityId wolf = EntityId.generate();
+        index.updateState(wolf, MOVING);
+        assertFalse(index.get(wolf).orElseThrow().hasLocation());
+
+        index.updateLocation(wolf, OVERWORLD, 3, -7, null);
+
+        assertEquals(new AiEntityRecord(wolf, OVERWORLD, 3, -7, MOVING), index.get(wolf).orElseThrow());
+    }
+
+    @Test
+    void shouldKeepLocationWhenStateChanges() {
+        EntityId wolf = EntityId.generate();
+        index.updateLocation(wolf, OVERWORLD, 1, 2, IDLE);
+
+        index.updateState(wolf, MOVING);
+
+        assertEquals(new AiEntityRecord(wolf, OVERWORLD, 1, 2, MOVING), index.get(wolf).orElseThrow());
+    }
+
+    @Test
+    void shouldReportOnlyActualChanges() {
+        EntityId wolf = EntityId.generate();
+
+        index.updateLocation(wolf, OVERWORLD, 0, 0, IDLE);
+        index.updateLocation(wolf, OVERWORLD, 0, 0, IDLE);
+        assertEquals(1, changes.get(), "Seeing an entity where it already was is not a change");
+
+        assertTrue(index.remove(wolf));
+        assertFalse(index.remove(wolf));
+        assertEquals(2, changes.get());
+    }
+
+    @Test
+    void shouldListEntitiesInIndexOrder() {
+        EntityId first = EntityId.generate();
+        EntityId second = EntityId.generate();
+        index.updateState(first, IDLE);
+        index.updateState(second, IDLE);
+        index.updateState(first, MOVING);
+
+        List<AiEntityRecord> records = index.getAll();
+
+        assertEquals(2, index.size());
+        assertEquals(first, records.get(0).entityId());
+        assertEquals(second, records.get(1).entityId());
+    }
+
+    @Test
+    void shouldIgnoreRecordsWithoutState() {
+        index.updateLocation(EntityId.generate(), OVERWORLD, 0, 0, null);
+
+        assertEquals(0, index.size());
+        assertEquals(0, changes.get());
+    }
+}
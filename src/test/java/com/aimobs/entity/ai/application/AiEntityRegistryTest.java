@@ -0,0 +1,118 @@
+package com.aimobs.entity.ai.application;
+
+import com.aimobs.entity.ai.CommandReceiver;
+import com.aimobs.entity.ai.core.EntityId;
+import com.aimobs.test.BaseUnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@Tag("unit")
+class AiEntityRegistryTest extends BaseUnitTest {
+
+    private AiEntityRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new AiEntityRegistry();
+    }
+
+    private CommandReceiver receiver(boolean available) {
+        CommandReceiver receiver = mock(CommandReceiver.class);
+        when(receiver.getEntityId()).thenReturn(EntityId.generate());
+        when(receiver.isAvailable()).thenReturn(available);
+        return receiver;
+    }
+
+    @Test
+    void shouldFindEntityByIdAndUuid() {
+        UUID uuid = UUID.randomUUID();
+        CommandReceiver wolf = receiver(true);
+
+        registry.add(uuid, wolf);
+
+        assertEquals(Optional.of(wolf), registry.findByEntityId(wolf.getEntityId()));
+        assertSame(wolf, registry.findByUuid(uuid));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void shouldForgetRemovedEntity() {
+        UUID uuid = UUID.randomUUID();
+        CommandReceiver wolf = receiver(true);
+        registry.add(uuid, wolf);
+
+        assertTrue(registry.remove(uuid));
+
+        assertTrue(registry.findByEntityId(wolf.getEntityId()).isEmpty());
+        assertNull(registry.findByUuid(uuid));
+        assertTrue(registry.findAnyAvailable().isEmpty());
+        assertFalse(registry.remove(uuid));
+    }
+
+    @Test
+    void shouldOnlyReportAvailableEntities() {
+        CommandReceiver busy = receiver(false);
+        CommandReceiver ready = receiver(true);
+        registry.add(UUID.randomUUID(), busy);
+        registry.add(UUID.randomUUID(), ready);
+
+        assertEquals(Optional.of(ready), registry.findAnyAvailable());
+        assertEquals(List.of(ready), registry.getAvailable());
+        assertEquals(1, registry.getAvailableCount());
+    }
+
+    @Test
+    void shouldDropEntityThatBecameUnavailable() {
+        CommandReceiver dying = receiver(true);
+        CommandReceiver healthy = receiver(true);
+        registry.add(UUID.randomUUID(), dying);
+        registry.add(UUID.randomUUID(), healthy);
+
+        when(dying.isAvailable()).thenReturn(false);
+
+        assertEquals(Optional.of(healthy), registry.findAnyAvailable());
+        assertEquals(1, registry.getAvailableCount());
+        // Still reachable by id, e.g. for feedback on its last command
+        assertEquals(Optional.of(dying), registry.findByEntityId(dying.getEntityId()));
+    }
+
+    @Test
+    void shouldReuseSlotsOfRemovedEntities() {
+        UUID first = UUID.randomUUID();
+        registry.add(first, receiver(true));
+        for (int i = 0; i < 40; i++) {
+            registry.add(UUID.randomUUID(), receiver(true));
+        }
+        registry.remove(first);
+        CommandReceiver replacement = receiver(true);
+
+        registry.add(UUID.randomUUID(), replacement);
+
+        assertEquals(41, registry.size());
+        assertEquals(41, registry.getAvailableCount());
+        // The freed first slot is taken by the newcomer
+        assertEquals(Optional.of(replacement), registry.findAnyAvailable());
+    }
+
+    @Test
+    void shouldReplaceEntityReaddedUnderSameUuid() {
+        UUID uuid = UUID.randomUUID();
+        CommandReceiver stale = receiver(true);
+        CommandReceiver fresh = receiver(true);
+
+        registry.add(uuid, stale);
+        registry.add(uuid, fresh);
+
+        assertEquals(1, registry.size());
+        assertSame(fresh, registry.findByUuid(uuid));
+        assertTrue(registry.findByEntityId(stale.getEntityId()).isEmpty());
+    }
+}
@@ -0,0 +1,197 @@
+package com.aimobs.entity.ai.application;
+
+import com.aimobs.test.BaseUnitTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class AiSchedulerTest extends BaseUnitTest {
+
+    private long nanos;
+
+    @Test
+    void shouldStopServingOnceBudgetIsSpent() {
+        AiScheduler scheduler = new AiScheduler(1_000, () -> nanos);
+        List<FakeTask> tasks = register(scheduler, 10, 300_000, 1);
+
+        assertEquals(4, scheduler.runTick());
+
+        assertEquals(4, countRuns(tasks));
+        assertEquals(1, scheduler.getExhaustedTickCount());
+    }
+
+    @Test
+    void shouldCarryOverUnservedTasksToNextTick() {
+        AiScheduler scheduler = new AiScheduler(1_000, () -> nanos);
+        List<FakeTask> tasks = register(scheduler, 10, 300_000, 1);
+
+        scheduler.runTick();
+        scheduler.runTick();
+        scheduler.runTick();
+
+        for (FakeTask task : tasks) {
+            assertEquals(1, task.runs);
+        }
+        assertEquals(2, scheduler.getLastTickSlices());
+    }
+
+    @Test
+    void shouldShareSlicesFairlyBetweenBusyTasks() {
+        AiScheduler scheduler = new AiScheduler(1_000, () -> nanos);
+        List<FakeTask> tasks = register(scheduler, 7, 500_000, Integer.MAX_VALUE);
+
+        for (int tick = 0; tick < 70; tick++) {
+            scheduler.runTick();
+        }
+
+        for (FakeTask task : tasks) {
+            assertEquals(20, task.runs);
+        }
+    }
+
+    @Test
+    void shouldServeOneTaskEvenWhenSliceExceedsBudget() {
+        AiScheduler scheduler = new AiScheduler(1, () -> nanos);
+        List<FakeTask> tasks = register(scheduler, 3, 5_000_000, 1);
+
+        assertEquals(1, scheduler.runTick());
+        assertEquals(1, scheduler.runTick());
+        assertEquals(1, scheduler.runTick());
+
+        assertEquals(3, countRuns(tasks));
+    }
+
+    @Test
+    void shouldServeEveryPendingTaskWithoutBudget() {
+        AiScheduler scheduler = new AiScheduler(0, () -> nanos);
+        List<FakeTask> tasks = register(scheduler, 100, 1_000_000, 1);
+
+        assertEquals(100, scheduler.runTick());
+        assertEquals(0, scheduler.getExhaustedTickCount());
+        assertEquals(100, countRuns(tasks));
+    }
+
+    @Test
+    void shouldSkipIdleTasksWithoutSpendingTheirTurn() {
+        AiScheduler scheduler = new AiScheduler(1_000, () -> nanos);
+        List<FakeTask> idle = register(scheduler, 5, 300_000, 0);
+        List<FakeTask> busy = register(scheduler, 2, 300_000, 1);
+
+        assertEquals(2, scheduler.runTick());
+
+        assertEquals(0, countRuns(idle));
+        assertEquals(2, countRuns(busy));
+        assertEquals(0, scheduler.getExhaustedTickCount());
+    }
+
+    @Test
+    void shouldDropTasksThatAreNoLongerScheduled() {
+        AiScheduler scheduler = new AiScheduler(1_000, () -> nanos);
+        List<FakeTask> tasks = register(scheduler, 3, 0, 1);
+        tasks.get(1).scheduled = false;
+
+        assertEquals(2, scheduler.runTick());
+
+        assertEquals(2, scheduler.getRegisteredCount());
+        assertFalse(scheduler.isRegistered(tasks.get(1)));
+        assertEquals(0, tasks.get(1).runs);
+    }
+
+    @Test
+    void shouldKeepTurnOrderWhenTaskIsUnregistered() {
+        AiScheduler scheduler = new AiScheduler(1_000, () -> nanos);
+        List<FakeTask> tasks = register(scheduler, 6, 600_000, 1);
+
+        scheduler.runTick(); // Serves tasks 0 and 1
+        scheduler.unregister(tasks.get(0));
+        scheduler.runTick();
+
+        assertEquals(1, tasks.get(2).runs);
+        assertEquals(1, tasks.get(3).runs);
+        assertEquals(0, tasks.get(4).runs);
+    }
+
+    @Test
+    void shouldIgnoreDuplicateRegistration() {
+        AiScheduler scheduler = new AiScheduler(1_000, () -> nanos);
+        FakeTask task = new FakeTask(0, 5);
+        scheduler.register(task);
+        scheduler.register(task);
+
+        assertEquals(1, scheduler.runTick());
+        assertEquals(1, scheduler.getRegisteredCount());
+    }
+
+    @Test
+    void shouldKeepServingAfterFailingTask() {
+        AiScheduler scheduler = new AiScheduler(0, () -> nanos);
+        FakeTask failing = new FakeTask(0, 1) {
+            @Override
+            public void runSlice() {
+                super.runSlice();
+                throw new IllegalStateException("boom");
+            }
+        };
+        FakeTask next = new FakeTask(0, 1);
+        scheduler.register(failing);
+        scheduler.register(next);
+
+        assertEquals(2, scheduler.runTick());
+        assertEquals(1, next.runs);
+    }
+
+    private List<FakeTask> register(AiScheduler scheduler, int count, long sliceNanos, int work) {
+        List<FakeTask> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            FakeTask task = new FakeTask(sliceNanos, work);
+            scheduler.register(task);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    private static int countRuns(List<FakeTask> tasks) {
+        int runs = 0;
+        for (FakeTask task : tasks) {
+            runs += task.runs;
+        }
+        return runs;
+    }
+
+    /**
+     * Task with a number of slices of work, each advancing the clock by a fixed time.
+     */
+    private class FakeTask implements AiScheduler.Task {
+        private final long sliceNanos;
+        private int work;
+        private int runs;
+        private boolean scheduled = true;
+
+        FakeTask(long sliceNanos, int work) {
+            this.sliceNanos = sliceNanos;
+            this.work = work;
+        }
+
+        @Override
+        public boolean isScheduled() {
+            return scheduled;
+        }
+
+        @Override
+        public boolean hasPendingWork() {
+            return work > 0;
+        }
+
+        @Override
+        public void runSlice() {
+            nanos += sliceNanos;
+            work--;
+            runs++;
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package com.aimobs.entity.ai.application;
+
+import com.aimobs.entity.ai.core.AICommand;
+import com.aimobs.entity.ai.core.CollectItemsCommand;
+import com.aimobs.entity.ai.core.PlanStepCommand;
+import com.aimobs.entity.ai.core.StopMovementCommand;
+import com.aimobs.test.BaseUnitTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class CommandPriorityQueueTest extends BaseUnitTest {
+
+    @Test
+    void shouldPollHighestPriorityFirst() {
+        CommandPriorityQueue queue = new CommandPriorityQueue(16);
+        Prioritized collect = new Prioritized(3);
+        Prioritized attack = new Prioritized(5);
+        Prioritized talk = new Prioritized(1);
+        queue.offer(collect);
+        queue.offer(talk);
+        queue.offer(attack);
+
+        assertSame(attack, queue.poll());
+        assertSame(collect, queue.poll());
+        assertSame(talk, queue.poll());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    void shouldKeepArrivalOrderWithinPriority() {
+        CommandPriorityQueue queue = new CommandPriorityQueue(64);
+        List<Prioritized> sent = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            Prioritized command = new Prioritized(AICommand.NORMAL_PRIORITY);
+            sent.add(command);
+            queue.offer(command);
+        }
+
+        for (Prioritized command : sent) {
+            assertSame(command, queue.poll());
+        }
+    }
+
+    @Test
+    void shouldPutUrgentCommandAheadOfQueuedWork() {
+        CommandPriorityQueue queue = new CommandPriorityQueue(16);
+        for (int i = 0; i < 10; i++) {
+            queue.offer(new Prioritized(3));
+        }
+        Prioritized stop = new Prioritized(AICommand.URGENT_PRIORITY);
+        queue.offer(stop);
+
+        assertSame(stop, queue.peek());
+    }
+
+    @Test
+    void shouldEvictNewestLowestPriorityCommandWhenFull() {
+        CommandPriorityQueue queue = new CommandPriorityQueue(3);
+        Prioritized older = new Prioritized(1);
+        Prioritized newer = new Prioritized(1);
+        Prioritized collect = new Prioritized(3);
+        queue.offer(older);
+        queue.offer(collect);
+        queue.offer(newer);
+
+        Prioritized attack = new Prioritized(5);
+        assertTrue(queue.offer(attack));
+
+        assertEquals(3, queue.size());
+        assertFalse(queue.contains(newer));
+        assertTrue(queue.contains(older));
+        assertEquals(1, queue.getEvictedCount());
+    }
+
+    @Test
+    void shouldRefuseWhenFullOfEqualOrHigherPriority() {
+        CommandPriorityQueue queue = new CommandPriorityQueue(2);
+        queue.offer(new Prioritized(3));
+        queue.offer(new Prioritized(3));
+
+        assertFalse(queue.offer(new Prioritized(3)));
+        assertEquals(2, queue.size());
+        assertEquals(0, queue.getEvictedCount());
+    }
+
+    @Test
+    void shouldRemoveQueuedCommandAndKeepOrder() {
+        CommandPriorityQueue queue = new CommandPriorityQueue(16);
+        Prioritized first = new Prioritized(5);
+        Prioritized removed = new Prioritized(4);
+        Prioritized last = new Prioritized(2);
+        queue.offer(last);
+        queue.offer(removed);
+        queue.offer(first);
+
+        assertTrue(queue.remove(removed));
+        assertFalse(queue.remove(removed));
+
+        assertSame(first, queue.poll());
+        assertSame(last, queue.poll());
+    }
+
+    @Test
+    void shouldMatchSortedOrderUnderRandomOperations() {
+        CommandPriorityQueue queue = new CommandPriorityQueue(1000);
+        List<Prioritized> expected = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            int op = random.nextInt(4);
+            if (op < 2 || expected.isEmpty()) {
+                Prioritized command = new Prioritized(random.nextInt(6));
+                queue.offer(command);
+                expected.add(command);
+            } else if (op == 2) {
+                Prioritized command = expected.remove(random.nextInt(expected.size()));
+                assertTrue(queue.remove(command));
+            } else {
+                Prioritized best = expected.get(0);
+                for (Prioritized command : expected) {
+                    if (command.getPriority() > best.getPriority()) {
+                        best = command;
+                    }
+                }
+                expected.remove(best);
+                assertSame(best, queue.poll());
+            }
+            assertEquals(expected.size(), queue.size());
+        }
+    }
+
+    @Test
+    void shouldReplaceQueuedMovementInPlace() {
+        CommandPriorityQueue queue = new CommandPriorityQueue(16);
+        Prioritized north = new Prioritized(3, AICommand.MOVEMENT_KEY);
+        Prioritized collect = new Prioritized(3);
+        Prioritized east = new Prioritized(3, AICommand.MOVEMENT_KEY);
+        queue.offer(north);
+        queue.offer(collect);
+
+        assertTrue(queue.offer(east));
+
+        assertEquals(2, queue.size());
+        assertTrue(north.cancelled);
+        assertFalse(queue.contains(north));
+        assertSame(east, queue.poll());
+        assertSame(collect, queue.poll());
+        assertEquals(1, queue.getCoalescedCount());
+    }
+
+    @Test
+    void shouldLetStopReplaceQueuedMovement() {
+        CommandPriorityQueue queue = new CommandPriorityQueue(16);
+        Prioritized move = new Prioritized(3, AICommand.MOVEMENT_KEY);
+        Prioritized collect = new Prioritized(3);
+        StopMovementCommand stop = new StopMovementCommand(null);
+        queue.offer(move);
+        queue.offer(collect);
+
+        queue.offer(stop);
+
+        assertTrue(move.cancelled);
+        assertSame(stop, queue.poll());
+        assertSame(collect, queue.poll(), "The queued movement does not start after the stop");
+        assertNull(queue.poll());
+    }
+
+    @Test
+    void shouldMergeIdenticalCollectCommands() {
+        CommandPriorityQueue queue = new CommandPriorityQueue(16);
+        queue.offer(new CollectItemsCommand("wood", 10, 5));
+        queue.offer(new CollectItemsCommand("wood", 10, 5));
+        queue.offer(new CollectItemsCommand("stone", 10, 5));
+
+        assertEquals(2, queue.size());
+        assertEquals(1, queue.getCoalescedCount());
+    }
+
+    @Test
+    void shouldResiftWhenReplacementChangesPriority() {
+        CommandPriorityQueue queue = new CommandPriorityQueue(16);
+        queue.offer(new Prioritized(2, AICommand.MOVEMENT_KEY));
+        Prioritized collect = new Prioritized(3);
+        queue.offer(collect);
+        Prioritized urgentMove = new Prioritized(5, AICommand.MOVEMENT_KEY);
+
+        queue.offer(urgentMove);
+
+        assertSame(urgentMove, queue.poll());
+        assertSame(collect, queue.poll());
+    }
+
+    @Test
+    void shouldNotCoalesceStepsOfABatch() {
+        CommandPriorityQueue queue = new CommandPriorityQueue(16);
+        Prioritized first = new Prioritized(3, AICommand.MOVEMENT_KEY);
+        Prioritized second = new Prioritized(3, AICommand.MOVEMENT_KEY);
+
+        queue.addAll(List.of(first, second));
+
+        assertEquals(2, queue.size());
+        assertFalse(first.cancelled);
+        assertEquals(0, queue.getCoalescedCount());
+    }
+
+    @Test
+    void shouldRunPlanInOrderWhateverTheStepPriorities() {
+        CommandPriorityQueue queue = new CommandPriorityQueue(16);
+        Prioritized move = new Prioritized(3);
+        Prioritized attack = new Prioritized(5);
+        Prioritized comeHere = new Prioritized(3);
+        Prioritized talk = new Prioritized(4);
+        queue.offer(talk);
+
+        queue.addAll(List.of(move, attack, comeHere));
+
+        AICommand first = queue.poll();
+        assertSame(move, step(first));
+        assertEquals(5, first.getPriority(), "Every step takes the plan's highest priority");
+        assertFalse(queue.peek().getPriority() > first.getPriority(), "A later step never preempts an earlier one");
+        assertSame(attack, step(queue.poll()));
+        assertSame(comeHere, step(queue.poll()));
+        assertSame(talk, queue.poll());
+    }
+
+    @Test
+    void shouldQueueWholePlanOrNothing() {
+        CommandPriorityQueue queue = new CommandPriorityQueue(3);
+        Prioritized queued = new Prioritized(1);
+        queue.offer(queued);
+
+        assertFalse(queue.addAll(List.of(new Prioritized(5), new Prioritized(5), new Prioritized(5))));
+        assertEquals(1, queue.size(), "A plan that does not fit is not queued in part");
+        assertTrue(queue.contains(queued), "A plan does not evict queued commands");
+
+        Prioritized step = new Prioritized(3);
+        assertFalse(queue.addAll(List.of(step, queued)));
+        assertFalse(queue.contains(step), "Steps queued before a refused step are taken back");
+
+        assertTrue(queue.addAll(List.of(new Prioritized(3), new Prioritized(3))));
+        assertEquals(3, queue.size());
+    }
+
+    @Test
+    void shouldStopCoalescingWithCommandOnceItLeavesTheQueue() {
+        CommandPriorityQueue queue = new CommandPriorityQueue(16);
+        Prioritized started = new Prioritized(3, AICommand.MOVEMENT_KEY);
+        queue.offer(started);
+        queue.poll();
+
+        Prioritized next = new Prioritized(3, AICommand.MOVEMENT_KEY);
+        queue.offer(next);
+
+        assertFalse(started.cancelled);
+        assertSame(next, queue.peek());
+    }
+
+    @Test
+    void shouldEmptyOnClear() {
+        CommandPriorityQueue queue = new CommandPriorityQueue(4);
+        Prioritized command = new Prioritized(3);
+        queue.offer(command);
+
+        queue.clear();
+
+        assertTrue(queue.isEmpty());
+        assertFalse(queue.contains(command));
+        assertTrue(queue.offer(command));
+    }
+
+    private static AICommand step(AICommand queued) {
+        return ((PlanStepCommand) queued).getCommand();
+    }
+
+    private static class Prioritized implements AICommand {
+        private final int priority;
+        private final Object key;
+        private boolean cancelled;
+
+        Prioritized(int priority) {
+            this(priority, null);
+        }
+
+        Prioritized(int priority, Object key) {
+            this.priority = priority;
+            this.key = key;
+        }
+
+        @Override
+        public void execute() {
+        }
+
+        @Override
+        public boolean isComplete() {
+            return false;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        @Override
+        public int getPriority() {
+            return priority;
+        }
+
+        @Override
+        public Object getCoalescingKey() {
+            return key;
+        }
+    }
+}
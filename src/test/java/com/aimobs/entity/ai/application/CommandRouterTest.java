@@ -0,0 +1,205 @@
+package com.aimobs.entity.ai.application;
+
+import com.aimobs.entity.ai.CommandReceiver;
+import com.aimobs.entity.ai.EntityLookupService;
+import com.aimobs.entity.ai.RoutingStrategy;
+import com.aimobs.entity.ai.core.AICommand;
+import com.aimobs.entity.ai.core.EntityId;
+import com.aimobs.entity.ai.core.RoutingHint;
+import com.aimobs.test.BaseUnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Tag;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@Tag("unit")
+class CommandRouterTest extends BaseUnitTest {
+
+    private EntityLookupService entityLookup;
+    private CommandRouter router;
+
+    @BeforeEach
+    void setUp() {
+        entityLookup = mock(EntityLookupService.class);
+        router = new CommandRouter(entityLookup);
+    }
+
+    @Test
+    void shouldRouteWholePlanToOneReceiver() {
+        CommandReceiver receiver = mock(CommandReceiver.class);
+        when(receiver.receiveCommands(any())).thenReturn(true);
+        when(entityLookup.getAllAvailableEntities()).thenReturn(List.of(receiver));
+        List<AICommand> plan = List.of(mock(AICommand.class), mock(AICommand.class), mock(AICommand.class));
+
+        assertTrue(router.routeCommands(plan, Optional.empty()));
+
+        verify(receiver).receiveCommands(plan);
+        verify(receiver, never()).receiveCommand(any());
+        verify(entityLookup, times(1)).getAllAvailableEntities();
+    }
+
+    @Test
+    void shouldRoutePlanToTargetedReceiver() {
+        EntityId targetId = EntityId.generate();
+        CommandReceiver receiver = mock(CommandReceiver.class);
+        when(receiver.isAvailable()).thenReturn(true);
+        when(receiver.receiveCommands(any())).thenReturn(true);
+        when(entityLookup.findEntityById(targetId)).thenReturn(Optional.of(receiver));
+        List<AICommand> plan = List.of(mock(AICommand.class));
+
+        assertTrue(router.routeCommands(plan, Optional.of(targetId)));
+
+        verify(receiver).receiveCommands(plan);
+    }
+
+    @Test
+    void shouldNotRoutePlanToUnavailableTarget() {
+        EntityId targetId = EntityId.generate();
+        CommandReceiver receiver = mock(CommandReceiver.class);
+        when(receiver.isAvailable()).thenReturn(false);
+        when(entityLookup.findEntityById(targetId)).thenReturn(Optional.of(receiver));
+
+        assertFalse(router.routeCommands(List.of(mock(AICommand.class)), Optional.of(targetId)));
+
+        verify(receiver, never()).receiveCommands(any());
+    }
+
+    @Test
+    void shouldSkipReceiverWithFullQueue() {
+        CommandRouter limited = new CommandRouter(entityLookup, 2);
+        CommandReceiver full = mock(CommandReceiver.class);
+        CommandReceiver idle = mock(CommandReceiver.class);
+        when(full.getQueuedCommandCount()).thenReturn(2);
+        when(idle.receiveCommand(any())).thenReturn(true);
+        when(entityLookup.getAllAvailableEntities()).thenReturn(List.of(full, idle));
+        AICommand command = mock(AICommand.class);
+
+        assertTrue(limited.routeToAnyAvailable(command));
+
+        verify(idle).receiveCommand(command);
+        verify(full, never()).receiveCommand(any());
+    }
+
+    @Test
+    void shouldRefuseWhenEveryQueueIsFull() {
+        CommandRouter limited = new CommandRouter(entityLookup, 1);
+        CommandReceiver full = mock(CommandReceiver.class);
+        when(full.getQueuedCommandCount()).thenReturn(1);
+        when(entityLookup.getAllAvailableEntities()).thenReturn(List.of(full));
+
+        assertFalse(limited.routeToAnyAvailable(mock(AICommand.class)));
+        assertEquals(0, limited.getQueueHeadroom());
+    }
+
+    @Test
+    void shouldSumQueueHeadroomAcrossReceivers() {
+        CommandRouter limited = new CommandRouter(entityLookup, 4);
+        CommandReceiver busy = mock(CommandReceiver.class);
+        CommandReceiver idle = mock(CommandReceiver.class);
+        when(busy.getQueuedCommandCount()).thenReturn(3);
+        when(entityLookup.getAllAvailableEntities()).thenReturn(List.of(busy, idle));
+
+        assertEquals(5, limited.getQueueHeadroom());
+    }
+
+    @Test
+    void shouldReportCommandRefusedByReceiver() {
+        CommandReceiver receiver = mock(CommandReceiver.class);
+        when(receiver.receiveCommand(any())).thenReturn(false);
+        when(entityLookup.getAllAvailableEntities()).thenReturn(List.of(receiver));
+
+        assertFalse(router.routeToAnyAvailable(mock(AICommand.class)));
+    }
+
+    @Test
+    void shouldNotRoutePlanLongerThanQueueCapacityToIdleReceiver() {
+        CommandRouter bounded = new CommandRouter(entityLookup, 2, 3, new LeastQueuedRoutingStrategy(),
+            new WolfGroupRegistry());
+        CommandReceiver idle = mock(CommandReceiver.class);
+        when(idle.receiveCommands(any())).thenReturn(true);
+        when(entityLookup.getAllAvailableEntities()).thenReturn(List.of(idle));
+
+        assertTrue(bounded.routeCommands(List.of(mock(AICommand.class), mock(AICommand.class),
+            mock(AICommand.class)), Optional.empty()), "An idle receiver takes plans up to its capacity");
+        assertFalse(bounded.routeCommands(List.of(mock(AICommand.class), mock(AICommand.class),
+            mock(AICommand.class), mock(AICommand.class)), Optional.empty()));
+        verify(idle, times(1)).receiveCommands(any());
+    }
+
+    @Test
+    void shouldRejectEmptyPlan() {
+        assertFalse(router.routeCommands(List.of(), Optional.empty()));
+
+        verify(entityLookup, never()).getAllAvailableEntities();
+    }
+
+    @Test
+    void shouldSpreadCommandsToLeastQueuedReceiver() {
+        CommandReceiver busy = mock(CommandReceiver.class);
+        CommandReceiver quiet = mock(CommandReceiver.class);
+        when(busy.getQueuedCommandCount()).thenReturn(3);
+        when(quiet.getQueuedCommandCount()).thenReturn(1);
+        when(quiet.receiveCommand(any())).thenReturn(true);
+        when(entityLookup.getAllAvailableEntities()).thenReturn(List.of(busy, quiet));
+        AICommand command = mock(AICommand.class);
+
+        assertTrue(router.routeToAnyAvailable(command));
+
+        verify(quiet).receiveCommand(command);
+        verify(busy, never()).receiveCommand(any());
+    }
+
+    @Test
+    void shouldOfferOnlyReceiversWithRoomToStrategy() {
+        RoutingStrategy strategy = mock(RoutingStrategy.class);
+        CommandRouter strategic = new CommandRouter(entityLookup, 2, strategy);
+        CommandReceiver full = mock(CommandReceiver.class);
+        CommandReceiver idle = mock(CommandReceiver.class);
+        when(full.getQueuedCommandCount()).thenReturn(2);
+        when(entityLookup.getAllAvailableEntities()).thenReturn(List.of(full, idle));
+        RoutingHint hint = RoutingHint.forPlayer("Steve");
+        when(strategy.select(List.of(idle), hint)).thenReturn(Optional.of(idle));
+
+        assertEquals(Optional.of(idle), strategic.selectReceiver(Optional.empty(), hint, 1));
+    }
+
+    @Test
+    void shouldNotConsultStrategyWhenNoReceiverHasRoom() {
+        RoutingStrategy strategy = mock(RoutingStrategy.class);
+        CommandRouter strategic = new CommandRouter(entityLookup, 2, strategy);
+        when(entityLookup.getAllAvailableEntities()).thenReturn(List.of());
+
+        assertTrue(strategic.selectReceiver(Optional.empty(), RoutingHint.none(), 1).isEmpty());
+
+        verify(strategy, never()).select(any(), any());
+    }
+
+    @Test
+    void shouldSelectGroupMembersThatCanTakeCommands() {
+        WolfGroupRegistry groups = new WolfGroupRegistry();
+        CommandRouter grouped = new CommandRouter(entityLookup, 2, new LeastQueuedRoutingStrategy(), groups);
+        CommandReceiver ready = mock(CommandReceiver.class);
+        CommandReceiver full = mock(CommandReceiver.class);
+        EntityId readyId = EntityId.generate();
+        EntityId fullId = EntityId.generate();
+        EntityId unloadedId = EntityId.generate();
+        when(ready.isAvailable()).thenReturn(true);
+        when(full.isAvailable()).thenReturn(true);
+        when(full.getQueuedCommandCount()).thenReturn(2);
+        when(entityLookup.findEntityById(readyId)).thenReturn(Optional.of(ready));
+        when(entityLookup.findEntityById(fullId)).thenReturn(Optional.of(full));
+        when(entityLookup.findEntityById(unloadedId)).thenReturn(Optional.empty());
+        groups.addMember("pack", readyId);
+        groups.addMember("pack", fullId);
+        groups.addMember("pack", unloadedId);
+
+        assertEquals(List.of(ready), grouped.selectGroup("pack", 1));
+        assertTrue(grouped.selectGroup("nobody", 1).isEmpty());
+    }
+}
@@ -0,0 +1,65 @@
+package com.aimobs.entity.ai.application;
+
+import com.aimobs.entity.ai.core.EntityId;
+import com.aimobs.test.BaseUnitTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class EntityIdBloomFilterTest extends BaseUnitTest {
+
+    @Test
+    void shouldAlwaysContainAddedIds() {
+        EntityIdBloomFilter filter = new EntityIdBloomFilter(500, 0.01);
+        List<EntityId> added = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            EntityId id = EntityId.generate();
+            filter.add(id);
+            added.add(id);
+        }
+
+        for (EntityId id : added) {
+            assertTrue(filter.mightContain(id));
+        }
+        assertFalse(filter.isSaturated());
+    }
+
+    @Test
+    void shouldKeepFalsePositivesNearTargetRate() {
+        EntityIdBloomFilter filter = new EntityIdBloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.add(EntityId.generate());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain(EntityId.generate())) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 300, "False positives: " + falsePositives);
+    }
+
+    @Test
+    void shouldReportSaturationPastExpectedSize() {
+        EntityIdBloomFilter filter = new EntityIdBloomFilter(64, 0.01);
+        for (int i = 0; i < 65; i++) {
+            filter.add(EntityId.generate());
+        }
+
+        assertTrue(filter.isSaturated());
+        assertEquals(65, filter.getAddedCount());
+    }
+
+    @Test
+    void shouldRejectInvalidFalsePositiveRate() {
+        assertThrows(IllegalArgumentException.class, () -> new EntityIdBloomFilter(10, 0));
+        assertThrows(IllegalArgumentException.class, () -> new EntityIdBloomFilter(10, 1));
+    }
+}
@@ -82,6 +82,24 @@ class EntityLifecycleCoordinatorTest extends BaseUnitTest {
         assertThat(lifecycleService.isAiEntity(nonAiEntityId)).isFalse(); // Non-AI should not be registered
     }
 
+    @Test
+    void shouldReconnectWithoutPerEntityLookups() {
+        EntityId[] entityIds = new EntityId[50];
+        for (int i = 0; i < entityIds.length; i++) {
+            entityIds[i] = EntityId.generate();
+            fakePersistence.saveAiState(entityIds[i],
+                AiEntityState.createAiControlled(AIState.IDLE, "ai_controlled_wolf"));
+        }
+
+        lifecycleService.reconnectAiEntities();
+
+        // Reconnect reads every state in one pass instead of loading entities one by one
+        assertThat(fakePersistence.getSingleLoadCount()).isZero();
+        for (EntityId entityId : entityIds) {
+            assertThat(lifecycleService.isAiEntity(entityId)).isTrue();
+        }
+    }
+
     @Test
     void shouldHandleEmptyPersistenceOnReconnect() {
         // No persisted entities
@@ -124,4 +142,65 @@ class EntityLifecycleCoordinatorTest extends BaseUnitTest {
         assertThat(lifecycleService.isAiEntity(persistedEntity)).isTrue();
         assertThat(lifecycleService.isAiEntity(unknownEntity)).isFalse();
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldCacheNegativeAnswersUntilAnEntityLoads() {
+        EntityId unknownEntity = EntityId.generate();
+
+        assertThat(lifecycleService.isAiEntity(unknownEntity)).isFalse();
+        assertThat(lifecycleService.isAiEntity(unknownEntity)).isFalse();
+        assertThat(fakePersistence.getSingleLoadCount()).isEqualTo(1);
+
+        // Persisted elsewhere, then loaded into the world
+        fakePersistence.saveAiState(unknownEntity, AiEntityState.createAiControlled(AIState.IDLE, "ai_controlled_wolf"));
+        lifecycleService.onAiEntityLoaded(unknownEntity);
+
+        assertThat(lifecycleService.isAiEntity(unknownEntity)).isTrue();
+    }
+
+    @Test
+    void shouldRuleOutUnpersistedIdsWithBloomFilter() {
+        EntityLifecycleService cached = new EntityLifecycleCoordinator(fakePersistence, 16, true);
+        EntityId persistedEntity = EntityId.generate();
+        fakePersistence.saveAiState(persistedEntity, AiEntityState.createAiControlled(AIState.IDLE, "ai_controlled_wolf"));
+        cached.reconnectAiEntities();
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(cached.isAiEntity(EntityId.generate())).isFalse();
+        }
+
+        // A 1% filter lets only a few of the unknown ids through to persistence
+        assertThat(fakePersistence.getSingleLoadCount()).isLessThan(10);
+        assertThat(cached.isAiEntity(persistedEntity)).isTrue();
+    }
+
+    @Test
+    void shouldSeeEntitiesPersistedAfterReconnectOnceTheyLoad() {
+        EntityLifecycleService cached = new EntityLifecycleCoordinator(fakePersistence, 16, true);
+        cached.reconnectAiEntities();
+        EntityId spawnedEntity = EntityId.generate();
+        fakePersistence.saveAiState(spawnedEntity, AiEntityState.createAiControlled(AIState.IDLE, "ai_controlled_wolf"));
+
+        cached.onAiEntityLoaded(spawnedEntity);
+
+        assertThat(cached.isAiEntity(spawnedEntity)).isTrue();
+    }
+
+    @Test
+    void shouldRegisterBatchOfSpawnedEntities() {
+        EntityLifecycleService cached = new EntityLifecycleCoordinator(fakePersistence, 16, true);
+        cached.reconnectAiEntities();
+        java.util.List<EntityId> spawned = new java.util.ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            spawned.add(EntityId.generate());
+        }
+
+        cached.registerAiEntities(spawned);
+
+        assertThat(fakePersistence.getPersistedEntityCount()).isEqualTo(200);
+        for (EntityId entityId : spawned) {
+            assertThat(cached.isAiEntity(entityId)).isTrue();
+            assertThat(fakePersistence.loadAiState(entityId).getCurrentState()).isEqualTo(AIState.IDLE);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.aimobs.entity.ai.application;
+
+import com.aimobs.test.BaseUnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class PlayerIndexTest extends BaseUnitTest {
+
+    private PlayerIndex<String> index;
+    private UUID aliceId;
+
+    @BeforeEach
+    void setUp() {
+        index = new PlayerIndex<>();
+        aliceId = UUID.randomUUID();
+        index.add(aliceId, "Alice", "alice-entity");
+    }
+
+    @Test
+    void shouldFindPlayerByNameIgnoringCase() {
+        assertEquals(Optional.of("alice-entity"), index.findByName("alice"));
+        assertEquals(Optional.of("alice-entity"), index.findByName("ALICE"));
+        assertTrue(index.findByName("Bob").isEmpty());
+    }
+
+    @Test
+    void shouldFindPlayerByUuidOrName() {
+        assertEquals(Optional.of("alice-entity"), index.find(aliceId.toString()));
+        assertEquals(Optional.of("alice-entity"), index.find("Alice"));
+        assertTrue(index.find(UUID.randomUUID().toString()).isEmpty());
+    }
+
+    @Test
+    void shouldReplaceEntityOnRespawn() {
+        index.add(aliceId, "Alice", "respawned-entity");
+
+        assertEquals(Optional.of("respawned-entity"), index.findByUuid(aliceId));
+        assertEquals(Optional.of("respawned-entity"), index.findByName("alice"));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void shouldForgetPlayerWhoLeft() {
+        assertTrue(index.remove(aliceId));
+
+        assertTrue(index.findByName("Alice").isEmpty());
+        assertTrue(index.findByUuid(aliceId).isEmpty());
+        assertFalse(index.remove(aliceId));
+    }
+
+    @Test
+    void shouldKeepNameTakenOverByAnotherPlayer() {
+        // An offline-mode name reused by a new UUID before the old session is closed
+        UUID otherId = UUID.randomUUID();
+        index.add(otherId, "alice", "other-entity");
+
+        index.remove(aliceId);
+
+        assertEquals(Optional.of("other-entity"), index.findByName("Alice"));
+    }
+}
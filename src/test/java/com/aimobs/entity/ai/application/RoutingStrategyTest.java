@@ -0,0 +1,103 @@
+package com.aimobs.entity.ai.application;
+
+import com.aimobs.entity.ai.CommandReceiver;
+import com.aimobs.entity.ai.RoutingStrategy;
+import com.aimobs.entity.ai.core.EntityId;
+import com.aimobs.entity.ai.core.RoutingHint;
+import com.aimobs.test.BaseUnitTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.*;
+
+@Tag("unit")
+class RoutingStrategyTest extends BaseUnitTest {
+
+    private CommandReceiver receiver(int queued, double squaredDistance) {
+        CommandReceiver receiver = mock(CommandReceiver.class);
+        when(receiver.getEntityId()).thenReturn(EntityId.generate());
+        when(receiver.getQueuedCommandCount()).thenReturn(queued);
+        when(receiver.squaredDistanceTo(anyDouble(), anyDouble(), anyDouble())).thenReturn(squaredDistance);
+        return receiver;
+    }
+
+    @Test
+    void leastQueuedShouldPickShortestQueue() {
+        CommandReceiver busy = receiver(5, 0);
+        CommandReceiver quiet = receiver(2, 0);
+        CommandReceiver quieter = receiver(1, 0);
+
+        Optional<CommandReceiver> chosen = new LeastQueuedRoutingStrategy()
+            .select(List.of(busy, quiet, quieter), RoutingHint.none());
+
+        assertEquals(Optional.of(quieter), chosen);
+    }
+
+    @Test
+    void nearestShouldPickClosestReceiverToPlayer() {
+        CommandReceiver far = receiver(0, 400);
+        CommandReceiver near = receiver(3, 9);
+
+        Optional<CommandReceiver> chosen = new NearestRoutingStrategy(new LeastQueuedRoutingStrategy())
+            .select(List.of(far, near), RoutingHint.at("Steve", 10, 64, 10));
+
+        assertEquals(Optional.of(near), chosen);
+    }
+
+    @Test
+    void nearestShouldFallBackWithoutPlayerPosition() {
+        CommandReceiver far = receiver(0, 400);
+        CommandReceiver near = receiver(3, 9);
+
+        Optional<CommandReceiver> chosen = new NearestRoutingStrategy(new LeastQueuedRoutingStrategy())
+            .select(List.of(far, near), RoutingHint.forPlayer("Steve"));
+
+        assertEquals(Optional.of(far), chosen);
+    }
+
+    @Test
+    void roundRobinShouldCycleThroughCandidates() {
+        CommandReceiver a = receiver(0, 0);
+        CommandReceiver b = receiver(0, 0);
+        CommandReceiver c = receiver(0, 0);
+        RoutingStrategy strategy = new RoundRobinRoutingStrategy();
+        List<CommandReceiver> candidates = List.of(a, b, c);
+
+        assertEquals(Optional.of(a), strategy.select(candidates, RoutingHint.none()));
+        assertEquals(Optional.of(b), strategy.select(candidates, RoutingHint.none()));
+        assertEquals(Optional.of(c), strategy.select(candidates, RoutingHint.none()));
+        assertEquals(Optional.of(a), strategy.select(candidates, RoutingHint.none()));
+        // A shrunken candidate list wraps instead of overrunning
+        assertEquals(Optional.of(b), strategy.select(List.of(a, b), RoutingHint.none()));
+    }
+
+    @Test
+    void stickyShouldKeepPlayerOnSameReceiver() {
+        CommandReceiver first = receiver(4, 0);
+        CommandReceiver second = receiver(0, 0);
+        RoutingStrategy strategy = new StickyRoutingStrategy(new LeastQueuedRoutingStrategy());
+
+        assertEquals(Optional.of(first), strategy.select(List.of(first), RoutingHint.forPlayer("Steve")));
+        // Stays with the first receiver although the second is less busy
+        assertEquals(Optional.of(first), strategy.select(List.of(first, second), RoutingHint.forPlayer("Steve")));
+        // Other players are routed independently
+        assertEquals(Optional.of(second), strategy.select(List.of(first, second), RoutingHint.forPlayer("Alex")));
+    }
+
+    @Test
+    void stickyShouldMoveSessionWhenReceiverIsGone() {
+        CommandReceiver first = receiver(0, 0);
+        CommandReceiver second = receiver(0, 0);
+        RoutingStrategy strategy = new StickyRoutingStrategy(new LeastQueuedRoutingStrategy());
+
+        strategy.select(List.of(first), RoutingHint.forPlayer("Steve"));
+
+        assertEquals(Optional.of(second), strategy.select(List.of(second), RoutingHint.forPlayer("Steve")));
+        assertEquals(Optional.of(second), strategy.select(List.of(first, second), RoutingHint.forPlayer("Steve")));
+    }
+}
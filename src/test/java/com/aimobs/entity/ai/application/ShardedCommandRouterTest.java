@@ -0,0 +1,139 @@
+package com.aimobs.entity.ai.application;
+
+import com.aimobs.entity.ai.CommandReceiver;
+import com.aimobs.entity.ai.CommandRoutingService;
+import com.aimobs.entity.ai.core.EntityId;
+import com.aimobs.entity.ai.core.RoutingHint;
+import com.aimobs.test.BaseUnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@Tag("unit")
+class ShardedCommandRouterTest extends BaseUnitTest {
+
+    private static final String OVERWORLD = "minecraft:overworld";
+    private static final String NETHER = "minecraft:the_nether";
+
+    private WolfGroupRegistry groups;
+    private ShardedCommandRouter router;
+    private CommandRoutingService overworld;
+    private CommandRoutingService nether;
+
+    @BeforeEach
+    void setUp() {
+        groups = new WolfGroupRegistry();
+        router = new ShardedCommandRouter(groups);
+        overworld = mock(CommandRoutingService.class);
+        nether = mock(CommandRoutingService.class);
+        when(overworld.selectReceiver(any(), any(), anyInt())).thenReturn(Optional.empty());
+        when(nether.selectReceiver(any(), any(), anyInt())).thenReturn(Optional.empty());
+        router.putShard(OVERWORLD, overworld);
+        router.putShard(NETHER, nether);
+    }
+
+    @Test
+    void shouldSendTargetedCommandOnlyToEntitysDimension() {
+        EntityId wolfId = EntityId.generate();
+        CommandReceiver wolf = mock(CommandReceiver.class);
+        router.onEntityLoaded(wolfId, NETHER);
+        when(nether.selectReceiver(Optional.of(wolfId), RoutingHint.none(), 1)).thenReturn(Optional.of(wolf));
+
+        assertEquals(Optional.of(wolf), router.selectReceiver(Optional.of(wolfId), RoutingHint.none(), 1));
+
+        verify(overworld, never()).selectReceiver(any(), any(), anyInt());
+    }
+
+    @Test
+    void shouldNotFindEntityThatIsNotLoaded() {
+        assertTrue(router.selectReceiver(Optional.of(EntityId.generate()), RoutingHint.none(), 1).isEmpty());
+
+        verify(overworld, never()).selectReceiver(any(), any(), anyInt());
+        verify(nether, never()).selectReceiver(any(), any(), anyInt());
+    }
+
+    @Test
+    void shouldReportWhetherEntityIsLoaded() {
+        EntityId wolfId = EntityId.generate();
+        assertFalse(router.isEntityLoaded(wolfId));
+
+        router.onEntityLoaded(wolfId, OVERWORLD);
+        assertTrue(router.isEntityLoaded(wolfId));
+
+        router.onEntityUnloaded(wolfId, OVERWORLD);
+        assertFalse(router.isEntityLoaded(wolfId));
+    }
+
+    @Test
+    void shouldFollowEntityAcrossDimensions() {
+        EntityId wolfId = EntityId.generate();
+        router.onEntityLoaded(wolfId, OVERWORLD);
+
+        // The load in the new dimension can be reported before the unload from the old one
+        router.onEntityLoaded(wolfId, NETHER);
+        router.onEntityUnloaded(wolfId, OVERWORLD);
+
+        assertEquals(Optional.of(NETHER), router.getDimension(wolfId));
+        router.onEntityUnloaded(wolfId, NETHER);
+        assertTrue(router.getDimension(wolfId).isEmpty());
+    }
+
+    @Test
+    void shouldPreferShardOfPlayersDimension() {
+        CommandReceiver netherWolf = mock(CommandReceiver.class);
+        RoutingHint hint = RoutingHint.forPlayer("Steve").inDimension(NETHER);
+        when(nether.selectReceiver(Optional.empty(), hint, 1)).thenReturn(Optional.of(netherWolf));
+
+        assertEquals(Optional.of(netherWolf), router.selectReceiver(Optional.empty(), hint, 1));
+
+        verify(overworld, never()).selectReceiver(any(), any(), anyInt());
+    }
+
+    @Test
+    void shouldFallThroughShardsInLoadOrder() {
+        CommandReceiver netherWolf = mock(CommandReceiver.class);
+        when(nether.selectReceiver(Optional.empty(), RoutingHint.none(), 2)).thenReturn(Optional.of(netherWolf));
+
+        assertEquals(Optional.of(netherWolf), router.selectReceiver(Optional.empty(), RoutingHint.none(), 2));
+
+        verify(overworld).selectReceiver(Optional.empty(), RoutingHint.none(), 2);
+    }
+
+    @Test
+    void shouldCollectGroupMembersFromEveryDimension() {
+        EntityId first = EntityId.generate();
+        EntityId second = EntityId.generate();
+        CommandReceiver overworldWolf = mock(CommandReceiver.class);
+        CommandReceiver netherWolf = mock(CommandReceiver.class);
+        groups.addMember("pack", first);
+        groups.addMember("pack", second);
+        router.onEntityLoaded(first, OVERWORLD);
+        router.onEntityLoaded(second, NETHER);
+        when(overworld.selectReceiver(Optional.of(first), RoutingHint.none(), 1)).thenReturn(Optional.of(overworldWolf));
+        when(nether.selectReceiver(Optional.of(second), RoutingHint.none(), 1)).thenReturn(Optional.of(netherWolf));
+
+        assertEquals(List.of(overworldWolf, netherWolf), router.selectGroup("pack", 1));
+    }
+
+    @Test
+    void shouldDropEntitiesOfRemovedShard() {
+        EntityId wolfId = EntityId.generate();
+        router.onEntityLoaded(wolfId, NETHER);
+        when(overworld.getQueueHeadroom()).thenReturn(3);
+        when(nether.getQueueHeadroom()).thenReturn(4);
+        assertEquals(7, router.getQueueHeadroom());
+
+        router.removeShard(NETHER);
+
+        assertTrue(router.getDimension(wolfId).isEmpty());
+        assertEquals(3, router.getQueueHeadroom());
+    }
+}
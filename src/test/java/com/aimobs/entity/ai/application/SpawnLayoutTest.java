@@ -0,0 +1,40 @@
+package com.aimobs.entity.ai.application;
+
+import com.aimobs.test.BaseUnitTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class SpawnLayoutTest extends BaseUnitTest {
+
+    @Test
+    void shouldKeepEveryPointInsideRadius() {
+        for (int i = 0; i < 200; i++) {
+            double[] offset = SpawnLayout.offset(i, 200, 10);
+            assertTrue(Math.hypot(offset[0], offset[1]) <= 10, "Point " + i + " outside the disc");
+        }
+    }
+
+    @Test
+    void shouldKeepPointsApart() {
+        int count = 100;
+        double radius = 10;
+        // Each point covers about pi * r^2 / count, so neighbours sit about r / sqrt(count) apart
+        double minimumGap = 0.5 * radius / Math.sqrt(count);
+        for (int i = 0; i < count; i++) {
+            double[] a = SpawnLayout.offset(i, count, radius);
+            for (int j = i + 1; j < count; j++) {
+                double[] b = SpawnLayout.offset(j, count, radius);
+                assertTrue(Math.hypot(a[0] - b[0], a[1] - b[1]) > minimumGap, "Points " + i + " and " + j + " overlap");
+            }
+        }
+    }
+
+    @Test
+    void shouldPutPointsAtCentreWithoutRadius() {
+        assertArrayEquals(new double[] {0, 0}, SpawnLayout.offset(3, 10, 0));
+        assertArrayEquals(new double[] {0, 0}, SpawnLayout.offset(0, 1, 5));
+    }
+}
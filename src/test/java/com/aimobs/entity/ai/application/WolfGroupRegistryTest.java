@@ -0,0 +1,69 @@
+package com.aimobs.entity.ai.application;
+
+import com.aimobs.entity.ai.core.EntityId;
+import com.aimobs.test.BaseUnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class WolfGroupRegistryTest extends BaseUnitTest {
+
+    private WolfGroupRegistry groups;
+
+    @BeforeEach
+    void setUp() {
+        groups = new WolfGroupRegistry();
+    }
+
+    @Test
+    void shouldKeepMembersInJoinOrder() {
+        EntityId first = EntityId.generate();
+        EntityId second = EntityId.generate();
+
+        assertTrue(groups.addMember("pack", first));
+        assertTrue(groups.addMember("pack", second));
+        assertFalse(groups.addMember("pack", first), "Already a member");
+
+        assertEquals(List.of(first, second), List.copyOf(groups.getMembers("pack")));
+        assertEquals(Set.of("pack"), groups.getGroupNames());
+    }
+
+    @Test
+    void shouldRemoveGroupWhenLastMemberLeaves() {
+        EntityId member = EntityId.generate();
+        groups.addMember("scouts", member);
+
+        assertTrue(groups.removeMember("scouts", member));
+        assertFalse(groups.removeMember("scouts", member));
+
+        assertTrue(groups.getMembers("scouts").isEmpty());
+        assertTrue(groups.getGroupNames().isEmpty());
+    }
+
+    @Test
+    void shouldHandOutStableSnapshots() {
+        EntityId first = EntityId.generate();
+        groups.addMember("pack", first);
+        Set<EntityId> snapshot = groups.getMembers("pack");
+
+        groups.addMember("pack", EntityId.generate());
+
+        assertEquals(Set.of(first), snapshot);
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add(EntityId.generate()));
+    }
+
+    @Test
+    void shouldDisbandGroup() {
+        groups.addMember("pack", EntityId.generate());
+
+        assertTrue(groups.removeGroup("pack"));
+        assertFalse(groups.removeGroup("pack"));
+        assertFalse(groups.addMember(" ", EntityId.generate()), "Blank names are refused");
+    }
+}
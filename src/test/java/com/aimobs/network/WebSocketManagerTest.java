@@ -101,7 +101,7 @@ class WebSocketManagerTest extends BaseUnitTest {
         
         verify(mockMessageService).parseMessage(validJson);
         verify(mockMessageService).validateMessage(validMessage);
-        verify(mockMessageService).convertToCommand(validMessage);
+        verify(mockMessageService).dispatchMessage(validMessage);
     }
     
     @Test
@@ -115,7 +115,7 @@ class WebSocketManagerTest extends BaseUnitTest {
         
         verify(mockMessageService).parseMessage(invalidJson);
         verify(mockMessageService, never()).validateMessage(any());
-        verify(mockMessageService, never()).convertToCommand(any());
+        verify(mockMessageService, never()).dispatchMessage(any());
     }
     
     @Test
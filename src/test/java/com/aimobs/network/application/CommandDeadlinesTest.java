@@ -0,0 +1,89 @@
+package com.aimobs.network.application;
+
+import com.aimobs.entity.ai.core.AICommand;
+import com.aimobs.network.core.Action;
+import com.aimobs.network.core.NetworkMessage;
+import com.aimobs.test.BaseUnitTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class CommandDeadlinesTest extends BaseUnitTest {
+
+    private static final long NOW = Instant.parse("2025-01-21T10:30:00Z").toEpochMilli();
+
+    @Test
+    void shouldAddActionTtlToMessageTimestamp() {
+        CommandDeadlines deadlines = CommandDeadlines.defaults(30_000);
+
+        assertEquals(NOW - 1_000 + 15_000, deadlines.deadlineFor("2025-01-21T10:29:59Z", Action.MOVE, NOW));
+        assertEquals(NOW - 1_000 + 60_000, deadlines.deadlineFor("2025-01-21T10:29:59Z", Action.COLLECT, NOW));
+    }
+
+    @Test
+    void shouldUseDefaultTtlForActionsWithoutOne() {
+        CommandDeadlines deadlines = new CommandDeadlines(20_000).setTtl(Action.STOP, 5_000);
+
+        assertEquals(NOW + 20_000, deadlines.deadlineFor("2025-01-21T10:30:00Z", Action.ATTACK, NOW));
+        assertEquals(NOW + 5_000, deadlines.deadlineFor("2025-01-21T10:30:00Z", Action.STOP, NOW));
+    }
+
+    @Test
+    void shouldCountFutureOrUnparseableTimestampsFromArrival() {
+        CommandDeadlines deadlines = new CommandDeadlines(10_000);
+
+        assertEquals(NOW + 10_000, deadlines.deadlineFor("2025-01-21T11:00:00Z", Action.MOVE, NOW));
+        assertEquals(NOW + 10_000, deadlines.deadlineFor("yesterday", Action.MOVE, NOW));
+        assertEquals(NOW + 10_000, deadlines.deadlineFor(null, Action.MOVE, NOW));
+    }
+
+    @Test
+    void shouldNotGiveDeadlinesWhenDisabled() {
+        assertEquals(AICommand.NO_DEADLINE, CommandDeadlines.none().deadlineFor("2000-01-01T00:00:00Z", Action.MOVE, NOW));
+        CommandDeadlines deadlines = new CommandDeadlines(10_000).setTtl(Action.COLLECT, 0);
+        assertEquals(AICommand.NO_DEADLINE, deadlines.deadlineFor("2000-01-01T00:00:00Z", Action.COLLECT, NOW));
+    }
+
+    @Test
+    void shouldExpireMessagePastItsDeadline() {
+        CommandDeadlines deadlines = new CommandDeadlines(10_000);
+
+        assertTrue(deadlines.isExpired(message("2025-01-21T10:29:50Z", "move"), NOW));
+        assertFalse(deadlines.isExpired(message("2025-01-21T10:29:51Z", "move"), NOW));
+    }
+
+    @Test
+    void shouldExpireBatchOnlyWhenEveryStepExpired() {
+        CommandDeadlines deadlines = new CommandDeadlines(10_000).setTtl(Action.COLLECT, 60_000);
+        NetworkMessage.MessageData steps = new NetworkMessage.MessageData(List.of(
+            new NetworkMessage.MessageData("move", Map.of(), Map.of()),
+            new NetworkMessage.MessageData("collect", Map.of(), Map.of())), Map.of());
+
+        assertFalse(deadlines.isExpired(new NetworkMessage("batch", "2025-01-21T10:29:30Z", steps), NOW));
+        assertTrue(deadlines.isExpired(new NetworkMessage("batch", "2025-01-21T10:29:00Z", steps), NOW));
+    }
+
+    @Test
+    void shouldGiveBatchTheDeadlineOfItsLastStep() {
+        CommandDeadlines deadlines = new CommandDeadlines(10_000).setTtl(Action.COLLECT, 60_000);
+        NetworkMessage.MessageData steps = new NetworkMessage.MessageData(List.of(
+            new NetworkMessage.MessageData("collect", Map.of(), Map.of()),
+            new NetworkMessage.MessageData("move", Map.of(), Map.of())), Map.of());
+
+        assertEquals(NOW + 60_000,
+            deadlines.latestDeadline(new NetworkMessage("batch", "2025-01-21T10:30:00Z", steps), NOW));
+        assertEquals(NOW + 10_000, deadlines.latestDeadline(message("2025-01-21T10:30:00Z", "move"), NOW));
+        assertEquals(AICommand.NO_DEADLINE,
+            CommandDeadlines.none().latestDeadline(message("2025-01-21T10:30:00Z", "move"), NOW));
+    }
+
+    private static NetworkMessage message(String timestamp, String action) {
+        return new NetworkMessage("command", timestamp, new NetworkMessage.MessageData(action, Map.of(), Map.of()));
+    }
+}
@@ -0,0 +1,63 @@
+package com.aimobs.network.application;
+
+import com.aimobs.test.BaseUnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class CreditControllerTest extends BaseUnitTest {
+    
+    private CreditController credits;
+    
+    @BeforeEach
+    void setUp() {
+        credits = new CreditController(10, 50);
+    }
+    
+    @Test
+    void shouldGrantQueueHeadroomUpToTickLimit() {
+        assertEquals(4, credits.refresh(4));
+        assertEquals(10, credits.refresh(100));
+        assertEquals(0, credits.refresh(0));
+    }
+    
+    @Test
+    void shouldShrinkGrantWhenTicksRunLong() {
+        credits.recordTickDuration(TimeUnit.MILLISECONDS.toNanos(30));
+        assertEquals(10, credits.refresh(100));
+        
+        credits.recordTickDuration(TimeUnit.MILLISECONDS.toNanos(45));
+        assertEquals(5, credits.refresh(100));
+        
+        credits.recordTickDuration(TimeUnit.MILLISECONDS.toNanos(60));
+        assertEquals(0, credits.refresh(100));
+    }
+    
+    @Test
+    void shouldSpendCreditsPerCommand() {
+        credits.refresh(3);
+        
+        assertTrue(credits.hasCredit(3));
+        credits.consume(2);
+        assertTrue(credits.hasCredit(1));
+        assertFalse(credits.hasCredit(2));
+    }
+    
+    @Test
+    void shouldAdvertiseOnlyChangedGrants() {
+        credits.refresh(5);
+        assertTrue(credits.shouldAdvertise());
+        credits.markAdvertised();
+        
+        credits.refresh(5);
+        assertFalse(credits.shouldAdvertise());
+        
+        credits.forceAdvertise();
+        assertTrue(credits.shouldAdvertise());
+    }
+}
@@ -0,0 +1,120 @@
+package com.aimobs.network.application;
+
+import com.aimobs.entity.ai.core.EntityId;
+import com.aimobs.network.core.NetworkMessage;
+import com.aimobs.test.BaseUnitTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class DeferredCommandInboxTest extends BaseUnitTest {
+
+    private static final long TTL_MS = 1000;
+    private static final long TTL_NANOS = TimeUnit.MILLISECONDS.toNanos(TTL_MS);
+
+    @Test
+    void shouldReturnHeldMessagesInArrivalOrder() {
+        DeferredCommandInbox inbox = new DeferredCommandInbox(16, 4, TTL_MS);
+        EntityId wolf = EntityId.generate();
+        NetworkMessage first = message("move");
+        NetworkMessage second = message("stop");
+
+        assertTrue(inbox.defer(wolf, first, 0));
+        assertTrue(inbox.defer(wolf, second, 10));
+
+        assertEquals(List.of(first, second), inbox.take(wolf, 20));
+        assertEquals(0, inbox.size());
+        assertTrue(inbox.take(wolf, 20).isEmpty());
+    }
+
+    @Test
+    void shouldKeepEntitiesApart() {
+        DeferredCommandInbox inbox = new DeferredCommandInbox(16, 4, TTL_MS);
+        EntityId first = EntityId.generate();
+        EntityId second = EntityId.generate();
+        NetworkMessage message = message("move");
+
+        inbox.defer(first, message, 0);
+
+        assertTrue(inbox.take(second, 0).isEmpty());
+        assertEquals(1, inbox.getEntityCount());
+        assertEquals(List.of(message), inbox.take(first, 0));
+    }
+
+    @Test
+    void shouldDropAndCountExpiredMessages() {
+        DeferredCommandInbox inbox = new DeferredCommandInbox(16, 4, TTL_MS);
+        EntityId wolf = EntityId.generate();
+        NetworkMessage late = message("stop");
+
+        inbox.defer(wolf, message("move"), 0);
+        inbox.defer(wolf, late, TTL_NANOS / 2);
+
+        assertEquals(List.of(late), inbox.take(wolf, TTL_NANOS));
+        assertEquals(1, inbox.getExpiredCount());
+
+        inbox.defer(wolf, message("move"), 0);
+        assertEquals(1, inbox.purgeExpired(TTL_NANOS));
+        assertEquals(0, inbox.size());
+        assertEquals(0, inbox.getEntityCount());
+        assertEquals(2, inbox.getExpiredCount());
+    }
+
+    @Test
+    void shouldHoldMessageNoLongerThanItsOwnDeadline() {
+        DeferredCommandInbox inbox = new DeferredCommandInbox(16, 4, TTL_MS);
+        EntityId wolf = EntityId.generate();
+        NetworkMessage collect = message("collect");
+
+        inbox.defer(wolf, collect, 0);
+        inbox.defer(wolf, message("move"), 0, TTL_NANOS / 4);
+
+        assertEquals(1, inbox.purgeExpired(TTL_NANOS / 4), "The short-lived message expires first");
+        assertEquals(1, inbox.getExpiredCount());
+        assertEquals(List.of(collect), inbox.take(wolf, TTL_NANOS / 2));
+    }
+
+    @Test
+    void shouldRefuseMessagesBeyondLimits() {
+        DeferredCommandInbox inbox = new DeferredCommandInbox(3, 2, TTL_MS);
+        EntityId first = EntityId.generate();
+        EntityId second = EntityId.generate();
+
+        assertTrue(inbox.defer(first, message("move"), 0));
+        assertTrue(inbox.defer(first, message("move"), 0));
+        assertFalse(inbox.defer(first, message("move"), 0), "Per-entity limit reached");
+
+        assertTrue(inbox.defer(second, message("move"), 0));
+        assertFalse(inbox.defer(second, message("move"), 0), "Total capacity reached");
+        assertEquals(2, inbox.getRefusedCount());
+    }
+
+    @Test
+    void shouldMakeRoomByExpiringWhenFull() {
+        DeferredCommandInbox inbox = new DeferredCommandInbox(1, 1, TTL_MS);
+
+        inbox.defer(EntityId.generate(), message("move"), 0);
+
+        assertTrue(inbox.defer(EntityId.generate(), message("move"), TTL_NANOS));
+        assertEquals(1, inbox.size());
+        assertEquals(1, inbox.getExpiredCount());
+        assertEquals(0, inbox.getRefusedCount());
+    }
+
+    @Test
+    void shouldRejectNonPositiveLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new DeferredCommandInbox(0, 1, TTL_MS));
+        assertThrows(IllegalArgumentException.class, () -> new DeferredCommandInbox(1, 1, 0));
+    }
+
+    private static NetworkMessage message(String action) {
+        return new NetworkMessage("command", "2025-01-21T10:30:00Z",
+            new NetworkMessage.MessageData(action, Map.of(), Map.of()));
+    }
+}
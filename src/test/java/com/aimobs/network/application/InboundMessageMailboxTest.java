@@ -0,0 +1,131 @@
+package com.aimobs.network.application;
+
+import com.aimobs.test.BaseUnitTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Tag;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class InboundMessageMailboxTest extends BaseUnitTest {
+
+    @Test
+    void shouldRoundCapacityUpToPowerOfTwo() {
+        InboundMessageMailbox mailbox = new InboundMessageMailbox(100);
+
+        assertEquals(128, mailbox.capacity());
+    }
+
+    @Test
+    void shouldRejectNonPositiveCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new InboundMessageMailbox(0));
+    }
+
+    @Test
+    void shouldDrainInArrivalOrder() {
+        InboundMessageMailbox mailbox = new InboundMessageMailbox(8);
+        mailbox.offer("a");
+        mailbox.offer("b");
+        mailbox.offer("c");
+
+        List<String> drained = new ArrayList<>();
+        int handled = mailbox.drain(drained::add, 10);
+
+        assertEquals(3, handled);
+        assertEquals(List.of("a", "b", "c"), drained);
+        assertTrue(mailbox.isEmpty());
+    }
+
+    @Test
+    void shouldRespectDrainBudget() {
+        InboundMessageMailbox mailbox = new InboundMessageMailbox(8);
+        for (int i = 0; i < 5; i++) {
+            mailbox.offer("m" + i);
+        }
+
+        List<String> drained = new ArrayList<>();
+        assertEquals(2, mailbox.drain(drained::add, 2));
+        assertEquals(3, mailbox.size());
+
+        assertEquals(3, mailbox.drain(drained::add, 10));
+        assertEquals(List.of("m0", "m1", "m2", "m3", "m4"), drained);
+        assertEquals(5, mailbox.getDrainedMessageCount());
+    }
+
+    @Test
+    void shouldDropWhenFull() {
+        InboundMessageMailbox mailbox = new InboundMessageMailbox(2);
+
+        assertTrue(mailbox.offer("a"));
+        assertTrue(mailbox.offer("b"));
+        assertFalse(mailbox.offer("c"));
+
+        assertEquals(1, mailbox.getDroppedMessageCount());
+        assertEquals("a", mailbox.poll());
+        assertTrue(mailbox.offer("d"));
+    }
+
+    @Test
+    void shouldIgnoreNullMessages() {
+        InboundMessageMailbox mailbox = new InboundMessageMailbox(2);
+
+        assertFalse(mailbox.offer(null));
+        assertTrue(mailbox.isEmpty());
+    }
+
+    @Test
+    void shouldWrapAroundRingRepeatedly() {
+        InboundMessageMailbox mailbox = new InboundMessageMailbox(4);
+
+        for (int i = 0; i < 50; i++) {
+            assertTrue(mailbox.offer("m" + i));
+            assertEquals("m" + i, mailbox.poll());
+        }
+        assertNull(mailbox.poll());
+    }
+
+    @Test
+    void shouldAcceptConcurrentProducers() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 2000;
+        InboundMessageMailbox mailbox = new InboundMessageMailbox(producers * perProducer);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(producers);
+
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < perProducer; i++) {
+                        mailbox.offer(producer + ":" + i);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+            thread.start();
+        }
+
+        start.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+
+        // Per-producer order must be preserved
+        int[] next = new int[producers];
+        int total = mailbox.drain(message -> {
+            String[] parts = message.split(":");
+            int producer = Integer.parseInt(parts[0]);
+            assertEquals(next[producer]++, Integer.parseInt(parts[1]));
+        }, Integer.MAX_VALUE);
+
+        assertEquals(producers * perProducer, total);
+        assertEquals(0, mailbox.getDroppedMessageCount());
+    }
+}
@@ -0,0 +1,52 @@
+package com.aimobs.network.application;
+
+import com.aimobs.test.BaseUnitTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class LatencyHistogramTest extends BaseUnitTest {
+    
+    @Test
+    void shouldReportZeroWhenEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram(8);
+        
+        assertEquals(0, histogram.size());
+        assertEquals(0, histogram.percentile(50));
+        assertEquals(0, histogram.max());
+    }
+    
+    @Test
+    void shouldComputePercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram(100);
+        for (int i = 100; i >= 1; i--) {
+            histogram.record(i);
+        }
+        
+        assertEquals(50, histogram.percentile(50));
+        assertEquals(99, histogram.percentile(99));
+        assertEquals(100, histogram.percentile(100));
+        assertEquals(1, histogram.percentile(0));
+        assertEquals(100, histogram.max());
+    }
+    
+    @Test
+    void shouldKeepOnlyMostRecentWindow() {
+        LatencyHistogram histogram = new LatencyHistogram(3);
+        histogram.record(1000);
+        histogram.record(1);
+        histogram.record(2);
+        histogram.record(3);
+        
+        assertEquals(3, histogram.size());
+        assertEquals(4, histogram.getTotalSamples());
+        assertEquals(3, histogram.max(), "Evicted sample must not count");
+    }
+    
+    @Test
+    void shouldRejectNonPositiveWindow() {
+        assertThrows(IllegalArgumentException.class, () -> new LatencyHistogram(0));
+    }
+}
@@ -0,0 +1,79 @@
+package com.aimobs.network.application;
+
+import com.aimobs.test.BaseUnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class LinkHealthMonitorTest extends BaseUnitTest {
+    
+    private LinkHealthMonitor monitor;
+    
+    @BeforeEach
+    void setUp() {
+        monitor = new LinkHealthMonitor(1000, 3000);
+        monitor.reset(0);
+    }
+    
+    @Test
+    void shouldSchedulePingAfterInterval() {
+        assertFalse(monitor.isPingDue(ms(999)));
+        assertTrue(monitor.isPingDue(ms(1000)));
+        
+        monitor.onPingSent(ms(1000));
+        assertFalse(monitor.isPingDue(ms(2500)), "Only one ping outstanding at a time");
+    }
+    
+    @Test
+    void shouldRecordRoundTripOnPong() {
+        monitor.onPingSent(ms(1000));
+        monitor.onPong(ms(1042));
+        
+        assertEquals(ms(42), monitor.getLastRttNanos());
+        assertEquals(1, monitor.getRttHistogram().size());
+        assertFalse(monitor.checkTimedOut(ms(10_000)));
+    }
+    
+    @Test
+    void shouldIgnoreUnsolicitedPong() {
+        monitor.onPong(ms(500));
+        
+        assertEquals(-1, monitor.getLastRttNanos());
+        assertEquals(0, monitor.getRttHistogram().size());
+    }
+    
+    @Test
+    void shouldTimeOutUnansweredPingOnce() {
+        monitor.onPingSent(ms(1000));
+        
+        assertFalse(monitor.checkTimedOut(ms(3999)));
+        assertTrue(monitor.checkTimedOut(ms(4000)));
+        assertFalse(monitor.checkTimedOut(ms(5000)));
+        assertEquals(1, monitor.getTimeoutCount());
+    }
+    
+    @Test
+    void shouldForgetOutstandingPingOnReset() {
+        monitor.onPingSent(ms(1000));
+        monitor.reset(ms(2000));
+        
+        assertFalse(monitor.checkTimedOut(ms(10_000)));
+        assertFalse(monitor.isPingDue(ms(2500)));
+        assertTrue(monitor.isPingDue(ms(3000)));
+    }
+    
+    @Test
+    void shouldRejectNonPositiveConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new LinkHealthMonitor(0, 1000));
+        assertThrows(IllegalArgumentException.class, () -> new LinkHealthMonitor(1000, -1));
+    }
+    
+    private static long ms(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
@@ -1,7 +1,12 @@
 package com.aimobs.network.application;
 
 import com.aimobs.entity.ai.CommandProcessorService;
+import com.aimobs.entity.ai.CommandReceiver;
+import com.aimobs.entity.ai.CommandRoutingService;
+import com.aimobs.entity.ai.EntityLifecycleService;
 import com.aimobs.entity.ai.core.AICommand;
+import com.aimobs.entity.ai.core.EntityId;
+import com.aimobs.entity.ai.core.RoutingHint;
 import com.aimobs.network.MessageService;
 import com.aimobs.network.core.NetworkMessage;
 import com.aimobs.test.BaseUnitTest;
@@ -10,8 +15,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Tag;
 import org.mockito.Mock;
 
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
 
 @Tag("unit")
 class MessageParserTest extends BaseUnitTest {
@@ -139,6 +150,324 @@ class MessageParserTest extends BaseUnitTest {
         assertEquals(0, messageService.getQueuedCommandCount());
     }
     
+    @Test
+    void shouldConvertBatchToOrderedCommands() {
+        NetworkMessage batch = new NetworkMessage("batch", "2025-01-19T10:00:00Z",
+            new NetworkMessage.MessageData(java.util.List.of(
+                createValidMessage().getData(),
+                new NetworkMessage.MessageData("stop", java.util.Map.of(), java.util.Map.of())
+            ), java.util.Map.of()));
+        
+        java.util.List<AICommand> commands = messageService.convertToCommands(batch);
+        
+        assertEquals(2, commands.size());
+    }
+    
+    @Test
+    void shouldGiveEachBatchStepTheSharedContext() {
+        NetworkMessage.MessageData follow = new NetworkMessage.MessageData(
+            "follow", java.util.Map.of(), java.util.Map.of());
+        NetworkMessage.MessageData comeHere = new NetworkMessage.MessageData(
+            "comeHere", java.util.Map.of(), java.util.Map.of("player", "Alex"));
+        NetworkMessage batch = new NetworkMessage("batch", "2025-01-19T10:00:00Z",
+            new NetworkMessage.MessageData(java.util.List.of(follow, comeHere),
+                java.util.Map.of("player", "Steve", "dimension", "minecraft:overworld")));
+        
+        NetworkMessage first = MessageParser.stepMessage(batch, follow);
+        NetworkMessage second = MessageParser.stepMessage(batch, comeHere);
+        
+        assertEquals("command", first.getType());
+        assertEquals("follow", first.getData().getAction());
+        assertEquals("Steve", first.getData().getContext().get("player"));
+        assertEquals("minecraft:overworld", first.getData().getContext().get("dimension"));
+        assertEquals("Alex", second.getData().getContext().get("player"), "Step context wins over the envelope");
+        assertEquals("minecraft:overworld", second.getData().getContext().get("dimension"));
+    }
+    
+    @Test
+    void shouldNotConvertSingleCommandAsBatch() {
+        assertTrue(messageService.convertToCommands(createValidMessage()).isEmpty());
+    }
+    
+    @Test
+    void shouldQueueBatchInOneStep() {
+        messageService.queueCommands(java.util.List.of(mock(AICommand.class), mock(AICommand.class)));
+        
+        assertEquals(2, messageService.getQueuedCommandCount());
+    }
+    
+    @Test
+    void shouldRegisterEachDeliveryOnce() {
+        NetworkMessage bySeq = createValidMessage();
+        bySeq.setSeq(7L);
+        NetworkMessage byId = createValidMessage();
+        byId.setId("plan-7");
+        
+        assertTrue(messageService.registerDelivery(bySeq));
+        assertTrue(messageService.registerDelivery(byId));
+        assertFalse(messageService.registerDelivery(bySeq));
+        assertFalse(messageService.registerDelivery(byId));
+        assertTrue(messageService.registerDelivery(createValidMessage()), "Messages without ids are never duplicates");
+    }
+    
+    @Test
+    void shouldAcceptReusedSeqAfterReconnect() {
+        NetworkMessage first = createValidMessage();
+        first.setSeq(1L);
+        NetworkMessage afterRestart = createValidMessage();
+        afterRestart.setSeq(1L);
+        
+        assertTrue(messageService.registerDelivery(first));
+        assertFalse(messageService.registerDelivery(first));
+        messageService.onBackendConnected();
+        
+        assertTrue(messageService.registerDelivery(afterRestart), "A restarted backend numbers from the start again");
+    }
+    
+    @Test
+    void shouldScopeSeqToSenderSession() {
+        NetworkMessage delivered = createValidMessage();
+        delivered.setSeq(1L);
+        delivered.setSession("backend-a");
+        NetworkMessage retransmitted = createValidMessage();
+        retransmitted.setSeq(1L);
+        retransmitted.setSession("backend-a");
+        NetworkMessage restarted = createValidMessage();
+        restarted.setSeq(1L);
+        restarted.setSession("backend-b");
+        
+        assertTrue(messageService.registerDelivery(delivered));
+        messageService.onBackendConnected();
+        
+        assertFalse(messageService.registerDelivery(retransmitted), "Same session keeps its deliveries across reconnects");
+        assertTrue(messageService.registerDelivery(restarted));
+    }
+    
+    @Test
+    void shouldForgetDeliveriesOutsideWindow() {
+        MessageService smallWindow = new MessageParser(mockCommandProcessor, null, new RecentMessageWindow(2));
+        for (long seq = 1; seq <= 3; seq++) {
+            NetworkMessage message = createValidMessage();
+            message.setSeq(seq);
+            assertTrue(smallWindow.registerDelivery(message));
+        }
+        
+        NetworkMessage oldest = createValidMessage();
+        oldest.setSeq(1L);
+        assertTrue(smallWindow.registerDelivery(oldest));
+    }
+    
+    @Test
+    void shouldDeliverCommandToReceiverChosenWithPlayerHint() {
+        CommandRoutingService router = mock(CommandRoutingService.class);
+        CommandReceiver receiver = mock(CommandReceiver.class);
+        MessageService routed = new MessageParser(mockCommandProcessor, router);
+        NetworkMessage message = createValidMessage();
+        message.getData().setContext(java.util.Map.of(
+            "player", "Steve",
+            "position", java.util.Map.of("x", 1.0, "y", 64.0, "z", -3.0)));
+        when(router.selectReceiver(Optional.empty(), RoutingHint.at("Steve", 1, 64, -3), 1))
+            .thenReturn(Optional.of(receiver));
+        when(receiver.receiveCommand(any())).thenReturn(true);
+        
+        assertTrue(routed.dispatchMessage(message));
+        
+        verify(receiver).receiveCommand(any());
+        verify(router, times(1)).selectReceiver(any(), any(), anyInt());
+        assertEquals(0, routed.getQueuedCommandCount());
+    }
+    
+    @Test
+    void shouldDeliverWholeBatchToOneReceiver() {
+        CommandRoutingService router = mock(CommandRoutingService.class);
+        CommandReceiver receiver = mock(CommandReceiver.class);
+        MessageService routed = new MessageParser(mockCommandProcessor, router);
+        NetworkMessage batch = new NetworkMessage("batch", "2025-01-19T10:00:00Z",
+            new NetworkMessage.MessageData(java.util.List.of(
+                createValidMessage().getData(),
+                new NetworkMessage.MessageData("stop", java.util.Map.of(), java.util.Map.of())
+            ), java.util.Map.of()));
+        when(router.selectReceiver(Optional.empty(), RoutingHint.none(), 2)).thenReturn(Optional.of(receiver));
+        when(receiver.receiveCommands(any())).thenReturn(true);
+        
+        assertTrue(routed.dispatchMessage(batch));
+        
+        verify(receiver).receiveCommands(argThat(commands -> commands.size() == 2));
+    }
+    
+    @Test
+    void shouldRefuseDispatchedCommandWhenNoReceiverIsAvailable() {
+        assertFalse(messageService.dispatchMessage(createValidMessage()));
+        
+        assertEquals(0, messageService.getQueuedCommandCount(), "Refused commands are not parked locally");
+        assertFalse(messageService.dispatchMessage(null));
+    }
+    
+    @Test
+    void shouldDeliverToTargetEntityOnly() {
+        CommandRoutingService router = mock(CommandRoutingService.class);
+        CommandReceiver target = mock(CommandReceiver.class);
+        MessageService routed = new MessageParser(mockCommandProcessor, router);
+        EntityId targetId = EntityId.generate();
+        NetworkMessage message = createValidMessage();
+        message.getData().setContext(java.util.Map.of("target_entity", targetId.asString()));
+        when(router.selectReceiver(eq(Optional.of(targetId)), any(), eq(1))).thenReturn(Optional.of(target));
+        when(target.receiveCommand(any())).thenReturn(true);
+        
+        assertTrue(routed.dispatchMessage(message));
+        
+        verify(target).receiveCommand(any());
+    }
+    
+    @Test
+    void shouldRefuseCommandTheReceiverCannotQueue() {
+        CommandRoutingService router = mock(CommandRoutingService.class);
+        CommandReceiver receiver = mock(CommandReceiver.class);
+        MessageService routed = new MessageParser(mockCommandProcessor, router);
+        when(router.selectReceiver(any(), any(), anyInt())).thenReturn(Optional.of(receiver));
+        when(receiver.receiveCommand(any())).thenReturn(false);
+        
+        assertFalse(routed.dispatchMessage(createValidMessage()), "A full queue turns into an unavailable reject");
+        verify(receiver).receiveCommand(any());
+    }
+    
+    @Test
+    void shouldDropCommandForUnavailableTargetEntity() {
+        CommandRoutingService router = mock(CommandRoutingService.class);
+        MessageService routed = new MessageParser(mockCommandProcessor, router);
+        NetworkMessage message = createValidMessage();
+        message.getData().setContext(java.util.Map.of("target_entity", EntityId.generate().asString()));
+        when(router.selectReceiver(any(), any(), anyInt())).thenReturn(Optional.empty());
+        when(router.isEntityLoaded(any())).thenReturn(true);
+        
+        assertFalse(routed.dispatchMessage(message));
+        assertEquals(0, routed.getQueuedCommandCount(), "Addressed commands are not parked for another wolf");
+        
+        message.getData().setContext(java.util.Map.of("target_entity", "not-a-uuid"));
+        assertFalse(routed.dispatchMessage(message));
+    }
+    
+    @Test
+    void shouldHoldCommandForUnloadedTargetUntilItLoads() {
+        CommandRoutingService router = mock(CommandRoutingService.class);
+        CommandReceiver target = mock(CommandReceiver.class);
+        MessageService routed = new MessageParser(mockCommandProcessor, router);
+        EntityId targetId = EntityId.generate();
+        when(target.getEntityId()).thenReturn(targetId);
+        when(target.receiveCommand(any())).thenReturn(true);
+        NetworkMessage message = createValidMessage();
+        message.getData().setContext(java.util.Map.of("target_entity", targetId.asString()));
+        when(router.selectReceiver(any(), any(), anyInt())).thenReturn(Optional.empty());
+        when(router.isEntityLoaded(targetId)).thenReturn(false);
+        EntityLifecycleService lifecycle = mock(EntityLifecycleService.class);
+        when(lifecycle.isAiEntity(targetId)).thenReturn(true);
+        ((MessageParser) routed).setEntityLifecycleService(lifecycle);
+        
+        assertTrue(routed.dispatchMessage(message));
+        assertEquals(0, routed.getQueuedCommandCount(), "Held commands do not enter the fallback queue");
+        assertEquals(1, routed.getDeferredStats().pending());
+        
+        assertEquals(1, routed.deliverDeferred(target));
+        verify(target).receiveCommand(any());
+        assertEquals(0, routed.getDeferredStats().pending());
+        assertEquals(0, routed.deliverDeferred(target), "Held commands are delivered once");
+    }
+    
+    @Test
+    void shouldRefuseCommandForUnloadedTargetThatIsNotAnAiEntity() {
+        CommandRoutingService router = mock(CommandRoutingService.class);
+        MessageParser routed = new MessageParser(mockCommandProcessor, router);
+        EntityId unknownId = EntityId.generate();
+        NetworkMessage message = createValidMessage();
+        message.getData().setContext(java.util.Map.of("target_entity", unknownId.asString()));
+        when(router.selectReceiver(any(), any(), anyInt())).thenReturn(Optional.empty());
+        when(router.isEntityLoaded(unknownId)).thenReturn(false);
+        
+        assertFalse(routed.dispatchMessage(message), "Nothing is held before the save is loaded");
+        
+        EntityLifecycleService lifecycle = mock(EntityLifecycleService.class);
+        when(lifecycle.isAiEntity(unknownId)).thenReturn(false);
+        routed.setEntityLifecycleService(lifecycle);
+        
+        assertFalse(routed.dispatchMessage(message));
+        assertEquals(0, routed.getDeferredStats().pending(), "Unknown ids are not held");
+    }
+    
+    @Test
+    void shouldFanGroupCommandOutToEveryMember() {
+        CommandRoutingService router = mock(CommandRoutingService.class);
+        CommandReceiver first = mock(CommandReceiver.class);
+        CommandReceiver second = mock(CommandReceiver.class);
+        MessageService routed = new MessageParser(mockCommandProcessor, router);
+        NetworkMessage message = createValidMessage();
+        message.getData().setContext(java.util.Map.of("group", "pack"));
+        when(router.selectGroup("pack", 1)).thenReturn(java.util.List.of(first, second));
+        when(first.receiveCommand(any())).thenReturn(true);
+        when(second.receiveCommand(any())).thenReturn(true);
+        
+        assertTrue(routed.dispatchMessage(message));
+        
+        verify(first).receiveCommand(any());
+        verify(second).receiveCommand(any());
+        verify(router, never()).selectReceiver(any(), any(), anyInt());
+    }
+    
+    @Test
+    void shouldDropGroupCommandWithoutAvailableMembers() {
+        CommandRoutingService router = mock(CommandRoutingService.class);
+        MessageService routed = new MessageParser(mockCommandProcessor, router);
+        NetworkMessage message = createValidMessage();
+        message.getData().setContext(java.util.Map.of("group", "empty"));
+        when(router.selectGroup("empty", 1)).thenReturn(java.util.List.of());
+        
+        assertFalse(routed.dispatchMessage(message));
+        assertEquals(0, routed.getQueuedCommandCount());
+    }
+    
+    @Test
+    void shouldReadRoutingHintFromContext() {
+        NetworkMessage message = createValidMessage();
+        assertEquals(RoutingHint.none(), MessageParser.routingHint(message));
+        
+        message.getData().setContext(java.util.Map.of("player", "Alex"));
+        assertEquals(RoutingHint.forPlayer("Alex"), MessageParser.routingHint(message));
+        
+        message.getData().setContext(java.util.Map.of("position", java.util.Map.of("x", 1, "y", "high", "z", 3)));
+        assertEquals(RoutingHint.none(), MessageParser.routingHint(message), "Malformed positions are ignored");
+    }
+    
+    @Test
+    void shouldGiveCommandsTheDeadlineOfTheirMessage() {
+        MessageParser parser = new MessageParser(mockCommandProcessor, null, new RecentMessageWindow(16),
+            new DeferredCommandInbox(8, 4, 1000), new CommandDeadlines(30_000));
+        String issued = java.time.Instant.now().minusSeconds(10).toString();
+        NetworkMessage message = createValidMessage();
+        message.setTimestamp(issued);
+        
+        AICommand command = parser.convertToCommand(message);
+        
+        assertEquals(java.time.Instant.parse(issued).toEpochMilli() + 30_000, command.getDeadlineMillis());
+        assertFalse(parser.isExpired(message));
+    }
+    
+    @Test
+    void shouldReportMessagePastItsDeadlineAsExpired() {
+        MessageParser parser = new MessageParser(mockCommandProcessor, null, new RecentMessageWindow(16),
+            new DeferredCommandInbox(8, 4, 1000), new CommandDeadlines(30_000));
+        NetworkMessage message = createValidMessage();
+        message.setTimestamp(java.time.Instant.now().minusSeconds(31).toString());
+        
+        assertTrue(parser.isExpired(message));
+    }
+    
+    @Test
+    void shouldNotExpireCommandsWithoutDeadlines() {
+        NetworkMessage message = createValidMessage();
+        
+        assertFalse(messageService.isExpired(message));
+        assertEquals(AICommand.NO_DEADLINE, messageService.convertToCommand(message).getDeadlineMillis());
+    }
+    
     private NetworkMessage createValidMessage() {
         NetworkMessage.MessageData data = new NetworkMessage.MessageData(
             "move",
@@ -1,6 +1,5 @@
 package com.aimobs.network.application;
 
-import com.aimobs.entity.ai.core.AICommand;
 import com.aimobs.network.MessageService;
 import com.aimobs.network.core.ConnectionState;
 import com.aimobs.network.core.NetworkMessage;
@@ -11,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Tag;
 import org.mockito.Mock;
 
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -57,18 +57,35 @@ class NetworkCommandCoordinatorTest extends BaseUnitTest {
             """;
         
         NetworkMessage message = createValidMessage();
-        AICommand command = mock(AICommand.class);
         
         when(mockMessageService.parseMessage(validJson)).thenReturn(message);
         when(mockMessageService.validateMessage(message)).thenReturn(true);
-        when(mockMessageService.convertToCommand(message)).thenReturn(command);
+        when(mockMessageService.dispatchMessage(message)).thenReturn(true);
         
         coordinator.handleIncomingMessage(validJson);
         
         verify(mockMessageService).parseMessage(validJson);
         verify(mockMessageService).validateMessage(message);
-        verify(mockMessageService).convertToCommand(message);
-        verify(mockMessageService).queueCommand(command);
+        verify(mockMessageService).dispatchMessage(message);
+        // Building and queueing happen in one step so they cannot pick different wolves
+        verify(mockMessageService, never()).convertToCommand(any());
+        verify(mockMessageService, never()).queueCommand(any());
+    }
+    
+    @Test
+    void shouldQueueBatchAsSinglePlan() {
+        NetworkMessage batch = new NetworkMessage("batch", "2025-01-19T10:00:00Z",
+            new NetworkMessage.MessageData(List.of(createValidMessage().getData()), Map.of()));
+        
+        when(mockMessageService.parseMessage("batch")).thenReturn(batch);
+        when(mockMessageService.validateMessage(batch)).thenReturn(true);
+        when(mockMessageService.dispatchMessage(batch)).thenReturn(true);
+        
+        coordinator.handleIncomingMessage("batch");
+        
+        verify(mockMessageService, times(1)).dispatchMessage(batch);
+        verify(mockMessageService, never()).convertToCommand(any());
+        verify(mockMessageService, never()).queueCommand(any());
     }
     
     @Test
@@ -81,7 +98,7 @@ class NetworkCommandCoordinatorTest extends BaseUnitTest {
         
         verify(mockMessageService).parseMessage(invalidJson);
         verify(mockMessageService, never()).validateMessage(any());
-        verify(mockMessageService, never()).queueCommand(any());
+        verify(mockMessageService, never()).dispatchMessage(any());
     }
     
     @Test
@@ -106,8 +123,8 @@ class NetworkCommandCoordinatorTest extends BaseUnitTest {
         String result = coordinator.prepareOutgoingMessage(message);
         
         assertNotNull(result);
-        assertTrue(result.contains("\"type\": \"command\""));
-        assertTrue(result.contains("\"action\": \"move\""));
+        assertTrue(result.contains("\"type\":\"command\""));
+        assertTrue(result.contains("\"action\":\"move\""));
     }
     
     @Test
@@ -125,6 +142,7 @@ class NetworkCommandCoordinatorTest extends BaseUnitTest {
         coordinator.onConnected();
         assertEquals(ConnectionState.CONNECTED, coordinator.getConnectionState());
         assertNull(coordinator.getLastError());
+        verify(mockMessageService).onBackendConnected();
         
         // Disconnection now triggers reconnection attempt
         coordinator.onDisconnected();
@@ -137,6 +155,16 @@ class NetworkCommandCoordinatorTest extends BaseUnitTest {
         assertEquals("Authentication failed", coordinator.getLastError());
     }
     
+    @Test
+    void shouldMarkConnectingWithoutDisturbingReconnection() {
+        coordinator.onConnectAttempt();
+        assertEquals(ConnectionState.CONNECTING, coordinator.getConnectionState());
+        
+        coordinator.onDisconnected();
+        coordinator.onConnectAttempt();
+        assertEquals(ConnectionState.RECONNECTING, coordinator.getConnectionState());
+    }
+    
     @Test
     void shouldDelegateQueueCountToMessageService() {
         when(mockMessageService.getQueuedCommandCount()).thenReturn(5);
@@ -146,6 +174,220 @@ class NetworkCommandCoordinatorTest extends BaseUnitTest {
         verify(mockMessageService).getQueuedCommandCount();
     }
     
+    @Test
+    void shouldDeferReceivedMessagesToInboundMailbox() {
+        InboundMessageMailbox mailbox = new InboundMessageMailbox(8);
+        NetworkCommandCoordinator mailboxCoordinator = new NetworkCommandCoordinator(mockMessageService, mailbox, 2);
+        
+        try {
+            mailboxCoordinator.onMessageReceived("first");
+            mailboxCoordinator.onMessageReceived("second");
+            mailboxCoordinator.onMessageReceived("third");
+            
+            // Nothing is parsed on the receiving thread
+            verify(mockMessageService, never()).parseMessage(any());
+            assertEquals(3, mailbox.size());
+            
+            // Each tick handles at most the configured budget
+            assertEquals(2, mailboxCoordinator.processInboundMessages());
+            verify(mockMessageService).parseMessage("first");
+            verify(mockMessageService).parseMessage("second");
+            verify(mockMessageService, never()).parseMessage("third");
+            
+            assertEquals(1, mailboxCoordinator.processInboundMessages());
+            verify(mockMessageService).parseMessage("third");
+        } finally {
+            mailboxCoordinator.shutdown();
+        }
+    }
+    
+    @Test
+    void shouldHandleMessagesInlineWithoutMailbox() {
+        coordinator.onMessageReceived("inline");
+        
+        verify(mockMessageService).parseMessage("inline");
+        assertEquals(0, coordinator.processInboundMessages());
+    }
+    
+    @Test
+    void shouldAcknowledgeTickOfDeliveriesInOneFrame() {
+        InboundMessageMailbox mailbox = new InboundMessageMailbox(8);
+        NetworkCommandCoordinator mailboxCoordinator = new NetworkCommandCoordinator(mockMessageService, mailbox, 8);
+        List<String> acks = new java.util.ArrayList<>();
+        mailboxCoordinator.setControlFrameSender(acks::add);
+        
+        NetworkMessage first = createValidMessage();
+        first.setSeq(1L);
+        NetworkMessage second = createValidMessage();
+        second.setId("plan-7");
+        when(mockMessageService.parseMessage("first")).thenReturn(first);
+        when(mockMessageService.parseMessage("second")).thenReturn(second);
+        when(mockMessageService.registerDelivery(any())).thenReturn(true);
+        when(mockMessageService.validateMessage(any())).thenReturn(true);
+        when(mockMessageService.dispatchMessage(any())).thenReturn(true);
+        
+        try {
+            mailboxCoordinator.onMessageReceived("first");
+            mailboxCoordinator.onMessageReceived("second");
+            assertTrue(acks.isEmpty(), "Acks wait for the tick");
+            
+            mailboxCoordinator.processInboundMessages();
+            
+            assertEquals(1, acks.size());
+            assertTrue(acks.get(0).contains("\"type\":\"ack\""));
+            assertTrue(acks.get(0).contains("\"seqs\":[1]"));
+            assertTrue(acks.get(0).contains("\"ids\":[\"plan-7\"]"));
+            
+            // Nothing new delivered, nothing to acknowledge
+            mailboxCoordinator.processInboundMessages();
+            assertEquals(1, acks.size());
+        } finally {
+            mailboxCoordinator.shutdown();
+        }
+    }
+    
+    @Test
+    void shouldAcknowledgeButNotRequeueDuplicateDelivery() {
+        List<String> acks = new java.util.ArrayList<>();
+        coordinator.setControlFrameSender(acks::add);
+        NetworkMessage message = createValidMessage();
+        message.setSeq(42L);
+        when(mockMessageService.parseMessage("retransmitted")).thenReturn(message);
+        when(mockMessageService.registerDelivery(message)).thenReturn(true, false);
+        when(mockMessageService.validateMessage(message)).thenReturn(true);
+        when(mockMessageService.dispatchMessage(message)).thenReturn(true);
+        
+        coordinator.onMessageReceived("retransmitted");
+        coordinator.onMessageReceived("retransmitted");
+        
+        verify(mockMessageService, times(1)).dispatchMessage(any());
+        assertEquals(2, acks.size(), "Repeats are acknowledged so the sender stops retransmitting");
+        assertTrue(acks.get(1).contains("\"seqs\":[42]"));
+    }
+    
+    @Test
+    void shouldAdvertiseCreditsAndRejectCommandsBeyondThem() {
+        CreditController credits = new CreditController(8, 50);
+        NetworkCommandCoordinator flowCoordinator = new NetworkCommandCoordinator(
+            mockMessageService, null, 8, new LinkHealthMonitor(1000, 1000), credits);
+        List<String> frames = new java.util.ArrayList<>();
+        flowCoordinator.setControlFrameSender(frames::add);
+        
+        NetworkMessage message = createValidMessage();
+        message.setSeq(5L);
+        when(mockMessageService.getCommandHeadroom()).thenReturn(1);
+        when(mockMessageService.parseMessage("command")).thenReturn(message);
+        when(mockMessageService.validateMessage(message)).thenReturn(true);
+        when(mockMessageService.registerDelivery(message)).thenReturn(true);
+        when(mockMessageService.dispatchMessage(message)).thenReturn(true);
+        
+        try {
+            flowCoordinator.onConnected();
+            flowCoordinator.processInboundMessages();
+            assertTrue(frames.get(0).startsWith("{\"type\":\"credit\""));
+            assertTrue(frames.get(0).contains("\"credits\":1"));
+            
+            flowCoordinator.onMessageReceived("command");
+            flowCoordinator.onMessageReceived("command");
+            
+            verify(mockMessageService, times(1)).dispatchMessage(any());
+            String reject = frames.get(frames.size() - 1);
+            assertTrue(reject.contains("\"type\":\"reject\""));
+            assertTrue(reject.contains("\"seq\":5"));
+            assertTrue(reject.contains("\"reason\":\"no_credit\""));
+            assertEquals(1, credits.getRejectedCount());
+        } finally {
+            flowCoordinator.shutdown();
+        }
+    }
+    
+    @Test
+    void shouldRejectCommandThatArrivedAfterItsDeadline() {
+        List<String> frames = new java.util.ArrayList<>();
+        coordinator.setControlFrameSender(frames::add);
+        NetworkMessage message = createValidMessage();
+        message.setId("late-1");
+        when(mockMessageService.parseMessage("late")).thenReturn(message);
+        when(mockMessageService.validateMessage(message)).thenReturn(true);
+        when(mockMessageService.registerDelivery(message)).thenReturn(true);
+        when(mockMessageService.isExpired(message)).thenReturn(true);
+        
+        coordinator.onMessageReceived("late");
+        
+        verify(mockMessageService, never()).dispatchMessage(any());
+        verify(mockMessageService).forgetDelivery(message);
+        assertEquals(1, frames.size());
+        assertTrue(frames.get(0).contains("\"id\":\"late-1\""));
+        assertTrue(frames.get(0).contains("\"reason\":\"expired\""));
+        assertEquals(1, coordinator.getLinkStats().expiredOnArrival());
+    }
+    
+    @Test
+    void shouldAcknowledgeResentDeliveryThatRanBeforeItsDeadline() {
+        CreditController credits = new CreditController(8, 50);
+        NetworkCommandCoordinator flowCoordinator = new NetworkCommandCoordinator(
+            mockMessageService, null, 8, new LinkHealthMonitor(1000, 1000), credits);
+        List<String> frames = new java.util.ArrayList<>();
+        flowCoordinator.setControlFrameSender(frames::add);
+        
+        NetworkMessage message = createValidMessage();
+        message.setSeq(12L);
+        when(mockMessageService.getCommandHeadroom()).thenReturn(1);
+        when(mockMessageService.parseMessage("command")).thenReturn(message);
+        when(mockMessageService.validateMessage(message)).thenReturn(true);
+        when(mockMessageService.registerDelivery(message)).thenReturn(true, false);
+        when(mockMessageService.isExpired(message)).thenReturn(false, true);
+        when(mockMessageService.dispatchMessage(message)).thenReturn(true);
+        
+        try {
+            flowCoordinator.processInboundMessages();
+            flowCoordinator.onMessageReceived("command");
+            // The resend arrives after the deadline and with no credit left
+            flowCoordinator.onMessageReceived("command");
+            
+            verify(mockMessageService, times(1)).dispatchMessage(any());
+            assertTrue(frames.stream().noneMatch(frame -> frame.contains("\"type\":\"reject\"")),
+                "A repeat of a delivery that already ran is acknowledged, not refused");
+            assertEquals(2, frames.size());
+            assertTrue(frames.get(1).contains("\"seqs\":[12]"));
+            assertEquals(0, flowCoordinator.getLinkStats().expiredOnArrival());
+        } finally {
+            flowCoordinator.shutdown();
+        }
+    }
+    
+    @Test
+    void shouldRejectWithoutAcknowledgingCommandNoEntityCanTake() {
+        CreditController credits = new CreditController(8, 50);
+        NetworkCommandCoordinator flowCoordinator = new NetworkCommandCoordinator(
+            mockMessageService, null, 8, new LinkHealthMonitor(1000, 1000), credits);
+        List<String> frames = new java.util.ArrayList<>();
+        flowCoordinator.setControlFrameSender(frames::add);
+        
+        NetworkMessage message = createValidMessage();
+        message.setSeq(9L);
+        when(mockMessageService.getCommandHeadroom()).thenReturn(4);
+        when(mockMessageService.parseMessage("command")).thenReturn(message);
+        when(mockMessageService.validateMessage(message)).thenReturn(true);
+        when(mockMessageService.registerDelivery(message)).thenReturn(true);
+        when(mockMessageService.dispatchMessage(message)).thenReturn(false);
+        
+        try {
+            flowCoordinator.processInboundMessages();
+            flowCoordinator.onMessageReceived("command");
+            
+            assertEquals(1, frames.size(), "A refused command is not acknowledged");
+            assertTrue(frames.get(0).contains("\"type\":\"reject\""));
+            assertTrue(frames.get(0).contains("\"seq\":9"));
+            assertTrue(frames.get(0).contains("\"reason\":\"unavailable\""));
+            verify(mockMessageService).forgetDelivery(message);
+            assertEquals(4, credits.getAvailable(), "A refused command spends no credit");
+            assertEquals(1, flowCoordinator.getLinkStats().undeliverable());
+        } finally {
+            flowCoordinator.shutdown();
+        }
+    }
+    
     private NetworkMessage createValidMessage() {
         NetworkMessage.MessageData data = new NetworkMessage.MessageData(
             "move", Map.of("x", 10), Map.of()
@@ -0,0 +1,147 @@
+package com.aimobs.network.application;
+
+import com.aimobs.network.core.NetworkMessage;
+import com.aimobs.test.BaseUnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Tag;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class NetworkMessageDecoderTest extends BaseUnitTest {
+
+    private NetworkMessageDecoder decoder;
+
+    @BeforeEach
+    void setUp() {
+        decoder = new NetworkMessageDecoder();
+    }
+
+    @Test
+    void shouldDecodeCompleteMessage() {
+        NetworkMessage message = decoder.decode("""
+            {"type":"command","timestamp":"2025-01-19T10:00:00Z",
+             "data":{"action":"move","parameters":{"x":10,"y":64.5,"z":-3},"context":{"session":"abc"}}}
+            """);
+
+        assertNotNull(message);
+        assertTrue(message.isValid());
+        assertEquals("2025-01-19T10:00:00Z", message.getTimestamp());
+        assertEquals(10.0, message.getData().getParameters().get("x"));
+        assertEquals(64.5, message.getData().getParameters().get("y"));
+        assertEquals(-3.0, message.getData().getParameters().get("z"));
+        assertEquals("abc", message.getData().getContext().get("session"));
+    }
+
+    @Test
+    void shouldInternTypeAndActionNames() {
+        NetworkMessage message = decoder.decode(
+            "{\"type\":\"command\",\"timestamp\":\"t\",\"data\":{\"action\":\"attack\"}}");
+
+        assertSame("command", message.getType());
+        assertSame("attack", message.getData().getAction());
+    }
+
+    @Test
+    void shouldSkipUnknownFields() {
+        NetworkMessage message = decoder.decode("""
+            {"type":"command","extra":{"deep":[1,2,{"x":null}]},"timestamp":"t",
+             "data":{"action":"stop","ignored":[true,false],"parameters":{}}}
+            """);
+
+        assertNotNull(message);
+        assertEquals("stop", message.getData().getAction());
+        assertTrue(message.getData().getParameters().isEmpty());
+    }
+
+    @Test
+    void shouldDecodeNestedParameterValues() {
+        NetworkMessage message = decoder.decode("""
+            {"type":"command","timestamp":"t",
+             "data":{"action":"collect","parameters":{"items":["bone","stick"],"filter":{"max":3},"loud":true,"note":null}}}
+            """);
+
+        Map<String, Object> parameters = message.getData().getParameters();
+        assertEquals(List.of("bone", "stick"), parameters.get("items"));
+        assertEquals(Map.of("max", 3.0), parameters.get("filter"));
+        assertEquals(Boolean.TRUE, parameters.get("loud"));
+        assertTrue(parameters.containsKey("note"));
+        assertNull(parameters.get("note"));
+    }
+
+    @Test
+    void shouldShareBoxedSmallIntegralNumbers() {
+        NetworkMessage first = decoder.decode(
+            "{\"type\":\"command\",\"timestamp\":\"t\",\"data\":{\"action\":\"move\",\"parameters\":{\"x\":12}}}");
+        NetworkMessage second = decoder.decode(
+            "{\"type\":\"command\",\"timestamp\":\"t\",\"data\":{\"action\":\"move\",\"parameters\":{\"x\":12}}}");
+
+        assertSame(first.getData().getParameters().get("x"), second.getData().getParameters().get("x"));
+    }
+
+    @Test
+    void shouldDefaultMissingSectionsToEmptyMaps() {
+        NetworkMessage message = decoder.decode("{\"type\":\"command\",\"timestamp\":\"t\"}");
+
+        assertNotNull(message);
+        assertNull(message.getData().getAction());
+        assertTrue(message.getData().getParameters().isEmpty());
+        assertTrue(message.getData().getContext().isEmpty());
+        assertFalse(message.isValid());
+    }
+
+    @Test
+    void shouldDecodeBatchEnvelope() {
+        NetworkMessage message = decoder.decode("""
+            {"type":"batch","timestamp":"t","data":{"commands":[
+              {"action":"move","parameters":{"x":1,"y":64,"z":2}},
+              {"action":"collect","parameters":{"item":"wood"}},
+              {"action":"comeHere"}
+            ],"context":{"plan":"p1"}}}
+            """);
+
+        assertNotNull(message);
+        assertTrue(message.isBatch());
+        assertTrue(message.isValid());
+        List<NetworkMessage.MessageData> steps = message.getData().getCommands();
+        assertEquals(3, steps.size());
+        assertEquals("move", steps.get(0).getAction());
+        assertEquals("wood", steps.get(1).getParameters().get("item"));
+        assertEquals("comeHere", steps.get(2).getAction());
+        assertEquals("p1", message.getData().getContext().get("plan"));
+    }
+
+    @Test
+    void shouldDecodeDeliveryIdentity() {
+        NetworkMessage message = decoder.decode("""
+            {"type":"command","timestamp":"t","seq":9007199254740993,"id":"plan-7","session":"s-1",
+             "data":{"action":"stop"}}
+            """);
+
+        assertNotNull(message);
+        assertEquals(9007199254740993L, message.getSeq());
+        assertEquals("plan-7", message.getId());
+        assertEquals("s-1", message.getSession());
+        assertTrue(message.hasDeliveryId());
+
+        NetworkMessage plain = decoder.decode("{\"type\":\"command\",\"timestamp\":\"t\",\"data\":{\"action\":\"stop\"}}");
+        assertNotNull(plain);
+        assertFalse(plain.hasDeliveryId());
+    }
+
+    @Test
+    void shouldRejectMalformedOrNonObjectFrames() {
+        assertNull(decoder.decode(null));
+        assertNull(decoder.decode("   "));
+        assertNull(decoder.decode("{ invalid json }"));
+        assertNull(decoder.decode("[1,2,3]"));
+        assertNull(decoder.decode("null"));
+        assertNull(decoder.decode("{\"type\":\"command\"} trailing"));
+        assertNull(decoder.decode("{\"type\":{\"nested\":true}}"));
+        assertNull(decoder.decode("{\"type\":\"command\",\"data\":{\"action\":\"move\""));
+    }
+}
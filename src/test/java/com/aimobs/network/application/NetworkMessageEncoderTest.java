@@ -0,0 +1,125 @@
+package com.aimobs.network.application;
+
+import com.aimobs.network.core.NetworkMessage;
+import com.aimobs.test.BaseUnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Tag;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class NetworkMessageEncoderTest extends BaseUnitTest {
+
+    private NetworkMessageEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        encoder = new NetworkMessageEncoder();
+    }
+
+    @Test
+    void shouldEncodeCompactFrame() {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("x", 10);
+        parameters.put("y", 64.5);
+
+        String frame = encoder.encode(message("move", parameters, Map.of()));
+
+        assertEquals("{\"type\":\"command\",\"timestamp\":\"2025-01-19T10:00:00Z\","
+            + "\"data\":{\"action\":\"move\",\"parameters\":{\"x\":10,\"y\":64.5},\"context\":{}}}", frame);
+    }
+
+    @Test
+    void shouldEscapeStrings() {
+        String frame = encoder.encode(message("speak",
+            Map.of("message", "say \"hi\"\\\n\tnow\u0001"), Map.of()));
+
+        assertTrue(frame.contains("\"message\":\"say \\\"hi\\\"\\\\\\n\\tnow\\u0001\""));
+    }
+
+    @Test
+    void shouldEncodeNestedMapsAndLists() {
+        Map<String, Object> filter = new LinkedHashMap<>();
+        filter.put("max", 3);
+        filter.put("tags", List.of("a", "b"));
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("filter", filter);
+        parameters.put("flags", new Object[]{true, null});
+
+        String frame = encoder.encode(message("collect", parameters, Map.of()));
+
+        assertTrue(frame.contains("\"parameters\":{\"filter\":{\"max\":3,\"tags\":[\"a\",\"b\"]},\"flags\":[true,null]}"));
+    }
+
+    @Test
+    void shouldWriteIntegralDoublesWithoutFraction() {
+        String frame = encoder.encode(message("move", Map.of("x", 10.0), Map.of()));
+
+        assertTrue(frame.contains("\"x\":10}"));
+    }
+
+    @Test
+    void shouldWriteNonFiniteNumbersAsNull() {
+        String frame = encoder.encode(message("move", Map.of("x", Double.NaN), Map.of()));
+
+        assertTrue(frame.contains("\"x\":null"));
+    }
+
+    @Test
+    void shouldEncodeBatchEnvelope() {
+        NetworkMessage.MessageData batch = new NetworkMessage.MessageData(List.of(
+            new NetworkMessage.MessageData("stop", Map.of(), Map.of()),
+            new NetworkMessage.MessageData("comeHere", Map.of(), Map.of())
+        ), Map.of());
+
+        String frame = encoder.encode(new NetworkMessage("batch", "t", batch));
+
+        assertEquals("{\"type\":\"batch\",\"timestamp\":\"t\",\"data\":{\"commands\":["
+            + "{\"action\":\"stop\",\"parameters\":{},\"context\":{}},"
+            + "{\"action\":\"comeHere\",\"parameters\":{},\"context\":{}}],\"context\":{}}}", frame);
+    }
+
+    @Test
+    void shouldRoundTripThroughDecoder() {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("target", "the \"big\" tree");
+        parameters.put("x", -12);
+        Map<String, Object> context = Map.of("session", "abc");
+
+        NetworkMessage decoded = new NetworkMessageDecoder()
+            .decode(encoder.encode(message("move", parameters, context)));
+
+        assertNotNull(decoded);
+        assertEquals("move", decoded.getData().getAction());
+        assertEquals("the \"big\" tree", decoded.getData().getParameters().get("target"));
+        assertEquals(-12.0, decoded.getData().getParameters().get("x"));
+        assertEquals("abc", decoded.getData().getContext().get("session"));
+    }
+
+    @Test
+    void shouldWriteDeliveryIdentity() {
+        NetworkMessage message = message("stop", Map.of(), Map.of());
+        message.setSeq(12L);
+        message.setId("plan-7");
+
+        assertEquals("{\"type\":\"command\",\"timestamp\":\"2025-01-19T10:00:00Z\",\"seq\":12,\"id\":\"plan-7\","
+            + "\"data\":{\"action\":\"stop\",\"parameters\":{},\"context\":{}}}", encoder.encode(message));
+    }
+
+    @Test
+    void shouldEncodeAckFrame() {
+        String frame = encoder.encodeAck("t", new long[] {3, 4, 99}, 2, java.util.List.of("plan-7"));
+
+        assertEquals("{\"type\":\"ack\",\"timestamp\":\"t\",\"data\":{\"seqs\":[3,4],\"ids\":[\"plan-7\"]}}", frame);
+    }
+
+    private NetworkMessage message(String action, Map<String, Object> parameters, Map<String, Object> context) {
+        return new NetworkMessage("command", "2025-01-19T10:00:00Z",
+            new NetworkMessage.MessageData(action, parameters, context));
+    }
+}
@@ -0,0 +1,107 @@
+package com.aimobs.network.application;
+
+import com.aimobs.test.BaseUnitTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class RecentMessageWindowTest extends BaseUnitTest {
+    
+    @Test
+    void shouldReportRepeatedKeys() {
+        RecentMessageWindow window = new RecentMessageWindow(4);
+        
+        assertTrue(window.markSeen(1));
+        assertTrue(window.markSeen(2));
+        assertFalse(window.markSeen(1));
+        assertEquals(2, window.size());
+    }
+    
+    @Test
+    void shouldForgetOnlyTheLatestKey() {
+        RecentMessageWindow window = new RecentMessageWindow(2);
+        window.markSeen(1);
+        window.markSeen(2);
+        
+        assertFalse(window.forgetLatest(1));
+        assertTrue(window.forgetLatest(2));
+        
+        assertFalse(window.contains(2));
+        assertEquals(1, window.size());
+        assertTrue(window.markSeen(2));
+        assertTrue(window.markSeen(3));
+        assertFalse(window.contains(1), "The ring keeps its eviction order after a forget");
+        assertTrue(window.contains(2));
+    }
+    
+    @Test
+    void shouldForgetEveryKeyOnClear() {
+        RecentMessageWindow window = new RecentMessageWindow(2);
+        window.markSeen(0);
+        window.markSeen(5);
+        
+        window.clear();
+        
+        assertEquals(0, window.size());
+        assertTrue(window.markSeen(0));
+        assertTrue(window.markSeen(5));
+        assertTrue(window.markSeen(6));
+        assertFalse(window.contains(0));
+    }
+    
+    @Test
+    void shouldTrackZeroAndNegativeKeys() {
+        RecentMessageWindow window = new RecentMessageWindow(4);
+        
+        assertTrue(window.markSeen(0));
+        assertTrue(window.markSeen(-1));
+        assertTrue(window.markSeen(Long.MIN_VALUE));
+        assertFalse(window.markSeen(0));
+        assertFalse(window.markSeen(Long.MIN_VALUE));
+    }
+    
+    @Test
+    void shouldEvictOldestKeyWhenFull() {
+        RecentMessageWindow window = new RecentMessageWindow(3);
+        window.markSeen(1);
+        window.markSeen(2);
+        window.markSeen(3);
+        
+        assertTrue(window.markSeen(4));
+        
+        assertFalse(window.contains(1));
+        assertTrue(window.contains(2));
+        assertTrue(window.contains(4));
+        assertEquals(3, window.size());
+    }
+    
+    @Test
+    void shouldMatchReferenceUnderChurn() {
+        // Heavy eviction exercises deletion from the middle of probe chains
+        RecentMessageWindow window = new RecentMessageWindow(64);
+        ArrayDeque<Long> reference = new ArrayDeque<>();
+        Random random = new Random(42);
+        
+        for (int i = 0; i < 50_000; i++) {
+            long key = random.nextInt(200) - 100;
+            boolean expected = !reference.contains(key);
+            if (expected) {
+                if (reference.size() == 64) {
+                    reference.pollFirst();
+                }
+                reference.addLast(key);
+            }
+            assertEquals(expected, window.markSeen(key), "key " + key + " at step " + i);
+        }
+    }
+    
+    @Test
+    void shouldRejectNonPositiveCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new RecentMessageWindow(0));
+    }
+}
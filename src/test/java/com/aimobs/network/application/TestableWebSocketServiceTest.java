@@ -9,7 +9,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Tag;
 import org.mockito.Mock;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -62,6 +66,53 @@ class TestableWebSocketServiceTest extends BaseUnitTest {
         verify(mockCoordinator).onError(any(Exception.class));
     }
     
+    @Test
+    void shouldConnectAsynchronouslyOnConnectExecutor() {
+        List<Runnable> pendingTasks = new ArrayList<>();
+        TestableWebSocketService asyncService =
+            new TestableWebSocketService(fakeConnection, mockCoordinator, pendingTasks::add);
+        when(mockCoordinator.getConnectionState()).thenReturn(ConnectionState.CONNECTED);
+        
+        CompletableFuture<ConnectionState> attempt = asyncService.connectAsync("ws://test-server:8080");
+        
+        // Caller returns before the handshake runs
+        assertFalse(attempt.isDone());
+        assertFalse(fakeConnection.isConnected());
+        
+        pendingTasks.forEach(Runnable::run);
+        
+        assertTrue(fakeConnection.isConnected());
+        assertEquals(ConnectionState.CONNECTED, attempt.join());
+    }
+    
+    @Test
+    void shouldShareConnectAttemptInFlight() {
+        List<Runnable> pendingTasks = new ArrayList<>();
+        TestableWebSocketService asyncService =
+            new TestableWebSocketService(fakeConnection, mockCoordinator, pendingTasks::add);
+        
+        CompletableFuture<ConnectionState> first = asyncService.connectAsync("ws://test-server:8080");
+        CompletableFuture<ConnectionState> second = asyncService.connectAsync("ws://test-server:8080");
+        
+        assertSame(first, second);
+        assertEquals(1, pendingTasks.size());
+        
+        pendingTasks.get(0).run();
+        
+        assertNotSame(first, asyncService.connectAsync("ws://test-server:8080"));
+    }
+    
+    @Test
+    void shouldNotConnectAfterShutdown() {
+        List<Runnable> pendingTasks = new ArrayList<>();
+        TestableWebSocketService asyncService =
+            new TestableWebSocketService(fakeConnection, mockCoordinator, pendingTasks::add);
+        when(mockCoordinator.getConnectionState()).thenReturn(ConnectionState.SHUTDOWN);
+        
+        assertEquals(ConnectionState.SHUTDOWN, asyncService.connectAsync("ws://test-server:8080").join());
+        assertTrue(pendingTasks.isEmpty());
+    }
+    
     @Test
     void shouldSendValidMessages() {
         NetworkMessage message = createValidMessage();
@@ -86,6 +137,58 @@ class TestableWebSocketServiceTest extends BaseUnitTest {
         verify(mockCoordinator, never()).prepareOutgoingMessage(any());
     }
     
+    @Test
+    void shouldReplayBufferedMessagesBeforeNewOnes() {
+        NetworkMessage buffered = createValidMessage();
+        NetworkMessage live = createValidMessage();
+        when(mockCoordinator.prepareOutgoingMessage(live)).thenReturn("live-json");
+        
+        webSocketService.sendMessage(buffered);
+        assertEquals(1, webSocketService.getPendingMessageCount());
+        
+        webSocketService.connect("ws://test-server:8080");
+        webSocketService.sendMessage(live);
+        
+        List<String> sent = fakeConnection.getSentMessages();
+        assertEquals(2, sent.size());
+        assertTrue(sent.get(0).contains("\"action\":\"move\""));
+        assertEquals("live-json", sent.get(1));
+        assertEquals(0, webSocketService.getPendingMessageCount());
+    }
+    
+    @Test
+    void shouldReplayBufferedMessagesOnReconnect() {
+        NetworkCommandCoordinator coordinator = new NetworkCommandCoordinator(mock(com.aimobs.network.MessageService.class));
+        TestableWebSocketService service = new TestableWebSocketService(
+            fakeConnection, coordinator, new InMemoryMessageSpool(10));
+        
+        try {
+            service.sendMessage(createValidMessage());
+            service.sendMessage(createValidMessage());
+            assertEquals(2, service.getPendingMessageCount());
+            
+            service.connect("ws://test-server:8080");
+            
+            assertEquals(2, fakeConnection.getSentMessages().size());
+            assertEquals(0, service.getPendingMessageCount());
+        } finally {
+            coordinator.shutdown();
+        }
+    }
+    
+    @Test
+    void shouldDropOldestBufferedMessageWhenSpoolIsFull() {
+        InMemoryMessageSpool spool = new InMemoryMessageSpool(2);
+        TestableWebSocketService service = new TestableWebSocketService(fakeConnection, mockCoordinator, spool);
+        
+        for (int i = 0; i < 3; i++) {
+            service.sendMessage(createValidMessage());
+        }
+        
+        assertEquals(2, service.getPendingMessageCount());
+        assertEquals(1, spool.getDroppedCount());
+    }
+    
     @Test
     void shouldNotSendInvalidMessages() {
         NetworkMessage message = createValidMessage();
@@ -150,6 +253,44 @@ class TestableWebSocketServiceTest extends BaseUnitTest {
         verify(mockCoordinator).onError(testError);
     }
     
+    @Test
+    void shouldPingWhenHeartbeatIsDue() {
+        NetworkCommandCoordinator coordinator = new NetworkCommandCoordinator(
+            mock(com.aimobs.network.MessageService.class), null, 0, new LinkHealthMonitor(100, 200));
+        TestableWebSocketService service = new TestableWebSocketService(fakeConnection, coordinator);
+        service.connect("ws://test-server:8080");
+        long start = System.nanoTime();
+        
+        service.heartbeat(start + TimeUnit.MILLISECONDS.toNanos(150));
+        service.heartbeat(start + TimeUnit.MILLISECONDS.toNanos(160));
+        
+        assertEquals(1, fakeConnection.getPingsSent(), "No second ping while one is outstanding");
+        fakeConnection.simulatePong();
+        assertEquals(1, service.getLinkStats().samples());
+        assertEquals(ConnectionState.CONNECTED, service.getConnectionState());
+        
+        service.shutdown();
+    }
+    
+    @Test
+    void shouldDropStalledLinkAndReconnect() {
+        NetworkCommandCoordinator coordinator = new NetworkCommandCoordinator(
+            mock(com.aimobs.network.MessageService.class), null, 0, new LinkHealthMonitor(100, 200));
+        TestableWebSocketService service = new TestableWebSocketService(fakeConnection, coordinator);
+        service.connect("ws://test-server:8080");
+        long start = System.nanoTime();
+        
+        service.heartbeat(start + TimeUnit.MILLISECONDS.toNanos(150));
+        // No pong arrives
+        service.heartbeat(start + TimeUnit.MILLISECONDS.toNanos(400));
+        
+        assertFalse(fakeConnection.isConnected());
+        assertEquals(ConnectionState.RECONNECTING, service.getConnectionState());
+        assertEquals(1, service.getLinkStats().timeouts());
+        
+        service.shutdown();
+    }
+    
     private NetworkMessage createValidMessage() {
         NetworkMessage.MessageData data = new NetworkMessage.MessageData(
             "move", Map.of("x", 10), Map.of()
@@ -0,0 +1,71 @@
+package com.aimobs.network.core;
+
+import com.aimobs.test.BaseUnitTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class ActionRegistryTest extends BaseUnitTest {
+    
+    @Test
+    void shouldResolveBuiltInActions() {
+        assertSame(Action.MOVE, ActionRegistry.resolve("move"));
+        assertSame(Action.COME_HERE, ActionRegistry.resolve("comeHere"));
+        assertSame(Action.STATUS, ActionRegistry.byId(Action.STATUS.id()));
+        assertEquals(ActionCategory.COMBAT, Action.ATTACK.category());
+    }
+    
+    @Test
+    void shouldNotResolveUnknownOrDifferentlyCasedNames() {
+        assertNull(ActionRegistry.resolve("teleport"));
+        assertNull(ActionRegistry.resolve("MOVE"));
+        assertNull(ActionRegistry.resolve(null));
+        assertNull(ActionRegistry.byId(-1));
+    }
+    
+    @Test
+    void shouldRegisterAdditionalActionWithNextId() {
+        int before = ActionRegistry.size();
+        
+        Action howl = ActionRegistry.register("registry_test_howl", ActionCategory.COMMUNICATION);
+        
+        assertEquals(before, howl.id());
+        assertSame(howl, ActionRegistry.resolve("registry_test_howl"));
+        assertSame(howl, ActionRegistry.byId(howl.id()));
+        assertSame(howl, ActionRegistry.register("registry_test_howl", ActionCategory.COMMUNICATION));
+    }
+    
+    @Test
+    void shouldRejectConflictingRegistration() {
+        assertThrows(IllegalArgumentException.class, () -> ActionRegistry.register("move", ActionCategory.COMBAT));
+        assertThrows(IllegalArgumentException.class, () -> ActionRegistry.register(" ", ActionCategory.OTHER));
+    }
+    
+    @Test
+    void shouldValidateMessagesOfRegisteredAction() {
+        NetworkMessage.MessageData before = new NetworkMessage.MessageData("registry_test_dig", Map.of(), Map.of());
+        assertFalse(before.isValid());
+        
+        Action dig = ActionRegistry.register("registry_test_dig", ActionCategory.OTHER);
+        NetworkMessage.MessageData after = new NetworkMessage.MessageData("registry_test_dig", Map.of(), Map.of());
+        
+        assertTrue(after.isValid());
+        assertSame(dig, after.getActionToken());
+    }
+    
+    @Test
+    void shouldResolveTokenWhenActionIsSet() {
+        NetworkMessage.MessageData data = new NetworkMessage.MessageData();
+        data.setAction("collect");
+        
+        assertSame(Action.COLLECT, data.getActionToken());
+        
+        data.setAction("unknown");
+        assertNull(data.getActionToken());
+        assertEquals("unknown", data.getAction());
+    }
+}
@@ -4,6 +4,7 @@ import com.aimobs.test.BaseUnitTest;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Tag;
 
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -97,6 +98,37 @@ class NetworkMessageTest extends BaseUnitTest {
         assertEquals(10, data.getParameters().get("x"));
     }
     
+    @Test
+    void shouldValidateBatchEnvelope() {
+        NetworkMessage.MessageData batch = new NetworkMessage.MessageData(
+            List.of(createValidData(), new NetworkMessage.MessageData("collect", Map.of(), Map.of())), Map.of()
+        );
+        NetworkMessage message = new NetworkMessage("batch", "2025-01-19T10:00:00Z", batch);
+        
+        assertTrue(message.isBatch());
+        assertTrue(message.isValid());
+    }
+    
+    @Test
+    void shouldRejectEmptyOrInvalidBatch() {
+        NetworkMessage empty = new NetworkMessage("batch", "2025-01-19T10:00:00Z",
+            new NetworkMessage.MessageData(List.of(), Map.of()));
+        NetworkMessage badStep = new NetworkMessage("batch", "2025-01-19T10:00:00Z",
+            new NetworkMessage.MessageData(List.of(createValidData(),
+                new NetworkMessage.MessageData("invalid_action", Map.of(), Map.of())), Map.of()));
+        
+        assertFalse(empty.isValid());
+        assertFalse(badStep.isValid());
+    }
+    
+    @Test
+    void shouldRejectMismatchedBatchType() {
+        NetworkMessage.MessageData batch = new NetworkMessage.MessageData(List.of(createValidData()), Map.of());
+        
+        assertFalse(new NetworkMessage("command", "2025-01-19T10:00:00Z", batch).isValid());
+        assertFalse(new NetworkMessage("batch", "2025-01-19T10:00:00Z", createValidData()).isValid());
+    }
+    
     private NetworkMessage createValidMessage() {
         return new NetworkMessage("command", "2025-01-19T10:00:00Z", createValidData());
     }
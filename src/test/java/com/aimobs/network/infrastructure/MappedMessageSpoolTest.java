@@ -0,0 +1,129 @@
+package com.aimobs.network.infrastructure;
+
+import com.aimobs.test.BaseUnitTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class MappedMessageSpoolTest extends BaseUnitTest {
+
+    private static final int SEGMENT_BYTES = 256;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldReplayFramesInAppendOrder() throws IOException {
+        MappedMessageSpool spool = MappedMessageSpool.open(directory, SEGMENT_BYTES, 8);
+        for (int i = 0; i < 20; i++) {
+            assertTrue(spool.append("frame-" + i));
+        }
+
+        assertEquals(20, spool.size());
+        assertEquals(frames(0, 20), drain(spool));
+        assertTrue(spool.isEmpty());
+        spool.close();
+    }
+
+    @Test
+    void shouldRecoverUnsentFramesAfterRestart() throws IOException {
+        MappedMessageSpool spool = MappedMessageSpool.open(directory, SEGMENT_BYTES, 8);
+        for (int i = 0; i < 30; i++) {
+            spool.append("frame-" + i);
+        }
+        // First five were delivered before the restart
+        for (int i = 0; i < 5; i++) {
+            spool.advance();
+        }
+        spool.close();
+
+        MappedMessageSpool reopened = MappedMessageSpool.open(directory, SEGMENT_BYTES, 8);
+
+        assertEquals(25, reopened.size());
+        assertEquals(frames(5, 30), drain(reopened));
+        reopened.close();
+    }
+
+    @Test
+    void shouldDropOldestSegmentWhenFull() throws IOException {
+        MappedMessageSpool spool = MappedMessageSpool.open(directory, SEGMENT_BYTES, 2);
+        for (int i = 0; i < 100; i++) {
+            spool.append("frame-" + i);
+        }
+
+        assertTrue(spool.getDroppedCount() > 0);
+        assertEquals(100 - spool.getDroppedCount(), spool.size());
+        assertEquals("frame-" + spool.getDroppedCount(), spool.peek());
+        assertTrue(segmentFileCount() <= 2);
+        spool.close();
+    }
+
+    @Test
+    void shouldRejectFramesLargerThanSegment() throws IOException {
+        MappedMessageSpool spool = MappedMessageSpool.open(directory, SEGMENT_BYTES, 2);
+
+        assertFalse(spool.append("x".repeat(SEGMENT_BYTES)));
+        assertEquals(1, spool.getDroppedCount());
+        assertTrue(spool.isEmpty());
+        spool.close();
+    }
+
+    @Test
+    void shouldDeleteSegmentsOnceDelivered() throws IOException {
+        MappedMessageSpool spool = MappedMessageSpool.open(directory, SEGMENT_BYTES, 8);
+        for (int i = 0; i < 40; i++) {
+            spool.append("frame-" + i);
+        }
+        assertTrue(segmentFileCount() > 1);
+
+        drain(spool);
+
+        assertEquals(1, segmentFileCount());
+        spool.close();
+    }
+
+    @Test
+    void shouldKeepMultiByteCharacters() throws IOException {
+        MappedMessageSpool spool = MappedMessageSpool.open(directory, SEGMENT_BYTES, 2);
+        spool.append("wölf says é中");
+        spool.close();
+
+        MappedMessageSpool reopened = MappedMessageSpool.open(directory, SEGMENT_BYTES, 2);
+        assertEquals("wölf says é中", reopened.peek());
+        reopened.close();
+    }
+
+    private List<String> drain(MappedMessageSpool spool) {
+        List<String> drained = new ArrayList<>();
+        String frame;
+        while ((frame = spool.peek()) != null) {
+            drained.add(frame);
+            spool.advance();
+        }
+        return drained;
+    }
+
+    private List<String> frames(int from, int to) {
+        List<String> frames = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            frames.add("frame-" + i);
+        }
+        return frames;
+    }
+
+    private long segmentFileCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+}
@@ -13,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Tag;
 
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -63,6 +64,14 @@ class WebSocketIntegrationTest extends BaseUnitTest {
         assertEquals(1, fakeMessageService.getQueuedCommandCount());
     }
     
+    @Test
+    void shouldConnectAsynchronouslyOnVirtualThread() throws Exception {
+        ConnectionState state = webSocketService.connectAsync("ws://test-server:8080").get(5, TimeUnit.SECONDS);
+        
+        assertEquals(ConnectionState.CONNECTED, state);
+        assertTrue(webSocketService.isConnected());
+    }
+    
     @Test
     void shouldHandleConnectionFailures() {
         // Given: connection that will fail
@@ -92,7 +101,7 @@ class WebSocketIntegrationTest extends BaseUnitTest {
         // Then: message should be sent through connection
         assertEquals(1, fakeConnection.getSentMessages().size());
         String sentMessage = fakeConnection.getSentMessages().get(0);
-        assertTrue(sentMessage.contains("\"action\": \"move\""));
+        assertTrue(sentMessage.contains("\"action\":\"move\""));
     }
     
     @Test
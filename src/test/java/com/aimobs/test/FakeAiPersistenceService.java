@@ -5,6 +5,7 @@ import com.aimobs.entity.ai.core.EntityId;
 import com.aimobs.entity.ai.core.AiEntityState;
 
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -17,6 +18,7 @@ public class FakeAiPersistenceService implements AiPersistenceService {
     
     private final Map<EntityId, AiEntityState> persistedStates = new ConcurrentHashMap<>();
     private boolean simulateFailure = false;
+    private int singleLoadCount = 0;
 
     @Override
     public void saveAiState(EntityId entityId, AiEntityState state) {
@@ -31,9 +33,18 @@ public class FakeAiPersistenceService implements AiPersistenceService {
         if (simulateFailure) {
             throw new RuntimeException("Simulated persistence failure");
         }
+        singleLoadCount++;
         return persistedStates.get(entityId);
     }
 
+    @Override
+    public Map<EntityId, AiEntityState> loadAllAiStates() {
+        if (simulateFailure) {
+            throw new RuntimeException("Simulated persistence failure");
+        }
+        return new HashMap<>(persistedStates);
+    }
+
     @Override
     public boolean hasAiState(EntityId entityId) {
         return persistedStates.containsKey(entityId);
@@ -57,6 +68,11 @@ public class FakeAiPersistenceService implements AiPersistenceService {
     public void reset() {
         persistedStates.clear();
         simulateFailure = false;
+        singleLoadCount = 0;
+    }
+
+    public int getSingleLoadCount() {
+        return singleLoadCount;
     }
 
     public int getPersistedEntityCount() {
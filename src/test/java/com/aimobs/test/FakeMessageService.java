@@ -1,14 +1,18 @@
 package com.aimobs.test;
 
+import com.aimobs.entity.ai.CommandReceiver;
 import com.aimobs.entity.ai.core.AICommand;
 import com.aimobs.network.MessageService;
+import com.aimobs.network.core.DeferredStats;
 import com.aimobs.network.core.NetworkMessage;
 import com.google.gson.Gson;
 import com.google.gson.JsonSyntaxException;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Fake implementation - no mocking framework needed.
@@ -21,6 +25,8 @@ public class FakeMessageService implements MessageService {
     private final List<AICommand> commandQueue = new ArrayList<>();
     private boolean shouldValidateAsTrue = true;
     private boolean shouldParseSuccessfully = true;
+    private final Set<String> deliveredKeys = new HashSet<>();
+    private int commandHeadroom = 1000;
     
     @Override
     public NetworkMessage parseMessage(String rawMessage) {
@@ -49,6 +55,25 @@ public class FakeMessageService implements MessageService {
         return shouldValidateAsTrue && message != null && message.isValid();
     }
     
+    @Override
+    public boolean registerDelivery(NetworkMessage message) {
+        return deliveredKeys.add(deliveryKey(message));
+    }
+    
+    @Override
+    public void forgetDelivery(NetworkMessage message) {
+        deliveredKeys.remove(deliveryKey(message));
+    }
+    
+    @Override
+    public void onBackendConnected() {
+        deliveredKeys.clear();
+    }
+    
+    private static String deliveryKey(NetworkMessage message) {
+        return message.getSeq() != null ? "seq:" + message.getSeq() : "id:" + message.getId();
+    }
+    
     @Override
     public AICommand convertToCommand(NetworkMessage message) {
         if (!validateMessage(message)) {
@@ -57,6 +82,46 @@ public class FakeMessageService implements MessageService {
         return new FakeAICommand(message);
     }
     
+    @Override
+    public List<AICommand> convertToCommands(NetworkMessage message) {
+        if (!validateMessage(message) || !message.isBatch()) {
+            return List.of();
+        }
+        List<AICommand> commands = new ArrayList<>();
+        for (NetworkMessage.MessageData step : message.getData().getCommands()) {
+            commands.add(new FakeAICommand(new NetworkMessage("command", message.getTimestamp(), step)));
+        }
+        return commands;
+    }
+    
+    @Override
+    public boolean dispatchMessage(NetworkMessage message) {
+        if (!validateMessage(message)) {
+            return false;
+        }
+        if (message.isBatch()) {
+            queueCommands(convertToCommands(message));
+        } else {
+            queueCommand(convertToCommand(message));
+        }
+        return true;
+    }
+    
+    @Override
+    public boolean isExpired(NetworkMessage message) {
+        return false;
+    }
+    
+    @Override
+    public int deliverDeferred(CommandReceiver receiver) {
+        return 0;
+    }
+    
+    @Override
+    public DeferredStats getDeferredStats() {
+        return new DeferredStats(0, 0, 0, 0);
+    }
+    
     @Override
     public void queueCommand(AICommand command) {
         if (command != null) {
@@ -64,6 +129,18 @@ public class FakeMessageService implements MessageService {
         }
     }
     
+    @Override
+    public void queueCommands(List<AICommand> commands) {
+        if (commands != null) {
+            commandQueue.addAll(commands);
+        }
+    }
+    
+    @Override
+    public int getCommandHeadroom() {
+        return commandHeadroom;
+    }
+    
     @Override
     public int getQueuedCommandCount() {
         return commandQueue.size();
@@ -83,12 +160,18 @@ public class FakeMessageService implements MessageService {
         this.shouldParseSuccessfully = shouldParse;
     }
     
+    public void setCommandHeadroom(int commandHeadroom) {
+        this.commandHeadroom = commandHeadroom;
+    }
+    
     public List<AICommand> getQueuedCommands() {
         return new ArrayList<>(commandQueue);
     }
     
     public void reset() {
         commandQueue.clear();
+        deliveredKeys.clear();
+        commandHeadroom = 1000;
         shouldValidateAsTrue = true;
         shouldParseSuccessfully = true;
     }
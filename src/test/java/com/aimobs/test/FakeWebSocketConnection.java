@@ -17,6 +17,7 @@ public class FakeWebSocketConnection implements WebSocketConnection {
     private final List<String> sentMessages = new ArrayList<>();
     private boolean shouldFailConnection = false;
     private boolean shouldFailSending = false;
+    private int pingsSent = 0;
     
     @Override
     public void connect(String serverUrl, ConnectionListener listener) {
@@ -66,6 +67,18 @@ public class FakeWebSocketConnection implements WebSocketConnection {
         sentMessages.add(message);
     }
     
+    @Override
+    public void sendPing() {
+        if (connected) {
+            pingsSent++;
+        }
+    }
+    
+    @Override
+    public void abort(String reason) {
+        simulateDisconnection();
+    }
+    
     @Override
     public void cleanup() {
         connected = false;
@@ -80,6 +93,12 @@ public class FakeWebSocketConnection implements WebSocketConnection {
         }
     }
     
+    public void simulatePong() {
+        if (connected && listener != null) {
+            listener.onPong();
+        }
+    }
+    
     public void simulateDisconnection() {
         if (connected) {
             connected = false;
@@ -95,6 +114,10 @@ public class FakeWebSocketConnection implements WebSocketConnection {
         }
     }
     
+    public int getPingsSent() {
+        return pingsSent;
+    }
+    
     public List<String> getSentMessages() {
         return new ArrayList<>(sentMessages);
     }
@@ -113,5 +136,6 @@ public class FakeWebSocketConnection implements WebSocketConnection {
         sentMessages.clear();
         shouldFailConnection = false;
         shouldFailSending = false;
+        pingsSent = 0;
     }
 }
\ No newline at end of file